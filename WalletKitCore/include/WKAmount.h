@@ -204,6 +204,13 @@ extern uint64_t
 wkAmountGetIntegerRaw (WKAmount amount,
                        WKBoolean *overflow);
 
+/**
+ * Get the amount's integer representation, derived from the currency and the base-unit value.
+ * Amounts that compare as equal have the same hash value, independent of their unit.
+ */
+extern int
+wkAmountGetHashValue (WKAmount amount);
+
 /**
  * Create a string representation of amount in the give base () with the provided prefix.  The
  * base must be one of 16, 10 or 2.
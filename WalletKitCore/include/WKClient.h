@@ -131,6 +131,20 @@ wkClientAnnounceTransactions (OwnershipKept WKWalletManager cwm,
                               WKClientTransactionBundle *bundles,
                               size_t bundlesCount);
 
+/**
+ * Announce some of the bundles for `callbackState`, ahead of `wkClientAnnounceTransactions()`,
+ * such as those of one block range of many.  The bundles are saved and their transfers recovered
+ * before returning; the request completes only with `wkClientAnnounceTransactions()`.
+ *
+ * @return WK_TRUE if the bundles were accepted; WK_FALSE, with the bundles discarded, if
+ * `callbackState` is not for the current sync (as once superseded).
+ */
+extern WKBoolean
+wkClientAnnounceTransactionsPartial (OwnershipKept WKWalletManager cwm,
+                                     OwnershipKept WKClientCallbackState callbackState,
+                                     WKClientTransactionBundle *bundles,
+                                     size_t bundlesCount);
+
 // MARK: - Get Transfers
 
 /**
@@ -227,6 +241,16 @@ wkClientAnnounceTransfers (OwnershipKept WKWalletManager cwm,
                            WKClientTransferBundle *bundles,
                            size_t bundlesCount);
 
+/**
+ * Announce some of the bundles for `callbackState`, ahead of `wkClientAnnounceTransfers()`.  See
+ * `wkClientAnnounceTransactionsPartial()`.
+ */
+extern WKBoolean
+wkClientAnnounceTransfersPartial (OwnershipKept WKWalletManager cwm,
+                                  OwnershipKept WKClientCallbackState callbackState,
+                                  WKClientTransferBundle *bundles,
+                                  size_t bundlesCount);
+
 // MARK: - Submit Transaction
 
 /**
@@ -64,6 +64,22 @@ wkHasherHash (WKHasher hasher,
               const uint8_t *src,
               size_t srcLen);
 
+/**
+ * Fill `dst` with the results of applying `hasher` to each of `count` inputs packed into `src`.
+ * Input `i` is the bytes `src[offsets[i]]` up to `src[offsets[i+1]]`; thus `offsets` has
+ * `count + 1` entries, is non-decreasing and has `offsets[count] <= srcLen`.  Digest `i` is
+ * written at `dst + i * wkHasherLength()`, thus `dstLen` must be at least `count` times the
+ * `wkHasherLength()` result.  Returns WK_TRUE if successful.
+ */
+extern WKBoolean
+wkHasherHashBatch (WKHasher hasher,
+                   uint8_t *dst,
+                   size_t dstLen,
+                   const uint8_t *src,
+                   size_t srcLen,
+                   const uint32_t *offsets,
+                   size_t count);
+
 DECLARE_WK_GIVE_TAKE (WKHasher, wkHasher);
 
 #ifdef __cplusplus
@@ -63,6 +63,37 @@ typedef void (*WKListenerTransferCallback) (WKListenerContext context,
                                             WKTransfer transfer,
                                             WKTransferEvent event);
 
+// MARK: - Listener, Flattened
+
+/**
+ * Announce a WalletManagerEvent of type WK_WALLET_MANAGER_EVENT_SYNC_CONTINUES, with the event's
+ * fields as arguments.
+ */
+typedef void (*WKListenerWalletManagerSyncProgressCallback) (WKListenerContext context,
+                                                             WKWalletManager manager,
+                                                             WKTimestamp timestamp,
+                                                             WKSyncPercentComplete percentComplete);
+
+/**
+ * Announce a WalletManagerEvent of type WK_WALLET_MANAGER_EVENT_BLOCK_HEIGHT_UPDATED, with the
+ * event's field as an argument.
+ */
+typedef void (*WKListenerWalletManagerBlockHeightCallback) (WKListenerContext context,
+                                                            WKWalletManager manager,
+                                                            WKBlockNumber blockHeight);
+
+/**
+ * Announce a TransferEvent, with the event's fields as arguments.  The `oldState` and `newState`
+ * are only provided, with ownership given, for WK_TRANSFER_EVENT_CHANGED; otherwise they are NULL.
+ */
+typedef void (*WKListenerTransferFlatCallback) (WKListenerContext context,
+                                                WKWalletManager manager,
+                                                WKWallet wallet,
+                                                WKTransfer transfer,
+                                                WKTransferEventType type,
+                                                WKTransferState oldState,
+                                                WKTransferState newState);
+
 /**
  * Create a Listener of System, Network, WalletManger, Wallet and Transfer events.
  */
@@ -75,6 +106,24 @@ wkListenerCreate (WKListenerContext context,
                   WKListenerTransferCallback transferCallback);
 
 
+/**
+ * Create a Listener as with `wkListenerCreate()` but where the high-frequency events are
+ * announced with primitive and pointer arguments only, rather than with an event struct passed
+ * by value.  This allows bindings, such as JNA, to avoid reflectively decoding the struct on each
+ * event.  WalletManager events of types SYNC_CONTINUES and BLOCK_HEIGHT_UPDATED are announced
+ * through `managerSyncProgressCallback` and `managerBlockHeightCallback`; all others through
+ * `managerCallback`.  All Transfer events are announced through `transferCallback`.
+ */
+extern WKListener
+wkListenerCreateFlat (WKListenerContext context,
+                      WKListenerSystemCallback systemCallback,
+                      WKListenerNetworkCallback networkCallback,
+                      WKListenerWalletManagerCallback managerCallback,
+                      WKListenerWalletManagerSyncProgressCallback managerSyncProgressCallback,
+                      WKListenerWalletManagerBlockHeightCallback managerBlockHeightCallback,
+                      WKListenerWalletCallback walletCallback,
+                      WKListenerTransferFlatCallback transferCallback);
+
 DECLARE_WK_GIVE_TAKE (WKListener, wkListener);
 
 #ifdef __cplusplus
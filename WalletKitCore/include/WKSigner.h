@@ -48,6 +48,12 @@ wkSignerSignLength (WKSigner signer,
                     const uint8_t *src,
                     size_t srcLen);
 
+/**
+ * Get the maximum length, in bytes, of any signature produced by `signer`.
+ */
+extern size_t
+wkSignerSignLengthMaximum (WKSigner signer);
+
 /**
  * Fill `dst` with the signature as the result of applying `signer` to `digest` where
  * `digestLen` must be 32 (bytes).  Returns WK_TRUE if successful.  Typically the
@@ -62,6 +68,22 @@ wkSignerSign (WKSigner signer,
               const uint8_t *digest,
               size_t digestLen);
 
+/**
+ * Fill `dst` with the signatures from applying `signer` to each of `count` 32 byte digests
+ * packed into `digests`.  Signature `i` is written at `dst + i * dstStride` and its length is
+ * stored in `dstLengths[i]`.  The `dstStride` must be at least `wkSignerSignLengthMaximum()`
+ * and `dstLen` at least `count * dstStride`.  Returns WK_TRUE if every digest is signed.
+ */
+extern WKBoolean
+wkSignerSignBatch (WKSigner signer,
+                   WKKey key,
+                   uint8_t *dst,
+                   size_t dstLen,
+                   size_t dstStride,
+                   uint32_t *dstLengths,
+                   const uint8_t *digests,
+                   size_t count);
+
 /**
  * Recover a public Key from `signature` and `digest` by applying the `signer`.  The `digestLen`
  * must be 32 (bytes).
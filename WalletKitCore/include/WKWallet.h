@@ -130,6 +130,60 @@ extern WKTransfer *
 wkWalletGetTransfers (WKWallet wallet,
                       size_t *count);
 
+/**
+ * Find the wallet's transfer with `hash`.  If more than one transfer has `hash`, the earliest
+ * added is returned.
+ *
+ * @return the transfer w/ an incremented reference count (aka 'taken') or NULL if none
+ */
+extern WKTransfer
+wkWalletGetTransferByHash (WKWallet wallet,
+                           WKHash hash);
+
+/// The size of each entry in the `hashes` column of a transfer snapshot; holds the NUL
+/// terminated, network-specific encoding of a transfer's hash.
+#define WK_WALLET_TRANSFER_SNAPSHOT_HASH_SIZE      (131)
+
+/// Bits of the `flags` column of a transfer snapshot
+#define WK_WALLET_TRANSFER_SNAPSHOT_FLAG_HAS_FEE   (0x01)
+#define WK_WALLET_TRANSFER_SNAPSHOT_FLAG_SUCCESS   (0x02)
+
+/**
+ * Fill caller-allocated columns with a snapshot of the wallet's transfers, in the order of
+ * `wkWalletGetTransfers()`, starting at `offset` and for at most `capacity` transfers.  The
+ * number of transfers filled is the lesser of `capacity` and the returned count less `offset`.
+ *
+ * Per transfer, the columns are:
+ *   - `amounts`, `fees`: four uint64_t words of the unsigned value, in base units, least
+ *     significant word first.  The fee is zero if the `FLAG_HAS_FEE` flag is not set.
+ *   - `directions`: the WKTransferDirection
+ *   - `states`: the WKTransferStateType
+ *   - `flags`: `WK_WALLET_TRANSFER_SNAPSHOT_FLAG_*` bits; `FLAG_SUCCESS` is set for an
+ *     included transfer that succeeded
+ *   - `blockNumbers`, `timestamps`: the inclusion block number and timestamp; zero unless
+ *     included
+ *   - `hashes`: `WK_WALLET_TRANSFER_SNAPSHOT_HASH_SIZE` bytes holding the encoded hash, as per
+ *     `wkHashEncodeString()`; empty if the transfer has no hash
+ *
+ * @param wallet the wallet
+ * @param offset the index of the first transfer to fill
+ * @param capacity the number of transfers the columns can hold
+ *
+ * @return the number of transfers in the wallet
+ */
+extern size_t
+wkWalletGetTransferSnapshot (WKWallet wallet,
+                             size_t offset,
+                             size_t capacity,
+                             uint64_t *amounts,
+                             uint64_t *fees,
+                             uint8_t  *directions,
+                             uint8_t  *states,
+                             uint8_t  *flags,
+                             uint64_t *blockNumbers,
+                             uint64_t *timestamps,
+                             char     *hashes);
+
 /**
  * Returns a 'new' adddress from `wallet` according to the provided `addressScheme`.  For BTC
  * this is a segwit or a bech32 address.  Note that the returned address is not associated with
@@ -191,6 +191,22 @@ extern void
 wkWalletManagerSyncToDepth (WKWalletManager cwm,
                             WKSyncDepth depth);
 
+/**
+ * Run the periodic (incremental) sync now, as when new transfers are known to exist, and restart
+ * the count towards the next periodic sync.
+ */
+extern void
+wkWalletManagerSyncPeriodic (WKWalletManager cwm);
+
+/**
+ * Run the periodic sync on only every `factor`-th period; a `factor` of 1, the default, runs it
+ * on every period.  Use a larger factor when transfers are otherwise announced, such as by a
+ * subscription, to keep the periodic sync as a fallback.
+ */
+extern void
+wkWalletManagerSetSyncPeriodicFactor (WKWalletManager cwm,
+                                      unsigned int factor);
+
 /**
  * Sign the `transfer` in `wallet` with the `paperKey`.
  */
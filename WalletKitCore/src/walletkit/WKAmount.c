@@ -268,6 +268,33 @@ wkAmountGetIntegerRaw (WKAmount amount,
     return *overflow ? 0 : amount->value.u64[0];
 }
 
+#define WK_AMOUNT_FNV_OFFSET   (2166136261u)
+#define WK_AMOUNT_FNV_PRIME    (16777619u)
+
+static uint32_t
+wkAmountHashBytes (uint32_t hash, const uint8_t *bytes, size_t bytesCount) {
+    for (size_t index = 0; index < bytesCount; index++) {
+        hash ^= bytes[index];
+        hash *= WK_AMOUNT_FNV_PRIME;
+    }
+    return hash;
+}
+
+extern int
+wkAmountGetHashValue (WKAmount amount) {
+    WKCurrency currency = wkUnitGetCurrency (amount->unit);
+    const char *uids    = wkCurrencyGetUids (currency);
+
+    // FNV-1a over the currency, the sign and the base-unit value
+    uint32_t hash = WK_AMOUNT_FNV_OFFSET;
+    hash = wkAmountHashBytes (hash, (const uint8_t *) uids, strlen (uids));
+    hash = wkAmountHashBytes (hash, (const uint8_t *) &amount->isNegative, sizeof (amount->isNegative));
+    hash = wkAmountHashBytes (hash, amount->value.u8, sizeof (amount->value.u8));
+
+    wkCurrencyGive (currency);
+    return (int) hash;
+}
+
 extern char *
 wkAmountGetStringPrefaced (WKAmount amount,
                                int base,
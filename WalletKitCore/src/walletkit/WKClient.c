@@ -707,6 +707,42 @@ wkClientAnnounceTransactions (OwnershipKept WKWalletManager manager,
     eventHandlerSignalEvent (manager->handler, (BREvent *) &event);
 }
 
+// MARK: - Announce Transactions Partial
+
+extern WKBoolean
+wkClientAnnounceTransactionsPartial (OwnershipKept WKWalletManager manager,
+                                     OwnershipKept WKClientCallbackState callbackState,
+                                     WKClientTransactionBundle *bundles,  // given elements, not array
+                                     size_t bundlesCount) {
+    WKClientQRYManager qry = manager->qryManager;
+
+    // As if dispatched; the manager's lock serializes this with the manager's events
+    pthread_mutex_lock (&manager->lock);
+
+    pthread_mutex_lock (&qry->lock);
+    bool matchedRids = (callbackState->rid == qry->sync.rid);
+    pthread_mutex_unlock (&qry->lock);
+
+    // Only the bundles; the sync itself completes with `wkClientAnnounceTransactions()`
+    if (matchedRids) {
+        for (size_t index = 0; index < bundlesCount; index++)
+            wkWalletManagerSaveTransactionBundle (manager, bundles[index]);
+
+        mergesort_brd (bundles, bundlesCount, sizeof (WKClientTransactionBundle),
+                       wkClientTransactionBundleCompareForSort);
+
+        for (size_t index = 0; index < bundlesCount; index++)
+            wkWalletManagerRecoverTransfersFromTransactionBundle (manager, bundles[index]);
+    }
+
+    pthread_mutex_unlock (&manager->lock);
+
+    for (size_t index = 0; index < bundlesCount; index++)
+        wkClientTransactionBundleRelease (bundles[index]);
+
+    return AS_WK_BOOLEAN (matchedRids);
+}
+
 // MARK: - Announce Transfer
 
 typedef struct {
@@ -833,6 +869,42 @@ wkClientAnnounceTransfers (OwnershipKept WKWalletManager manager,
     eventHandlerSignalEvent (manager->handler, (BREvent *) &event);
 }
 
+// MARK: - Announce Transfers Partial
+
+extern WKBoolean
+wkClientAnnounceTransfersPartial (OwnershipKept WKWalletManager manager,
+                                  OwnershipKept WKClientCallbackState callbackState,
+                                  WKClientTransferBundle *bundles, // given elements, not array
+                                  size_t bundlesCount) {
+    WKClientQRYManager qry = manager->qryManager;
+
+    // As if dispatched; the manager's lock serializes this with the manager's events
+    pthread_mutex_lock (&manager->lock);
+
+    pthread_mutex_lock (&qry->lock);
+    bool matchedRids = (callbackState->rid == qry->sync.rid);
+    pthread_mutex_unlock (&qry->lock);
+
+    // Only the bundles; the sync itself completes with `wkClientAnnounceTransfers()`
+    if (matchedRids) {
+        for (size_t index = 0; index < bundlesCount; index++)
+            wkWalletManagerSaveTransferBundle (manager, bundles[index]);
+
+        mergesort_brd (bundles, bundlesCount, sizeof (WKClientTransferBundle),
+                       wkClientTransferBundleCompareForSort);
+
+        for (size_t index = 0; index < bundlesCount; index++)
+            wkWalletManagerRecoverTransferFromTransferBundle (manager, bundles[index]);
+    }
+
+    pthread_mutex_unlock (&manager->lock);
+
+    for (size_t index = 0; index < bundlesCount; index++)
+        wkClientTransferBundleRelease (bundles[index]);
+
+    return AS_WK_BOOLEAN (matchedRids);
+}
+
 // MARK: - Request Transactions/Transfers
 
 static BRArrayOf(char *)
@@ -973,6 +1045,8 @@ wkClientHandleSubmit (OwnershipKept WKWalletManager manager,
         WKBoolean hashChanged = wkTransferSetHash (transfer, hash);
 
         if (WK_TRUE == hashChanged) {
+            wkWalletUpdTransferHash (wallet, transfer);
+
             WKTransferState state = wkTransferGetState(transfer);
 
             wkTransferGenerateEvent (transfer, (WKTransferEvent) {
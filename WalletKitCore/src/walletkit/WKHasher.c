@@ -190,3 +190,41 @@ wkHasherHash (WKHasher hasher,
 
     return result;
 }
+
+extern WKBoolean
+wkHasherHashBatch (WKHasher hasher,
+                   uint8_t *dst,
+                   size_t dstLen,
+                   const uint8_t *src,
+                   size_t srcLen,
+                   const uint32_t *offsets,
+                   size_t count) {
+    size_t hashLen = wkHasherLength (hasher);
+
+    // - offsets MUST be non-NULL, with `count + 1` entries bounded by srcLen
+    // - dst MUST be non-NULL and sized for `count` hashes
+    if (NULL == offsets || offsets[count] > srcLen ||
+        (0 != count && NULL == dst) || dstLen / hashLen < count) {
+        assert (0);
+        return WK_FALSE;
+    }
+
+    for (size_t index = 0; index < count; index++) {
+        if (offsets[index] > offsets[index + 1]) {
+            assert (0);
+            return WK_FALSE;
+        }
+    }
+
+    for (size_t index = 0; index < count; index++) {
+        size_t length = offsets[index + 1] - offsets[index];
+        if (WK_FALSE == wkHasherHash (hasher,
+                                      &dst[index * hashLen],
+                                      hashLen,
+                                      (0 == length ? NULL : &src[offsets[index]]),
+                                      length))
+            return WK_FALSE;
+    }
+
+    return WK_TRUE;
+}
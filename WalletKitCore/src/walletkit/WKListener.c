@@ -33,6 +33,18 @@ typedef struct {
 static void
 wkListenerSignalTransferEventDispatcher (BREventHandler ignore,
                                              BRListenerSignalTransferEvent *event) {
+    if (NULL != event->listener->transferFlatCallback) {
+        bool changed = (WK_TRANSFER_EVENT_CHANGED == event->event.type);
+        event->listener->transferFlatCallback (event->listener->context,
+                                               event->manager,
+                                               event->wallet,
+                                               event->transfer,
+                                               event->event.type,
+                                               (changed ? event->event.u.state.old : NULL),
+                                               (changed ? event->event.u.state.new : NULL));
+        return;
+    }
+
     event->listener->transferCallback (event->listener->context,
                                        event->manager,
                                        event->wallet,
@@ -116,6 +128,30 @@ typedef struct {
 static void
 wkListenerSignalManagerEventDispatcher (BREventHandler ignore,
                                             BRListenerSignalManagerEvent *event) {
+    switch (event->event.type) {
+        case WK_WALLET_MANAGER_EVENT_SYNC_CONTINUES:
+            if (NULL != event->listener->managerSyncProgressCallback) {
+                event->listener->managerSyncProgressCallback (event->listener->context,
+                                                              event->manager,
+                                                              event->event.u.syncContinues.timestamp,
+                                                              event->event.u.syncContinues.percentComplete);
+                return;
+            }
+            break;
+
+        case WK_WALLET_MANAGER_EVENT_BLOCK_HEIGHT_UPDATED:
+            if (NULL != event->listener->managerBlockHeightCallback) {
+                event->listener->managerBlockHeightCallback (event->listener->context,
+                                                             event->manager,
+                                                             event->event.u.blockHeight);
+                return;
+            }
+            break;
+
+        default:
+            break;
+    }
+
     event->listener->managerCallback (event->listener->context,
                                       event->manager,
                                       event->event);
@@ -260,6 +296,32 @@ wkListenerCreate (WKListenerContext context,
     return listener;
 }
 
+extern WKListener
+wkListenerCreateFlat (WKListenerContext context,
+                      WKListenerSystemCallback systemCallback,
+                      WKListenerNetworkCallback networkCallback,
+                      WKListenerWalletManagerCallback managerCallback,
+                      WKListenerWalletManagerSyncProgressCallback managerSyncProgressCallback,
+                      WKListenerWalletManagerBlockHeightCallback managerBlockHeightCallback,
+                      WKListenerWalletCallback walletCallback,
+                      WKListenerTransferFlatCallback transferCallback) {
+    assert (NULL != transferCallback);
+
+    WKListener listener = wkListenerCreate (context,
+                                            systemCallback,
+                                            networkCallback,
+                                            managerCallback,
+                                            walletCallback,
+                                            NULL);
+
+    // Assigned before any event can be signalled; the handler is not yet started
+    listener->managerSyncProgressCallback = managerSyncProgressCallback;
+    listener->managerBlockHeightCallback  = managerBlockHeightCallback;
+    listener->transferFlatCallback        = transferCallback;
+
+    return listener;
+}
+
 static void
 wkListenerRelease (WKListener listener) {
     eventHandlerStop (listener->handler);
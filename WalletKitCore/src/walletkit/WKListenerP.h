@@ -187,6 +187,11 @@ struct WKListenerRecord {
     WKListenerWalletManagerCallback managerCallback;
     WKListenerWalletCallback        walletCallback;
     WKListenerTransferCallback      transferCallback;
+
+    // Flattened alternatives; if non-NULL these are used in preference to the above
+    WKListenerWalletManagerSyncProgressCallback managerSyncProgressCallback;
+    WKListenerWalletManagerBlockHeightCallback  managerBlockHeightCallback;
+    WKListenerTransferFlatCallback              transferFlatCallback;
 };
 
 extern void
@@ -89,6 +89,20 @@ wkSignerSignLength (WKSigner signer,
     return length;
 }
 
+extern size_t
+wkSignerSignLengthMaximum (WKSigner signer) {
+    switch (signer->type) {
+        case WK_SIGNER_BASIC_DER:   return 72;  // DER encoded (r, s); see BRKeySign()
+        case WK_SIGNER_BASIC_JOSE:  return 64;  // r || s
+        case WK_SIGNER_COMPACT:     return 65;  // header || r || s
+        default: {
+            // for an unsupported algorithm, assert
+            assert (0);
+            return 0;
+        }
+    }
+}
+
 extern WKBoolean
 wkSignerSign (WKSigner signer,
                   WKKey key,
@@ -131,6 +145,58 @@ wkSignerSign (WKSigner signer,
     return result;
 }
 
+extern WKBoolean
+wkSignerSignBatch (WKSigner signer,
+                   WKKey key,
+                   uint8_t *dst,
+                   size_t dstLen,
+                   size_t dstStride,
+                   uint32_t *dstLengths,
+                   const uint8_t *digests,
+                   size_t count) {
+    // - key CANNOT be NULL
+    // - digests CANNOT be NULL (if count > 0)
+    // - dst and dstLengths MUST be non-NULL and sufficiently sized
+    if (NULL == key ||
+        (0 != count && (NULL == digests || NULL == dst || NULL == dstLengths)) ||
+        dstStride < wkSignerSignLengthMaximum (signer) ||
+        dstLen / dstStride < count) {
+        assert (0);
+        return WK_FALSE;
+    }
+
+    // Avoid `wkSignerSign()` as it signs once to compute the length and then again to fill
+    // `dst`; with `dstStride` at the maximum a single signing suffices.
+    BRKey *core = wkKeyGetCore (key);
+
+    for (size_t index = 0; index < count; index++) {
+        uint8_t *sig    = &dst[index * dstStride];
+        UInt256 digest  = UInt256Get (&digests[index * 32]);
+        size_t  length  = 0;
+
+        switch (signer->type) {
+            case WK_SIGNER_BASIC_DER:
+                length = BRKeySign (core, sig, dstStride, digest);
+                break;
+            case WK_SIGNER_BASIC_JOSE:
+                length = BRKeySignJOSE (core, sig, dstStride, digest);
+                break;
+            case WK_SIGNER_COMPACT:
+                length = BRKeyCompactSign (core, sig, dstStride, digest);
+                break;
+            default:
+                // for an unsupported algorithm, assert
+                assert (0);
+                break;
+        }
+
+        if (0 == length) return WK_FALSE;
+        dstLengths[index] = (uint32_t) length;
+    }
+
+    return WK_TRUE;
+}
+
 extern WKKey
 wkSignerRecover (WKSigner signer,
                      const uint8_t *digest,
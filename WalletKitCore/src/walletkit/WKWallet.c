@@ -333,6 +333,8 @@ wkWalletAllocAndInit (size_t sizeInBytes,
     wallet->defaultFeeBasis = wkFeeBasisTake (defaultFeeBasis);
 
     array_new (wallet->transfers, 5);
+    wallet->transfersByHash   = NULL;
+    wallet->transfersUnhashed = NULL;
 
     wallet->ref = WK_REF_ASSIGN (wkWalletRelease);
 
@@ -347,6 +349,9 @@ wkWalletAllocAndInit (size_t sizeInBytes,
     return wallet;
 }
 
+static void
+wkWalletDropTransferIndex (WKWallet wallet);
+
 static void
 wkWalletRelease (WKWallet wallet) {
     pthread_mutex_lock (&wallet->lock);
@@ -361,6 +366,8 @@ wkWalletRelease (WKWallet wallet) {
 
     wkFeeBasisGive (wallet->defaultFeeBasis);
 
+    wkWalletDropTransferIndex (wallet);
+
     for (size_t index = 0; index < array_count(wallet->transfers); index++)
         wkTransferGive (wallet->transfers[index]);
     array_free (wallet->transfers);
@@ -608,6 +615,87 @@ wkWalletHasTransfer (WKWallet wallet,
     return wkWalletHasTransferLock (wallet, transfer, true);
 }
 
+// MARK: - Transfer Index
+
+static size_t
+wkWalletTransferByHashGetHashValue (const WKWalletTransferByHash entry) {
+    return (size_t) wkHashGetHashValue (entry->hash);
+}
+
+static int
+wkWalletTransferByHashIsEqual (const WKWalletTransferByHash entry1,
+                               const WKWalletTransferByHash entry2) {
+    return WK_TRUE == wkHashEqual (entry1->hash, entry2->hash);
+}
+
+static void
+wkWalletTransferByHashRelease (void *ignore, void *item) {
+    WKWalletTransferByHash entry = item;
+    wkHashGive (entry->hash);
+    free (entry);
+}
+
+// Index `transfer` if `wallet` has an index; the wallet lock must be held.
+static void
+wkWalletIndexTransfer (WKWallet wallet,
+                       WKTransfer transfer) {
+    if (NULL == wallet->transfersByHash) return;
+
+    WKHash hash = wkTransferGetHash (transfer);
+    if (NULL == hash) {
+        array_add (wallet->transfersUnhashed, transfer);
+        return;
+    }
+
+    // Keep the earliest added transfer for a hash
+    WKWalletTransferByHashRecord match = { hash, NULL };
+    if (NULL != BRSetGet (wallet->transfersByHash, &match)) {
+        wkHashGive (hash);
+        return;
+    }
+
+    WKWalletTransferByHash entry = malloc (sizeof (WKWalletTransferByHashRecord));
+    entry->hash     = hash;
+    entry->transfer = transfer;
+    BRSetAdd (wallet->transfersByHash, entry);
+}
+
+// Build the index, if needed; the wallet lock must be held.
+static void
+wkWalletBuildTransferIndex (WKWallet wallet) {
+    if (NULL != wallet->transfersByHash) return;
+
+    wallet->transfersByHash = BRSetNew ((size_t (*) (const void *)) wkWalletTransferByHashGetHashValue,
+                                        (int (*) (const void *, const void *)) wkWalletTransferByHashIsEqual,
+                                        array_count (wallet->transfers));
+    array_new (wallet->transfersUnhashed, 5);
+
+    for (size_t index = 0; index < array_count (wallet->transfers); index++)
+        wkWalletIndexTransfer (wallet, wallet->transfers[index]);
+}
+
+// Drop the index, if any; the wallet lock must be held.
+static void
+wkWalletDropTransferIndex (WKWallet wallet) {
+    if (NULL == wallet->transfersByHash) return;
+
+    BRSetApply (wallet->transfersByHash, NULL, wkWalletTransferByHashRelease);
+    BRSetFree  (wallet->transfersByHash);
+    array_free (wallet->transfersUnhashed);
+
+    wallet->transfersByHash   = NULL;
+    wallet->transfersUnhashed = NULL;
+}
+
+private_extern void
+wkWalletUpdTransferHash (WKWallet wallet,
+                         WKTransfer transfer) {
+    // The transfer may be indexed by its prior hash
+    pthread_mutex_lock (&wallet->lock);
+    wkWalletDropTransferIndex (wallet);
+    pthread_mutex_unlock (&wallet->lock);
+}
+
 static void
 wkWalletAnnounceTransfer (WKWallet wallet,
                               WKTransfer transfer,
@@ -625,6 +713,7 @@ wkWalletAddTransfer (WKWallet wallet,
     pthread_mutex_lock (&wallet->lock);
     if (WK_FALSE == wkWalletHasTransferLock (wallet, transfer, false)) {
         array_add (wallet->transfers, wkTransferTake(transfer));
+        wkWalletIndexTransfer (wallet, transfer);
         wkWalletAnnounceTransfer (wallet, transfer, WK_WALLET_EVENT_TRANSFER_ADDED);
         wkWalletGenerateEvent (wallet, wkWalletEventCreateTransfer (WK_WALLET_EVENT_TRANSFER_ADDED, transfer));
         wkWalletIncBalance (wallet, wkWalletGetTransferAmountDirectedNet(wallet, transfer));
@@ -640,6 +729,7 @@ wkWalletAddTransfers (WKWallet wallet,
         WKTransfer transfer = transfers[index];
         if (WK_FALSE == wkWalletHasTransferLock (wallet, transfer, false)) {
             array_add (wallet->transfers, wkTransferTake(transfer));
+            wkWalletIndexTransfer (wallet, transfer);
             wkWalletAnnounceTransfer (wallet, transfer, WK_WALLET_EVENT_TRANSFER_ADDED);
             // Must announce
 
@@ -667,6 +757,7 @@ wkWalletRemTransfer (WKWallet wallet, WKTransfer transfer) {
         if (WK_TRUE == wkTransferEqual (wallet->transfers[index], transfer)) {
             walletTransfer = wallet->transfers[index];
             array_rm (wallet->transfers, index);
+            wkWalletDropTransferIndex (wallet);
             wkWalletAnnounceTransfer (wallet, transfer, WK_WALLET_EVENT_TRANSFER_DELETED);
             wkWalletGenerateEvent (wallet, wkWalletEventCreateTransfer (WK_WALLET_EVENT_TRANSFER_DELETED, transfer));
             wkWalletDecBalance (wallet, wkWalletGetTransferAmountDirectedNet(wallet, transfer));
@@ -692,6 +783,7 @@ wkWalletReplaceTransfer (WKWallet wallet,
 
             walletTransfer = wallet->transfers[index];
             wallet->transfers[index] = wkTransferTake (newTransfer);
+            wkWalletDropTransferIndex (wallet);
 
             wkWalletAnnounceTransfer (wallet, oldTransfer, WK_WALLET_EVENT_TRANSFER_DELETED);
             wkWalletGenerateEvent (wallet, wkWalletEventCreateTransfer (WK_WALLET_EVENT_TRANSFER_DELETED, oldTransfer));
@@ -757,20 +849,100 @@ wkWalletGetTransfers (WKWallet wallet, size_t *count) {
     return transfers;
 }
 
-private_extern WKTransfer
+static void
+wkWalletFillSnapshotValue (uint64_t *words, WKAmount amount) {
+    UInt256 value = (NULL == amount ? UINT256_ZERO : wkAmountGetValue (amount));
+    for (size_t index = 0; index < 4; index++)
+        words[index] = value.u64[index];
+}
+
+extern size_t
+wkWalletGetTransferSnapshot (WKWallet wallet,
+                             size_t offset,
+                             size_t capacity,
+                             uint64_t *amounts,
+                             uint64_t *fees,
+                             uint8_t  *directions,
+                             uint8_t  *states,
+                             uint8_t  *flags,
+                             uint64_t *blockNumbers,
+                             uint64_t *timestamps,
+                             char     *hashes) {
+    // - columns MUST be non-NULL if anything is to be filled
+    if (0 != capacity &&
+        (NULL == amounts      || NULL == fees       || NULL == directions ||
+         NULL == states       || NULL == flags      ||
+         NULL == blockNumbers || NULL == timestamps || NULL == hashes)) {
+        assert (0);
+        return 0;
+    }
+
+    pthread_mutex_lock (&wallet->lock);
+    size_t count = array_count (wallet->transfers);
+
+    for (size_t index = offset, row = 0; index < count && row < capacity; index++, row++) {
+        WKTransfer transfer = wallet->transfers[index];
+
+        WKAmount fee = wkTransferGetFee (transfer);
+        wkWalletFillSnapshotValue (&amounts[4 * row], transfer->amount);
+        wkWalletFillSnapshotValue (&fees[4 * row], fee);
+
+        directions[row] = (uint8_t) transfer->direction;
+        flags[row]      = (NULL != fee ? WK_WALLET_TRANSFER_SNAPSHOT_FLAG_HAS_FEE : 0);
+        wkAmountGive (fee);
+
+        pthread_mutex_lock (&transfer->lock);
+        WKTransferState state = transfer->state;
+        states[row] = (uint8_t) state->type;
+
+        WKBoolean success = WK_FALSE;
+        if (wkTransferStateExtractIncluded (state, &blockNumbers[row], &timestamps[row], NULL, NULL, &success, NULL)) {
+            if (WK_TRUE == success) flags[row] |= WK_WALLET_TRANSFER_SNAPSHOT_FLAG_SUCCESS;
+        }
+        else {
+            blockNumbers[row] = 0;
+            timestamps[row]   = 0;
+        }
+        pthread_mutex_unlock (&transfer->lock);
+
+        char *hashEntry = &hashes[WK_WALLET_TRANSFER_SNAPSHOT_HASH_SIZE * row];
+        WKHash hash = wkTransferGetHash (transfer);
+        char *encoded = wkHashEncodeString (hash);
+        strlcpy (hashEntry, (NULL == encoded ? "" : encoded), WK_WALLET_TRANSFER_SNAPSHOT_HASH_SIZE);
+        if (NULL != encoded) free (encoded);
+        if (NULL != hash) wkHashGive (hash);
+    }
+    pthread_mutex_unlock (&wallet->lock);
+
+    return count;
+}
+
+extern WKTransfer
 wkWalletGetTransferByHash (WKWallet wallet, WKHash hashToMatch) {
-    WKTransfer transfer = NULL;
+    WKWalletTransferByHashRecord match = { hashToMatch, NULL };
+    WKWalletTransferByHash entry = NULL;
 
     pthread_mutex_lock (&wallet->lock);
-    for (size_t index = 0; NULL == transfer && index < array_count(wallet->transfers); index++) {
-        WKHash hash = wkTransferGetHash (wallet->transfers[index]);
-        if (WK_TRUE == wkHashEqual(hash, hashToMatch))
-            transfer = wallet->transfers[index];
-        wkHashGive(hash);
+    wkWalletBuildTransferIndex (wallet);
+
+    entry = BRSetGet (wallet->transfersByHash, &match);
+
+    // Transfers get a hash once signed; index any that now have one and look again.
+    if (NULL == entry && 0 != array_count (wallet->transfersUnhashed)) {
+        BRArrayOf(WKTransfer) unhashed = wallet->transfersUnhashed;
+        array_new (wallet->transfersUnhashed, array_count (unhashed));
+
+        for (size_t index = 0; index < array_count (unhashed); index++)
+            wkWalletIndexTransfer (wallet, unhashed[index]);
+        array_free (unhashed);
+
+        entry = BRSetGet (wallet->transfersByHash, &match);
     }
+
+    WKTransfer transfer = (NULL == entry ? NULL : wkTransferTake (entry->transfer));
     pthread_mutex_unlock (&wallet->lock);
 
-    return wkTransferTake (transfer);
+    return transfer;
 }
 
 private_extern WKTransfer
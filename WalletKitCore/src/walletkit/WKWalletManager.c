@@ -309,6 +309,9 @@ wkWalletManagerAllocAndInit (size_t sizeInBytes,
 
     pthread_mutex_init_brd (&manager->lock, PTHREAD_MUTEX_RECURSIVE);
 
+    manager->syncPeriodicFactor = 1;
+    manager->syncPeriodicCount  = 0;
+
     WKTimestamp   earliestAccountTime = wkAccountGetTimestamp (account);
     WKBlockNumber earliestBlockNumber = wkNetworkGetBlockNumberAtOrBeforeTimestamp(network, earliestAccountTime);
     WKBlockNumber latestBlockNumber   = wkNetworkGetHeight (network);
@@ -792,6 +795,26 @@ wkWalletManagerSyncToDepth (WKWalletManager cwm,
         wkClientSync (cwm->canSync, depth, wkNetworkGetHeight(cwm->network));
 }
 
+extern void
+wkWalletManagerSyncPeriodic (WKWalletManager cwm) {
+    pthread_mutex_lock (&cwm->lock);
+    // The next periodic sync is a full period away
+    cwm->syncPeriodicCount = 0;
+    pthread_mutex_unlock (&cwm->lock);
+
+    if (WK_WALLET_MANAGER_STATE_CONNECTED == wkWalletManagerGetStateType (cwm))
+        wkClientSyncPeriodic (cwm->canSync);
+}
+
+extern void
+wkWalletManagerSetSyncPeriodicFactor (WKWalletManager cwm,
+                                      unsigned int factor) {
+    pthread_mutex_lock (&cwm->lock);
+    cwm->syncPeriodicFactor = (0 == factor ? 1 : factor);
+    cwm->syncPeriodicCount  = 0;
+    pthread_mutex_unlock (&cwm->lock);
+}
+
 // MARK: - Wipe
 
 
@@ -1162,7 +1185,13 @@ static void
 wkWalletManagerPeriodicDispatcher (BREventHandler handler,
                                        BREventTimeout *event) {
     WKWalletManager cwm = (WKWalletManager) event->context;
-    wkClientSyncPeriodic (cwm->canSync);
+
+    pthread_mutex_lock (&cwm->lock);
+    int skip = (++cwm->syncPeriodicCount < cwm->syncPeriodicFactor);
+    if (!skip) cwm->syncPeriodicCount = 0;
+    pthread_mutex_unlock (&cwm->lock);
+
+    if (!skip) wkClientSyncPeriodic (cwm->canSync);
 }
 
 // MARK: - Transaction/Transfer Bundle
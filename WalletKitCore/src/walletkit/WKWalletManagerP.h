@@ -191,6 +191,10 @@ struct WKWalletManagerRecord {
     WKClientSync canSync;
     WKClientSend canSend;
 
+    /// The periodic sync runs on every `syncPeriodicFactor`-th dispatch (modifiable)
+    unsigned int syncPeriodicFactor;
+    unsigned int syncPeriodicCount;
+
     /// The primary wallet
     WKWallet wallet;
 
@@ -130,6 +130,13 @@ typedef struct {
 
 // MARK: - Wallet
 
+/// An entry in a wallet's index of transfers by hash.  The `hash` is taken; the `transfer` is
+/// owned by the wallet's `transfers`.
+typedef struct {
+    WKHash hash;
+    WKTransfer transfer;
+} WKWalletTransferByHashRecord, *WKWalletTransferByHash;
+
 struct WKWalletRecord {
     WKNetworkType type;
     const WKWalletHandlers *handlers;
@@ -148,6 +155,12 @@ struct WKWalletRecord {
     /// The transfers (modifiable)
     BRArrayOf (WKTransfer) transfers;
 
+    /// An index of `transfers` by hash, for `wkWalletGetTransferByHash()`; built on first use
+    /// and dropped, to be rebuilt, whenever a transfer is removed or its hash is reassigned.
+    /// Transfers that have no hash when indexed are held in `transfersUnhashed` until they do.
+    BRSetOf (WKWalletTransferByHash) transfersByHash;
+    BRArrayOf (WKTransfer) transfersUnhashed;
+
     /// The balance (modifiable)
     WKAmount balance;
     WKAmount balanceMinimum;
@@ -182,15 +195,18 @@ private_extern void
 wkWalletSetState (WKWallet wallet,
                       WKWalletState state);
 
-private_extern WKTransfer
-wkWalletGetTransferByHash (WKWallet wallet, WKHash hashToMatch);
-
 private_extern WKTransfer
 wkWalletGetTransferByUIDS (WKWallet wallet, const char *identifier);
 
 private_extern WKTransfer
 wkWalletGetTransferByHashOrUIDS (WKWallet wallet, WKHash hash, const char *uids);
 
+/**
+ * Note that `transfer`'s hash has been reassigned; see `wkTransferSetHash()`.
+ */
+private_extern void
+wkWalletUpdTransferHash (WKWallet wallet, WKTransfer transfer);
+
 private_extern void
 wkWalletAddTransfer (WKWallet wallet, WKTransfer transfer);
 
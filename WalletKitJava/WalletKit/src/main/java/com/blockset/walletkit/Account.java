@@ -72,6 +72,24 @@ public interface Account {
         return Api.getProvider().accountProvider().validatePhrase(phraseUtf8, words);
     }
 
+    /**
+     * Generate a BIP-39 'paper Key' using a registered word list
+     *
+     * @see #generatePhrase(List)
+     */
+    static byte[] generatePhraseWithWordList(WordList words) {
+        return Api.getProvider().accountProvider().generatePhraseWithWordList(words);
+    }
+
+    /**
+     * Validate a phrase as a BIP-39 'paper key' using a registered word list
+     *
+     * @see #validatePhrase(byte[], List)
+     */
+    static boolean validatePhraseWithWordList(byte[] phraseUtf8, WordList words) {
+        return Api.getProvider().accountProvider().validatePhraseWithWordList(phraseUtf8, words);
+    }
+
     Date getTimestamp();
 
     /**
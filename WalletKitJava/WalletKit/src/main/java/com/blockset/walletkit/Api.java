@@ -26,6 +26,8 @@ public final class Api {
         Optional<Account> createFromSerialization(byte[] serialization, String uids);
         byte[] generatePhrase(List<String> words);
         boolean validatePhrase(byte[] phraseUtf8, List<String> words);
+        byte[] generatePhraseWithWordList(WordList words);
+        boolean validatePhraseWithWordList(byte[] phraseUtf8, WordList words);
     }
 
     public interface AddressProvider {
@@ -71,6 +73,7 @@ public final class Api {
     public interface KeyProvider {
         void setDefaultWordList(List<String> wordList);
         List<String> getDefaultWordList();
+        WordList createWordList(List<String> words);
         boolean isProtectedPrivateKeyString(byte[] keyStringUtf8);
         Optional<Key> createFromPhrase(byte[] phraseUtf8, List<String> words);
         Optional<Key> createFromPrivateKeyString(byte[] keyStringUtf8);
@@ -79,6 +82,9 @@ public final class Api {
         Optional<Key> createForPigeon(Key key, byte[] nonce);
         Optional<Key> createForBIP32ApiAuth(byte[] phraseUtf8, List<String> words);
         Optional<Key> createForBIP32BitID(byte[] phraseUtf8, int index, String uri, List<String> words);
+        Optional<Key> createFromPhraseWithWordList(byte[] phraseUtf8, WordList words);
+        Optional<Key> createForBIP32ApiAuthWithWordList(byte[] phraseUtf8, WordList words);
+        Optional<Key> createForBIP32BitIDWithWordList(byte[] phraseUtf8, int index, String uri, WordList words);
     }
 
     public interface SignerProvider {
@@ -9,6 +9,8 @@ package com.blockset.walletkit;
 
 import com.google.common.base.Optional;
 
+import java.nio.ByteBuffer;
+
 public interface Cipher {
 
     static Cipher createForAesEcb(byte[] key) {
@@ -26,4 +28,32 @@ public interface Cipher {
     Optional<byte[]> encrypt(byte[] data);
 
     Optional<byte[]> decrypt(byte[] data);
+
+    /**
+     * The number of bytes `encrypt(data, output)` will write for `data`'s remaining bytes; 0 if
+     * `data` cannot be encrypted.
+     */
+    int getEncryptLength(ByteBuffer data);
+
+    /**
+     * Encrypt the remaining bytes of `data` into `output`.  Both buffers must be direct so that
+     * the bytes never pass through the Java heap; pooled buffers may be reused across calls.  On
+     * success `data` is consumed and `output` advances by `getEncryptLength(data)`.
+     *
+     * @throws java.nio.BufferOverflowException if `output` has insufficient space remaining
+     */
+    boolean encrypt(ByteBuffer data, ByteBuffer output);
+
+    /**
+     * The number of bytes `decrypt(data, output)` will write for `data`'s remaining bytes; 0 if
+     * `data` cannot be decrypted.
+     */
+    int getDecryptLength(ByteBuffer data);
+
+    /**
+     * Decrypt the remaining bytes of `data` into `output`; as with `encrypt(data, output)`.
+     *
+     * @throws java.nio.BufferOverflowException if `output` has insufficient space remaining
+     */
+    boolean decrypt(ByteBuffer data, ByteBuffer output);
 }
@@ -9,6 +9,8 @@ package com.blockset.walletkit;
 
 import com.google.common.base.Optional;
 
+import java.nio.ByteBuffer;
+
 public interface Coder {
 
     enum Algorithm {
@@ -25,4 +27,35 @@ public interface Coder {
     Optional<String> encode(byte[] source);
 
     Optional<byte[]> decode(String source);
+
+    /**
+     * The number of bytes `encode(source, output)` needs for `source`'s remaining bytes, including
+     * a NUL terminator; 0 if `source` cannot be encoded.
+     */
+    int getEncodeLength(ByteBuffer source);
+
+    /**
+     * Encode the remaining bytes of `source` into `output` as NUL terminated ASCII.  Both buffers
+     * must be direct so that the bytes never pass through the Java heap; pooled buffers may be
+     * reused across calls.  On success `source` is consumed and `output` advances to the NUL
+     * terminator.
+     *
+     * @throws java.nio.BufferOverflowException if `output` has insufficient space remaining
+     */
+    boolean encode(ByteBuffer source, ByteBuffer output);
+
+    /**
+     * The number of bytes `decode(source, output)` will write; the remaining bytes of `source`
+     * are the encoded characters followed by a NUL terminator.
+     */
+    int getDecodeLength(ByteBuffer source);
+
+    /**
+     * Decode `source`, whose remaining bytes are the encoded characters followed by a NUL
+     * terminator, into `output`.  Both buffers must be direct.  On success `source` is consumed
+     * and `output` advances by `getDecodeLength(source)`.
+     *
+     * @throws java.nio.BufferOverflowException if `output` has insufficient space remaining
+     */
+    boolean decode(ByteBuffer source, ByteBuffer output);
 }
@@ -8,29 +8,81 @@
 package com.blockset.walletkit;
 
 import com.blockset.walletkit.events.network.NetworkEvent;
-import com.blockset.walletkit.events.system.DefaultSystemListener;
 import com.blockset.walletkit.events.system.SystemEvent;
 import com.blockset.walletkit.events.system.SystemListener;
 import com.blockset.walletkit.events.transfer.TranferEvent;
 import com.blockset.walletkit.events.wallet.WalletEvent;
 import com.blockset.walletkit.events.walletmanager.WalletManagerEvent;
 
-import java.util.Objects;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
-
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link SystemListener} that dispatches events to registered listeners, either for all
+ * events or for those scoped to a {@link WalletManager}, {@link Wallet} or {@link Transfer}.
+ *
+ * Scoped listeners are indexed by their scope so that an event is only dispatched to the
+ * listeners that match it; registration does not copy the set of listeners.
+ *
+ * By default listeners are invoked synchronously on the thread delivering the event.  When
+ * created with an {@link Executor}, each registered listener instead gets its own bounded queue,
+ * drained in order on the executor, so that a slow listener does not delay the others.  Events
+ * arriving at a full queue are dropped and counted; see {@link #getDroppedEventCount()}.
+ */
 public final class DispatchingSystemListener implements SystemListener {
 
-    private final CopyOnWriteArraySet<SystemListener> listeners;
+    // Events a queued listener handles per turn on the executor, before yielding
+    private static final int MAX_EVENTS_PER_TURN = 32;
+
+    private final Set<SystemListener> listeners = new CopyOnWriteArraySet<>();
 
+    private final ConcurrentMap<WalletManager, Set<SystemListener>> managerListeners = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Wallet, Set<SystemListener>> walletListeners = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Transfer, Set<SystemListener>> transferListeners = new ConcurrentHashMap<>();
+
+    private final Executor executor;
+    private final int queueCapacity;
+    private final AtomicLong droppedEventCount = new AtomicLong();
+
+    /**
+     * Create a dispatcher that invokes listeners synchronously.
+     */
     public DispatchingSystemListener() {
-        this.listeners = new CopyOnWriteArraySet<>();
+        this.executor = null;
+        this.queueCapacity = 0;
+    }
+
+    /**
+     * Create a dispatcher that invokes each listener from its own queue, holding at most
+     * `queueCapacity` events, drained on `executor`.
+     */
+    public DispatchingSystemListener(Executor executor, int queueCapacity) {
+        if (queueCapacity <= 0) throw new IllegalArgumentException("queueCapacity must be positive");
+        this.executor = executor;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * The number of events dropped because a listener's queue was full.  Always zero for a
+     * synchronous dispatcher.
+     */
+    public long getDroppedEventCount() {
+        return droppedEventCount.get();
     }
 
     @Override
     public void handleSystemEvent(System system, SystemEvent event) {
         for (SystemListener listener: listeners) {
             listener.handleSystemEvent(system, event);
-        };
+        }
     }
 
     @Override
@@ -45,6 +97,9 @@ public final class DispatchingSystemListener implements SystemListener {
         for (SystemListener listener: listeners) {
             listener.handleManagerEvent(system, manager, event);
         }
+        for (SystemListener listener: scoped(managerListeners, manager)) {
+            listener.handleManagerEvent(system, manager, event);
+        }
     }
 
     @Override
@@ -52,6 +107,12 @@ public final class DispatchingSystemListener implements SystemListener {
         for (SystemListener listener: listeners) {
             listener.handleWalletEvent(system, manager, wallet, event);
         }
+        for (SystemListener listener: scoped(managerListeners, manager)) {
+            listener.handleWalletEvent(system, manager, wallet, event);
+        }
+        for (SystemListener listener: scoped(walletListeners, wallet)) {
+            listener.handleWalletEvent(system, manager, wallet, event);
+        }
     }
 
     @Override
@@ -59,6 +120,15 @@ public final class DispatchingSystemListener implements SystemListener {
         for (SystemListener listener: listeners) {
             listener.handleTransferEvent(system, manager, wallet, transfer, event);
         }
+        for (SystemListener listener: scoped(managerListeners, manager)) {
+            listener.handleTransferEvent(system, manager, wallet, transfer, event);
+        }
+        for (SystemListener listener: scoped(walletListeners, wallet)) {
+            listener.handleTransferEvent(system, manager, wallet, transfer, event);
+        }
+        for (SystemListener listener: scoped(transferListeners, transfer)) {
+            listener.handleTransferEvent(system, manager, wallet, transfer, event);
+        }
     }
 
     // SystemListener registration
@@ -67,14 +137,14 @@ public final class DispatchingSystemListener implements SystemListener {
      * Add a listener for all events.
      */
     public void addSystemListener(SystemListener listener) {
-        listeners.add(listener);
+        listeners.add(wrap(listener));
     }
 
     /**
      * Remove a listener for all events.
      */
     public void removeSystemListener(SystemListener listener) {
-        listeners.remove(listener);
+        listeners.remove(wrap(listener));
     }
 
     // WalletManagerListener registration
@@ -85,14 +155,14 @@ public final class DispatchingSystemListener implements SystemListener {
      * This includes {@link WalletManagerEvent}, {@link WalletEvent} and {@link TranferEvent} events.
      */
     public void addWalletManagerListener(WalletManager manager, SystemListener listener) {
-        listeners.add(new ScopedWalletManagerListener(manager, listener));
+        add(managerListeners, manager, listener);
     }
 
     /**
      * Remove a listener for events scoped to a {@link WalletManager}.
      */
     public void removeWalletManagerListener(WalletManager manager, SystemListener listener) {
-        listeners.remove(new ScopedWalletManagerListener(manager, listener));
+        remove(managerListeners, manager, listener);
     }
 
     // WalletListener registration
@@ -103,14 +173,14 @@ public final class DispatchingSystemListener implements SystemListener {
      * This includes {@link WalletEvent} and {@link TranferEvent} events.
      */
     public void addWalletListener(Wallet wallet, SystemListener listener) {
-        listeners.add(new ScopedWalletListener(wallet, listener));
+        add(walletListeners, wallet, listener);
     }
 
     /**
      * Remove a listener for events scoped to a {@link Wallet}.
      */
     public void removeWalletListener(Wallet wallet, SystemListener listener) {
-        listeners.remove(new ScopedWalletListener(wallet, listener));
+        remove(walletListeners, wallet, listener);
     }
 
     // TransferListener registration
@@ -121,148 +191,131 @@ public final class DispatchingSystemListener implements SystemListener {
      * This includes {@link TranferEvent} events.
      */
     public void addTransferListener(Transfer transfer, SystemListener listener) {
-        listeners.add(new ScopedTransferListener(transfer, listener));
+        add(transferListeners, transfer, listener);
     }
 
     /**
      * Remove a listener for events scoped to a {@link Transfer}.
      */
     public void removeTransferListener(Transfer transfer, SystemListener listener) {
-        listeners.remove(new ScopedTransferListener(transfer, listener));
+        remove(transferListeners, transfer, listener);
     }
 
-    private static class ScopedWalletManagerListener implements DefaultSystemListener {
-
-        private final WalletManager manager;
-        private final SystemListener listener;
-
-        ScopedWalletManagerListener(WalletManager manager, SystemListener listener) {
-            this.manager = manager;
-            this.listener = listener;
-        }
-
-        @Override
-        public void handleManagerEvent(System system, WalletManager manager, WalletManagerEvent event) {
-            if (this.manager.equals(manager)) {
-                listener.handleManagerEvent(system, manager, event);
-            }
-        }
-
-        @Override
-        public void handleWalletEvent(System system, WalletManager manager, Wallet wallet, WalletEvent event) {
-            if (this.manager.equals(manager)) {
-                listener.handleWalletEvent(system, manager, wallet, event);
-            }
-        }
-
-        @Override
-        public void handleTransferEvent(System system, WalletManager manager, Wallet wallet, Transfer transfer, TranferEvent event) {
-            if (this.manager.equals(manager)) {
-                listener.handleTransferEvent(system, manager, wallet, transfer, event);
-            }
-        }
+    // Scoped registration; a scope's set is created and removed atomically with its first and
+    // last listener so that a concurrent add is never lost.
 
-        @Override
-        public boolean equals(Object object) {
-            if (this == object) {
-                return true;
-            }
+    private <K> void add(ConcurrentMap<K, Set<SystemListener>> index, K scope, SystemListener listener) {
+        SystemListener wrapped = wrap(listener);
+        index.compute(scope, (k, set) -> {
+            if (null == set) set = ConcurrentHashMap.newKeySet();
+            set.add(wrapped);
+            return set;
+        });
+    }
 
-            if (!(object instanceof ScopedWalletManagerListener)) {
-                return false;
-            }
+    private <K> void remove(ConcurrentMap<K, Set<SystemListener>> index, K scope, SystemListener listener) {
+        SystemListener wrapped = wrap(listener);
+        index.computeIfPresent(scope, (k, set) -> {
+            set.remove(wrapped);
+            return set.isEmpty() ? null : set;
+        });
+    }
 
-            ScopedWalletManagerListener that = (ScopedWalletManagerListener) object;
-            return manager.equals(that.manager) &&
-                    listener.equals(that.listener);
-        }
+    private static <K> Iterable<SystemListener> scoped(ConcurrentMap<K, Set<SystemListener>> index, K scope) {
+        Set<SystemListener> set = null == scope ? null : index.get(scope);
+        return null == set ? Collections.emptySet() : set;
+    }
 
-        @Override
-        public int hashCode() {
-            return Objects.hash(manager, listener);
-        }
+    private SystemListener wrap(SystemListener listener) {
+        return null == executor ? listener : new QueuedListener(listener);
     }
 
-    private static class ScopedWalletListener implements DefaultSystemListener {
+    /**
+     * A listener invoked, in order, from a bounded queue drained on the dispatcher's executor.
+     * Equality is that of the wrapped listener, so that a registration can be removed with a
+     * fresh wrapper.
+     */
+    private final class QueuedListener implements SystemListener, Runnable {
 
-        private final Wallet wallet;
         private final SystemListener listener;
 
-        ScopedWalletListener(Wallet wallet, SystemListener listener) {
-            this.wallet = wallet;
+        // Created on first use; wrappers made only for removal never allocate a queue
+        private volatile BlockingQueue<Runnable> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        QueuedListener(SystemListener listener) {
             this.listener = listener;
         }
 
-        @Override
-        public void handleWalletEvent(System system, WalletManager manager, Wallet wallet, WalletEvent event) {
-            if (this.wallet.equals(wallet)) {
-                listener.handleWalletEvent(system, manager, wallet, event);
+        private void enqueue(Runnable delivery) {
+            BlockingQueue<Runnable> queue = this.queue;
+            if (null == queue) {
+                synchronized (this) {
+                    if (null == this.queue) this.queue = new ArrayBlockingQueue<>(queueCapacity);
+                    queue = this.queue;
+                }
             }
-        }
 
-        @Override
-        public void handleTransferEvent(System system, WalletManager manager, Wallet wallet, Transfer transfer, TranferEvent event) {
-            if (this.wallet.equals(wallet)) {
-                listener.handleTransferEvent(system, manager, wallet, transfer, event);
+            if (!queue.offer(delivery)) {
+                droppedEventCount.incrementAndGet();
+                return;
+            }
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
             }
         }
 
         @Override
-        public boolean equals(Object object) {
-            if (this == object) {
-                return true;
+        public void run() {
+            BlockingQueue<Runnable> queue = this.queue;
+            try {
+                for (int i = 0; i < MAX_EVENTS_PER_TURN; i++) {
+                    Runnable delivery = queue.poll();
+                    if (null == delivery) break;
+                    delivery.run();
+                }
+            } finally {
+                scheduled.set(false);
+                if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+                    executor.execute(this);
+                }
             }
-
-            if (!(object instanceof ScopedWalletListener)) {
-                return false;
-            }
-
-            ScopedWalletListener that = (ScopedWalletListener) object;
-            return wallet.equals(that.wallet) &&
-                    listener.equals(that.listener);
         }
 
         @Override
-        public int hashCode() {
-            return Objects.hash(wallet, listener);
+        public void handleSystemEvent(System system, SystemEvent event) {
+            enqueue(() -> listener.handleSystemEvent(system, event));
         }
-    }
 
-    private static class ScopedTransferListener implements DefaultSystemListener {
+        @Override
+        public void handleNetworkEvent(System system, Network network, NetworkEvent event) {
+            enqueue(() -> listener.handleNetworkEvent(system, network, event));
+        }
 
-        private final Transfer transfer;
-        private final SystemListener listener;
+        @Override
+        public void handleManagerEvent(System system, WalletManager manager, WalletManagerEvent event) {
+            enqueue(() -> listener.handleManagerEvent(system, manager, event));
+        }
 
-        ScopedTransferListener(Transfer transfer, SystemListener listener) {
-            this.transfer = transfer;
-            this.listener = listener;
+        @Override
+        public void handleWalletEvent(System system, WalletManager manager, Wallet wallet, WalletEvent event) {
+            enqueue(() -> listener.handleWalletEvent(system, manager, wallet, event));
         }
 
         @Override
         public void handleTransferEvent(System system, WalletManager manager, Wallet wallet, Transfer transfer, TranferEvent event) {
-            if (this.transfer.equals(transfer)) {
-                listener.handleTransferEvent(system, manager, wallet, transfer, event);
-            }
+            enqueue(() -> listener.handleTransferEvent(system, manager, wallet, transfer, event));
         }
 
         @Override
         public boolean equals(Object object) {
-            if (this == object) {
-                return true;
-            }
-
-            if (!(object instanceof ScopedTransferListener)) {
-                return false;
-            }
-
-            ScopedTransferListener that = (ScopedTransferListener) object;
-            return transfer.equals(that.transfer) &&
-                    listener.equals(that.listener);
+            return this == object ||
+                    (object instanceof QueuedListener && listener.equals(((QueuedListener) object).listener));
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(transfer, listener);
+            return listener.hashCode();
         }
     }
 }
@@ -9,6 +9,8 @@ package com.blockset.walletkit;
 
 import com.google.common.base.Optional;
 
+import java.nio.ByteBuffer;
+
 public interface Hasher {
 
     enum Algorithm {
@@ -30,4 +32,29 @@ public interface Hasher {
     }
 
     Optional<byte[]> hash(byte[] data);
+
+    /**
+     * The number of bytes produced by each hash.
+     */
+    int getLength();
+
+    /**
+     * Hash the remaining bytes of `data` into `hash`.  Both buffers must be direct so that the
+     * bytes never pass through the Java heap; pooled buffers may be reused across calls.  On
+     * success `data` is consumed and `hash` advances by `getLength()`.
+     *
+     * @throws java.nio.BufferOverflowException if `hash` has insufficient space remaining
+     */
+    boolean hash(ByteBuffer data, ByteBuffer hash);
+
+    /**
+     * Hash many inputs in a single call.  The inputs are packed into `data`, with input `i`
+     * being the bytes from `offsets[i]` to `offsets[i+1]` (relative to the buffer's position);
+     * hash `i` is written into `hashes` at `i * getLength()`.  Both buffers must be direct and
+     * are left with their positions unchanged.
+     *
+     * @return true if every input was hashed
+     * @throws IllegalArgumentException if an offset is negative, decreasing, or past the data
+     */
+    boolean hashBatch(ByteBuffer data, int[] offsets, ByteBuffer hashes);
 }
@@ -29,6 +29,10 @@ public interface Key {
         return Api.getProvider().keyProvider().createFromPhrase(phraseUtf8, words);
     }
 
+    static Optional<Key> createFromPhraseWithWordList(byte[] phraseUtf8, WordList words) {
+        return Api.getProvider().keyProvider().createFromPhraseWithWordList(phraseUtf8, words);
+    }
+
     static Optional<Key> createFromPrivateKeyString(byte[] privatekeyUtf8) {
         return Api.getProvider().keyProvider().createFromPrivateKeyString(privatekeyUtf8);
     }
@@ -49,10 +53,18 @@ public interface Key {
         return Api.getProvider().keyProvider().createForBIP32ApiAuth(phraseUtf8, words);
     }
 
+    static Optional<Key> createForBIP32ApiAuthWithWordList(byte[] phraseUtf8, WordList words) {
+        return Api.getProvider().keyProvider().createForBIP32ApiAuthWithWordList(phraseUtf8, words);
+    }
+
     static Optional<Key> createForBIP32BitID(byte[] phraseUtf8, int index, String uri, List<String> words) {
         return Api.getProvider().keyProvider().createForBIP32BitID(phraseUtf8, index, uri, words);
     }
 
+    static Optional<Key> createForBIP32BitIDWithWordList(byte[] phraseUtf8, int index, String uri, WordList words) {
+        return Api.getProvider().keyProvider().createForBIP32BitIDWithWordList(phraseUtf8, index, uri, words);
+    }
+
     boolean hasSecret();
 
     byte[] encodeAsPrivate();
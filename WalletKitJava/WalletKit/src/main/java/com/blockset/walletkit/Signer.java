@@ -9,6 +9,8 @@ package com.blockset.walletkit;
 
 import com.google.common.base.Optional;
 
+import java.nio.ByteBuffer;
+
 public interface Signer {
 
     enum Algorithm {
@@ -23,5 +25,20 @@ public interface Signer {
 
     Optional<byte[]> sign(byte[] digest, Key key);
 
+    /**
+     * The maximum number of bytes in any signature; this is the stride used by `signBatch`.
+     */
+    int getSignatureLengthMaximum();
+
+    /**
+     * Sign many 32 byte digests in a single call.  The `count` digests are packed into
+     * `digests`; signature `i` is written into `signatures` at
+     * `i * getSignatureLengthMaximum()` and its length stored in `signatureLengths[i]`.  Both
+     * buffers must be direct and are left with their positions unchanged.
+     *
+     * @return true if every digest was signed
+     */
+    boolean signBatch(ByteBuffer digests, int count, Key key, ByteBuffer signatures, int[] signatureLengths);
+
     Optional<? extends Key> recover(byte[] digest, byte[] signature);
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The means by which Blockset subscription notifications reach the System, such as a push
+ * messaging service or a webhook receiver; for tests, a local stand-in.
+ *
+ * The System registers its wallet addresses with Blockset for the endpoint created here, then
+ * `start()`s the transport.  Each notification received is passed to the listener, on any thread;
+ * the System then fetches the new transfers for the affected wallet manager.
+ */
+public interface SubscriptionTransport {
+
+    /**
+     * A notification of a new transaction, or of a confirmation, for subscribed addresses.
+     */
+    final class Notification {
+
+        private final String currencyId;
+        private final List<String> addresses;
+
+        /**
+         * @param currencyId The Blockset currency id, e.g. "bitcoin-mainnet:__native__"
+         * @param addresses  The subscribed addresses involved; possibly empty
+         */
+        public Notification(String currencyId, List<String> addresses) {
+            this.currencyId = checkNotNull(currencyId);
+            this.addresses = ImmutableList.copyOf(addresses);
+        }
+
+        public String getCurrencyId() {
+            return currencyId;
+        }
+
+        public List<String> getAddresses() {
+            return addresses;
+        }
+    }
+
+    interface Listener {
+        void handleNotification(Notification notification);
+    }
+
+    /**
+     * Create the endpoint to which Blockset delivers notifications for `subscriptionToken`.
+     */
+    SystemClient.SubscriptionEndpoint createEndpoint(String subscriptionToken);
+
+    /**
+     * Start delivering notifications to `listener`.
+     */
+    void start(Listener listener);
+
+    /**
+     * Stop delivering notifications.
+     */
+    void stop();
+}
@@ -16,12 +16,14 @@ import com.blockset.walletkit.errors.CurrencyUpdateError;
 import com.blockset.walletkit.errors.NetworkFeeUpdateError;
 import com.blockset.walletkit.events.system.SystemListener;
 import com.blockset.walletkit.utility.CompletionHandler;
+import com.blockset.walletkit.utility.ExecutionLaneMetrics;
 import com.google.common.base.Optional;
 import com.google.common.primitives.UnsignedInteger;
 
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public interface System {
 
@@ -164,8 +166,36 @@ public interface System {
      */
     void pause ();
 
+    /**
+     * Update the subscription token, such as when a push messaging service rotates it.  Has
+     * effect only once subscribed with a transport.
+     *
+     * @param subscriptionToken the new token
+     */
     void subscribe(String subscriptionToken);
 
+    /**
+     * Subscribe to notifications of new transfers for the addresses of all wallet managers.
+     *
+     * Notifications arrive through `transport` and prompt an immediate sync of the affected
+     * wallet manager; the periodic sync then runs only occasionally, as a fallback.  Replaces
+     * any prior subscription.
+     *
+     * @param subscriptionToken the token identifying this device to `transport`
+     * @param transport the transport delivering notifications
+     * @throws UnsupportedOperationException if the System does not support subscriptions
+     */
+    default void subscribe(String subscriptionToken, SubscriptionTransport transport) {
+        throw new UnsupportedOperationException("subscribe");
+    }
+
+    /**
+     * Stop the subscription, if any, and restore the periodic sync.
+     */
+    default void unsubscribe() {
+        // Nothing subscribed without `subscribe(String, SubscriptionTransport)`
+    }
+
     /**
      * Update the NetworkFees for all known networks.  This will query the `BlockChainDB` to
      * acquire the fee information and then update each of system's networks with the new fee
@@ -194,6 +224,24 @@ public interface System {
      */
     void setNetworkReachable(boolean isNetworkReachable);
 
+    /**
+     * Coalesce the high-frequency events - a manager's {@link com.blockset.walletkit.events.walletmanager.WalletManagerSyncProgressEvent}
+     * and {@link com.blockset.walletkit.events.walletmanager.WalletManagerBlockUpdatedEvent} and a
+     * wallet's {@link com.blockset.walletkit.events.wallet.WalletBalanceUpdatedEvent} - so that the
+     * listener sees only the latest of each within `window`.  With a zero window events are only
+     * coalesced while waiting for the executor to run them.
+     *
+     * All other manager, wallet and transfer events are delivered losslessly, after any pending
+     * coalesced events for the same manager, so that their order is preserved.  Coalescing is
+     * disabled by default.
+     */
+    void enableEventCoalescing(long window, TimeUnit unit);
+
+    /**
+     * Stop coalescing events; any pending coalesced events are delivered.
+     */
+    void disableEventCoalescing();
+
     Account getAccount();
 
     String getPath();
@@ -212,4 +260,11 @@ public interface System {
     Optional<byte[]> accountInitializeUsingData (Account account, Network network, byte[] data);
 
     Optional<byte[]> accountInitializeUsingHedera (Account account, Network network, HederaAccount hedera);
+
+    /**
+     * Get a snapshot of the system's execution lanes.  Events and client callbacks are
+     * processed serially per wallet manager, with one lane each for system-wide work; the
+     * metrics report each lane's queue depth along with its queueing and run latencies.
+     */
+    List<ExecutionLaneMetrics> getExecutionLaneMetrics();
 }
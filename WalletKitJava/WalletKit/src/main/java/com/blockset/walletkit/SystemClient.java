@@ -13,6 +13,7 @@ import android.support.annotation.Nullable;
 
 import com.blockset.walletkit.errors.QueryError;
 import com.blockset.walletkit.utility.CompletionHandler;
+import com.blockset.walletkit.utility.PagedCompletionHandler;
 import com.google.common.primitives.UnsignedInteger;
 import com.google.common.primitives.UnsignedLong;
 
@@ -234,6 +235,35 @@ public interface SystemClient {
                              @Nullable Integer maxPageSize,
                              CompletionHandler<List<Transfer>, QueryError> handler);
 
+    /**
+     * Gets transfers as {@link #getTransfers(String, List, UnsignedLong, UnsignedLong, Integer, CompletionHandler)}
+     * but delivers each page of results as it arrives rather than all results at once.  By
+     * default, all results are delivered as a single page.
+     *
+     * @param handler          The handler for each page of retrieved {@link com.blockset.walletkit.Transfer Transfer}
+     * @throws IllegalArgumentException If addresses list is empty
+     */
+    default void getTransfers(String blockchainId,
+                              List<String> addresses,
+                              @Nullable UnsignedLong beginBlockNumber,
+                              @Nullable UnsignedLong endBlockNumber,
+                              @Nullable Integer maxPageSize,
+                              PagedCompletionHandler<List<Transfer>, QueryError> handler) {
+        getTransfers(blockchainId, addresses, beginBlockNumber, endBlockNumber, maxPageSize,
+                new CompletionHandler<List<Transfer>, QueryError>() {
+                    @Override
+                    public void handleData(List<Transfer> data) {
+                        handler.handleData(data);
+                        handler.handleComplete();
+                    }
+
+                    @Override
+                    public void handleError(QueryError error) {
+                        handler.handleError(error);
+                    }
+                });
+    }
+
     /**
      * Gets a specific transfer identified by the transfer identifier.
      *
@@ -267,6 +297,40 @@ public interface SystemClient {
                                 @Nullable Integer maxPageSize,
                                 CompletionHandler<List<Transaction>, QueryError> handler);
 
+    /**
+     * Gets transactions as {@link #getTransactions(String, List, UnsignedLong, UnsignedLong, boolean, boolean, boolean, Integer, CompletionHandler)}
+     * but delivers each page of results as it arrives rather than all results at once.  By
+     * default, all results are delivered as a single page.
+     *
+     * @param handler          The handler for each page of retrieved {@link Transaction Transaction}'s
+     * @throws IllegalArgumentException If addresses list is empty
+     */
+    default void getTransactions(String blockchainId,
+                                 List<String> addresses,
+                                 @Nullable UnsignedLong beginBlockNumber,
+                                 @Nullable UnsignedLong endBlockNumber,
+                                 boolean includeRaw,
+                                 boolean includeProof,
+                                 boolean includeTransfers,
+                                 @Nullable Integer maxPageSize,
+                                 PagedCompletionHandler<List<Transaction>, QueryError> handler) {
+        getTransactions(blockchainId, addresses, beginBlockNumber, endBlockNumber,
+                includeRaw, includeProof, includeTransfers, maxPageSize,
+                new CompletionHandler<List<Transaction>, QueryError>() {
+                    @Override
+                    public void handleData(List<Transaction> data) {
+                        handler.handleData(data);
+                        handler.handleComplete();
+                    }
+
+                    @Override
+                    public void handleError(QueryError error) {
+                        handler.handleError(error);
+                    }
+                });
+    }
+
+
     /**
      * Get a specific transaction referenced by transaction identifier.
      *
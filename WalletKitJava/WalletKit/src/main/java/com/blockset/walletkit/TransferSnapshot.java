@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit;
+
+import com.google.common.base.Optional;
+import com.google.common.primitives.UnsignedLong;
+
+/**
+ * An immutable, read-only view of a range of a wallet's transfers, taken at one point in time.
+ *
+ * The attributes of every transfer in the range are fetched at once and held compactly, so that
+ * reading them does not touch the transfers themselves; use this, rather than
+ * {@link Wallet#getTransfers()}, to list or summarize many transfers.  Transfers are indexed from
+ * zero, in the order of {@link Wallet#getTransfers()} less {@link #getOffset()}.
+ */
+public interface TransferSnapshot {
+
+    Wallet getWallet();
+
+    /**
+     * The index, within the wallet's transfers, of the first transfer in this snapshot.
+     */
+    int getOffset();
+
+    /**
+     * The number of transfers in this snapshot.
+     */
+    int size();
+
+    /**
+     * The number of transfers in the wallet when the snapshot was taken; a further snapshot
+     * starting at `getOffset() + size()` holds the next transfers, if any.
+     */
+    int getTotalCount();
+
+    /**
+     * The transfer's amount, in the wallet's unit.  See {@link Transfer#getAmount()}.
+     */
+    Amount getAmount(int index);
+
+    /**
+     * The transfer's amount considering its direction and state.  See
+     * {@link Transfer#getAmountDirected()}.
+     */
+    Amount getAmountDirected(int index);
+
+    /**
+     * The transfer's fee, in the wallet's fee unit, if known.
+     */
+    Optional<? extends Amount> getFee(int index);
+
+    TransferDirection getDirection(int index);
+
+    TransferState.Type getStateType(int index);
+
+    /**
+     * The block number of an included transfer.
+     */
+    Optional<UnsignedLong> getBlockNumber(int index);
+
+    /**
+     * The timestamp, in seconds, of an included transfer.
+     */
+    Optional<UnsignedLong> getTimestamp(int index);
+
+    /**
+     * The transfer's hash, as per {@link TransferHash#toString()}.
+     */
+    Optional<String> getHash(int index);
+
+    /**
+     * The index of the transfer with `hash`, or -1 if there is no such transfer in this snapshot.
+     */
+    int indexOfHash(TransferHash hash);
+}
@@ -105,6 +105,18 @@ public interface Wallet {
 
     Optional<? extends Transfer> getTransferByHash(TransferHash hash);
 
+    /**
+     * Get a snapshot of at most `limit` of the wallet's transfers, starting at `offset`.
+     */
+    TransferSnapshot getTransferSnapshot(int offset, int limit);
+
+    /**
+     * Get a snapshot of all of the wallet's transfers.
+     */
+    default TransferSnapshot getTransferSnapshot() {
+        return getTransferSnapshot(0, Integer.MAX_VALUE);
+    }
+
     Set<? extends TransferAttribute> getTransferAttributesFor (@Nullable Address address);
 
     default Set<? extends TransferAttribute> getTransferAttributes () {
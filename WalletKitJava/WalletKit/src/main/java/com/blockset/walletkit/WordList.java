@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit;
+
+import java.util.List;
+
+/**
+ * A BIP-39 word list, registered once with native code and reused by every phrase operation
+ * given it, rather than being copied to native memory on each call.
+ *
+ * The native copy is freed on `close()`; operations in progress on other threads complete first.
+ * Using a closed word list throws `IllegalStateException`.
+ */
+public interface WordList extends AutoCloseable {
+
+    /**
+     * Register `words`, a locale-specific BIP-39-defined array of 2048 words.
+     */
+    static WordList create(List<String> words) {
+        return Api.getProvider().keyProvider().createWordList(words);
+    }
+
+    List<String> getWords();
+
+    @Override
+    void close();
+}
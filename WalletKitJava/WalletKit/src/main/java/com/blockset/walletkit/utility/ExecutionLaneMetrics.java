@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.utility;
+
+/**
+ * A point-in-time snapshot of one serial execution lane.  A `System` pumps the events and
+ * client callbacks of each wallet manager through its own lane so that a slow manager does
+ * not hold up any other.
+ */
+public final class ExecutionLaneMetrics {
+
+    private final String name;
+    private final int queueDepth;
+    private final long executedCount;
+    private final long totalWaitNanos;
+    private final long maxWaitNanos;
+    private final long totalRunNanos;
+    private final long maxRunNanos;
+
+    public ExecutionLaneMetrics(String name,
+                                int queueDepth,
+                                long executedCount,
+                                long totalWaitNanos,
+                                long maxWaitNanos,
+                                long totalRunNanos,
+                                long maxRunNanos) {
+        this.name = name;
+        this.queueDepth = queueDepth;
+        this.executedCount = executedCount;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.totalRunNanos = totalRunNanos;
+        this.maxRunNanos = maxRunNanos;
+    }
+
+    /** The lane's name, such as "listener:bitcoin-mainnet" or "client:system" */
+    public String getName() {
+        return name;
+    }
+
+    /** The number of tasks queued but not yet started */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /** The number of tasks that have run to completion */
+    public long getExecutedCount() {
+        return executedCount;
+    }
+
+    /** The mean time between a task being queued and it starting */
+    public long getAverageWaitNanos() {
+        return 0 == executedCount ? 0 : totalWaitNanos / executedCount;
+    }
+
+    /** The longest time between a task being queued and it starting */
+    public long getMaxWaitNanos() {
+        return maxWaitNanos;
+    }
+
+    /** The mean time a task spent running */
+    public long getAverageRunNanos() {
+        return 0 == executedCount ? 0 : totalRunNanos / executedCount;
+    }
+
+    /** The longest time a task spent running */
+    public long getMaxRunNanos() {
+        return maxRunNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: depth=%d, executed=%d, wait(avg/max)=%d/%d ns, run(avg/max)=%d/%d ns",
+                name, queueDepth, executedCount,
+                getAverageWaitNanos(), maxWaitNanos,
+                getAverageRunNanos(), maxRunNanos);
+    }
+}
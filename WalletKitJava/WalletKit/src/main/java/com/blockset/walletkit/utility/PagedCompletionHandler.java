@@ -0,0 +1,18 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.utility;
+
+/**
+ * A {@link CompletionHandler} for results that arrive as a sequence of pages.
+ *
+ * `handleData` is called once per page, never concurrently, and in no particular order across
+ * the underlying requests.  Exactly one of `handleComplete` or `handleError` ends the sequence;
+ * no page is delivered after `handleError`.
+ */
+public interface PagedCompletionHandler<T, E> extends CompletionHandler<T, E> {
+    void handleComplete();
+}
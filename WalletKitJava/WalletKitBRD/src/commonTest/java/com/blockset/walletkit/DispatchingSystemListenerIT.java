@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit;
+
+import com.blockset.walletkit.events.network.NetworkEvent;
+import com.blockset.walletkit.events.system.SystemEvent;
+import com.blockset.walletkit.events.system.SystemListener;
+import com.blockset.walletkit.events.transfer.TranferEvent;
+import com.blockset.walletkit.events.transfer.TransferChangedEvent;
+import com.blockset.walletkit.events.wallet.WalletEvent;
+import com.blockset.walletkit.events.walletmanager.WalletManagerEvent;
+
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class DispatchingSystemListenerIT {
+
+    private final WalletManager manager = stub(WalletManager.class);
+    private final WalletManager otherManager = stub(WalletManager.class);
+    private final Wallet wallet = stub(Wallet.class);
+    private final Wallet otherWallet = stub(Wallet.class);
+    private final Transfer transfer = stub(Transfer.class);
+    private final Transfer otherTransfer = stub(Transfer.class);
+
+    private final TranferEvent event = new TransferChangedEvent(null, null);
+
+    @Test
+    public void testScopedDispatch() {
+        DispatchingSystemListener dispatcher = new DispatchingSystemListener();
+        List<String> seen = new ArrayList<>();
+
+        dispatcher.addSystemListener(new RecordingListener("system", seen));
+        dispatcher.addWalletManagerListener(manager, new RecordingListener("manager", seen));
+        dispatcher.addWalletManagerListener(otherManager, new RecordingListener("otherManager", seen));
+        dispatcher.addWalletListener(wallet, new RecordingListener("wallet", seen));
+        dispatcher.addWalletListener(otherWallet, new RecordingListener("otherWallet", seen));
+        dispatcher.addTransferListener(transfer, new RecordingListener("transfer", seen));
+        dispatcher.addTransferListener(otherTransfer, new RecordingListener("otherTransfer", seen));
+
+        dispatcher.handleTransferEvent(null, manager, wallet, transfer, event);
+        assertEquals(Arrays.asList("system", "manager", "wallet", "transfer"), seen);
+
+        seen.clear();
+        dispatcher.handleWalletEvent(null, manager, otherWallet, null);
+        assertEquals(Arrays.asList("system", "manager", "otherWallet"), seen);
+
+        seen.clear();
+        dispatcher.handleManagerEvent(null, otherManager, null);
+        assertEquals(Arrays.asList("system", "otherManager"), seen);
+
+        // Unscoped events reach only the system listeners
+        seen.clear();
+        dispatcher.handleNetworkEvent(null, null, null);
+        dispatcher.handleTransferEvent(null, null, null, null, event);
+        assertEquals(Arrays.asList("system", "system"), seen);
+    }
+
+    @Test
+    public void testRemove() {
+        DispatchingSystemListener dispatcher = new DispatchingSystemListener();
+        List<String> seen = new ArrayList<>();
+
+        SystemListener first = new RecordingListener("first", seen);
+        SystemListener second = new RecordingListener("second", seen);
+        dispatcher.addWalletListener(wallet, first);
+        dispatcher.addWalletListener(wallet, second);
+
+        // Removing from the wrong scope is a no-op
+        dispatcher.removeWalletListener(otherWallet, first);
+        dispatcher.removeTransferListener(transfer, first);
+
+        dispatcher.handleWalletEvent(null, manager, wallet, null);
+        Collections.sort(seen);
+        assertEquals(Arrays.asList("first", "second"), seen);
+
+        seen.clear();
+        dispatcher.removeWalletListener(wallet, first);
+        dispatcher.handleWalletEvent(null, manager, wallet, null);
+        assertEquals(Collections.singletonList("second"), seen);
+
+        seen.clear();
+        dispatcher.removeWalletListener(wallet, second);
+        dispatcher.handleWalletEvent(null, manager, wallet, null);
+        assertTrue(seen.isEmpty());
+    }
+
+    @Test
+    public void testQueuedDispatchPreservesOrder() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            DispatchingSystemListener dispatcher = new DispatchingSystemListener(executor, 1024);
+            List<String> seen = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch done = new CountDownLatch(1000);
+
+            dispatcher.addTransferListener(transfer, new RecordingListener("t", seen) {
+                @Override
+                public void handleTransferEvent(System system, WalletManager manager, Wallet wallet, Transfer transfer, TranferEvent event) {
+                    seen.add("t" + seen.size());
+                    done.countDown();
+                }
+            });
+
+            for (int i = 0; i < 1000; i++) {
+                dispatcher.handleTransferEvent(null, manager, wallet, transfer, event);
+            }
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+
+            for (int i = 0; i < 1000; i++) assertEquals("t" + i, seen.get(i));
+            assertEquals(0, dispatcher.getDroppedEventCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testQueuedDispatchDropsWhenFull() {
+        List<Runnable> tasks = new ArrayList<>();
+        Executor executor = tasks::add;
+
+        DispatchingSystemListener dispatcher = new DispatchingSystemListener(executor, 2);
+        List<String> seen = new ArrayList<>();
+        SystemListener listener = new RecordingListener("system", seen);
+        dispatcher.addSystemListener(listener);
+
+        for (int i = 0; i < 5; i++) dispatcher.handleSystemEvent(null, null);
+        assertEquals(3, dispatcher.getDroppedEventCount());
+
+        // The listener was scheduled once and delivers what was queued
+        assertEquals(1, tasks.size());
+        tasks.remove(0).run();
+        assertEquals(Arrays.asList("system", "system"), seen);
+
+        // A removed listener receives nothing more
+        dispatcher.removeSystemListener(listener);
+        dispatcher.handleSystemEvent(null, null);
+        assertTrue(tasks.isEmpty());
+    }
+
+    // Identity-only stand-ins for the models, usable as scope keys
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":   return proxy == args[0];
+                case "hashCode": return java.lang.System.identityHashCode(proxy);
+                case "toString": return type.getSimpleName();
+                default:         throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    private static class RecordingListener implements SystemListener {
+
+        private final String name;
+        private final List<String> seen;
+
+        RecordingListener(String name, List<String> seen) {
+            this.name = name;
+            this.seen = seen;
+        }
+
+        @Override
+        public void handleSystemEvent(System system, SystemEvent event) {
+            seen.add(name);
+        }
+
+        @Override
+        public void handleNetworkEvent(System system, Network network, NetworkEvent event) {
+            seen.add(name);
+        }
+
+        @Override
+        public void handleManagerEvent(System system, WalletManager manager, WalletManagerEvent event) {
+            seen.add(name);
+        }
+
+        @Override
+        public void handleWalletEvent(System system, WalletManager manager, Wallet wallet, WalletEvent event) {
+            seen.add(name);
+        }
+
+        @Override
+        public void handleTransferEvent(System system, WalletManager manager, Wallet wallet, Transfer transfer, TranferEvent event) {
+            seen.add(name);
+        }
+    }
+}
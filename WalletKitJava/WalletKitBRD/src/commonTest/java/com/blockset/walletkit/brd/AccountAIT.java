@@ -83,4 +83,29 @@ public class AccountAIT {
         assertFalse(Account.validatePhrase(phrase, HelpersAIT.BIP39_WORDS_EN));
     }
 
+    @Test
+    public void testAccountPhraseWithWordList() {
+        try (WordList words = WordList.create(HelpersAIT.BIP39_WORDS_EN)) {
+            byte[] phrase = "ginger settle marine tissue robot crane night number ramp coast roast critic".getBytes(StandardCharsets.UTF_8);
+            assertTrue(Account.validatePhraseWithWordList(phrase, words));
+
+            phrase = Account.generatePhraseWithWordList(words);
+            assertTrue(Account.validatePhraseWithWordList(phrase, words));
+
+            phrase = "Ask @jmo for a pithy quote".getBytes(StandardCharsets.UTF_8);
+            assertFalse(Account.validatePhraseWithWordList(phrase, words));
+        }
+    }
+
+    @Test
+    public void testAccountPhraseWithDefaultWordList() {
+        Key.setDefaultWordList(HelpersAIT.BIP39_WORDS_EN);
+        try {
+            byte[] phrase = Account.generatePhrase(Key.getDefaultWordList());
+            assertTrue(Account.validatePhrase(phrase, Key.getDefaultWordList()));
+        } finally {
+            Key.setDefaultWordList(null);
+        }
+    }
+
 }
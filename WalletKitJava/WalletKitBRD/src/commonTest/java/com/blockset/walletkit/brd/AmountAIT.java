@@ -46,6 +46,8 @@ public class AmountAIT {
         assertEquals(new Double(100000000), btc1.doubleAmount(satoshi_btc).get());
 
         assertEquals(btc1, btc2);
+        assertEquals(btc1.hashCode(), btc2.hashCode());
+        assertNotEquals(btc1.hashCode(), btc1n.hashCode());
 
         Amount btc3 = Amount.create(1.5, btc_btc);
         assertEquals(new Double(1.5), btc3.doubleAmount(btc_btc).get());
@@ -58,6 +60,7 @@ public class AmountAIT {
 
         assertMultiple (btc4.toStringAsUnit(btc_btc, null).get(), "-B1.50", "(B1.50)");
         assertMultiple (btc4.toStringAsUnit(satoshi_btc, null).get(), "-SAT150,000,000", "(SAT150,000,000)");
+        assertEquals (btc4.toStringAsUnit(btc_btc, null).get(), btc4.toStringAsUnit(btc_btc).get());
 
         assertEquals (btc1.doubleAmount(btc_btc).get(),     btc1.convert(satoshi_btc).get().doubleAmount(btc_btc).get());
         assertEquals (btc1.doubleAmount(satoshi_btc).get(), btc1.convert(btc_btc).get().doubleAmount(satoshi_btc).get());
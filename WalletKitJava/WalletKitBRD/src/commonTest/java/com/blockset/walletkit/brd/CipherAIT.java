@@ -12,9 +12,12 @@ import com.blockset.walletkit.brd.Key;
 
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class CipherAIT {
 
@@ -108,4 +111,32 @@ public class CipherAIT {
         byte [] pigeonCipher = pigeon.encrypt(msg).get();
         assertArrayEquals(msg, pigeon.decrypt(pigeonCipher).get());
     }
+
+    @Test
+    public void testCipherDirectBuffers() {
+        byte[] msg = "Free online AES Calculator, type text here..".getBytes(StandardCharsets.UTF_8);
+        Key key = Key.createFromSecret(new byte[] {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1}).get();
+        Cipher alg = Cipher.createForChaCha20Poly1305(key, new byte[12], new byte[0]);
+
+        ByteBuffer plain = ByteBuffer.allocateDirect(msg.length);
+        plain.put(msg).flip();
+
+        ByteBuffer encrypted = ByteBuffer.allocateDirect(alg.getEncryptLength(plain));
+        assertTrue(alg.encrypt(plain, encrypted));
+        assertFalse(plain.hasRemaining());
+        assertFalse(encrypted.hasRemaining());
+        encrypted.flip();
+
+        byte[] encryptedBytes = new byte[encrypted.remaining()];
+        encrypted.duplicate().get(encryptedBytes);
+        assertArrayEquals(alg.encrypt(msg).get(), encryptedBytes);
+
+        ByteBuffer decrypted = ByteBuffer.allocateDirect(alg.getDecryptLength(encrypted));
+        assertTrue(alg.decrypt(encrypted, decrypted));
+        decrypted.flip();
+
+        byte[] decryptedBytes = new byte[decrypted.remaining()];
+        decrypted.get(decryptedBytes);
+        assertArrayEquals(msg, decryptedBytes);
+    }
 }
@@ -11,9 +11,13 @@ import com.blockset.walletkit.brd.Coder;
 
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class CoderAIT {
 
@@ -64,4 +68,34 @@ public class CoderAIT {
         d = Coder.createForAlgorithm(com.blockset.walletkit.Coder.Algorithm.BASE58RIPPLE).decode(s).get();
         assertEquals (s, Coder.createForAlgorithm(com.blockset.walletkit.Coder.Algorithm.BASE58RIPPLE).encode(d).get());
     }
+
+    @Test
+    public void testCoderDirectBuffers() {
+        byte[] d = new byte[] {(byte) 0xde, (byte) 0xad, (byte) 0xbe, (byte) 0xef};
+
+        for (com.blockset.walletkit.Coder.Algorithm algorithm : com.blockset.walletkit.Coder.Algorithm.values()) {
+            Coder coder = Coder.createForAlgorithm(algorithm);
+
+            ByteBuffer source = ByteBuffer.allocateDirect(d.length);
+            source.put(d).flip();
+
+            ByteBuffer encoded = ByteBuffer.allocateDirect(coder.getEncodeLength(source));
+            assertTrue(coder.encode(source, encoded));
+            assertEquals(1, encoded.remaining());
+
+            // Include the NUL terminator for decoding
+            encoded.position(encoded.limit()).flip();
+            byte[] chars = new byte[encoded.remaining() - 1];
+            encoded.duplicate().get(chars);
+            assertEquals(coder.encode(d).get(), new String(chars, StandardCharsets.UTF_8));
+
+            ByteBuffer decoded = ByteBuffer.allocateDirect(coder.getDecodeLength(encoded));
+            assertTrue(coder.decode(encoded, decoded));
+            decoded.flip();
+
+            byte[] bytes = new byte[decoded.remaining()];
+            decoded.get(bytes);
+            assertArrayEquals(d, bytes);
+        }
+    }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd;
+
+import com.blockset.walletkit.SystemClient;
+import com.blockset.walletkit.brd.systemclient.BlocksetCurrency;
+import com.blockset.walletkit.brd.systemclient.BlocksetCurrencyDenomination;
+import com.google.common.primitives.UnsignedInteger;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class CurrencyModelTrackerIT {
+
+    private static BlocksetCurrency currency(String id, String blockchainId, int decimals) {
+        return BlocksetCurrency.create(id, id, id, "native", blockchainId, null, true, Arrays.asList(
+                BlocksetCurrencyDenomination.create(id + "-base", id + "i", UnsignedInteger.ZERO, id + "I"),
+                BlocksetCurrencyDenomination.create(id, id, UnsignedInteger.valueOf(decimals), id.toUpperCase())));
+    }
+
+    @Test
+    public void testGroupByBlockchain() {
+        BlocksetCurrency btc = currency("btc", "bitcoin-mainnet", 8);
+        BlocksetCurrency eth = currency("eth", "ethereum-mainnet", 18);
+        BlocksetCurrency brd = currency("brd", "ethereum-mainnet", 18);
+
+        Map<String, List<SystemClient.Currency>> groups =
+                CurrencyModelTracker.groupByBlockchain(Arrays.asList(eth, btc, brd));
+
+        assertEquals(2, groups.size());
+        assertEquals(Collections.singletonList(btc), groups.get("bitcoin-mainnet"));
+        assertEquals(Arrays.asList(eth, brd), groups.get("ethereum-mainnet"));
+    }
+
+    @Test
+    public void testUpdateReportsAddedAndChanged() {
+        CurrencyModelTracker tracker = new CurrencyModelTracker();
+
+        BlocksetCurrency btc = currency("btc", "bitcoin-mainnet", 8);
+        BlocksetCurrency eth = currency("eth", "ethereum-mainnet", 18);
+
+        assertEquals(Arrays.asList(btc, eth), tracker.update(Arrays.asList(btc, eth)));
+
+        // Equal models, even if distinct instances, are unchanged
+        assertTrue(tracker.update(Arrays.asList(currency("btc", "bitcoin-mainnet", 8), eth)).isEmpty());
+
+        // A changed denomination and a new currency are reported
+        BlocksetCurrency ethChanged = currency("eth", "ethereum-mainnet", 9);
+        BlocksetCurrency brd = currency("brd", "ethereum-mainnet", 18);
+        assertEquals(Arrays.asList(ethChanged, brd), tracker.update(Arrays.asList(btc, ethChanged, brd)));
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class EventCoalescerIT {
+
+    // Single threaded, so that submission order is delivery order
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final EventCoalescer coalescer = new EventCoalescer(executor);
+    private final List<String> seen = Collections.synchronizedList(new ArrayList<>());
+
+    @After
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
+    private void drain() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        executor.submit(done::countDown);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    private Runnable record(String value) {
+        return () -> seen.add(value);
+    }
+
+    @Test
+    public void testDisabledDeliversEverything() throws InterruptedException {
+        assertFalse(coalescer.isEnabled());
+        coalescer.coalesce("m", "progress", record("p1"));
+        coalescer.coalesce("m", "progress", record("p2"));
+        coalescer.announce("m", record("stopped"));
+        drain();
+
+        assertEquals(Arrays.asList("p1", "p2", "stopped"), seen);
+    }
+
+    @Test
+    public void testWindowKeepsLatest() throws InterruptedException {
+        coalescer.enable(100, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < 50; i++) {
+            coalescer.coalesce("m", "progress", record("p" + i));
+            coalescer.coalesce("m", "balance", record("b" + i));
+        }
+        Thread.sleep(300);
+        drain();
+
+        assertEquals(Arrays.asList("p49", "b49"), seen);
+    }
+
+    @Test
+    public void testLosslessFlushesHeldInOrder() throws InterruptedException {
+        coalescer.enable(1, TimeUnit.HOURS);
+        coalescer.coalesce("m", "progress", record("p1"));
+        coalescer.coalesce("other", "progress", record("o1"));
+        coalescer.coalesce("m", "progress", record("p2"));
+        coalescer.announce("m", record("stopped"));
+        coalescer.coalesce("m", "progress", record("p3"));
+        coalescer.announce("m", record("transfer"));
+        drain();
+
+        // The other group's event is still held
+        assertEquals(Arrays.asList("p2", "stopped", "p3", "transfer"), seen);
+
+        coalescer.disable();
+        drain();
+        assertEquals(Arrays.asList("p2", "stopped", "p3", "transfer", "o1"), seen);
+    }
+
+    @Test
+    public void testZeroWindowCoalescesUntilDrained() throws InterruptedException {
+        coalescer.enable(0, TimeUnit.MILLISECONDS);
+
+        // Block the executor so that events accumulate
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        for (int i = 0; i < 10; i++) coalescer.coalesce("m", "height", record("h" + i));
+        release.countDown();
+        drain();
+
+        coalescer.coalesce("m", "height", record("h10"));
+        drain();
+
+        assertEquals(Arrays.asList("h9", "h10"), seen);
+    }
+}
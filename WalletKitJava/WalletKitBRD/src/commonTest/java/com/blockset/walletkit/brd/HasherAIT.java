@@ -11,9 +11,12 @@ import com.blockset.walletkit.brd.Hasher;
 
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class HasherAIT {
 
@@ -172,4 +175,65 @@ public class HasherAIT {
         };
         assertArrayEquals(a, Hasher.createForAlgorithm(com.blockset.walletkit.Hasher.Algorithm.MD5).hash(d).get());
     }
+
+    @Test
+    public void testHasherBatch() {
+        Hasher hasher = Hasher.createForAlgorithm(com.blockset.walletkit.Hasher.Algorithm.SHA256);
+        byte[][] inputs = new byte[][] {
+                "Free online SHA256 Calculator, type text here...".getBytes(StandardCharsets.UTF_8),
+                new byte[0],
+                "abc".getBytes(StandardCharsets.UTF_8),
+        };
+
+        int[] offsets = new int[inputs.length + 1];
+        ByteBuffer data = ByteBuffer.allocateDirect(64 + 3);
+        for (int i = 0; i < inputs.length; i++) {
+            data.put(inputs[i]);
+            offsets[i + 1] = data.position();
+        }
+        data.flip();
+
+        ByteBuffer hashes = ByteBuffer.allocateDirect(inputs.length * hasher.getLength());
+        assertTrue(hasher.hashBatch(data, offsets, hashes));
+
+        for (byte[] input : inputs) {
+            byte[] hash = new byte[hasher.getLength()];
+            hashes.get(hash);
+            assertArrayEquals(hasher.hash(input).get(), hash);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHasherBatchNegativeOffset() {
+        Hasher hasher = Hasher.createForAlgorithm(com.blockset.walletkit.Hasher.Algorithm.SHA256);
+        ByteBuffer data = ByteBuffer.allocateDirect(8);
+        ByteBuffer hashes = ByteBuffer.allocateDirect(2 * hasher.getLength());
+        hasher.hashBatch(data, new int[] { -4, 4, 8 }, hashes);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHasherBatchDecreasingOffsets() {
+        Hasher hasher = Hasher.createForAlgorithm(com.blockset.walletkit.Hasher.Algorithm.SHA256);
+        ByteBuffer data = ByteBuffer.allocateDirect(8);
+        ByteBuffer hashes = ByteBuffer.allocateDirect(3 * hasher.getLength());
+        hasher.hashBatch(data, new int[] { 0, 6, 2, 8 }, hashes);
+    }
+
+    @Test
+    public void testHasherDirectBuffers() {
+        Hasher hasher = Hasher.createForAlgorithm(com.blockset.walletkit.Hasher.Algorithm.SHA256);
+        byte[] d = "Free online SHA256 Calculator, type text here...".getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer data = ByteBuffer.allocateDirect(d.length);
+        data.put(d).flip();
+
+        ByteBuffer hash = ByteBuffer.allocateDirect(hasher.getLength());
+        assertTrue(hasher.hash(data, hash));
+        assertFalse(data.hasRemaining());
+        hash.flip();
+
+        byte[] h = new byte[hash.remaining()];
+        hash.get(h);
+        assertArrayEquals(hasher.hash(d).get(), h);
+    }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class LazyFieldsIT {
+
+    private static final class Fields extends LazyFields {
+        private static final int NAME  = 1;
+        private static final int LABEL = 1 << 1;
+        private static final int NONE  = 1 << 2;
+
+        final AtomicInteger resolveCount = new AtomicInteger();
+
+        private String name;
+        private String label;
+        private String none;
+
+        @Override
+        protected void resolveField(int field) {
+            resolveCount.incrementAndGet();
+            switch (field) {
+                case NAME:  name = new String("name"); break;
+                case LABEL: label = "label: " + getName(); break;
+                case NONE:  none = null; break;
+                default: throw new IllegalArgumentException("Unknown field");
+            }
+        }
+
+        String getName() {
+            resolve(NAME);
+            return name;
+        }
+
+        String getLabel() {
+            resolve(LABEL);
+            return label;
+        }
+
+        String getNone() {
+            resolve(NONE);
+            return none;
+        }
+    }
+
+    @Test
+    public void testResolvesOnce() {
+        Fields fields = new Fields();
+        assertSame(fields.getName(), fields.getName());
+        assertEquals(1, fields.resolveCount.get());
+
+        // A null value is resolved, too
+        assertNull(fields.getNone());
+        assertNull(fields.getNone());
+        assertEquals(2, fields.resolveCount.get());
+    }
+
+    @Test
+    public void testResolvesDependentField() {
+        Fields fields = new Fields();
+        assertEquals("label: name", fields.getLabel());
+        assertEquals("label: name", fields.getLabel());
+        fields.getName();
+        assertEquals(2, fields.resolveCount.get());
+    }
+
+    @Test
+    public void testResolvesOnceUnderContention() throws InterruptedException {
+        Fields fields = new Fields();
+        CountDownLatch start = new CountDownLatch(1);
+        List<String> names = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                String name = fields.getName();
+                synchronized (names) {
+                    names.add(name);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        for (Thread thread : threads) thread.join();
+
+        assertEquals(1, fields.resolveCount.get());
+        assertEquals(8, names.size());
+        for (String name : names) assertSame(names.get(0), name);
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.net.ssl.X509TrustManager;
+
+import static org.junit.Assert.*;
+
+public class PaymentProtocolValidatorIT {
+
+    // A self-signed certificate for "merchant.test", valid for 100 years
+    private static final String CERTIFICATE_PEM = String.join("",
+            "-----BEGIN CERTIFICATE-----\n",
+            "MIIDEzCCAfugAwIBAgIUTMPgqCBVaU2YV9juQHMH15sGZT4wDQYJKoZIhvcNAQEL\n",
+            "BQAwGDEWMBQGA1UEAwwNbWVyY2hhbnQudGVzdDAgFw0yNjEwMTcxMzExNTJaGA8y\n",
+            "MTI2MDkyMzEzMTE1MlowGDEWMBQGA1UEAwwNbWVyY2hhbnQudGVzdDCCASIwDQYJ\n",
+            "KoZIhvcNAQEBBQADggEPADCCAQoCggEBAJrOi8stMjHuGDa3IQze6WJWqeQvt4Fg\n",
+            "xQD8jLzy0iryNx6MwjlcvlJpgXKwle1YtZ/zMsvIgR9q9thselOlupbZMM00p0/K\n",
+            "nENlUYef5bG9bzOjzSiRV5cIEYBe6mlJguzQTvVLbSdRzXXsP4kB7uzMvxI/WIBV\n",
+            "MJDH1uiJGXbowvrdSz6V1A9QdKcEujbPZANqc2bKLJhrZ2KDfmOWyNt1Lly9x0g7\n",
+            "0a37qhaD1WgBOfZH84/hwsJ4qepYp7G9a/7R3oTlE5t+DJuTqbmHZUFGoEP5kFmS\n",
+            "1ZqUmnQl2gX9G+CCEeSnyDfX5N2FBrHJMYaXEOpu0rzftzwFm88am+UCAwEAAaNT\n",
+            "MFEwHQYDVR0OBBYEFEGVwoS/JU/zdjY0VlVuF4FMVaXwMB8GA1UdIwQYMBaAFEGV\n",
+            "woS/JU/zdjY0VlVuF4FMVaXwMA8GA1UdEwEB/wQFMAMBAf8wDQYJKoZIhvcNAQEL\n",
+            "BQADggEBACvzw+gWA/UHDZTLOWU5ZNh1VVDrcl5pmlquGP7qVqQO1YVaTssVe3r5\n",
+            "iSHk7sn/MVU9sZGgjF9W9yQjY9TyoRml8eD8d+wwmVIHaYRYL/l/u2OPBhEZS39F\n",
+            "nbPNRcjZ1fXR3Yhppb06yTwiqZ4hqpstnZ4dOLlQSzAv8+OdV3kavEKfJgX95Aij\n",
+            "7y4Pj+VSIu1cILuKzWX6rk+b4UKTwAdegtAEqkv/rGa7fwyejo2Yt3qOXE10blUr\n",
+            "UOR/xSsGKIDO5ymelHQ5FX7IzpD/MwKLQC/a46Ns+1oUqbJ4NJ+zemGohnx0CkuV\n",
+            "6IKH3zfIJelzxokHlwni2aRS7fXddas=\n",
+            "-----END CERTIFICATE-----\n");
+
+    private static final class CountingTrustManager implements X509TrustManager {
+        final AtomicInteger checkCount = new AtomicInteger();
+        final boolean trusted;
+
+        CountingTrustManager(boolean trusted) {
+            this.trusted = trusted;
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) throws CertificateException {
+            throw new CertificateException("Not a client");
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) throws CertificateException {
+            checkCount.incrementAndGet();
+            if (!trusted) throw new CertificateException("Not trusted");
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+    }
+
+    @Test
+    public void testTrustedChainIsCached() throws Exception {
+        CountingTrustManager manager = new CountingTrustManager(true);
+        AtomicInteger loadCount = new AtomicInteger();
+        PaymentProtocolValidator validator = new PaymentProtocolValidator(
+                () -> { loadCount.incrementAndGet(); return Collections.singletonList(manager); }, 4, 1, TimeUnit.HOURS);
+        X509Certificate[] chain = new X509Certificate[] { certificate() };
+
+        validator.verifyTrust("RSA", chain);
+        validator.verifyTrust("RSA", chain);
+        validator.verifyTrust("RSA", chain);
+        assertEquals(1, manager.checkCount.get());
+        assertEquals(1, loadCount.get());
+        assertEquals(2, validator.getTrustedChainHitCount());
+
+        // A different algorithm is a different entry
+        validator.verifyTrust("EC", chain);
+        assertEquals(2, manager.checkCount.get());
+
+        // A refresh reloads the trust manager and checks again
+        validator.refresh();
+        validator.verifyTrust("RSA", chain);
+        assertEquals(3, manager.checkCount.get());
+        assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    public void testUntrustedChainIsNotCached() throws Exception {
+        CountingTrustManager manager = new CountingTrustManager(false);
+        PaymentProtocolValidator validator = new PaymentProtocolValidator(() -> Collections.singletonList(manager), 4, 1, TimeUnit.HOURS);
+        X509Certificate[] chain = new X509Certificate[] { certificate() };
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                validator.verifyTrust("RSA", chain);
+                fail();
+            } catch (CertificateException e) {
+                // expected
+            }
+        }
+        assertEquals(2, manager.checkCount.get());
+        assertEquals(0, validator.getTrustedChainHitCount());
+    }
+
+    @Test
+    public void testEveryTrustManagerMustTrust() throws Exception {
+        CountingTrustManager trusting = new CountingTrustManager(true);
+        CountingTrustManager distrusting = new CountingTrustManager(false);
+        PaymentProtocolValidator validator = new PaymentProtocolValidator(
+                () -> Arrays.asList(trusting, distrusting), 4, 1, TimeUnit.HOURS);
+
+        try {
+            validator.verifyTrust("RSA", new X509Certificate[] { certificate() });
+            fail();
+        } catch (CertificateException e) {
+            // expected
+        }
+        assertEquals(1, trusting.checkCount.get());
+        assertEquals(1, distrusting.checkCount.get());
+    }
+
+    @Test
+    public void testVerifySignatureSHA256() throws Exception {
+        verifySignature("SHA256withRSA", "SHA-256");
+    }
+
+    @Test
+    public void testVerifySignatureSHA1() throws Exception {
+        verifySignature("SHA1withRSA", "SHA-1");
+    }
+
+    // As for a payment request: the signer signs the request, but the core hands over its digest
+    private static void verifySignature(String algName, String digestName) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair pair = generator.generateKeyPair();
+
+        byte[] request = "payment request".getBytes(StandardCharsets.UTF_8);
+        Signature signer = Signature.getInstance(algName);
+        signer.initSign(pair.getPrivate());
+        signer.update(request);
+        byte[] signature = signer.sign();
+
+        byte[] digest = MessageDigest.getInstance(digestName).digest(request);
+
+        PaymentProtocolValidator validator = new PaymentProtocolValidator();
+        validator.verifySignature(algName, pair.getPublic(), digest, signature);
+
+        // A mismatch fails, and does not taint the next verification
+        signature[signature.length - 1] ^= 1;
+        try {
+            validator.verifySignature(algName, pair.getPublic(), digest, signature);
+            fail();
+        } catch (SignatureException e) {
+            // expected
+        }
+        signature[signature.length - 1] ^= 1;
+        validator.verifySignature(algName, pair.getPublic(), digest, signature);
+
+        // The request itself, rather than its digest, fails
+        try {
+            validator.verifySignature(algName, pair.getPublic(), request, signature);
+            fail();
+        } catch (SignatureException e) {
+            // expected
+        }
+    }
+
+    private static X509Certificate certificate() throws CertificateException {
+        return (X509Certificate) CertificateFactory.getInstance("X.509")
+                .generateCertificate(new ByteArrayInputStream(CERTIFICATE_PEM.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
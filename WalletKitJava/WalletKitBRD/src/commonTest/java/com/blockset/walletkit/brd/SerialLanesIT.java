@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd;
+
+import com.blockset.walletkit.utility.ExecutionLaneMetrics;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class SerialLanesIT {
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+    private final SerialLanes<String> lanes = new SerialLanes<>("test", pool);
+
+    @After
+    public void teardown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void testLanePreservesOrder() throws InterruptedException {
+        List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(1);
+
+        for (int i = 0; i < 1000; i++) {
+            final int value = i;
+            lanes.get("a").execute(() -> seen.add(value));
+        }
+        lanes.get("a").execute(done::countDown);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, (int) seen.get(i));
+        }
+    }
+
+    @Test
+    public void testBlockedLaneDoesNotBlockOthers() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch other = new CountDownLatch(1);
+
+        lanes.get("slow").execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        lanes.get("fast").execute(other::countDown);
+
+        assertTrue(other.await(5, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    public void testMetrics() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+
+        lanes.get("a").execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        });
+        lanes.get("a").execute(done::countDown);
+        lanes.get("a").execute(done::countDown);
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        ExecutionLaneMetrics blocked = lanes.getMetrics(key -> key).get(0);
+        assertEquals("test:a", blocked.getName());
+        assertEquals(2, blocked.getQueueDepth());
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        // The last task's completion is recorded just after it runs
+        ExecutionLaneMetrics drained = lanes.getMetrics(key -> key).get(0);
+        for (int i = 0; i < 50 && drained.getExecutedCount() < 3; i++) {
+            Thread.sleep(10);
+            drained = lanes.getMetrics(key -> key).get(0);
+        }
+        assertEquals(0, drained.getQueueDepth());
+        assertEquals(3, drained.getExecutedCount());
+        assertTrue(drained.getMaxWaitNanos() > 0);
+    }
+}
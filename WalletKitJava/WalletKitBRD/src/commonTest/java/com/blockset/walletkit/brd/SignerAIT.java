@@ -15,6 +15,7 @@ import com.google.common.base.Optional;
 
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
 import static org.junit.Assert.assertArrayEquals;
@@ -122,4 +123,36 @@ public class SignerAIT {
             assertEquals(outputSigHex, signatures[i]);
         }
     }
+
+    @Test
+    public void testSignerBatch() {
+        Key key = Key.createFromSecret(new byte[] {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1}).get();
+        Hasher hasher = Hasher.createForAlgorithm(com.blockset.walletkit.Hasher.Algorithm.SHA256);
+
+        byte[][] digests = new byte[][] {
+                hasher.hash("Hello".getBytes(StandardCharsets.UTF_8)).get(),
+                hasher.hash("World".getBytes(StandardCharsets.UTF_8)).get(),
+        };
+
+        ByteBuffer packed = ByteBuffer.allocateDirect(32 * digests.length);
+        for (byte[] digest : digests) packed.put(digest);
+        packed.flip();
+
+        for (com.blockset.walletkit.Signer.Algorithm algorithm : com.blockset.walletkit.Signer.Algorithm.values()) {
+            Signer signer = Signer.createForAlgorithm(algorithm);
+            int stride = signer.getSignatureLengthMaximum();
+
+            ByteBuffer signatures = ByteBuffer.allocateDirect(stride * digests.length);
+            int[] lengths = new int[digests.length];
+            assertTrue(signer.signBatch(packed, digests.length, key, signatures, lengths));
+
+            // Signing is deterministic (RFC 6979), so these must match the one-at-a-time results
+            for (int i = 0; i < digests.length; i++) {
+                byte[] signature = new byte[lengths[i]];
+                signatures.position(i * stride);
+                signatures.get(signature);
+                assertArrayEquals(signer.sign(digests[i], key).get(), signature);
+            }
+        }
+    }
 }
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd;
+
+import com.blockset.walletkit.SubscriptionTransport;
+import com.blockset.walletkit.SystemClient;
+import com.blockset.walletkit.brd.systemclient.BlocksetSubscription;
+import com.blockset.walletkit.brd.systemclient.BlocksetSubscriptionEndpoint;
+import com.blockset.walletkit.utility.CompletionHandler;
+import com.google.common.primitives.UnsignedInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class SubscriptionManagerIT {
+
+    private static final String CURRENCY_ID = "bitcoin-testnet:__native__";
+
+    // A local stand-in for a push transport
+    private static final class LocalTransport implements SubscriptionTransport {
+        Listener listener;
+
+        @Override
+        public SystemClient.SubscriptionEndpoint createEndpoint(String subscriptionToken) {
+            return BlocksetSubscriptionEndpoint.create("local", "test", subscriptionToken);
+        }
+
+        @Override
+        public void start(Listener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void stop() {
+            this.listener = null;
+        }
+
+        void push(String currencyId, String... addresses) {
+            listener.handleNotification(new Notification(currencyId, Arrays.asList(addresses)));
+        }
+    }
+
+    private static final class StubTarget implements SubscriptionManager.Target {
+        final String id;
+        final String currencyId;
+        final AtomicInteger syncs = new AtomicInteger();
+        volatile int factor = 1;
+
+        StubTarget() {
+            this("bitcoin-testnet", CURRENCY_ID);
+        }
+
+        StubTarget(String id, String currencyId) {
+            this.id = id;
+            this.currencyId = currencyId;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public List<String> getCurrencyIds() {
+            return Collections.singletonList(currencyId);
+        }
+
+        @Override
+        public UnsignedInteger getConfirmationsUntilFinal() {
+            return UnsignedInteger.valueOf(6);
+        }
+
+        @Override
+        public void syncPeriodic() {
+            syncs.incrementAndGet();
+        }
+
+        @Override
+        public void setSyncPeriodicFactor(int factor) {
+            this.factor = factor;
+        }
+    }
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    // The subscription requests made, by method name; each completes immediately
+    private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+    private final List<SystemClient.Subscription> updates = Collections.synchronizedList(new ArrayList<>());
+
+    @SuppressWarnings("unchecked")
+    private final SystemClient query = (SystemClient) Proxy.newProxyInstance(
+            SystemClient.class.getClassLoader(),
+            new Class<?>[] { SystemClient.class },
+            (proxy, method, args) -> {
+                requests.add(method.getName());
+                switch (method.getName()) {
+                    case "createSubscription":
+                        ((CompletionHandler<SystemClient.Subscription, ?>) args[3]).handleData(
+                                BlocksetSubscription.create("sub-1", (String) args[0],
+                                        (BlocksetSubscriptionEndpoint) args[1], Collections.emptyList()));
+                        break;
+                    case "updateSubscription":
+                        updates.add((SystemClient.Subscription) args[0]);
+                        ((CompletionHandler<SystemClient.Subscription, ?>) args[1]).handleData(
+                                (SystemClient.Subscription) args[0]);
+                        break;
+                    case "deleteSubscription":
+                        ((CompletionHandler<Void, ?>) args[1]).handleData(null);
+                        break;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+                return null;
+            });
+
+    private final SubscriptionManager manager =
+            new SubscriptionManager(query, executor, "device", 10, 50, TimeUnit.MILLISECONDS);
+
+    @After
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
+    private void drain() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        executor.schedule(done::countDown, 200, TimeUnit.MILLISECONDS);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testSubscribeRegistersAddressesAndThrottlesPolling() {
+        StubTarget target = new StubTarget();
+        LocalTransport transport = new LocalTransport();
+
+        // Nothing to register until addresses are known
+        manager.subscribe("token", transport);
+        assertTrue(requests.isEmpty());
+        assertFalse(manager.isSubscribed());
+
+        manager.addAddresses(target, Arrays.asList("a1", "a2"));
+        assertEquals(Collections.singletonList("createSubscription"), requests);
+        assertTrue(manager.isSubscribed());
+        assertEquals(10, target.factor);
+
+        // Known addresses do not update the subscription; new ones do
+        manager.addAddresses(target, Arrays.asList("a2", "a1"));
+        assertEquals(1, requests.size());
+        manager.addAddresses(target, Arrays.asList("a3"));
+        assertEquals(Arrays.asList("createSubscription", "updateSubscription"), requests);
+
+        SystemClient.Subscription update = updates.get(0);
+        assertEquals("sub-1", update.getId());
+        assertEquals(CURRENCY_ID, update.getCurrencies().get(0).getCurrencyId());
+        assertEquals(Arrays.asList("a1", "a2", "a3"), update.getCurrencies().get(0).getAddresses());
+        assertEquals(Arrays.asList(UnsignedInteger.ONE, UnsignedInteger.valueOf(6)),
+                update.getCurrencies().get(0).getEvents().get(0).getConfirmations());
+
+        manager.unsubscribe();
+        assertEquals("deleteSubscription", requests.get(2));
+        assertFalse(manager.isSubscribed());
+        assertEquals(1, target.factor);
+        assertNull(transport.listener);
+    }
+
+    @Test
+    public void testNotificationsSyncOnceWhenDebounced() throws InterruptedException {
+        StubTarget target = new StubTarget();
+        LocalTransport transport = new LocalTransport();
+        manager.addAddresses(target, Arrays.asList("a1"));
+        manager.subscribe("token", transport);
+
+        for (int i = 0; i < 5; i++) transport.push(CURRENCY_ID);
+        drain();
+        assertEquals(1, target.syncs.get());
+
+        // Matched by address when the currency is unknown
+        transport.push("unknown", "a1");
+        drain();
+        assertEquals(2, target.syncs.get());
+
+        transport.push("unknown", "elsewhere");
+        drain();
+        assertEquals(2, target.syncs.get());
+    }
+
+    @Test
+    public void testRemovedTargetIsDropped() throws InterruptedException {
+        StubTarget target = new StubTarget();
+        StubTarget removed = new StubTarget("ethereum-ropsten", "ethereum-ropsten:__native__");
+        LocalTransport transport = new LocalTransport();
+        manager.addAddresses(target, Arrays.asList("a1"));
+        manager.addAddresses(removed, Arrays.asList("e1"));
+        manager.subscribe("token", transport);
+        assertEquals(10, removed.factor);
+
+        // The subscription is updated without the removed target's addresses
+        manager.removeTarget(removed.getId());
+        assertEquals(Arrays.asList("createSubscription", "updateSubscription"), requests);
+        assertEquals(1, updates.get(0).getCurrencies().size());
+        assertEquals(CURRENCY_ID, updates.get(0).getCurrencies().get(0).getCurrencyId());
+        assertTrue(manager.getAddresses(removed.getId()).isEmpty());
+
+        // Nor notified, nor retargeted
+        transport.push("ethereum-ropsten:__native__", "e1");
+        drain();
+        assertEquals(0, removed.syncs.get());
+
+        manager.unsubscribe();
+        assertEquals(1, target.factor);
+        assertEquals(10, removed.factor);
+    }
+
+    @Test
+    public void testTokenUpdateReusesTransportAndSubscription() throws InterruptedException {
+        StubTarget target = new StubTarget();
+        assertFalse(manager.updateToken("early"));
+
+        LocalTransport transport = new LocalTransport();
+        manager.addAddresses(target, Arrays.asList("a1"));
+        manager.subscribe("token", transport);
+        SubscriptionTransport.Listener stale = transport.listener;
+
+        assertTrue(manager.updateToken("rotated"));
+        assertEquals(Arrays.asList("createSubscription", "updateSubscription"), requests);
+        assertEquals("rotated", updates.get(0).getEndpoint().getValue());
+
+        // A notification through the replaced listener is ignored
+        stale.handleNotification(new SubscriptionTransport.Notification(CURRENCY_ID, Collections.emptyList()));
+        drain();
+        assertEquals(0, target.syncs.get());
+    }
+}
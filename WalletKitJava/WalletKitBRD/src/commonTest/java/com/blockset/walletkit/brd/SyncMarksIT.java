@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class SyncMarksIT {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file() {
+        return SyncMarks.getFile(folder.getRoot().getAbsolutePath(), "bitcoin-testnet");
+    }
+
+    @Test
+    public void testMarkExtendsAdjacentRanges() {
+        SyncMarks marks = SyncMarks.load(file());
+        assertEquals(100, marks.getUnmarkedBeg("a1", 100));
+
+        marks.mark(Collections.singletonList("a1"), 100, 200);
+        marks.mark(Collections.singletonList("a1"), 200, 300);
+        assertEquals(300, marks.getUnmarkedBeg("a1", 100));
+        assertEquals(300, marks.getUnmarkedBeg("a1", 250));
+        assertEquals(50, marks.getUnmarkedBeg("a1", 50));
+        assertEquals(300, marks.getUnmarkedBeg("a1", 300));
+
+        // A disjoint, earlier range is ignored; a later one replaces
+        marks.mark(Collections.singletonList("a1"), 0, 50);
+        assertEquals(300, marks.getUnmarkedBeg("a1", 100));
+        marks.mark(Collections.singletonList("a1"), 400, 500);
+        assertEquals(100, marks.getUnmarkedBeg("a1", 100));
+        assertEquals(500, marks.getUnmarkedBeg("a1", 400));
+
+        // Empty ranges are ignored
+        marks.mark(Collections.singletonList("a2"), 10, 10);
+        assertEquals(10, marks.getUnmarkedBeg("a2", 10));
+    }
+
+    @Test
+    public void testSaveAndLoad() {
+        SyncMarks marks = SyncMarks.load(file());
+        marks.mark(Arrays.asList("a1", "a2"), 100, 200);
+        marks.save();
+        assertTrue(file().exists());
+
+        SyncMarks loaded = SyncMarks.load(file());
+        assertEquals(200, loaded.getUnmarkedBeg("a1", 150));
+        assertEquals(200, loaded.getUnmarkedBeg("a2", 100));
+        assertEquals(100, loaded.getUnmarkedBeg("a3", 100));
+
+        loaded.clear();
+        assertFalse(file().exists());
+        assertEquals(100, SyncMarks.load(file()).getUnmarkedBeg("a1", 100));
+    }
+}
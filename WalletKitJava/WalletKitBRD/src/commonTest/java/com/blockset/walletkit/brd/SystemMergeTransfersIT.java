@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd;
+
+import com.blockset.walletkit.SystemClient;
+import com.blockset.walletkit.brd.systemclient.BlocksetAmount;
+import com.blockset.walletkit.brd.systemclient.BlocksetTransaction;
+import com.blockset.walletkit.brd.systemclient.BlocksetTransfer;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.primitives.UnsignedLong;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class SystemMergeTransfersIT {
+
+    private static final Set<String> ADDRESSES = ImmutableSet.of("a1", "a2");
+
+    private static BlocksetTransfer transfer(String id, String currency, String amount, String source, String target) {
+        return BlocksetTransfer.create(id, "bitcoin-mainnet", UnsignedLong.ZERO,
+                BlocksetAmount.create(currency, amount), Collections.emptyMap(),
+                source, target, "tx", null);
+    }
+
+    private static BlocksetTransaction transaction(BlocksetTransfer... transfers) {
+        BlocksetTransaction.Embedded embedded = new BlocksetTransaction.Embedded();
+        embedded.transfers = Arrays.asList(transfers);
+        return BlocksetTransaction.create("tx", "id", "hash", "bitcoin-mainnet", UnsignedLong.ONE,
+                BlocksetAmount.create("btc", "1"), "confirmed", embedded,
+                null, null, null, null, null, null, null, null, null, Collections.emptyMap());
+    }
+
+    @Test
+    public void testFiltersByAddress() {
+        List<System.ObjectPair<SystemClient.Transfer, String>> merged = System.mergeTransfers(transaction(
+                transfer("t1", "btc", "5", "a1", "x"),
+                transfer("t2", "btc", "5", "x", "y"),
+                transfer("t3", "btc", "5", "z", "a2")), ADDRESSES);
+
+        assertEquals(2, merged.size());
+        assertEquals("t1", merged.get(0).o1.getId());
+        assertNull(merged.get(0).o2);
+        assertEquals("t3", merged.get(1).o1.getId());
+    }
+
+    @Test
+    public void testFeePrefersMatchingCurrency() {
+        List<System.ObjectPair<SystemClient.Transfer, String>> merged = System.mergeTransfers(transaction(
+                transfer("t1", "usdt", "5", "a1", "x"),
+                transfer("t2", "eth", "5", "a1", "y"),
+                transfer("fee", "eth", "2", "a1", "__fee__")), ADDRESSES);
+
+        assertEquals(2, merged.size());
+        assertNull(merged.get(0).o2);
+        assertEquals("t2", merged.get(1).o1.getId());
+        assertEquals("2", merged.get(1).o2);
+    }
+
+    @Test
+    public void testFeeFallsBackToAnyCurrency() {
+        List<System.ObjectPair<SystemClient.Transfer, String>> merged = System.mergeTransfers(transaction(
+                transfer("fee", "eth", "2", "a1", "__fee__"),
+                transfer("t1", "usdt", "5", "a1", "x")), ADDRESSES);
+
+        assertEquals(1, merged.size());
+        assertEquals("t1", merged.get(0).o1.getId());
+        assertEquals("2", merged.get(0).o2);
+    }
+
+    @Test
+    public void testFeeWithoutMatchAddsTransfer() {
+        List<System.ObjectPair<SystemClient.Transfer, String>> merged = System.mergeTransfers(transaction(
+                transfer("t1", "eth", "5", "x", "a2"),
+                transfer("fee", "eth", "2", "a1", "__fee__")), ADDRESSES);
+
+        assertEquals(2, merged.size());
+        assertNull(merged.get(0).o2);
+        assertEquals("fee", merged.get(1).o1.getId());
+        assertEquals("0", merged.get(1).o1.getAmount().getAmount());
+        assertEquals("unknown", merged.get(1).o1.getTarget().get());
+        assertEquals("2", merged.get(1).o2);
+    }
+}
@@ -48,4 +48,15 @@ public class UnitAIT {
         assertFalse(wei_eth.isCompatible(btc_btc));
         assertFalse(btc_btc.isCompatible(wei_eth));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testUnitInterned() {
+        Currency btc = Currency.create("Bitcoin", "Bitcoin", "btc", "native", null);
+        Unit satoshi_btc = Unit.create(btc, "BTC-SAT", "Satoshi", "SAT");
+
+        // Wrappers for the same core are shared while reachable
+        assertSame(btc, satoshi_btc.getCurrency());
+        assertSame(satoshi_btc, satoshi_btc.getBase());
+        assertSame(satoshi_btc.getName(), satoshi_btc.getName());
+    }
+}
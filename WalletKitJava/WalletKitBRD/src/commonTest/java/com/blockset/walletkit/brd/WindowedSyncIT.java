@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd;
+
+import com.blockset.walletkit.errors.QueryError;
+import com.blockset.walletkit.errors.QueryNoDataError;
+import com.blockset.walletkit.utility.PagedCompletionHandler;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class WindowedSyncIT {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    // Fetches each window synchronously, with one model per address; fails the `failAt`-th window
+    // and, as the core would once the sync is superseded, rejects from the `rejectAt`-th window
+    private static final class RecordingSync extends WindowedSync<String, String> {
+        final List<Window> fetched = new ArrayList<>();
+        final List<List<String>> partials = new ArrayList<>();
+        final List<String> released = new ArrayList<>();
+        List<String> announced;
+        Boolean success;
+        final int failAt;
+        final int rejectAt;
+
+        RecordingSync(SyncMarks marks, List<String> addresses, long beg, long end, long height, long markLimit, int failAt) {
+            this(marks, addresses, beg, end, height, markLimit, failAt, 0);
+        }
+
+        RecordingSync(SyncMarks marks, List<String> addresses, long beg, long end, long height, long markLimit, int failAt, int rejectAt) {
+            super(marks, addresses, beg, end, height, markLimit);
+            this.failAt = failAt;
+            this.rejectAt = rejectAt;
+        }
+
+        @Override
+        protected void fetch(Window window, PagedCompletionHandler<List<String>, QueryError> handler) {
+            fetched.add(window);
+            List<String> models = new ArrayList<>();
+            for (String address : window.addresses) models.add(address + "@" + window.beg);
+            handler.handleData(models);
+            if (fetched.size() == failAt) handler.handleError(new QueryNoDataError());
+            else handler.handleComplete();
+        }
+
+        @Override
+        protected void addBundles(List<String> models, List<String> bundles) {
+            bundles.addAll(models);
+        }
+
+        @Override
+        protected boolean announcePartial(List<String> bundles) {
+            partials.add(bundles);
+            return rejectAt == 0 || partials.size() < rejectAt;
+        }
+
+        @Override
+        protected void announce(boolean success, List<String> bundles) {
+            assertNull("announced once", this.success);
+            this.success = success;
+            this.announced = bundles;
+        }
+
+        @Override
+        protected void release(String bundle) {
+            released.add(bundle);
+        }
+    }
+
+    private SyncMarks marks() {
+        return SyncMarks.load(SyncMarks.getFile(folder.getRoot().getAbsolutePath(), "ethereum-mainnet"));
+    }
+
+    @Test
+    public void testPlanBoundsWindows() {
+        List<String> addresses = Arrays.asList("a1", "a2");
+
+        // Small ranges are a single window
+        List<WindowedSync.Window> windows = WindowedSync.plan(marks(), addresses, 100, 150, 150);
+        assertEquals(1, windows.size());
+        assertEquals(100, windows.get(0).beg);
+        assertEquals(150, windows.get(0).end);
+
+        // Wide ranges are at most MAX_WINDOWS windows, contiguous over the range
+        windows = WindowedSync.plan(marks(), addresses, 0, 1_000_000, 1_000_000);
+        assertEquals(WindowedSync.MAX_WINDOWS, windows.size());
+        long next = 0;
+        for (WindowedSync.Window window : windows) {
+            assertEquals(next, window.beg);
+            assertEquals(addresses, window.addresses);
+            next = window.end;
+        }
+        assertEquals(1_000_000, next);
+
+        // Unbounded ends, as the core requests, are bounded windows up to the head and an unbounded tail
+        windows = WindowedSync.plan(marks(), addresses, 100, WindowedSync.UNBOUND, 5100);
+        assertEquals(6, windows.size());
+        next = 100;
+        for (WindowedSync.Window window : windows.subList(0, 5)) {
+            assertTrue(window.isBounded());
+            assertEquals(next, window.beg);
+            next = window.end;
+        }
+        assertEquals(5100, next);
+        assertEquals(5100, windows.get(5).beg);
+        assertEquals(WindowedSync.UNBOUND, windows.get(5).end);
+        assertEquals(addresses, windows.get(5).addresses);
+        assertFalse(windows.get(5).isBounded());
+
+        // At or past the head, only the tail
+        windows = WindowedSync.plan(marks(), addresses, 100, WindowedSync.UNBOUND, 50);
+        assertEquals(1, windows.size());
+        assertEquals(100, windows.get(0).beg);
+        assertFalse(windows.get(0).isBounded());
+
+        // Unbounded starts are a single window
+        windows = WindowedSync.plan(marks(), addresses, WindowedSync.UNBOUND, WindowedSync.UNBOUND, 5100);
+        assertEquals(1, windows.size());
+        assertFalse(windows.get(0).isBounded());
+    }
+
+    @Test
+    public void testPlanSkipsMarked() {
+        SyncMarks marks = marks();
+        marks.mark(Collections.singletonList("a1"), 0, 5000);
+
+        List<WindowedSync.Window> windows = WindowedSync.plan(marks, Arrays.asList("a1", "a2"), 0, 8000, 8000);
+        assertEquals(8, windows.size());
+        assertEquals(Collections.singletonList("a2"), windows.get(0).addresses);
+        assertEquals(Collections.singletonList("a2"), windows.get(4).addresses);
+        assertEquals(Arrays.asList("a1", "a2"), windows.get(5).addresses);
+
+        // Fully marked
+        marks.mark(Collections.singletonList("a2"), 0, 8000);
+        assertTrue(WindowedSync.plan(marks, Arrays.asList("a1", "a2"), 0, 5000, 5000).isEmpty());
+    }
+
+    @Test
+    public void testAnnouncesPartiallyAndResumes() {
+        SyncMarks marks = marks();
+        List<String> addresses = Collections.singletonList("a1");
+
+        // Fails in the third of four windows; blocks from 3500 are not final, so not marked
+        RecordingSync first = new RecordingSync(marks, addresses, 0, 4000, 4000, 3500, 3);
+        first.start();
+        assertEquals(4, first.getWindowCount());
+        assertEquals(Arrays.asList(Collections.singletonList("a1@0"), Collections.singletonList("a1@1000")), first.partials);
+        assertEquals(Collections.singletonList("a1@2000"), first.released);
+        assertEquals(Boolean.FALSE, first.success);
+        assertTrue(first.announced.isEmpty());
+
+        // As after a restart: resumes from the third window
+        RecordingSync second = new RecordingSync(SyncMarks.load(SyncMarks.getFile(folder.getRoot().getAbsolutePath(), "ethereum-mainnet")),
+                addresses, 0, 4000, 4000, 3500, 0);
+        second.start();
+        assertEquals(2000, second.fetched.get(0).beg);
+        assertEquals(Arrays.asList(Collections.singletonList("a1@2000"), Collections.singletonList("a1@3000")), second.partials);
+        assertEquals(Boolean.TRUE, second.success);
+        assertTrue(second.announced.isEmpty());
+
+        // The last window is marked only up to the limit; a single window is announced whole
+        RecordingSync third = new RecordingSync(marks(), addresses, 0, 4000, 4000, 3500, 0);
+        third.start();
+        assertEquals(1, third.fetched.size());
+        assertEquals(3500, third.fetched.get(0).beg);
+        assertTrue(third.partials.isEmpty());
+        assertEquals(Boolean.TRUE, third.success);
+        assertEquals(Collections.singletonList("a1@3500"), third.announced);
+    }
+
+    @Test
+    public void testUnboundedRequestIsMarkedAndResumes() {
+        List<String> addresses = Collections.singletonList("a1");
+
+        // As the core requests: to UNBOUND, at a head of 4000 with 6 confirmations until final;
+        // fails in the third of four bounded windows
+        RecordingSync first = new RecordingSync(marks(), addresses, 0, WindowedSync.UNBOUND, 4000, 3995, 3);
+        first.start();
+        assertEquals(5, first.getWindowCount());
+        assertEquals(2, first.partials.size());
+        assertEquals(Boolean.FALSE, first.success);
+        assertEquals(2000, marks().getUnmarkedBeg("a1", 0));
+
+        // Resumes from the marks persisted; the tail includes the pending transfers
+        RecordingSync second = new RecordingSync(marks(), addresses, 0, WindowedSync.UNBOUND, 4000, 3995, 0);
+        second.start();
+        assertEquals(3, second.getWindowCount());
+        assertEquals(2000, second.fetched.get(0).beg);
+        assertEquals(4000, second.fetched.get(2).beg);
+        assertEquals(WindowedSync.UNBOUND, second.fetched.get(2).end);
+        assertEquals(3, second.partials.size());
+        assertEquals(Boolean.TRUE, second.success);
+        assertTrue(second.announced.isEmpty());
+
+        // Marked up to the last final block, not the tail; a later sync starts there
+        assertEquals(3995, marks().getUnmarkedBeg("a1", 0));
+        RecordingSync third = new RecordingSync(marks(), addresses, 0, WindowedSync.UNBOUND, 4100, 4095, 0);
+        assertEquals(2, third.getWindowCount());
+        third.start();
+        assertEquals(3995, third.fetched.get(0).beg);
+        assertEquals(4100, third.fetched.get(1).beg);
+
+        // Fully marked to the head: only the tail, announced whole
+        RecordingSync fourth = new RecordingSync(marks(), addresses, 4095, WindowedSync.UNBOUND, 4095, 4095, 0);
+        fourth.start();
+        assertEquals(1, fourth.fetched.size());
+        assertEquals(Collections.singletonList("a1@4095"), fourth.announced);
+    }
+
+    @Test
+    public void testSupersededSyncIsNotMarked() {
+        List<String> addresses = Collections.singletonList("a1");
+
+        // The core rejects the second of four windows; the sync stops there
+        RecordingSync first = new RecordingSync(marks(), addresses, 0, 4000, 4000, 4000, 0, 2);
+        first.start();
+        assertEquals(2, first.fetched.size());
+        assertEquals(Boolean.FALSE, first.success);
+        assertTrue(first.announced.isEmpty());
+        assertTrue(first.released.isEmpty());
+
+        // Only the accepted window was marked
+        RecordingSync second = new RecordingSync(marks(), addresses, 0, 4000, 4000, 4000, 0);
+        second.start();
+        assertEquals(3, second.getWindowCount());
+        assertEquals(1000, second.fetched.get(0).beg);
+        assertEquals(Boolean.TRUE, second.success);
+
+        // A rescan clears the marks
+        SyncMarks marks = marks();
+        marks.clear();
+        assertEquals(4, new RecordingSync(marks, addresses, 0, 4000, 4000, 4000, 0).getWindowCount());
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd;
+
+import com.blockset.walletkit.nativex.WKWordList;
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class WordListIT {
+
+    private static final List<String> WORDS = Arrays.asList("abandon", "ability", "ça", "zoo");
+
+    @Test
+    public void testNativeLayout() {
+        WKWordList wordList = WKWordList.create(WORDS);
+        Pointer words = wordList.acquire();
+        try {
+            for (int i = 0; i < WORDS.size(); i++) {
+                assertEquals(WORDS.get(i), words.getPointer((long) i * Native.POINTER_SIZE).getString(0, "UTF-8"));
+            }
+            assertNull(words.getPointer((long) WORDS.size() * Native.POINTER_SIZE));
+        } finally {
+            wordList.release();
+            wordList.give();
+        }
+        assertTrue(wordList.isFreed());
+    }
+
+    @Test
+    public void testFreedAfterUseInProgress() {
+        WordList wordList = WordList.create(WORDS);
+        WKWordList core = wordList.getCoreBRCryptoWordList();
+        assertEquals(WORDS, wordList.getWords());
+
+        core.acquire();
+        wordList.close();
+        assertFalse(core.isFreed());
+
+        // Closing is idempotent
+        wordList.close();
+        assertFalse(core.isFreed());
+
+        core.release();
+        assertTrue(core.isFreed());
+
+        try {
+            core.acquire();
+            fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testDefaultWordListIsShared() {
+        Key.setDefaultWordList(WORDS);
+        try {
+            WKWordList first = Key.acquireWordList(null);
+            WKWordList second = Key.acquireWordList(WORDS);
+            assertSame(first, second);
+
+            // Replacing the default does not free it under a use
+            Key.setDefaultWordList(null);
+            assertFalse(first.isFreed());
+            first.release();
+            second.release();
+            assertTrue(first.isFreed());
+
+            assertNull(Key.acquireWordList(null));
+        } finally {
+            Key.setDefaultWordList(null);
+        }
+    }
+
+    @Test
+    public void testOtherWordListIsCopied() {
+        WKWordList copy = Key.acquireWordList(Arrays.asList("one", "two"));
+        assertEquals(Arrays.asList("one", "two"), copy.getWords());
+        copy.release();
+        assertTrue(copy.isFreed());
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd;
+
+import com.sun.jna.Pointer;
+import com.sun.jna.PointerType;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class WrapperCacheIT {
+
+    private static final class FakeCore extends PointerType {
+        FakeCore(long address) {
+            super(new Pointer(address));
+        }
+    }
+
+    private final AtomicInteger takes = new AtomicInteger();
+    private final AtomicInteger gives = new AtomicInteger();
+
+    private final WrapperCache<FakeCore, Object> cache = new WrapperCache<>(
+            c -> { takes.incrementAndGet(); return c; },
+            c -> gives.incrementAndGet());
+
+    @Test
+    public void testSamePointerReturnsSameWrapper() {
+        Object first = cache.get(new FakeCore(1), true, c -> new Object());
+        Object second = cache.get(new FakeCore(1), true, c -> new Object());
+        Object other = cache.get(new FakeCore(2), true, c -> new Object());
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+        assertEquals(2, takes.get());
+        assertEquals(0, gives.get());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testOwnedReferenceGivenOnHit() {
+        Object first = cache.get(new FakeCore(1), false, c -> new Object());
+        Object second = cache.get(new FakeCore(1), false, c -> new Object());
+
+        assertSame(first, second);
+        assertEquals(0, takes.get());
+        assertEquals(1, gives.get());
+    }
+
+    @Test
+    public void testCollectedWrapperIsReleased() throws InterruptedException {
+        cache.get(new FakeCore(1), true, c -> new Object());
+        assertEquals(1, cache.size());
+
+        for (int i = 0; i < 50 && gives.get() == 0; i++) {
+            java.lang.System.gc();
+            Thread.sleep(20);
+        }
+
+        assertEquals(1, gives.get());
+        assertEquals(0, cache.size());
+    }
+}
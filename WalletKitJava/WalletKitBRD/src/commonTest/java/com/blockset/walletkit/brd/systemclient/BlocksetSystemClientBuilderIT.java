@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd.systemclient;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.OkHttpClient;
+
+import static org.junit.Assert.*;
+
+public class BlocksetSystemClientBuilderIT {
+
+    @Test
+    public void testApiExecutorRunsOnCallerWhenFull() throws InterruptedException {
+        ExecutorService executor = BlocksetSystemClient.createApiExecutor(1, 1);
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch started = new CountDownLatch(1);
+            executor.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // One waits in the queue; the next runs here
+            AtomicReference<Thread> queuedOn = new AtomicReference<>();
+            AtomicReference<Thread> rejectedOn = new AtomicReference<>();
+            executor.execute(() -> queuedOn.set(Thread.currentThread()));
+            executor.execute(() -> rejectedOn.set(Thread.currentThread()));
+            assertSame(Thread.currentThread(), rejectedOn.get());
+            assertNull(queuedOn.get());
+
+            release.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+            assertNotNull(queuedOn.get());
+            assertNotSame(Thread.currentThread(), queuedOn.get());
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testBuild() {
+        BlocksetSystemClient client = new BlocksetSystemClient.Builder()
+                .baseClient(new OkHttpClient())
+                .bdbBaseURL("https://blockset.test")
+                .maxRequests(8, 4)
+                .connectionPool(2, 1, TimeUnit.MINUTES)
+                .apiExecutor(2, 16)
+                .build();
+
+        assertEquals(0, client.getRunningRequestCount());
+        assertEquals(0, client.getQueuedRequestCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuildRejectsNoRequests() {
+        new BlocksetSystemClient.Builder().maxRequests(0, 1);
+    }
+}
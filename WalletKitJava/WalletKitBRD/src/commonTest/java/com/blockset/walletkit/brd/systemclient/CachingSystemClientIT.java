@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd.systemclient;
+
+import android.support.annotation.Nullable;
+
+import com.blockset.walletkit.SystemClient.Blockchain;
+import com.blockset.walletkit.SystemClient.Currency;
+import com.blockset.walletkit.errors.QueryError;
+import com.blockset.walletkit.utility.CompletionHandler;
+import com.google.common.primitives.UnsignedInteger;
+import com.google.common.primitives.UnsignedLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import static org.junit.Assert.*;
+
+public class CachingSystemClientIT {
+
+    private static final String BASE_URL = "https://blockset.test";
+    private static final String PAGE_2_URL = BASE_URL + "/currencies?page=2";
+
+    // The served pages, by whether the URL is for page 2, as {ETag, JSON}; a null ETag is not sent
+    private final Map<Boolean, String[]> pages = new ConcurrentHashMap<>();
+    private final AtomicInteger notModifiedResponses = new AtomicInteger();
+    private final AtomicInteger currenciesChanged = new AtomicInteger();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private File cacheFile;
+
+    @Before
+    public void setup() throws IOException {
+        cacheFile = new File(Files.createTempDirectory("models").toFile(), "blockset-models.cache");
+        pages.put(false, new String[] { "\"p1\"", page(PAGE_2_URL, currencyJson("eth", "ETH")) });
+        pages.put(true,  new String[] { "\"p2\"", page(null, currencyJson("brd", "BRD")) });
+    }
+
+    @After
+    public void teardown() {
+        executor.shutdownNow();
+        cacheFile.delete();
+        new File(cacheFile.getPath() + ".tmp").delete();
+        cacheFile.getParentFile().delete();
+    }
+
+    @Test
+    public void testMissThenPersistedHitRevalidates() throws Exception {
+        CachingSystemClient first = createClient();
+        assertEquals(Arrays.asList("ETH", "BRD"), codes(getCurrencies(first)));
+        assertEquals(0, first.getHitCount());
+        assertEquals(1, first.getMissCount());
+        assertTrue(cacheFile.exists());
+
+        // A new client serves from the file and finds both pages unmodified
+        CachingSystemClient second = createClient();
+        assertEquals(Arrays.asList("ETH", "BRD"), codes(getCurrencies(second)));
+        assertEquals(1, second.getHitCount());
+        awaitRevalidations(second, 1);
+        assertEquals(1, second.getNotModifiedCount());
+        assertEquals(2, notModifiedResponses.get());
+    }
+
+    @Test
+    public void testModifiedReplacesAndNotifies() throws Exception {
+        CachingSystemClient client = createClient();
+        getCurrencies(client);
+
+        CountDownLatch changed = new CountDownLatch(1);
+        client.setListener(new CachingSystemClient.Listener() {
+            @Override
+            public void handleBlockchainsChanged(boolean isMainnet) {
+            }
+
+            @Override
+            public void handleCurrenciesChanged(@Nullable String blockchainId, @Nullable Boolean isMainnet) {
+                changed.countDown();
+            }
+        });
+
+        pages.put(true, new String[] { "\"p2.1\"", page(null, currencyJson("brd", "BRD") + "," + currencyJson("usdt", "USDT")) });
+
+        // The cached result is served, then replaced
+        assertEquals(Arrays.asList("ETH", "BRD"), codes(getCurrencies(client)));
+        assertTrue(changed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, client.getNotModifiedCount());
+        assertEquals(1, notModifiedResponses.get());
+
+        assertEquals(Arrays.asList("ETH", "BRD", "USDT"), codes(getCurrencies(client)));
+        assertEquals(Arrays.asList("ETH", "BRD", "USDT"), codes(getCurrencies(createClient())));
+    }
+
+    @Test
+    public void testUnchangedModelsWithoutValidatorsAreNotModified() throws Exception {
+        pages.put(false, new String[] { null, page(PAGE_2_URL, currencyJson("eth", "ETH")) });
+        pages.put(true,  new String[] { null, page(null, currencyJson("brd", "BRD")) });
+
+        CachingSystemClient client = createClient();
+        getCurrencies(client);
+
+        // Fetched in full each time, but the same models
+        for (int i = 1; i <= 2; i++) {
+            assertEquals(Arrays.asList("ETH", "BRD"), codes(getCurrencies(client)));
+            awaitRevalidations(client, i);
+        }
+        assertEquals(2, client.getNotModifiedCount());
+        assertEquals(0, currenciesChanged.get());
+        assertEquals(0, notModifiedResponses.get());
+    }
+
+    @Test
+    public void testChangedValidatorsAreKeptWithoutNotifying() throws Exception {
+        CachingSystemClient client = createClient();
+        getCurrencies(client);
+
+        pages.put(true, new String[] { "\"p2.1\"", page(null, currencyJson("brd", "BRD")) });
+
+        getCurrencies(client);
+        awaitRevalidations(client, 1);
+        assertEquals(1, client.getNotModifiedCount());
+        assertEquals(0, currenciesChanged.get());
+        assertEquals(1, notModifiedResponses.get());
+
+        // The new validator is sent on the next revalidation
+        getCurrencies(client);
+        awaitRevalidations(client, 2);
+        assertEquals(3, notModifiedResponses.get());
+        assertEquals(0, currenciesChanged.get());
+    }
+
+    @Test
+    public void testUnreadableCacheIsDiscarded() throws Exception {
+        Files.write(cacheFile.toPath(), new byte[] { 1, 2, 3 });
+
+        CachingSystemClient client = createClient();
+        assertEquals(Arrays.asList("ETH", "BRD"), codes(getCurrencies(client)));
+        assertEquals(1, client.getMissCount());
+    }
+
+    @Test
+    public void testCoderRoundTrip() throws IOException {
+        Blockchain blockchain = BlocksetBlockchain.create("bitcoin-mainnet", "Bitcoin", "mainnet", true,
+                "bitcoin-mainnet:__native__", UnsignedLong.valueOf(700000),
+                Collections.singletonList(BlocksetBlockchainFee.create("10", "10m", UnsignedLong.valueOf(600000))),
+                UnsignedInteger.valueOf(6), null);
+        Currency currency = BlocksetCurrency.create("bitcoin-mainnet:__native__", "Bitcoin", "btc", "native",
+                "bitcoin-mainnet", null, true,
+                Collections.singletonList(BlocksetCurrencyDenomination.create("satoshi", "sat", UnsignedInteger.ZERO, "SAT")));
+
+        Map<String, List<CachedPage<Blockchain>>> blockchains = new LinkedHashMap<>();
+        blockchains.put("b", Collections.singletonList(new CachedPage<>("https://b",
+                new BdbApiClient.Validators("\"b\"", null), null, Collections.singletonList(blockchain))));
+        Map<String, List<CachedPage<Currency>>> currencies = new LinkedHashMap<>();
+        currencies.put("c", Collections.singletonList(new CachedPage<>("https://c",
+                new BdbApiClient.Validators(null, "Sat, 01 May 2021 00:00:00 GMT"), "https://c2", Collections.singletonList(currency))));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ModelCacheCoder.write(new DataOutputStream(bytes), blockchains, currencies);
+
+        Map<String, List<CachedPage<Blockchain>>> readBlockchains = new HashMap<>();
+        Map<String, List<CachedPage<Currency>>> readCurrencies = new HashMap<>();
+        ModelCacheCoder.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), readBlockchains, readCurrencies);
+
+        CachedPage<Blockchain> blockchainPage = readBlockchains.get("b").get(0);
+        assertEquals("\"b\"", blockchainPage.getValidators().getEntityTag());
+        assertFalse(blockchainPage.getNextUrl().isPresent());
+        Blockchain readBlockchain = blockchainPage.getModels().get(0);
+        assertEquals("bitcoin-mainnet", readBlockchain.getId());
+        assertEquals(UnsignedLong.valueOf(700000), readBlockchain.getBlockHeight().orNull());
+        assertFalse(readBlockchain.getVerifiedBlockHash().isPresent());
+        assertEquals("10", readBlockchain.getFeeEstimates().get(0).getAmount());
+        assertEquals(UnsignedLong.valueOf(600000), readBlockchain.getFeeEstimates().get(0).getConfirmationTimeInMilliseconds());
+
+        CachedPage<Currency> currencyPage = readCurrencies.get("c").get(0);
+        assertNull(currencyPage.getValidators().getEntityTag());
+        assertEquals("https://c2", currencyPage.getNextUrl().orNull());
+        Currency readCurrency = currencyPage.getModels().get(0);
+        assertEquals("btc", readCurrency.getCode());
+        assertFalse(readCurrency.getAddress().isPresent());
+        assertEquals("SAT", readCurrency.getDenominations().get(0).getSymbol());
+    }
+
+    // Helpers
+
+    private CachingSystemClient createClient() {
+        DataTask dataTask = (cli, request, callback) -> {
+            String[] page = pages.get(request.url().toString().equals(PAGE_2_URL));
+            Response.Builder builder = new Response.Builder()
+                    .request(request)
+                    .protocol(Protocol.HTTP_1_1);
+            if (null != page[0]) builder.header("ETag", page[0]);
+
+            if (null != page[0] && page[0].equals(request.header("If-None-Match"))) {
+                notModifiedResponses.incrementAndGet();
+                builder.code(304).message("Not Modified");
+            } else {
+                builder.code(200).message("OK").body(ResponseBody.create(page[1], MediaType.parse("application/json")));
+            }
+
+            try {
+                callback.onResponse(null, builder.build());
+            } catch (IOException e) {
+                callback.onFailure(null, e);
+            }
+        };
+
+        BlocksetSystemClient client = new BlocksetSystemClient(new OkHttpClient(), BASE_URL, dataTask);
+        CachingSystemClient caching = new CachingSystemClient(client, cacheFile, executor, 0, TimeUnit.MILLISECONDS);
+        caching.setListener(new CachingSystemClient.Listener() {
+            @Override
+            public void handleBlockchainsChanged(boolean isMainnet) {
+            }
+
+            @Override
+            public void handleCurrenciesChanged(@Nullable String blockchainId, @Nullable Boolean isMainnet) {
+                currenciesChanged.incrementAndGet();
+            }
+        });
+        return caching;
+    }
+
+    private static List<Currency> getCurrencies(CachingSystemClient client) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        Object[] result = new Object[1];
+        client.getCurrencies(null, true, new CompletionHandler<List<Currency>, QueryError>() {
+            @Override
+            public void handleData(List<Currency> data) {
+                result[0] = data;
+                done.countDown();
+            }
+
+            @Override
+            public void handleError(QueryError error) {
+                result[0] = error;
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(String.valueOf(result[0]), result[0] instanceof List);
+
+        @SuppressWarnings("unchecked")
+        List<Currency> currencies = (List<Currency>) result[0];
+        return currencies;
+    }
+
+    private static void awaitRevalidations(CachingSystemClient client, long count) throws InterruptedException {
+        for (int i = 0; i < 500 && client.getRevalidationCount() < count; i++) Thread.sleep(10);
+        assertEquals(count, client.getRevalidationCount());
+    }
+
+    private static List<String> codes(List<Currency> currencies) {
+        String[] codes = new String[currencies.size()];
+        for (int i = 0; i < codes.length; i++) codes[i] = currencies.get(i).getCode();
+        return Arrays.asList(codes);
+    }
+
+    private static String page(@Nullable String nextUrl, String currenciesJson) {
+        return "{\"_embedded\":{\"currencies\":[" + currenciesJson + "]}," +
+                "\"_links\":{" + (null == nextUrl ? "" : "\"next\":{\"href\":\"" + nextUrl + "\"}") + "}}";
+    }
+
+    private static String currencyJson(String id, String code) {
+        return "{\"currency_id\":\"ethereum-mainnet:" + id + "\"," +
+                "\"name\":\"" + code + "\"," +
+                "\"code\":\"" + code + "\"," +
+                "\"initial_supply\":\"0\"," +
+                "\"total_supply\":\"0\"," +
+                "\"type\":\"erc20\"," +
+                "\"blockchain_id\":\"ethereum-mainnet\"," +
+                "\"address\":\"0x" + id + "\"," +
+                "\"verified\":true," +
+                "\"denominations\":[{\"name\":\"" + code + "\",\"short_name\":\"" + code + "\",\"decimals\":18}]}";
+    }
+}
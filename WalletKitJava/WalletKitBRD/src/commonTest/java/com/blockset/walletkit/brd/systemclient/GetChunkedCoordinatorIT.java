@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd.systemclient;
+
+import com.blockset.walletkit.errors.QueryError;
+import com.blockset.walletkit.errors.QueryNoDataError;
+import com.blockset.walletkit.utility.CompletionHandler;
+import com.blockset.walletkit.utility.PagedCompletionHandler;
+import com.google.common.collect.Lists;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class GetChunkedCoordinatorIT {
+
+    private static class RecordingHandler implements PagedCompletionHandler<List<String>, QueryError> {
+        final List<List<String>> pages = new ArrayList<>();
+        int completions = 0;
+        final List<QueryError> errors = new ArrayList<>();
+
+        @Override
+        public void handleData(List<String> data) {
+            pages.add(data);
+        }
+
+        @Override
+        public void handleComplete() {
+            completions += 1;
+        }
+
+        @Override
+        public void handleError(QueryError error) {
+            errors.add(error);
+        }
+    }
+
+    @Test
+    public void testBoundedConcurrencyAndStreamedPages() {
+        List<List<String>> chunks = Lists.partition(Arrays.asList("a", "b", "c", "d", "e"), 1);
+        RecordingHandler handler = new RecordingHandler();
+        GetChunkedCoordinator<String, String> coordinator = new GetChunkedCoordinator<>(chunks, 2, handler);
+
+        List<List<String>> requested = new ArrayList<>();
+        coordinator.start(requested::add);
+        assertEquals(2, requested.size());
+
+        // A page is forwarded as soon as it arrives
+        coordinator.handleChunkData(requested.get(0), Collections.singletonList("a-1"));
+        assertEquals(1, handler.pages.size());
+        assertEquals(2, requested.size());
+
+        // Completing a chunk releases a slot for the next one
+        coordinator.handleChunkComplete(requested.get(0));
+        assertEquals(3, requested.size());
+
+        for (int i = 1; i < 5; i++) {
+            List<String> chunk = requested.get(i);
+            coordinator.handleChunkData(chunk, Collections.singletonList(chunk.get(0) + "-1"));
+            coordinator.handleChunkComplete(chunk);
+        }
+
+        assertEquals(5, requested.size());
+        assertEquals(5, handler.pages.size());
+        assertEquals(1, handler.completions);
+        assertTrue(handler.errors.isEmpty());
+    }
+
+    @Test
+    public void testErrorStopsPagesAndPendingChunks() {
+        List<List<String>> chunks = Lists.partition(Arrays.asList("a", "b", "c"), 1);
+        RecordingHandler handler = new RecordingHandler();
+        GetChunkedCoordinator<String, String> coordinator = new GetChunkedCoordinator<>(chunks, 2, handler);
+
+        List<List<String>> requested = new ArrayList<>();
+        coordinator.start(requested::add);
+
+        coordinator.handleError(new QueryNoDataError());
+        coordinator.handleError(new QueryNoDataError());
+        coordinator.handleChunkData(requested.get(1), Collections.singletonList("b-1"));
+        coordinator.handleChunkComplete(requested.get(1));
+
+        assertEquals(2, requested.size());
+        assertTrue(handler.pages.isEmpty());
+        assertEquals(0, handler.completions);
+        assertEquals(1, handler.errors.size());
+    }
+
+    @Test
+    public void testSynchronousRequester() {
+        List<List<String>> chunks = Lists.partition(Arrays.asList("a", "b", "c", "d"), 1);
+        RecordingHandler handler = new RecordingHandler();
+        GetChunkedCoordinator<String, String> coordinator = new GetChunkedCoordinator<>(chunks, 3, handler);
+
+        coordinator.start(chunk -> {
+            coordinator.handleChunkData(chunk, chunk);
+            coordinator.handleChunkComplete(chunk);
+        });
+
+        assertEquals(4, handler.pages.size());
+        assertEquals(1, handler.completions);
+    }
+
+    @Test
+    public void testAccumulating() {
+        List<List<String>> chunks = Lists.partition(Arrays.asList("a", "b", "c"), 2);
+        List<List<String>> results = new ArrayList<>();
+        GetChunkedCoordinator<String, String> coordinator = new GetChunkedCoordinator<>(chunks, 1,
+                GetChunkedCoordinator.accumulating(new CompletionHandler<List<String>, QueryError>() {
+                    @Override
+                    public void handleData(List<String> data) {
+                        results.add(data);
+                    }
+
+                    @Override
+                    public void handleError(QueryError error) {
+                        fail();
+                    }
+                }));
+
+        coordinator.start(chunk -> {
+            coordinator.handleChunkData(chunk, chunk);
+            coordinator.handleChunkComplete(chunk);
+        });
+
+        assertEquals(1, results.size());
+        assertEquals(Arrays.asList("a", "b", "c"), results.get(0));
+    }
+}
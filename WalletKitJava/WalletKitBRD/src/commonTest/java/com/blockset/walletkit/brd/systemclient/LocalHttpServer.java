@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd.systemclient;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * A minimal, local HTTP/1.1 server standing in for MockWebServer: enqueued responses are served,
+ * in order, one per connection, and the request lines are recorded.
+ */
+/* package */
+final class LocalHttpServer implements Closeable {
+
+    /* package */
+    static final class MockResponse {
+        private final int code;
+        private final String body;
+        private final List<String> headers = new ArrayList<>();
+        private long delayMillis;
+
+        /* package */
+        MockResponse(int code, String body) {
+            this.code = code;
+            this.body = body;
+        }
+
+        /* package */
+        MockResponse header(String name, String value) {
+            headers.add(name + ": " + value);
+            return this;
+        }
+
+        /* package */
+        MockResponse delay(long millis) {
+            this.delayMillis = millis;
+            return this;
+        }
+    }
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final BlockingQueue<MockResponse> responses = new LinkedBlockingQueue<>();
+    private final List<String> requestLines = Collections.synchronizedList(new ArrayList<>());
+
+    /* package */
+    LocalHttpServer() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        executor.execute(this::accept);
+    }
+
+    /* package */
+    String url(String path) {
+        return "http://127.0.0.1:" + serverSocket.getLocalPort() + path;
+    }
+
+    /* package */
+    void enqueue(MockResponse response) {
+        responses.add(response);
+    }
+
+    /* package */
+    List<String> getRequestLines() {
+        synchronized (requestLines) {
+            return new ArrayList<>(requestLines);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        executor.shutdownNow();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                executor.execute(() -> serve(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (Socket s = socket) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.ISO_8859_1));
+            String requestLine = reader.readLine();
+            if (null == requestLine) return;
+            for (String line = reader.readLine(); null != line && !line.isEmpty(); line = reader.readLine()) {
+                // Skip the headers; requests have no body
+            }
+            requestLines.add(requestLine);
+
+            MockResponse response = responses.take();
+            if (response.delayMillis > 0) Thread.sleep(response.delayMillis);
+
+            byte[] body = response.body.getBytes(StandardCharsets.UTF_8);
+            StringBuilder head = new StringBuilder();
+            head.append("HTTP/1.1 ").append(response.code).append(" Status\r\n");
+            for (String header : response.headers) head.append(header).append("\r\n");
+            head.append("Content-Length: ").append(body.length).append("\r\n");
+            head.append("Connection: close\r\n\r\n");
+
+            OutputStream out = s.getOutputStream();
+            out.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+            out.write(body);
+            out.flush();
+
+        } catch (IOException | InterruptedException e) {
+            // The client went away, or the server closed
+        }
+    }
+}
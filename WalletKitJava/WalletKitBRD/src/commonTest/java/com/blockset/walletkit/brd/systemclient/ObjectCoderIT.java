@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd.systemclient;
+
+import com.google.common.primitives.UnsignedLong;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class ObjectCoderIT {
+
+    private static final String TRANSACTION_JSON =
+            "{\"transaction_id\":\"bitcoin-mainnet:0001\"," +
+            "\"identifier\":\"0001\"," +
+            "\"hash\":\"0001\"," +
+            "\"blockchain_id\":\"bitcoin-mainnet\"," +
+            "\"size\":225," +
+            "\"fee\":{\"currency_id\":\"bitcoin-mainnet:__native__\",\"amount\":\"1000\"}," +
+            "\"status\":\"confirmed\"," +
+            "\"block_height\":500000," +
+            "\"unknown_field\":{\"nested\":[1,2,3]}," +
+            "\"meta\":{}," +
+            "\"_embedded\":{\"transfers\":[" +
+            "{\"transfer_id\":\"bitcoin-mainnet:0001:0\"," +
+            "\"blockchain_id\":\"bitcoin-mainnet\"," +
+            "\"index\":0," +
+            "\"amount\":{\"currency_id\":\"bitcoin-mainnet:__native__\",\"amount\":\"5000\"}," +
+            "\"meta\":{}," +
+            "\"to_address\":\"1JfbZRwdDHKZmuiZgYArJZhcuuzuw2HuMu\"}]}}";
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testDeserializeEmbeddedJson() throws Exception {
+        ObjectCoder coder = ObjectCoder.createObjectCoderWithFailOnUnknownProperties();
+
+        String json = "{\"_links\":{\"self\":{\"href\":\"https://self\"},\"next\":{\"href\":\"https://next\"}}," +
+                "\"_embedded\":{\"other\":[{\"a\":1}],\"transactions\":[" + TRANSACTION_JSON + "," + TRANSACTION_JSON + "]}," +
+                "\"trailing\":[{}]}";
+
+        PagedData<BlocksetTransaction> page = coder.deserializeEmbeddedJson(BlocksetTransaction.class, "transactions", stream(json));
+        assertEquals(2, page.getData().size());
+        assertEquals("https://next", page.getNextUrl().orNull());
+        assertFalse(page.getPrevUrl().isPresent());
+
+        BlocksetTransaction transaction = page.getData().get(0);
+        assertEquals("bitcoin-mainnet:0001", transaction.getId());
+        assertEquals(UnsignedLong.valueOf(500000), transaction.getBlockHeight().orNull());
+        assertEquals(1, transaction.getTransfers().size());
+        assertEquals("5000", transaction.getTransfers().get(0).getAmount().getAmount());
+    }
+
+    @Test
+    public void testDeserializeEmbeddedJsonMissingPath() throws Exception {
+        ObjectCoder coder = ObjectCoder.createObjectCoderWithFailOnUnknownProperties();
+
+        PagedData<BlocksetTransaction> page = coder.deserializeEmbeddedJson(BlocksetTransaction.class, "transactions",
+                stream("{\"_links\":{\"prev\":{\"href\":\"https://prev\"}}}"));
+        assertTrue(page.getData().isEmpty());
+        assertEquals("https://prev", page.getPrevUrl().orNull());
+        assertFalse(page.getNextUrl().isPresent());
+
+        page = coder.deserializeEmbeddedJson(BlocksetTransaction.class, "transactions", stream("{}"));
+        assertTrue(page.getData().isEmpty());
+    }
+
+    @Test(expected = ObjectCoder.ObjectCoderException.class)
+    public void testDeserializeEmbeddedJsonMalformed() throws Exception {
+        ObjectCoder coder = ObjectCoder.createObjectCoderWithFailOnUnknownProperties();
+        coder.deserializeEmbeddedJson(BlocksetTransaction.class, "transactions",
+                stream("{\"_embedded\":{\"transactions\":[{\"transaction_id\":"));
+    }
+
+    @Test
+    public void testDeserializeTransactionRaw() throws Exception {
+        ObjectCoder coder = ObjectCoder.createObjectCoderWithFailOnUnknownProperties();
+
+        String valid   = TRANSACTION_JSON.replace("\"meta\":{},", "\"raw\":\"AQIDBA==\",\"meta\":{},");
+        String invalid = TRANSACTION_JSON.replace("\"meta\":{},", "\"raw\":\"AQ*DBA==\",\"meta\":{},");
+        String truncated = TRANSACTION_JSON.replace("\"meta\":{},", "\"raw\":\"AQIDB\",\"meta\":{},");
+        String badPadding = TRANSACTION_JSON.replace("\"meta\":{},", "\"raw\":\"AQIDBA=\",\"meta\":{},");
+        String json = "{\"_embedded\":{\"transactions\":[" + valid + "," + invalid + "," + TRANSACTION_JSON + ","
+                + truncated + "," + badPadding + "," + valid + "]}}";
+
+        PagedData<BlocksetTransaction> page = coder.deserializeEmbeddedJson(BlocksetTransaction.class, "transactions", stream(json));
+        assertEquals(6, page.getData().size());
+
+        BlocksetTransaction transaction = page.getData().get(0);
+        assertArrayEquals(new byte[] {1, 2, 3, 4}, transaction.getRaw().get());
+        assertEquals("AQIDBA==", transaction.getRawValue().get());
+
+        assertFalse(page.getData().get(1).getRaw().isPresent());
+        assertFalse(page.getData().get(2).getRaw().isPresent());
+        assertFalse(page.getData().get(3).getRaw().isPresent());
+
+        // Incomplete padding is accepted, as the decoder is lenient about it
+        assertArrayEquals(new byte[] {1, 2, 3, 4}, page.getData().get(4).getRaw().get());
+
+        // Parsing continues in place after an invalid value
+        assertArrayEquals(new byte[] {1, 2, 3, 4}, page.getData().get(5).getRaw().get());
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd.systemclient;
+
+import com.blockset.walletkit.brd.systemclient.LocalHttpServer.MockResponse;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+import static org.junit.Assert.*;
+
+public class ResilientDataTaskIT {
+
+    private final OkHttpClient client = new OkHttpClient();
+    private LocalHttpServer server;
+
+    @Before
+    public void setup() throws IOException {
+        server = new LocalHttpServer();
+    }
+
+    @After
+    public void teardown() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void testRetriesUnavailable() throws Exception {
+        ResilientDataTask task = newBuilder().build();
+        server.enqueue(new MockResponse(503, ""));
+        server.enqueue(new MockResponse(200, "ok"));
+
+        assertEquals("200 ok", execute(task, get("/transactions")));
+        assertEquals(2, server.getRequestLines().size());
+        assertEquals(1, task.getRetryCount());
+        assertEquals(2, task.getLatencyHistogram("transactions").get().getCount());
+    }
+
+    @Test
+    public void testHonorsRetryAfter() throws Exception {
+        ResilientDataTask task = newBuilder().maxRetryAfter(5, TimeUnit.SECONDS).build();
+        server.enqueue(new MockResponse(429, "").header("Retry-After", "1"));
+        server.enqueue(new MockResponse(200, "ok"));
+
+        long start = System.nanoTime();
+        assertEquals("200 ok", execute(task, get("/transfers")));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 1000);
+    }
+
+    @Test
+    public void testDoesNotWaitBeyondMaxRetryAfter() throws Exception {
+        ResilientDataTask task = newBuilder().maxRetryAfter(1, TimeUnit.SECONDS).build();
+        server.enqueue(new MockResponse(429, "slow down").header("Retry-After", "120"));
+
+        assertEquals("429 slow down", execute(task, get("/transfers")));
+        assertEquals(0, task.getRetryCount());
+    }
+
+    @Test
+    public void testHandlesLastResponseWhenExhausted() throws Exception {
+        ResilientDataTask task = newBuilder().maxAttempts(3).build();
+        for (int i = 0; i < 3; i++) server.enqueue(new MockResponse(502, "bad gateway " + i));
+
+        assertEquals("502 bad gateway 2", execute(task, get("/blocks")));
+        assertEquals(3, server.getRequestLines().size());
+    }
+
+    @Test
+    public void testDoesNotRetryPost() throws Exception {
+        ResilientDataTask task = newBuilder().build();
+        server.enqueue(new MockResponse(503, "unavailable"));
+
+        Request post = new Request.Builder()
+                .url(server.url("/transactions"))
+                .post(RequestBody.create("{}", MediaType.parse("application/json")))
+                .build();
+        assertEquals("503 unavailable", execute(task, post));
+        assertEquals(1, server.getRequestLines().size());
+    }
+
+    @Test
+    public void testDoesNotRetryClientError() throws Exception {
+        ResilientDataTask task = newBuilder().build();
+        server.enqueue(new MockResponse(404, "missing"));
+
+        assertEquals("404 missing", execute(task, get("/transactions")));
+        assertEquals(0, task.getRetryCount());
+    }
+
+    @Test
+    public void testHedgesSlowRequest() throws Exception {
+        ResilientDataTask task = newBuilder().hedging(0.9, 10).build();
+        LatencyHistogram histogram = task.histogramFor("currencies");
+        for (int i = 0; i < 10; i++) histogram.record(20);
+
+        server.enqueue(new MockResponse(200, "slow").delay(3000));
+        server.enqueue(new MockResponse(200, "hedge"));
+
+        long start = System.nanoTime();
+        assertEquals("200 hedge", execute(task, get("/currencies")));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+        assertEquals(1, task.getHedgeCount());
+    }
+
+    @Test
+    public void testParseRetryAfter() {
+        assertEquals(3000, ResilientDataTask.parseRetryAfterMillis("3"));
+        assertEquals(0, ResilientDataTask.parseRetryAfterMillis("Wed, 21 Oct 2015 07:28:00 GMT"));
+        assertEquals(-1, ResilientDataTask.parseRetryAfterMillis("soon"));
+    }
+
+    @Test
+    public void testLatencyPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentileMillis(0.5));
+
+        for (int i = 0; i < 90; i++) histogram.record(3);
+        for (int i = 0; i < 10; i++) histogram.record(1000);
+        assertEquals(4, histogram.getPercentileMillis(0.9));
+        assertEquals(1024, histogram.getPercentileMillis(0.95));
+        assertEquals(100, histogram.getCount());
+    }
+
+    // Helpers
+
+    private static ResilientDataTask.Builder newBuilder() {
+        return new ResilientDataTask.Builder().backoff(1, 10, TimeUnit.MILLISECONDS);
+    }
+
+    private Request get(String path) {
+        return new Request.Builder().url(server.url(path)).build();
+    }
+
+    // "<code> <body>", or "failure"
+    private String execute(ResilientDataTask task, Request request) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        String[] result = new String[1];
+        task.execute(client, request, new Callback() {
+            @Override
+            public void onResponse(Call call, Response response) throws IOException {
+                result[0] = response.code() + " " + response.body().string();
+                done.countDown();
+            }
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                result[0] = "failure";
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        return result[0];
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd.systemclient;
+
+import com.blockset.walletkit.SystemClient.Blockchain;
+import com.blockset.walletkit.errors.QueryError;
+import com.blockset.walletkit.utility.CompletionHandler;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import static org.junit.Assert.*;
+
+public class SingleFlightIT {
+
+    private static final class Recorder implements CompletionHandler<String, QueryError> {
+        final List<Object> results = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void handleData(String data) {
+            results.add(data);
+        }
+
+        @Override
+        public void handleError(QueryError error) {
+            results.add(error);
+        }
+    }
+
+    @Test
+    public void testJoinsInFlight() {
+        SingleFlight singleFlight = new SingleFlight(0, TimeUnit.MILLISECONDS);
+        List<CompletionHandler<String, QueryError>> sent = new ArrayList<>();
+        Recorder recorder = new Recorder();
+
+        for (int i = 0; i < 3; i++) singleFlight.execute("a", recorder, sent::add);
+        singleFlight.execute("b", recorder, sent::add);
+        assertEquals(2, sent.size());
+        assertEquals(2, singleFlight.getSentCount());
+        assertEquals(2, singleFlight.getJoinedCount());
+
+        sent.get(0).handleData("A");
+        assertEquals(Collections.nCopies(3, "A"), recorder.results);
+
+        // Once complete, and without retention, the next is sent
+        singleFlight.execute("a", recorder, sent::add);
+        assertEquals(3, sent.size());
+    }
+
+    @Test
+    public void testErrorsAreShared() {
+        SingleFlight singleFlight = new SingleFlight(1, TimeUnit.HOURS);
+        List<CompletionHandler<String, QueryError>> sent = new ArrayList<>();
+        Recorder recorder = new Recorder();
+
+        singleFlight.execute("a", recorder, sent::add);
+        singleFlight.execute("a", recorder, sent::add);
+
+        QueryError error = new QuerySubmissionError("failed");
+        sent.get(0).handleError(error);
+        assertEquals(Collections.nCopies(2, error), recorder.results);
+
+        // Errors are not retained
+        singleFlight.execute("a", recorder, sent::add);
+        assertEquals(2, sent.size());
+        assertEquals(0, singleFlight.getRetainedCount());
+    }
+
+    @Test
+    public void testRetainsForTtl() throws InterruptedException {
+        SingleFlight singleFlight = new SingleFlight(50, TimeUnit.MILLISECONDS);
+        List<CompletionHandler<String, QueryError>> sent = new ArrayList<>();
+        Recorder recorder = new Recorder();
+
+        singleFlight.execute("a", recorder, sent::add);
+        sent.get(0).handleData("A");
+
+        singleFlight.execute("a", recorder, sent::add);
+        assertEquals(1, sent.size());
+        assertEquals(1, singleFlight.getRetainedCount());
+        assertEquals(Collections.nCopies(2, "A"), recorder.results);
+
+        Thread.sleep(100);
+        singleFlight.execute("a", recorder, sent::add);
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    public void testClientSharesIdenticalRequests() throws InterruptedException {
+        // Hold the callbacks so that the requests stay in flight
+        List<Request> requests = Collections.synchronizedList(new ArrayList<>());
+        List<Callback> callbacks = Collections.synchronizedList(new ArrayList<>());
+        DataTask dataTask = (cli, request, callback) -> {
+            requests.add(request);
+            callbacks.add(callback);
+        };
+        BlocksetSystemClient client = new BlocksetSystemClient(new OkHttpClient(), "https://blockset.test", dataTask);
+
+        CountDownLatch done = new CountDownLatch(3);
+        List<Blockchain> blockchains = Collections.synchronizedList(new ArrayList<>());
+        CompletionHandler<Blockchain, QueryError> handler = new CompletionHandler<Blockchain, QueryError>() {
+            @Override
+            public void handleData(Blockchain data) {
+                blockchains.add(data);
+                done.countDown();
+            }
+
+            @Override
+            public void handleError(QueryError error) {
+                fail(error.toString());
+            }
+        };
+
+        client.getBlockchain("bitcoin-mainnet", handler);
+        client.getBlockchain("bitcoin-mainnet", handler);
+        client.getBlockchain("ethereum-mainnet", handler);
+        assertEquals(2, requests.size());
+        assertEquals(1, client.getDeduplicatedRequestCount());
+
+        respond(requests.get(0), callbacks.get(0), blockchainJson("bitcoin-mainnet"));
+        respond(requests.get(1), callbacks.get(1), blockchainJson("ethereum-mainnet"));
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertSame(blockchains.get(0), blockchains.get(1));
+    }
+
+    private static void respond(Request request, Callback callback, String json) {
+        Response response = new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .body(ResponseBody.create(json, MediaType.parse("application/json")))
+                .build();
+        try {
+            callback.onResponse((Call) null, response);
+        } catch (IOException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    private static String blockchainJson(String id) {
+        return "{\"id\":\"" + id + "\"," +
+                "\"name\":\"" + id + "\"," +
+                "\"network\":\"mainnet\"," +
+                "\"is_mainnet\":true," +
+                "\"native_currency_id\":\"" + id + ":__native__\"," +
+                "\"verified_height\":700000," +
+                "\"fee_estimates\":[]," +
+                "\"confirmations_until_final\":6," +
+                "\"verified_block_hash\":null}";
+    }
+}
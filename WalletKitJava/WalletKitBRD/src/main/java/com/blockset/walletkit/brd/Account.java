@@ -9,12 +9,15 @@ package com.blockset.walletkit.brd;
 
 import com.blockset.walletkit.nativex.cleaner.ReferenceCleaner;
 import com.blockset.walletkit.nativex.WKAccount;
+import com.blockset.walletkit.nativex.WKWordList;
 import com.google.common.base.Optional;
 
 import java.util.Date;
 import java.util.List;
 import java.lang.String;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 /* package */
 final class Account implements com.blockset.walletkit.Account {
 
@@ -26,7 +29,17 @@ final class Account implements com.blockset.walletkit.Account {
      * @return A UTF-8 NFKD normalized BIP-39 paper key
      */
     static byte[] generatePhrase(List<String> words) {
-        return WKAccount.generatePhrase(words);
+        WKWordList wordList = Key.acquireWordList(checkNotNull(words));
+        try {
+            return WKAccount.generatePhrase(wordList);
+        } finally {
+            wordList.release();
+        }
+    }
+
+    /* package */
+    static byte[] generatePhraseWithWordList(com.blockset.walletkit.WordList words) {
+        return WKAccount.generatePhrase(WordList.from(words).getCoreBRCryptoWordList());
     }
 
     /**
@@ -38,7 +51,17 @@ final class Account implements com.blockset.walletkit.Account {
      * @return true is a valid paper key; false otherwise
      */
     static boolean validatePhrase(byte[] phraseUtf8, List<String> words) {
-        return WKAccount.validatePhrase(phraseUtf8, words);
+        WKWordList wordList = Key.acquireWordList(checkNotNull(words));
+        try {
+            return WKAccount.validatePhrase(phraseUtf8, wordList);
+        } finally {
+            wordList.release();
+        }
+    }
+
+    /* package */
+    static boolean validatePhraseWithWordList(byte[] phraseUtf8, com.blockset.walletkit.WordList words) {
+        return WKAccount.validatePhrase(phraseUtf8, WordList.from(words).getCoreBRCryptoWordList());
     }
 
     /**
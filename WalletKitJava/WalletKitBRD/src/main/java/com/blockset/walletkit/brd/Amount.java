@@ -14,19 +14,13 @@ import com.blockset.walletkit.nativex.WKAmount;
 import com.blockset.walletkit.CurrencyPair;
 import com.blockset.walletkit.nativex.WKComparison;
 import com.google.common.base.Optional;
-import com.google.common.base.Supplier;
-import com.google.common.base.Suppliers;
 
-import java.math.RoundingMode;
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
-import java.util.Objects;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
 /* package */
-final class Amount implements com.blockset.walletkit.Amount {
+final class Amount extends LazyFields implements com.blockset.walletkit.Amount {
 
     /* package */
     static Amount create(double value, com.blockset.walletkit.Unit unit) {
@@ -69,46 +63,43 @@ final class Amount implements com.blockset.walletkit.Amount {
         throw new IllegalArgumentException("Unsupported amount instance");
     }
 
-    private static NumberFormat formatterWithUnit(com.blockset.walletkit.Unit unit) {
-        DecimalFormat formatter = (DecimalFormat) DecimalFormat.getCurrencyInstance().clone();
-        DecimalFormatSymbols formatterSymbols = (DecimalFormatSymbols) formatter.getDecimalFormatSymbols().clone();
-
-        String symbol = unit.getSymbol();
-        formatterSymbols.setInternationalCurrencySymbol(symbol);
-        formatterSymbols.setCurrencySymbol(symbol);
-
-        int decimals = unit.getDecimals().intValue();
-        formatter.setParseBigDecimal(0 != decimals);
-        formatter.setRoundingMode(RoundingMode.HALF_EVEN);
-        formatter.setDecimalFormatSymbols(formatterSymbols);
-        formatter.setMaximumIntegerDigits(Integer.MAX_VALUE);
-        formatter.setMaximumFractionDigits(decimals);
-
-        return formatter;
-    }
+    private static final int CURRENCY  = 1;
+    private static final int UNIT      = 1 << 1;
+    private static final int STRING    = 1 << 2;
+    private static final int HASH_CODE = 1 << 3;
 
     private final WKAmount core;
 
-    private final Supplier<Unit> unitSupplier;
-    private final Supplier<Currency> currencySupplier;
-    private final Supplier<String> toStringSupplier;
+    private Currency currency;
+    private Unit unit;
+    private String string;
+    private int hashCode;
 
     private Amount(WKAmount core) {
         this.core = core;
+    }
 
-        this.currencySupplier = Suppliers.memoize(() -> Currency.create(core.getCurrency()));
-        this.unitSupplier = Suppliers.memoize(() -> Unit.create(core.getUnit()));
-        this.toStringSupplier = Suppliers.memoize(() -> toStringAsUnit(getUnit()).or("<nan>"));
+    @Override
+    protected void resolveField(int field) {
+        switch (field) {
+            case CURRENCY:  currency = Currency.create(core.getCurrency()); break;
+            case UNIT:      unit = Unit.create(core.getUnit()); break;
+            case STRING:    string = toStringAsUnit(getUnit()).or("<nan>"); break;
+            case HASH_CODE: hashCode = core.getHashValue(); break;
+            default: throw new IllegalArgumentException("Unknown field");
+        }
     }
 
     @Override
     public Currency getCurrency() {
-        return currencySupplier.get();
+        resolve(CURRENCY);
+        return currency;
     }
 
     @Override
     public Unit getUnit() {
-        return unitSupplier.get();
+        resolve(UNIT);
+        return unit;
     }
 
     @Override
@@ -162,8 +153,20 @@ final class Amount implements com.blockset.walletkit.Amount {
 
     @Override
     public Optional<String> toStringAsUnit(com.blockset.walletkit.Unit asUnit, @Nullable NumberFormat numberFormatter) {
-        numberFormatter = numberFormatter != null ? numberFormatter : formatterWithUnit(asUnit);
-        return doubleAmount(asUnit).transform(numberFormatter::format);
+        Optional<Double> amount = doubleAmount(asUnit);
+        if (!amount.isPresent()) {
+            return Optional.absent();
+        }
+
+        if (null != numberFormatter) {
+            return Optional.of(numberFormatter.format(amount.get()));
+        }
+
+        // The unit's formatter is shared; a NumberFormat is not thread-safe
+        NumberFormat unitFormatter = Unit.from(asUnit).getFormatter();
+        synchronized (unitFormatter) {
+            return Optional.of(unitFormatter.format(amount.get()));
+        }
     }
 
     @Override
@@ -188,7 +191,8 @@ final class Amount implements com.blockset.walletkit.Amount {
 
     @Override
     public String toString() {
-        return toStringSupplier.get();
+        resolve(STRING);
+        return string;
     }
 
     @Override
@@ -217,7 +221,8 @@ final class Amount implements com.blockset.walletkit.Amount {
 
     @Override
     public int hashCode() {
-        return Objects.hash(toString());
+        resolve(HASH_CODE);
+        return hashCode;
     }
 
     @Override
@@ -49,6 +49,16 @@ public final class ApiProvider implements Api.Provider {
         public boolean validatePhrase(byte[] phraseUtf8, List<String> words) {
             return Account.validatePhrase(phraseUtf8, words);
         }
+
+        @Override
+        public byte[] generatePhraseWithWordList(com.blockset.walletkit.WordList words) {
+            return Account.generatePhraseWithWordList(words);
+        }
+
+        @Override
+        public boolean validatePhraseWithWordList(byte[] phraseUtf8, com.blockset.walletkit.WordList words) {
+            return Account.validatePhraseWithWordList(phraseUtf8, words);
+        }
     };
 
     private static final Api.AddressProvider addressProvider = new Api.AddressProvider() {
@@ -180,6 +190,11 @@ public final class ApiProvider implements Api.Provider {
             return Key.getDefaultWordList();
         }
 
+        @Override
+        public com.blockset.walletkit.WordList createWordList(List<String> words) {
+            return WordList.create(words);
+        }
+
         @Override
         public boolean isProtectedPrivateKeyString(byte[] keyStringUtf8) {
             return Key.isProtectedPrivateKeyString(keyStringUtf8);
@@ -218,6 +233,21 @@ public final class ApiProvider implements Api.Provider {
         public Optional<com.blockset.walletkit.Key> createForBIP32BitID(byte[] phraseUtf8, int index, String uri, List<String> words) {
             return Key.createForBIP32BitID(phraseUtf8, index, uri, words).transform(a -> a);
         }
+
+        @Override
+        public Optional<com.blockset.walletkit.Key> createFromPhraseWithWordList(byte[] phraseUtf8, com.blockset.walletkit.WordList words) {
+            return Key.createFromPhraseWithWordList(phraseUtf8, words).transform(a -> a);
+        }
+
+        @Override
+        public Optional<com.blockset.walletkit.Key> createForBIP32ApiAuthWithWordList(byte[] phraseUtf8, com.blockset.walletkit.WordList words) {
+            return Key.createForBIP32ApiAuthWithWordList(phraseUtf8, words).transform(a -> a);
+        }
+
+        @Override
+        public Optional<com.blockset.walletkit.Key> createForBIP32BitIDWithWordList(byte[] phraseUtf8, int index, String uri, com.blockset.walletkit.WordList words) {
+            return Key.createForBIP32BitIDWithWordList(phraseUtf8, index, uri, words).transform(a -> a);
+        }
     };
 
     private static final Api.SignerProvider signerProvider = new Api.SignerProvider() {
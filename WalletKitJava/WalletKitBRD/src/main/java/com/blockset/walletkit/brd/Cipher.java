@@ -11,6 +11,8 @@ import com.blockset.walletkit.nativex.cleaner.ReferenceCleaner;
 import com.blockset.walletkit.nativex.WKCipher;
 import com.google.common.base.Optional;
 
+import java.nio.ByteBuffer;
+
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /* package */
@@ -78,4 +80,24 @@ final class Cipher implements com.blockset.walletkit.Cipher {
     private Optional<byte[]> migrateBRCoreKeyCiphertext(byte[] data) {
         return core.migrateBRCoreKeyCiphertext(data);
     }
+
+    @Override
+    public int getEncryptLength(ByteBuffer data) {
+        return core.encryptLength(data);
+    }
+
+    @Override
+    public boolean encrypt(ByteBuffer data, ByteBuffer output) {
+        return core.encrypt(data, output);
+    }
+
+    @Override
+    public int getDecryptLength(ByteBuffer data) {
+        return core.decryptLength(data);
+    }
+
+    @Override
+    public boolean decrypt(ByteBuffer data, ByteBuffer output) {
+        return core.decrypt(data, output);
+    }
 }
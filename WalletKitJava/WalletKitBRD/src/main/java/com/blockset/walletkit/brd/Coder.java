@@ -13,6 +13,8 @@ import com.blockset.walletkit.nativex.cleaner.ReferenceCleaner;
 import com.blockset.walletkit.nativex.WKCoder;
 import com.google.common.base.Optional;
 
+import java.nio.ByteBuffer;
+
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /* package */
@@ -74,4 +76,24 @@ final class Coder implements com.blockset.walletkit.Coder {
     public Optional<byte[]> decode(String source) {
         return core.decode(source);
     }
+
+    @Override
+    public int getEncodeLength(ByteBuffer source) {
+        return core.encodeLength(source);
+    }
+
+    @Override
+    public boolean encode(ByteBuffer source, ByteBuffer output) {
+        return core.encode(source, output);
+    }
+
+    @Override
+    public int getDecodeLength(ByteBuffer source) {
+        return core.decodeLength(source);
+    }
+
+    @Override
+    public boolean decode(ByteBuffer source, ByteBuffer output) {
+        return core.decode(source, output);
+    }
 }
@@ -9,16 +9,13 @@ package com.blockset.walletkit.brd;
 
 import android.support.annotation.Nullable;
 
-import com.blockset.walletkit.nativex.cleaner.ReferenceCleaner;
 import com.blockset.walletkit.nativex.WKCurrency;
 import com.google.common.base.Optional;
-import com.google.common.base.Supplier;
-import com.google.common.base.Suppliers;
 
 import java.util.Objects;
 
 /* package */
-final class Currency implements com.blockset.walletkit.Currency {
+final class Currency extends LazyFields implements com.blockset.walletkit.Currency {
 
     /* package */
     static Currency create (String uids, String name, String code, String type, @Nullable String issuer) {
@@ -28,11 +25,12 @@ final class Currency implements com.blockset.walletkit.Currency {
 
     /* package */
     static Currency create(WKCurrency core) {
-        Currency currency = new Currency(core);
-        ReferenceCleaner.register(currency, core::give);
-        return currency;
+        return CACHE.get(core, false, Currency::new);
     }
 
+    private static final WrapperCache<WKCurrency, Currency> CACHE =
+            new WrapperCache<>(WKCurrency::take, WKCurrency::give);
+
     /* package */
     static Currency from(com.blockset.walletkit.Currency currency) {
         if (currency == null) {
@@ -46,48 +44,66 @@ final class Currency implements com.blockset.walletkit.Currency {
         throw new IllegalArgumentException("Unsupported currency instance");
     }
 
+    private static final int UIDS   = 1;
+    private static final int NAME   = 1 << 1;
+    private static final int CODE   = 1 << 2;
+    private static final int TYPE   = 1 << 3;
+    private static final int ISSUER = 1 << 4;
+
     private final WKCurrency core;
 
-    private final Supplier<String> uidsSupplier;
-    private final Supplier<String> nameSupplier;
-    private final Supplier<String> codeSupplier;
-    private final Supplier<String> typeSupplier;
+    private String uids;
+    private String name;
+    private String code;
+    private String type;
 
-    private final Supplier<String> issuerSupplier;
+    @Nullable
+    private String issuer;
 
     private Currency(WKCurrency core) {
         this.core = core;
+    }
 
-        this.uidsSupplier = Suppliers.memoize(core::getUids);
-        this.nameSupplier = Suppliers.memoize(core::getName);
-        this.codeSupplier = Suppliers.memoize(core::getCode);
-        this.typeSupplier = Suppliers.memoize(core::getType);
-        this.issuerSupplier = Suppliers.memoize(core::getIssuer);
+    @Override
+    protected void resolveField(int field) {
+        switch (field) {
+            case UIDS:   uids = core.getUids(); break;
+            case NAME:   name = core.getName(); break;
+            case CODE:   code = core.getCode(); break;
+            case TYPE:   type = core.getType(); break;
+            case ISSUER: issuer = core.getIssuer(); break;
+            default: throw new IllegalArgumentException("Unknown field");
+        }
     }
 
     @Override
     public String getUids() {
-        return uidsSupplier.get();
+        resolve(UIDS);
+        return uids;
     }
 
     @Override
     public String getName() {
-        return nameSupplier.get();
+        resolve(NAME);
+        return name;
     }
 
     @Override
     public String getCode() {
-        return codeSupplier.get();
+        resolve(CODE);
+        return code;
     }
 
     @Override
     public String getType() {
-        return typeSupplier.get();
+        resolve(TYPE);
+        return type;
     }
 
     @Override
     public Optional<String> getIssuer() {
-        return Optional.fromNullable(issuerSupplier.get());
+        resolve(ISSUER);
+        return Optional.fromNullable(issuer);
     }
 
     @Override
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd;
+
+import com.blockset.walletkit.SystemClient;
+import com.blockset.walletkit.SystemClient.CurrencyDenomination;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks the currency models that have been applied, so that a later update applies only the
+ * models that were added or that changed since.
+ */
+/* package */
+final class CurrencyModelTracker {
+
+    /**
+     * Group `models` by their blockchain id, preserving order.
+     */
+    /* package */
+    static Map<String, List<SystemClient.Currency>> groupByBlockchain(Collection<? extends SystemClient.Currency> models) {
+        Map<String, List<SystemClient.Currency>> groups = new HashMap<>();
+        for (SystemClient.Currency model : models) {
+            List<SystemClient.Currency> group = groups.get(model.getBlockchainId());
+            if (null == group) {
+                group = new ArrayList<>();
+                groups.put(model.getBlockchainId(), group);
+            }
+            group.add(model);
+        }
+        return groups;
+    }
+
+    // The fingerprint of each applied model, by currency id
+    private final Map<String, List<Object>> applied = new HashMap<>();
+
+    /**
+     * Return the models in `models` that are new or differ from those last applied, in order,
+     * and record them as applied.
+     */
+    /* package */
+    synchronized List<SystemClient.Currency> update(Collection<? extends SystemClient.Currency> models) {
+        List<SystemClient.Currency> changed = new ArrayList<>();
+        for (SystemClient.Currency model : models) {
+            List<Object> fingerprint = fingerprint(model);
+            if (!fingerprint.equals(applied.put(model.getId(), fingerprint))) {
+                changed.add(model);
+            }
+        }
+        return changed;
+    }
+
+    private static List<Object> fingerprint(SystemClient.Currency model) {
+        List<Object> fingerprint = new ArrayList<>(Arrays.asList(
+                model.getName(),
+                model.getCode(),
+                model.getType(),
+                model.getBlockchainId(),
+                model.getAddress().orNull(),
+                model.getVerified()));
+        for (CurrencyDenomination denomination : model.getDenominations()) {
+            fingerprint.add(denomination.getName());
+            fingerprint.add(denomination.getCode());
+            fingerprint.add(denomination.getSymbol());
+            fingerprint.add(denomination.getDecimals());
+        }
+        return fingerprint;
+    }
+}
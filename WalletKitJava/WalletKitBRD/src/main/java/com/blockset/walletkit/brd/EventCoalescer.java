@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd;
+
+import android.support.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Submits listener deliveries to an executor, optionally coalescing high-frequency deliveries.
+ *
+ * Deliveries are grouped (e.g. by wallet manager).  A coalesced delivery is held in a slot,
+ * identified by group and key, until either the window expires or, with a zero window, the
+ * executor gets to it; a later delivery for the same slot replaces the held one, so only the
+ * latest is run.  A lossless delivery first flushes every held delivery in its group, so that
+ * the relative order of a group's deliveries, as submitted, is preserved.
+ *
+ * Coalescing is disabled by default, in which case every delivery is submitted immediately.
+ */
+/* package */
+final class EventCoalescer {
+
+    private static final long DISABLED = -1;
+
+    private final ScheduledExecutorService executor;
+
+    // Slots with a held delivery, by group and then by key in order of first submission
+    private final Map<Object, Map<Object, Slot>> pending = new HashMap<>();
+
+    private long windowNanos = DISABLED;
+
+    /* package */
+    EventCoalescer(ScheduledExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /* package */
+    synchronized void enable(long window, TimeUnit unit) {
+        if (window < 0) throw new IllegalArgumentException("negative window");
+        windowNanos = unit.toNanos(window);
+    }
+
+    /* package */
+    synchronized void disable() {
+        windowNanos = DISABLED;
+        flushAll();
+    }
+
+    /* package */
+    synchronized boolean isEnabled() {
+        return DISABLED != windowNanos;
+    }
+
+    /**
+     * Submit `delivery`, replacing any delivery still held for `group` and `key`.
+     */
+    /* package */
+    void coalesce(Object group, Object key, Runnable delivery) {
+        synchronized (this) {
+            if (DISABLED != windowNanos) {
+                Map<Object, Slot> slots = pending.get(group);
+                if (null == slots) {
+                    slots = new LinkedHashMap<>();
+                    pending.put(group, slots);
+                }
+
+                Slot slot = slots.get(key);
+                if (null != slot) {
+                    slot.delivery = delivery;
+                    return;
+                }
+
+                Slot newSlot = new Slot(group, key, delivery);
+                slots.put(key, newSlot);
+
+                if (0 == windowNanos) executor.submit(() -> fire(newSlot));
+                else executor.schedule(() -> fire(newSlot), windowNanos, TimeUnit.NANOSECONDS);
+                return;
+            }
+        }
+        executor.submit(delivery);
+    }
+
+    /**
+     * Submit `delivery` after flushing any deliveries held for `group`.
+     */
+    /* package */
+    synchronized void announce(Object group, Runnable delivery) {
+        Map<Object, Slot> slots = pending.remove(group);
+        if (null != slots) {
+            for (Slot slot : slots.values()) {
+                Runnable held = slot.take();
+                if (null != held) executor.submit(held);
+            }
+        }
+        executor.submit(delivery);
+    }
+
+    private synchronized void flushAll() {
+        for (Map<Object, Slot> slots : pending.values()) {
+            for (Slot slot : slots.values()) {
+                Runnable held = slot.take();
+                if (null != held) executor.submit(held);
+            }
+        }
+        pending.clear();
+    }
+
+    private void fire(Slot slot) {
+        Runnable delivery;
+        synchronized (this) {
+            delivery = slot.take();
+            if (null == delivery) return;
+
+            Map<Object, Slot> slots = pending.get(slot.group);
+            if (null != slots) {
+                slots.remove(slot.key);
+                if (slots.isEmpty()) pending.remove(slot.group);
+            }
+        }
+        delivery.run();
+    }
+
+    private static final class Slot {
+        final Object group;
+        final Object key;
+
+        // Guarded by the coalescer; null once run or flushed
+        @Nullable
+        Runnable delivery;
+
+        Slot(Object group, Object key, Runnable delivery) {
+            this.group = group;
+            this.key = key;
+            this.delivery = delivery;
+        }
+
+        @Nullable
+        Runnable take() {
+            Runnable delivery = this.delivery;
+            this.delivery = null;
+            return delivery;
+        }
+    }
+}
@@ -13,6 +13,8 @@ import com.blockset.walletkit.nativex.cleaner.ReferenceCleaner;
 import com.blockset.walletkit.nativex.WKHasher;
 import com.google.common.base.Optional;
 
+import java.nio.ByteBuffer;
+
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /* package */
@@ -111,4 +113,19 @@ final class Hasher implements com.blockset.walletkit.Hasher {
     public Optional<byte[]> hash(byte[] data) {
         return core.hash(data);
     }
+
+    @Override
+    public int getLength() {
+        return core.length();
+    }
+
+    @Override
+    public boolean hash(ByteBuffer data, ByteBuffer hash) {
+        return core.hash(data, hash);
+    }
+
+    @Override
+    public boolean hashBatch(ByteBuffer data, int[] offsets, ByteBuffer hashes) {
+        return core.hashBatch(data, offsets, hashes);
+    }
 }
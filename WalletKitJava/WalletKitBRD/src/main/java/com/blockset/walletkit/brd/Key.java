@@ -11,6 +11,7 @@ import android.support.annotation.Nullable;
 
 import com.blockset.walletkit.nativex.cleaner.ReferenceCleaner;
 import com.blockset.walletkit.nativex.WKKey;
+import com.blockset.walletkit.nativex.WKWordList;
 import com.google.common.base.Optional;
 
 import java.util.List;
@@ -18,19 +19,54 @@ import java.util.List;
 /* package */
 final class Key implements com.blockset.walletkit.Key {
 
+    // Guarded by `Key.class`; `defaultWordList` is the native-resident copy of `wordList`
     @Nullable
     static private List<String> wordList;
+    @Nullable
+    static private WKWordList defaultWordList;
 
     /* package */
     static void setDefaultWordList(List<String> wordList) {
-        Key.wordList = wordList;
+        WKWordList previous;
+        synchronized (Key.class) {
+            if (wordList == Key.wordList) return;
+
+            previous = Key.defaultWordList;
+            Key.wordList = wordList;
+            Key.defaultWordList = (null == wordList ? null : WKWordList.create(wordList));
+        }
+
+        // Freed once any use in progress completes
+        if (null != previous) previous.give();
     }
 
     /* package */
-    static List<String> getDefaultWordList() {
+    static synchronized List<String> getDefaultWordList() {
         return Key.wordList;
     }
 
+    /**
+     * Acquire a use of the native word list for `words`: the default's, if `words` is null or the
+     * default list itself, otherwise a one-off copy.  Must be paired with `release()`.
+     */
+    @Nullable
+    /* package */
+    static WKWordList acquireWordList(@Nullable List<String> words) {
+        synchronized (Key.class) {
+            if (words == null || words == Key.wordList) {
+                if (null == Key.defaultWordList) return null;
+                Key.defaultWordList.acquire();
+                return Key.defaultWordList;
+            }
+        }
+
+        // Hand the owner's reference over to the use; `release()` frees the copy
+        WKWordList copy = WKWordList.create(words);
+        copy.acquire();
+        copy.give();
+        return copy;
+    }
+
     /* package */
     static boolean isProtectedPrivateKeyString(byte[] keyStringUtf8) {
         return WKKey.isProtectedPrivateKeyString(keyStringUtf8);
@@ -38,15 +74,22 @@ final class Key implements com.blockset.walletkit.Key {
 
     /* package */
     static Optional<Key> createFromPhrase(byte[] phraseUtf8, @Nullable List<String> words) {
-        if (words == null) {
-            words = Key.wordList;
+        WKWordList wordList = acquireWordList(words);
+        if (null == wordList) {
+            return Optional.absent();
         }
 
-        if (words == null) {
-            return Optional.absent();
+        try {
+            Optional<WKKey> core = WKKey.createFromPhrase(phraseUtf8, wordList);
+            return core.transform(Key::create);
+        } finally {
+            wordList.release();
         }
+    }
 
-        Optional<WKKey> core = WKKey.createFromPhrase(phraseUtf8, words);
+    /* package */
+    static Optional<Key> createFromPhraseWithWordList(byte[] phraseUtf8, com.blockset.walletkit.WordList words) {
+        Optional<WKKey> core = WKKey.createFromPhrase(phraseUtf8, WordList.from(words).getCoreBRCryptoWordList());
         return core.transform(Key::create);
     }
 
@@ -76,29 +119,43 @@ final class Key implements com.blockset.walletkit.Key {
 
     /* package */
     static Optional<Key> createForBIP32ApiAuth(byte[] phraseUtf8, @Nullable List<String> words) {
-        if (words == null) {
-            words = Key.wordList;
+        WKWordList wordList = acquireWordList(words);
+        if (null == wordList) {
+            return Optional.absent();
         }
 
-        if (words == null) {
-            return Optional.absent();
+        try {
+            Optional<WKKey> core = WKKey.createForBIP32ApiAuth(phraseUtf8, wordList);
+            return core.transform(Key::create);
+        } finally {
+            wordList.release();
         }
+    }
 
-        Optional<WKKey> core = WKKey.createForBIP32ApiAuth(phraseUtf8, words);
+    /* package */
+    static Optional<Key> createForBIP32ApiAuthWithWordList(byte[] phraseUtf8, com.blockset.walletkit.WordList words) {
+        Optional<WKKey> core = WKKey.createForBIP32ApiAuth(phraseUtf8, WordList.from(words).getCoreBRCryptoWordList());
         return core.transform(Key::create);
     }
 
     /* package */
     static Optional<Key> createForBIP32BitID(byte[] phraseUtf8, int index, String uri, @Nullable List<String> words) {
-        if (words == null) {
-            words = Key.wordList;
+        WKWordList wordList = acquireWordList(words);
+        if (null == wordList) {
+            return Optional.absent();
         }
 
-        if (words == null) {
-            return Optional.absent();
+        try {
+            Optional<WKKey> core = WKKey.createForBIP32BitID(phraseUtf8, index, uri, wordList);
+            return core.transform(Key::create);
+        } finally {
+            wordList.release();
         }
+    }
 
-        Optional<WKKey> core = WKKey.createForBIP32BitID(phraseUtf8, index, uri, words);
+    /* package */
+    static Optional<Key> createForBIP32BitIDWithWordList(byte[] phraseUtf8, int index, String uri, com.blockset.walletkit.WordList words) {
+        Optional<WKKey> core = WKKey.createForBIP32BitID(phraseUtf8, index, uri, WordList.from(words).getCoreBRCryptoWordList());
         return core.transform(Key::create);
     }
 
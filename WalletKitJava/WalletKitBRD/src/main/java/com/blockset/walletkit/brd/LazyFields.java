@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd;
+
+/**
+ * A base for wrappers whose fields are derived lazily, and at most once, from their core.
+ *
+ * A subclass keeps each lazy value in a plain field and assigns it a bit; a getter calls
+ * `resolve(bit)` and then reads the field.  The bits resolved so far are a single volatile int,
+ * so a resolved field costs one volatile read.  Resolving takes the wrapper's own lock, so a field
+ * is resolved once even under contention, and the volatile write of its bit publishes the field.
+ *
+ * This replaces a `Suppliers.memoize()` per field, each of which allocates a supplier, a lambda
+ * and a lock; wrappers are created on every event and query, so that adds up.
+ *
+ * A `resolveField()` must not resolve a field of a wrapper that may, in turn, resolve one of
+ * this wrapper; core getters and the static wrapper caches are fine.
+ */
+/* package */
+abstract class LazyFields {
+
+    private volatile int resolved;
+
+    /**
+     * Resolve `field`, a single bit, if not already.
+     */
+    protected final void resolve(int field) {
+        if (0 == (resolved & field)) {
+            resolveSlow(field);
+        }
+    }
+
+    private synchronized void resolveSlow(int field) {
+        if (0 == (resolved & field)) {
+            resolveField(field);
+            resolved |= field;
+        }
+    }
+
+    /**
+     * Assign `field`, a single bit, its value; called once per field, holding the lock.
+     */
+    protected abstract void resolveField(int field);
+}
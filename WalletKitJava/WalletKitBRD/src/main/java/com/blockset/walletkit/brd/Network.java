@@ -9,7 +9,6 @@ package com.blockset.walletkit.brd;
 
 import android.support.annotation.Nullable;
 
-import com.blockset.walletkit.nativex.cleaner.ReferenceCleaner;
 import com.blockset.walletkit.nativex.WKAddressScheme;
 import com.blockset.walletkit.nativex.WKCurrency;
 import com.blockset.walletkit.nativex.WKNetwork;
@@ -37,11 +36,17 @@ import static com.google.common.base.Preconditions.checkState;
 final class Network implements com.blockset.walletkit.Network {
 
     static Network create(WKNetwork core) {
-        Network network = new Network(core);
-        ReferenceCleaner.register(network, core::give);
-        return network;
+        return CACHE.get(core, false, Network::new);
     }
 
+    /* package */
+    static Network takeAndCreate(WKNetwork core) {
+        return CACHE.get(core, true, Network::new);
+    }
+
+    private static final WrapperCache<WKNetwork, Network> CACHE =
+            new WrapperCache<>(WKNetwork::take, WKNetwork::give);
+
     /* package */
     static Network from(com.blockset.walletkit.Network network) {
         if (network == null) {
@@ -236,7 +241,7 @@ final class Network implements com.blockset.walletkit.Network {
                            com.blockset.walletkit.Unit unit) {
         checkState (unit.hasCurrency(currency));
         checkState (this.hasCurrency(currency));
-        if (!this.hasUnitFor (currency, unit).isPresent()) {
+        if (!this.hasUnitFor (currency, unit).or(false)) {
             getCoreBRCryptoNetwork().addCurrencyUnit(
                     Currency.from(currency).getCoreBRCryptoCurrency(),
                     Unit.from(unit).getCoreBRCryptoUnit()
@@ -22,9 +22,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -64,6 +66,10 @@ final class NetworkDiscovery {
              getCurrencies(latch, query, isMainnet, appCurrencies, currencyModels -> {
                  // If there are no 'currencyModels' the query might have failed.
                  //
+                 // Partition the models by blockchain, once, rather than for each network.
+                 Map<String, List<SystemClient.Currency>> currencyModelsByBlockchain =
+                         CurrencyModelTracker.groupByBlockchain(currencyModels);
+
                  // Process each supportedNetwork based on the remote model
                  for (Network network: supportedNetworks) {
                     boolean existing = false; // existingNetworks.contains(network);
@@ -71,34 +77,11 @@ final class NetworkDiscovery {
 
                     Network coreNetwork = Network.from(network);
 
-                    for (SystemClient.Currency currencyModel : currencyModels) {
-                        if (currencyModel.getBlockchainId().equals(blockchainModelId)) {
-                            Currency currency = Currency.create(
-                                    currencyModel.getId(),
-                                    currencyModel.getName(),
-                                    currencyModel.getCode(),
-                                    currencyModel.getType(),
-                                    currencyModel.getAddress().orNull());
-
-                            Optional<CurrencyDenomination> baseDenomination = findFirstBaseDenomination(currencyModel.getDenominations());
-                            List<CurrencyDenomination> nonBaseDenominations = findAllNonBaseDenominations(currencyModel.getDenominations());
-
-                            Unit baseUnit = baseDenomination.isPresent()
-                                    ? currencyDenominationToBaseUnit(currency, baseDenomination.get())
-                                    : currencyToDefaultBaseUnit(currency);
-
-                            List<Unit> units = currencyDenominationToUnits(currency, nonBaseDenominations, baseUnit);
-
-                            units.add(0, baseUnit);
-                            Collections.sort(units, (o1, o2) -> o2.getDecimals().compareTo(o1.getDecimals()));
-                            Unit defaultUnit = units.get(0);
-
-                            // The currency and unit here will not override builtins.
-                            coreNetwork.addCurrency(currency, baseUnit, defaultUnit);
-                            for (Unit u : units) {
-                                coreNetwork.addUnitFor(currency, u);
-                            }
-                        }
+                    List<SystemClient.Currency> networkCurrencyModels = currencyModelsByBlockchain.get(blockchainModelId);
+                    if (null != networkCurrencyModels) {
+                        int applied = applyCurrencyModels(coreNetwork, networkCurrencyModels);
+                        Log.log(Level.FINE, String.format("Currencies for Network: %s: %d of %d added or updated",
+                                blockchainModelId, applied, networkCurrencyModels.size()));
                     }
 
                     Unit feeUnit = coreNetwork.baseUnitFor(network.getCurrency()).orNull();
@@ -164,6 +147,77 @@ final class NetworkDiscovery {
         });
     }
 
+    /**
+     * Add to `network` the currencies in `currencyModels` that it does not hold and, for those it
+     * does hold, any units it lacks.  Returns the number of currencies added or updated.
+     */
+    private static int applyCurrencyModels(Network network, List<SystemClient.Currency> currencyModels) {
+        Map<String, Currency> existingCurrencies = new HashMap<>();
+        for (Currency currency : network.getCurrencies()) {
+            existingCurrencies.put(currency.getUids(), currency);
+        }
+
+        int applied = 0;
+        for (SystemClient.Currency currencyModel : currencyModels) {
+            Currency currency = existingCurrencies.get(currencyModel.getId());
+
+            if (null == currency) {
+                currency = Currency.create(
+                        currencyModel.getId(),
+                        currencyModel.getName(),
+                        currencyModel.getCode(),
+                        currencyModel.getType(),
+                        currencyModel.getAddress().orNull());
+
+                Optional<CurrencyDenomination> baseDenomination = findFirstBaseDenomination(currencyModel.getDenominations());
+                List<CurrencyDenomination> nonBaseDenominations = findAllNonBaseDenominations(currencyModel.getDenominations());
+
+                Unit baseUnit = baseDenomination.isPresent()
+                        ? currencyDenominationToBaseUnit(currency, baseDenomination.get())
+                        : currencyToDefaultBaseUnit(currency);
+
+                List<Unit> units = currencyDenominationToUnits(currency, nonBaseDenominations, baseUnit);
+
+                units.add(0, baseUnit);
+                Collections.sort(units, (o1, o2) -> o2.getDecimals().compareTo(o1.getDecimals()));
+                Unit defaultUnit = units.get(0);
+
+                // The currency and unit here will not override builtins.
+                network.addCurrency(currency, baseUnit, defaultUnit);
+                for (Unit u : units) {
+                    network.addUnitFor(currency, u);
+                }
+                applied += 1;
+                continue;
+            }
+
+            // The network holds the currency; add only the denominations it lacks a unit for.
+            Optional<Set<? extends com.blockset.walletkit.Unit>> existingUnits = network.unitsFor(currency);
+            Optional<Unit> baseUnit = network.baseUnitFor(currency);
+            if (!existingUnits.isPresent() || !baseUnit.isPresent()) continue;
+
+            Set<String> existingUnitUids = new HashSet<>();
+            for (com.blockset.walletkit.Unit unit : existingUnits.get()) {
+                existingUnitUids.add(Unit.from(unit).getUids());
+            }
+
+            List<CurrencyDenomination> missingDenominations = new ArrayList<>();
+            for (CurrencyDenomination denomination : findAllNonBaseDenominations(currencyModel.getDenominations())) {
+                if (!existingUnitUids.contains(currency.getUids() + ":" + denomination.getCode())) {
+                    missingDenominations.add(denomination);
+                }
+            }
+
+            if (!missingDenominations.isEmpty()) {
+                for (Unit u : currencyDenominationToUnits(currency, missingDenominations, baseUnit.get())) {
+                    network.addUnitFor(currency, u);
+                }
+                applied += 1;
+            }
+        }
+        return applied;
+    }
+
     private static void getBlockChains(CountUpAndDownLatch latch,
                                        SystemClient query,
                                        boolean isMainnet,
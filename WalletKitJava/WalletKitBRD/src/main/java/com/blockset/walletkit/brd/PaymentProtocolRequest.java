@@ -26,17 +26,13 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Optional;
-import com.google.common.base.Supplier;
-import com.google.common.base.Suppliers;
 import com.google.common.primitives.UnsignedLong;
 import com.google.common.primitives.UnsignedLongs;
 
 import java.security.InvalidKeyException;
-import java.security.KeyStore;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.PublicKey;
-import java.security.Signature;
 import java.security.SignatureException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
@@ -45,14 +41,10 @@ import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import javax.net.ssl.TrustManager;
-import javax.net.ssl.TrustManagerFactory;
-import javax.net.ssl.X509TrustManager;
-
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /* package */
-final class PaymentProtocolRequest implements com.blockset.walletkit.PaymentProtocolRequest {
+final class PaymentProtocolRequest extends LazyFields implements com.blockset.walletkit.PaymentProtocolRequest {
 
 
     static boolean checkPaymentMethodSupported(com.blockset.walletkit.Wallet    w,
@@ -164,32 +156,47 @@ final class PaymentProtocolRequest implements com.blockset.walletkit.PaymentProt
         return request;
     }
 
+    private static final int IS_SECURE   = 1;
+    private static final int MEMO        = 1 << 1;
+    private static final int PAYMENT_URL = 1 << 2;
+    private static final int COMMON_NAME = 1 << 3;
+    private static final int AMOUNT      = 1 << 4;
+    private static final int ADDRESS     = 1 << 5;
+    private static final int NETWORK_FEE = 1 << 6;
+    private static final int VALIDITY    = 1 << 7;
+
     private final WKPaymentProtocolRequest core;
     private final WalletManager manager;
     private final Wallet wallet;
 
-    private final Supplier<Boolean> isSecureSupplier;
-    private final Supplier<Optional<String>> memoSupplier;
-    private final Supplier<Optional<String>> paymentUrlSupplier;
-    private final Supplier<Optional<String>> commonNameSupplier;
-    private final Supplier<Optional<Amount>> amountSupplier;
-    private final Supplier<Optional<Address>> addressSupplier;
-    private final Supplier<Optional<NetworkFee>> networkFeeSupplier;
-    private final Supplier<Optional<PaymentProtocolError>> validitySupplier;
+    private boolean isSecure;
+    private Optional<String> memo;
+    private Optional<String> paymentUrl;
+    private Optional<String> commonName;
+    private Optional<Amount> amount;
+    private Optional<Address> address;
+    private Optional<NetworkFee> networkFee;
+    private Optional<PaymentProtocolError> validity;
 
     private PaymentProtocolRequest(WKPaymentProtocolRequest core, Wallet wallet) {
         this.core = core;
         this.manager = wallet.getWalletManager();
         this.wallet = wallet;
+    }
 
-        this.isSecureSupplier = Suppliers.memoize(core::isSecure);
-        this.memoSupplier = Suppliers.memoize(core::getMemo);
-        this.paymentUrlSupplier = Suppliers.memoize(core::getPaymentUrl);
-        this.commonNameSupplier = Suppliers.memoize(core::getCommonName);
-        this.amountSupplier = Suppliers.memoize(() -> core.getTotalAmount().transform(Amount::create));
-        this.addressSupplier = Suppliers.memoize(() -> core.getPrimaryTargetAddress().transform(Address::create));
-        this.networkFeeSupplier = Suppliers.memoize(() -> core.getRequiredNetworkFee().transform(NetworkFee::create));
-        this.validitySupplier = Suppliers.memoize(() -> Utilities.paymentProtocolErrorFromCrypto(core.isValid()));
+    @Override
+    protected void resolveField(int field) {
+        switch (field) {
+            case IS_SECURE:   isSecure = core.isSecure(); break;
+            case MEMO:        memo = core.getMemo(); break;
+            case PAYMENT_URL: paymentUrl = core.getPaymentUrl(); break;
+            case COMMON_NAME: commonName = core.getCommonName(); break;
+            case AMOUNT:      amount = core.getTotalAmount().transform(Amount::create); break;
+            case ADDRESS:     address = core.getPrimaryTargetAddress().transform(Address::create); break;
+            case NETWORK_FEE: networkFee = core.getRequiredNetworkFee().transform(NetworkFee::create); break;
+            case VALIDITY:    validity = Utilities.paymentProtocolErrorFromCrypto(core.isValid()); break;
+            default: throw new IllegalArgumentException("Unknown field");
+        }
     }
 
     @Override
@@ -199,42 +206,50 @@ final class PaymentProtocolRequest implements com.blockset.walletkit.PaymentProt
 
     @Override
     public boolean isSecure() {
-        return isSecureSupplier.get();
+        resolve(IS_SECURE);
+        return isSecure;
     }
 
     @Override
     public Optional<String> getMemo() {
-        return memoSupplier.get();
+        resolve(MEMO);
+        return memo;
     }
 
     @Override
     public Optional<String> getPaymentUrl() {
-        return paymentUrlSupplier.get();
+        resolve(PAYMENT_URL);
+        return paymentUrl;
     }
 
     @Override
     public Optional<Amount> getTotalAmount() {
-        return amountSupplier.get();
+        resolve(AMOUNT);
+        return amount;
     }
 
     @Override
     public Optional<Address> getPrimaryTarget() {
-        return addressSupplier.get();
+        resolve(ADDRESS);
+        return address;
     }
 
     @Override
     public Optional<String> getCommonName() {
-        return commonNameSupplier.get();
+        resolve(COMMON_NAME);
+        return commonName;
     }
 
     @Override
     public Optional<NetworkFee> getRequiredNetworkFee() {
-        return networkFeeSupplier.get();
+        resolve(NETWORK_FEE);
+        return networkFee;
     }
 
     @Override
     public Optional<PaymentProtocolError> validate() {
-        return validitySupplier.get();
+        resolve(VALIDITY);
+        return validity;
     }
 
     @Override
@@ -477,23 +492,16 @@ final class PaymentProtocolRequest implements com.blockset.walletkit.PaymentProt
         }
     }
 
+    private static final PaymentProtocolValidator VALIDATOR = new PaymentProtocolValidator();
+
     private static void verifyTrust(String algName, X509Certificate[] certificates)
             throws NoSuchAlgorithmException, KeyStoreException, CertificateException {
-        TrustManagerFactory tmf = TrustManagerFactory.getInstance("X509");
-        tmf.init((KeyStore) null);
-
-        for (TrustManager m : tmf.getTrustManagers()) {
-            X509TrustManager xtm = (X509TrustManager) m;
-            xtm.checkServerTrusted(certificates, algName);
-        }
+        VALIDATOR.verifyTrust(algName, certificates);
     }
 
     private static void verifySignature(String algName, PublicKey publicKey, byte[] digest, byte[] signature)
             throws NoSuchAlgorithmException, InvalidKeyException, SignatureException {
-        Signature verifier = Signature.getInstance(algName);
-        verifier.initVerify(publicKey);
-        verifier.update(digest);
-        verifier.verify(signature);
+        VALIDATOR.verifySignature(algName, publicKey, digest, signature);
     }
 
     private static final Pattern COMMON_NAME_PATTERN    = Pattern.compile("(?:^|,\\s?)(?:CN=(?<val>\"(?:[^\"]|\"\")+\"|[^,]+))");
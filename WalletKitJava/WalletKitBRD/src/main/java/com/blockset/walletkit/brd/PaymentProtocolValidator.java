@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd;
+
+import com.google.common.base.Supplier;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import java.security.InvalidKeyException;
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509TrustManager;
+
+/**
+ * Verifies the certificate chains and signatures of BIP70 and BitPay payment requests.
+ *
+ * The `X509TrustManager`s, loaded from the system's CA store, are built on first use and rebuilt
+ * once the refresh interval passes (or on `refresh()`).  Chains that they trust are remembered,
+ * in a bounded LRU cache keyed by the chain's fingerprint and the algorithm, until the earliest
+ * expiry among the chain's certificates; a remembered chain is not checked again.  `Signature`
+ * instances are kept per thread.  In the steady state, validating a request from a known
+ * merchant is thus just the signature check.
+ */
+/* package */
+final class PaymentProtocolValidator {
+
+    private static final int DEFAULT_TRUSTED_CHAIN_CAPACITY = 256;
+    private static final long DEFAULT_REFRESH_INTERVAL_MILLIS = TimeUnit.HOURS.toMillis(24);
+
+    private static final String RAW_SIGNATURE_ALGORITHM = "NONEwithRSA";
+
+    private static final class TrustedChain {
+        final long notBefore;
+        final long notAfter;
+
+        TrustedChain(long notBefore, long notAfter) {
+            this.notBefore = notBefore;
+            this.notAfter = notAfter;
+        }
+
+        boolean isValidAt(long time) {
+            return notBefore <= time && time <= notAfter;
+        }
+    }
+
+    // The DER-encoded DigestInfo prefixes (RFC 8017, Section 9.2) by signature algorithm
+    private static final Map<String, byte[]> DIGEST_INFO_PREFIXES = new HashMap<>();
+    static {
+        DIGEST_INFO_PREFIXES.put("SHA1withRSA", new byte[] {
+                0x30, 0x21, 0x30, 0x09, 0x06, 0x05, 0x2b, 0x0e, 0x03, 0x02, 0x1a, 0x05, 0x00, 0x04, 0x14 });
+        DIGEST_INFO_PREFIXES.put("SHA256withRSA", new byte[] {
+                0x30, 0x31, 0x30, 0x0d, 0x06, 0x09, 0x60, (byte) 0x86, 0x48, 0x01, 0x65, 0x03, 0x04, 0x02, 0x01, 0x05, 0x00, 0x04, 0x20 });
+    }
+
+    private final Supplier<List<X509TrustManager>> trustManagerSupplier;
+    private final long refreshIntervalMillis;
+
+    // Guarded by `this`; includes the trusted chains, which are trusted by `trustManagers`
+    private List<X509TrustManager> trustManagers;
+    private long trustManagerLoadedAt;
+    private final Map<String, TrustedChain> trustedChains;
+
+    private final ThreadLocal<Map<String, Signature>> signatures = new ThreadLocal<Map<String, Signature>>() {
+        @Override
+        protected Map<String, Signature> initialValue() {
+            return new HashMap<>();
+        }
+    };
+
+    private final AtomicLong trustedChainHitCount = new AtomicLong();
+
+    /* package */
+    PaymentProtocolValidator() {
+        this(PaymentProtocolValidator::loadSystemTrustManagers,
+             DEFAULT_TRUSTED_CHAIN_CAPACITY,
+             DEFAULT_REFRESH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /* package */
+    PaymentProtocolValidator(Supplier<List<X509TrustManager>> trustManagerSupplier,
+                             int trustedChainCapacity,
+                             long refreshInterval,
+                             TimeUnit unit) {
+        this.trustManagerSupplier = trustManagerSupplier;
+        this.refreshIntervalMillis = unit.toMillis(refreshInterval);
+        this.trustedChains = new LinkedHashMap<String, TrustedChain>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TrustedChain> eldest) {
+                return size() > trustedChainCapacity;
+            }
+        };
+    }
+
+    /**
+     * Drop the trust managers, and with them the trusted chains; the next verification reloads them.
+     */
+    /* package */
+    synchronized void refresh() {
+        trustManagers = null;
+        trustedChains.clear();
+    }
+
+    /** The number of chains found trusted without checking */
+    /* package */
+    long getTrustedChainHitCount() {
+        return trustedChainHitCount.get();
+    }
+
+    /* package */
+    void verifyTrust(String algName, X509Certificate[] certificates)
+            throws NoSuchAlgorithmException, KeyStoreException, CertificateException {
+        long now = java.lang.System.currentTimeMillis();
+        String fingerprint = fingerprint(algName, certificates);
+
+        List<X509TrustManager> managers;
+        synchronized (this) {
+            TrustedChain trusted = trustedChains.get(fingerprint);
+            if (null != trusted && trusted.isValidAt(now) && null != trustManagers) {
+                trustedChainHitCount.incrementAndGet();
+                return;
+            }
+            if (null != trusted) trustedChains.remove(fingerprint);
+
+            managers = getTrustManagers(now);
+        }
+
+        // Throws if not trusted by every manager; notably, if any certificate is expired or not
+        // yet valid
+        for (X509TrustManager manager : managers) {
+            manager.checkServerTrusted(certificates, algName);
+        }
+
+        long notBefore = Long.MIN_VALUE;
+        long notAfter = Long.MAX_VALUE;
+        for (X509Certificate certificate : certificates) {
+            notBefore = Math.max(notBefore, certificate.getNotBefore().getTime());
+            notAfter = Math.min(notAfter, certificate.getNotAfter().getTime());
+        }
+
+        synchronized (this) {
+            // Only if checked by the current trust managers
+            if (managers == trustManagers) trustedChains.put(fingerprint, new TrustedChain(notBefore, notAfter));
+        }
+    }
+
+    /**
+     * Verify `signature` of `digest`, the request's hash as computed by the core, for `algName`,
+     * one of "SHA256withRSA" and "SHA1withRSA".  As the digest is already hashed, it is verified
+     * as the PKCS#1 DigestInfo for the algorithm's hash, by "NONEwithRSA".
+     */
+    /* package */
+    void verifySignature(String algName, PublicKey publicKey, byte[] digest, byte[] signature)
+            throws NoSuchAlgorithmException, InvalidKeyException, SignatureException {
+        byte[] prefix = DIGEST_INFO_PREFIXES.get(algName);
+        if (null == prefix) throw new NoSuchAlgorithmException(algName);
+        // The prefix ends with the digest's length
+        if (prefix[prefix.length - 1] != digest.length) throw new SignatureException("Digest length mismatch");
+
+        Map<String, Signature> verifiers = signatures.get();
+        Signature verifier = verifiers.get(RAW_SIGNATURE_ALGORITHM);
+        if (null == verifier) {
+            verifier = Signature.getInstance(RAW_SIGNATURE_ALGORITHM);
+            verifiers.put(RAW_SIGNATURE_ALGORITHM, verifier);
+        }
+
+        // `initVerify()` resets any state left by a prior, failed use
+        verifier.initVerify(publicKey);
+        verifier.update(prefix);
+        verifier.update(digest);
+        if (!verifier.verify(signature)) throw new SignatureException("Signature mismatch");
+    }
+
+    private List<X509TrustManager> getTrustManagers(long now) throws KeyStoreException {
+        if (null == trustManagers || now - trustManagerLoadedAt > refreshIntervalMillis) {
+            trustedChains.clear();
+            trustManagers = trustManagerSupplier.get();
+            trustManagerLoadedAt = now;
+            if (null == trustManagers || trustManagers.isEmpty()) {
+                trustManagers = null;
+                throw new KeyStoreException("No X509TrustManager");
+            }
+        }
+        return trustManagers;
+    }
+
+    private static String fingerprint(String algName, X509Certificate[] certificates)
+            throws CertificateEncodingException {
+        Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putInt(algName.length()).putUnencodedChars(algName);
+        for (X509Certificate certificate : certificates) {
+            byte[] encoded = certificate.getEncoded();
+            hasher.putInt(encoded.length).putBytes(encoded);
+        }
+        return hasher.hash().toString();
+    }
+
+    private static List<X509TrustManager> loadSystemTrustManagers() {
+        try {
+            TrustManagerFactory tmf = TrustManagerFactory.getInstance("X509");
+            tmf.init((KeyStore) null);
+
+            List<X509TrustManager> managers = new ArrayList<>();
+            for (TrustManager m : tmf.getTrustManagers()) {
+                if (m instanceof X509TrustManager) managers.add((X509TrustManager) m);
+            }
+            return managers;
+
+        } catch (NoSuchAlgorithmException | KeyStoreException e) {
+            return null;
+        }
+    }
+}
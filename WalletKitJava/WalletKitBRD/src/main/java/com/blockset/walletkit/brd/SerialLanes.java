@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd;
+
+import com.blockset.walletkit.utility.ExecutionLaneMetrics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A set of serial lanes multiplexed over a shared (bounded) pool.  Tasks submitted to a
+ * single lane run one at a time, in submission order; tasks in distinct lanes run in parallel,
+ * up to the pool's size.  A lane yields its pool thread after `MAX_TASKS_PER_TURN` tasks so
+ * that a busy lane cannot starve the others.
+ */
+/* package */
+final class SerialLanes<K> {
+
+    private static final Logger Log = Logger.getLogger(SerialLanes.class.getName());
+
+    private static final int MAX_TASKS_PER_TURN = 32;
+
+    private final String prefix;
+    private final Executor pool;
+    private final Map<K, Lane> lanes = new ConcurrentHashMap<>();
+
+    /* package */
+    SerialLanes(String prefix, Executor pool) {
+        this.prefix = prefix;
+        this.pool = pool;
+    }
+
+    /**
+     * Get the lane for `key`, creating it if needed.
+     */
+    /* package */
+    Lane get(K key) {
+        Lane lane = lanes.get(key);
+        if (null == lane) {
+            Lane newLane = new Lane();
+            lane = lanes.putIfAbsent(key, newLane);
+            if (null == lane) lane = newLane;
+        }
+        return lane;
+    }
+
+    /**
+     * Forget the lane for `key`.  Tasks already queued on it still run; a later `get(key)`
+     * creates a new lane.
+     */
+    /* package */
+    void remove(K key) {
+        lanes.remove(key);
+    }
+
+    /**
+     * Create a lane that is not tracked by key; used for system-wide (not per-manager) work.
+     */
+    /* package */
+    Lane create() {
+        return new Lane();
+    }
+
+    /* package */
+    interface Namer<K> {
+        String name(K key);
+    }
+
+    /* package */
+    List<ExecutionLaneMetrics> getMetrics(Namer<K> namer) {
+        List<ExecutionLaneMetrics> metrics = new ArrayList<>(lanes.size());
+        for (Map.Entry<K, Lane> entry : lanes.entrySet()) {
+            metrics.add(entry.getValue().getMetrics(prefix + ":" + namer.name(entry.getKey())));
+        }
+        return metrics;
+    }
+
+    /* package */
+    final class Lane implements Executor {
+
+        private final Queue<Task> queue = new ArrayDeque<>();
+        private boolean scheduled;
+
+        private long executedCount;
+        private long totalWaitNanos;
+        private long maxWaitNanos;
+        private long totalRunNanos;
+        private long maxRunNanos;
+
+        private final Runnable drainer = this::drain;
+
+        @Override
+        public void execute(Runnable runnable) {
+            synchronized (this) {
+                queue.add(new Task(runnable, java.lang.System.nanoTime()));
+                if (scheduled) return;
+                scheduled = true;
+            }
+            pool.execute(drainer);
+        }
+
+        private void drain() {
+            for (int i = 0; i < MAX_TASKS_PER_TURN; i++) {
+                Task task;
+                synchronized (this) {
+                    task = queue.poll();
+                    if (null == task) {
+                        scheduled = false;
+                        return;
+                    }
+                }
+
+                long startNanos = java.lang.System.nanoTime();
+                try {
+                    task.runnable.run();
+                } catch (Throwable t) {
+                    Log.log(Level.SEVERE, "Lane task failed", t);
+                }
+                long endNanos = java.lang.System.nanoTime();
+
+                synchronized (this) {
+                    long waitNanos = startNanos - task.queuedNanos;
+                    long runNanos  = endNanos - startNanos;
+
+                    executedCount  += 1;
+                    totalWaitNanos += waitNanos;
+                    totalRunNanos  += runNanos;
+                    maxWaitNanos    = Math.max(maxWaitNanos, waitNanos);
+                    maxRunNanos     = Math.max(maxRunNanos, runNanos);
+                }
+            }
+
+            // Yield the pool thread; remain scheduled so ordering is preserved.
+            pool.execute(drainer);
+        }
+
+        /* package */
+        synchronized ExecutionLaneMetrics getMetrics(String name) {
+            return new ExecutionLaneMetrics(
+                    name,
+                    queue.size(),
+                    executedCount,
+                    totalWaitNanos,
+                    maxWaitNanos,
+                    totalRunNanos,
+                    maxRunNanos);
+        }
+    }
+
+    private static final class Task {
+        final Runnable runnable;
+        final long queuedNanos;
+
+        Task(Runnable runnable, long queuedNanos) {
+            this.runnable = runnable;
+            this.queuedNanos = queuedNanos;
+        }
+    }
+}
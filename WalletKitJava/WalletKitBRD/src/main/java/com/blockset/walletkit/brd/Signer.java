@@ -13,6 +13,8 @@ import com.blockset.walletkit.nativex.cleaner.ReferenceCleaner;
 import com.blockset.walletkit.nativex.WKSigner;
 import com.google.common.base.Optional;
 
+import java.nio.ByteBuffer;
+
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /* package */
@@ -65,6 +67,17 @@ final class Signer implements com.blockset.walletkit.Signer {
         return core.sign(digest, cryptoKey.getBRCryptoKey());
     }
 
+    @Override
+    public int getSignatureLengthMaximum() {
+        return core.signLengthMaximum();
+    }
+
+    @Override
+    public boolean signBatch(ByteBuffer digests, int count, com.blockset.walletkit.Key key, ByteBuffer signatures, int[] signatureLengths) {
+        Key cryptoKey = Key.from(key);
+        return core.signBatch(digests, count, cryptoKey.getBRCryptoKey(), signatures, signatureLengths);
+    }
+
     @Override
     public Optional<Key> recover(byte[] digest, byte[] signature) {
         return core.recover(digest, signature).transform(Key::create);
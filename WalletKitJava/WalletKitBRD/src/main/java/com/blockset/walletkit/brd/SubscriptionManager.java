@@ -0,0 +1,405 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd;
+
+import android.support.annotation.Nullable;
+
+import com.blockset.walletkit.SubscriptionTransport;
+import com.blockset.walletkit.SystemClient;
+import com.blockset.walletkit.SystemClient.Subscription;
+import com.blockset.walletkit.SystemClient.SubscriptionCurrency;
+import com.blockset.walletkit.brd.systemclient.BlocksetSubscription;
+import com.blockset.walletkit.brd.systemclient.BlocksetSubscriptionCurrency;
+import com.blockset.walletkit.brd.systemclient.BlocksetSubscriptionEndpoint;
+import com.blockset.walletkit.brd.systemclient.BlocksetSubscriptionEvent;
+import com.blockset.walletkit.errors.QueryError;
+import com.blockset.walletkit.utility.CompletionHandler;
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.UnsignedInteger;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Keeps a Blockset subscription for the addresses of the System's wallet managers and turns its
+ * notifications into syncs.
+ *
+ * The core learns of new transfers by periodically querying for them, across every address.
+ * Once subscribed, a notification instead prompts an immediate incremental sync of the affected
+ * manager, which fetches and announces its new transfers as any sync does; the periodic sync then
+ * runs on only every `fallbackSyncFactor`-th period, to recover from missed notifications.
+ *
+ * The addresses are those the core queries for; as a manager derives new ones, the subscription
+ * is updated.  Requests to Blockset are serialized: changes made while one is in flight are sent
+ * when it completes.  Notifications for a manager that arrive within the debounce interval prompt
+ * a single sync.
+ */
+/* package */
+final class SubscriptionManager {
+
+    private static final Logger Log = Logger.getLogger(SubscriptionManager.class.getName());
+
+    private static final String EVENT_NAME_CONFIRMED = "confirmed";
+
+    /* package */ static final int DEFAULT_FALLBACK_SYNC_FACTOR = 10;
+    /* package */ static final long DEFAULT_DEBOUNCE_MILLIS = 500;
+
+    /**
+     * A wallet manager, as seen by the subscription.
+     */
+    /* package */
+    interface Target {
+        /** A stable identifier; the network's uids */
+        String getId();
+
+        /** The Blockset currency ids of the manager's wallets */
+        List<String> getCurrencyIds();
+
+        UnsignedInteger getConfirmationsUntilFinal();
+
+        void syncPeriodic();
+
+        void setSyncPeriodicFactor(int factor);
+    }
+
+    private static final class Entry {
+        final Target target;
+        final Set<String> addresses = new LinkedHashSet<>();
+        boolean syncPending;
+
+        Entry(Target target) {
+            this.target = target;
+        }
+    }
+
+    private final SystemClient query;
+    private final ScheduledExecutorService executor;
+    private final String deviceId;
+    private final int fallbackSyncFactor;
+    private final long debounceMillis;
+
+    // All guarded by `this`
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private @Nullable SubscriptionTransport transport;
+    private @Nullable String subscriptionToken;
+    private @Nullable BlocksetSubscriptionEndpoint endpoint;
+    private @Nullable String subscriptionId;
+    private boolean requestInFlight;
+    private boolean requestNeeded;
+    private int generation;
+
+    /* package */
+    SubscriptionManager(SystemClient query,
+                        ScheduledExecutorService executor,
+                        String deviceId) {
+        this(query, executor, deviceId, DEFAULT_FALLBACK_SYNC_FACTOR, DEFAULT_DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /* package */
+    SubscriptionManager(SystemClient query,
+                        ScheduledExecutorService executor,
+                        String deviceId,
+                        int fallbackSyncFactor,
+                        long debounce,
+                        TimeUnit unit) {
+        this.query = query;
+        this.executor = executor;
+        this.deviceId = deviceId;
+        this.fallbackSyncFactor = fallbackSyncFactor;
+        this.debounceMillis = unit.toMillis(debounce);
+    }
+
+    /**
+     * Subscribe through `transport`, replacing any current subscription.
+     */
+    /* package */
+    void subscribe(String subscriptionToken, SubscriptionTransport transport) {
+        checkNotNull(subscriptionToken);
+        checkNotNull(transport);
+
+        SubscriptionTransport previous;
+        int current;
+        synchronized (this) {
+            previous = this.transport;
+            this.transport = transport;
+            this.subscriptionToken = subscriptionToken;
+            this.endpoint = toBlocksetEndpoint(transport.createEndpoint(subscriptionToken));
+            this.generation += 1;
+            current = this.generation;
+        }
+
+        if (null != previous && previous != transport) previous.stop();
+
+        transport.start(notification -> handleNotification(current, notification));
+        requestSubscription();
+    }
+
+    /**
+     * Re-register the current transport for a new `subscriptionToken`.
+     *
+     * @return false if not subscribed
+     */
+    /* package */
+    boolean updateToken(String subscriptionToken) {
+        SubscriptionTransport current;
+        synchronized (this) {
+            current = this.transport;
+            if (null == current) return false;
+            if (subscriptionToken.equals(this.subscriptionToken)) return true;
+        }
+        subscribe(subscriptionToken, current);
+        return true;
+    }
+
+    /* package */
+    void unsubscribe() {
+        SubscriptionTransport previous;
+        String previousId;
+        List<Target> targets;
+        synchronized (this) {
+            previous = transport;
+            previousId = subscriptionId;
+            transport = null;
+            subscriptionToken = null;
+            endpoint = null;
+            subscriptionId = null;
+            requestNeeded = false;
+            generation += 1;
+            targets = getTargets();
+        }
+
+        if (null != previous) previous.stop();
+
+        // Back to regular polling
+        for (Target target : targets) target.setSyncPeriodicFactor(1);
+
+        if (null != previousId) deleteSubscription(previousId);
+    }
+
+    /* package */
+    synchronized boolean isSubscribed() {
+        return null != subscriptionId && null != transport;
+    }
+
+    /**
+     * Note the `addresses` that `target` queries for; the subscription is updated if any is new.
+     */
+    /* package */
+    void addAddresses(Target target, List<String> addresses) {
+        boolean changed;
+        boolean subscribed;
+        synchronized (this) {
+            Entry entry = entries.get(target.getId());
+            changed = (null == entry);
+            if (changed) {
+                entry = new Entry(target);
+                entries.put(target.getId(), entry);
+            }
+
+            changed |= entry.addresses.addAll(addresses);
+            subscribed = null != subscriptionId;
+        }
+
+        // A new manager, if subscribed, polls only as a fallback
+        if (changed && subscribed) target.setSyncPeriodicFactor(fallbackSyncFactor);
+        if (changed) requestSubscription();
+    }
+
+    /**
+     * Forget the target with `targetId`, as when its manager is deleted; the subscription is
+     * updated without its addresses.
+     */
+    /* package */
+    void removeTarget(String targetId) {
+        synchronized (this) {
+            if (null == entries.remove(targetId)) return;
+        }
+        requestSubscription();
+    }
+
+    /* package */
+    synchronized Set<String> getAddresses(String targetId) {
+        Entry entry = entries.get(targetId);
+        return (null == entry ? new LinkedHashSet<>() : new LinkedHashSet<>(entry.addresses));
+    }
+
+    /* package */
+    void handleNotification(SubscriptionTransport.Notification notification) {
+        handleNotification(currentGeneration(), notification);
+    }
+
+    private void handleNotification(int notificationGeneration, SubscriptionTransport.Notification notification) {
+        Entry entry;
+        synchronized (this) {
+            // From a replaced transport
+            if (notificationGeneration != generation) return;
+
+            entry = findEntry(notification);
+            if (null == entry) {
+                Log.log(Level.FINE, String.format("Subscription notification unmatched: %s", notification.getCurrencyId()));
+                return;
+            }
+
+            if (entry.syncPending) return;
+            entry.syncPending = true;
+        }
+
+        final Entry syncEntry = entry;
+        executor.schedule(() -> {
+            Target target;
+            synchronized (SubscriptionManager.this) {
+                syncEntry.syncPending = false;
+                target = syncEntry.target;
+            }
+            target.syncPeriodic();
+        }, debounceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Guarded by `this`
+    private @Nullable Entry findEntry(SubscriptionTransport.Notification notification) {
+        for (Entry entry : entries.values()) {
+            if (entry.target.getCurrencyIds().contains(notification.getCurrencyId())) return entry;
+        }
+        for (String address : notification.getAddresses()) {
+            for (Entry entry : entries.values()) {
+                if (entry.addresses.contains(address)) return entry;
+            }
+        }
+        return null;
+    }
+
+    private synchronized int currentGeneration() {
+        return generation;
+    }
+
+    // Guarded by `this`
+    private List<Target> getTargets() {
+        List<Target> targets = new ArrayList<>();
+        for (Entry entry : entries.values()) targets.add(entry.target);
+        return targets;
+    }
+
+    // Guarded by `this`
+    private List<SubscriptionCurrency> getCurrencies() {
+        Map<String, SubscriptionCurrency> currencies = new TreeMap<>();
+        for (Entry entry : entries.values()) {
+            if (entry.addresses.isEmpty()) continue;
+
+            List<BlocksetSubscriptionEvent> events = ImmutableList.of(
+                    BlocksetSubscriptionEvent.create(EVENT_NAME_CONFIRMED,
+                            ImmutableList.of(UnsignedInteger.ONE, entry.target.getConfirmationsUntilFinal())));
+
+            for (String currencyId : entry.target.getCurrencyIds()) {
+                currencies.put(currencyId, BlocksetSubscriptionCurrency.create(currencyId,
+                        ImmutableList.copyOf(entry.addresses), events));
+            }
+        }
+
+        return new ArrayList<>(currencies.values());
+    }
+
+    private void requestSubscription() {
+        final BlocksetSubscriptionEndpoint requestEndpoint;
+        final String requestId;
+        final List<SubscriptionCurrency> currencies;
+        synchronized (this) {
+            if (null == endpoint) return;
+            if (requestInFlight) {
+                requestNeeded = true;
+                return;
+            }
+
+            currencies = getCurrencies();
+            // Nothing to subscribe to, until a manager first syncs
+            if (currencies.isEmpty()) return;
+
+            requestInFlight = true;
+            requestNeeded = false;
+            requestEndpoint = endpoint;
+            requestId = subscriptionId;
+        }
+
+        CompletionHandler<Subscription, QueryError> handler = new CompletionHandler<Subscription, QueryError>() {
+            @Override
+            public void handleData(Subscription subscription) {
+                List<Target> targets;
+                boolean orphaned;
+                synchronized (SubscriptionManager.this) {
+                    requestInFlight = false;
+                    // Unsubscribed while in flight
+                    orphaned = (null == transport);
+                    if (!orphaned) subscriptionId = subscription.getId();
+                    targets = getTargets();
+                }
+
+                if (orphaned) {
+                    deleteSubscription(subscription.getId());
+                    return;
+                }
+
+                // Notifications now announce transfers; poll only as a fallback
+                for (Target target : targets) target.setSyncPeriodicFactor(fallbackSyncFactor);
+                requestSubscriptionIfNeeded();
+            }
+
+            @Override
+            public void handleError(QueryError error) {
+                Log.log(Level.SEVERE, "Subscription request failed", error);
+                synchronized (SubscriptionManager.this) {
+                    requestInFlight = false;
+                }
+                // Polling continues as before; retried on the next address change
+                requestSubscriptionIfNeeded();
+            }
+        };
+
+        if (null == requestId) {
+            query.createSubscription(deviceId, requestEndpoint, currencies, handler);
+        } else {
+            List<BlocksetSubscriptionCurrency> blocksetCurrencies = new ArrayList<>();
+            for (SubscriptionCurrency currency : currencies) blocksetCurrencies.add((BlocksetSubscriptionCurrency) currency);
+            query.updateSubscription(BlocksetSubscription.create(requestId, deviceId, requestEndpoint, blocksetCurrencies), handler);
+        }
+    }
+
+    private void requestSubscriptionIfNeeded() {
+        boolean needed;
+        synchronized (this) {
+            needed = requestNeeded;
+        }
+        if (needed) requestSubscription();
+    }
+
+    private void deleteSubscription(String id) {
+        query.deleteSubscription(id, new CompletionHandler<Void, QueryError>() {
+            @Override
+            public void handleData(Void data) {
+            }
+
+            @Override
+            public void handleError(QueryError error) {
+                Log.log(Level.FINE, "Subscription delete failed", error);
+            }
+        });
+    }
+
+    private static BlocksetSubscriptionEndpoint toBlocksetEndpoint(SystemClient.SubscriptionEndpoint endpoint) {
+        if (endpoint instanceof BlocksetSubscriptionEndpoint) return (BlocksetSubscriptionEndpoint) endpoint;
+        return BlocksetSubscriptionEndpoint.create(endpoint.getKind(), endpoint.getEnvironment(), endpoint.getValue());
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The block range, per address, known to have been fetched and announced to the core; persisted
+ * so that a sync interrupted by a restart, or by a failure, resumes where it stopped.
+ *
+ * An address's range is `[beg, end)`; ranges are extended as adjacent or overlapping windows are
+ * marked.  The file is one "address beg end" line per address and is replaced atomically on
+ * `save()`.
+ */
+/* package */
+final class SyncMarks {
+
+    private static final Logger Log = Logger.getLogger(SyncMarks.class.getName());
+
+    private static final class Range {
+        long beg;
+        long end;
+
+        Range(long beg, long end) {
+            this.beg = beg;
+            this.end = end;
+        }
+    }
+
+    /**
+     * The marks for `networkUids`, under `storagePath`.
+     */
+    /* package */
+    static File getFile(String storagePath, String networkUids) {
+        return new File(new File(storagePath, "syncmarks"), networkUids.replaceAll("[^A-Za-z0-9._-]", "_"));
+    }
+
+    /* package */
+    static SyncMarks load(File file) {
+        SyncMarks marks = new SyncMarks(file);
+        if (!file.exists()) return marks;
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while (null != (line = reader.readLine())) {
+                String[] fields = line.split(" ");
+                if (3 != fields.length) continue;
+                marks.ranges.put(fields[0], new Range(Long.parseLong(fields[1]), Long.parseLong(fields[2])));
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Only an optimization; start over
+            Log.log(Level.WARNING, "Failed to load " + file.getAbsolutePath(), e);
+            marks.ranges.clear();
+        }
+        return marks;
+    }
+
+    private final File file;
+
+    // Guarded by `this`
+    private final Map<String, Range> ranges = new HashMap<>();
+    private boolean dirty;
+
+    private SyncMarks(File file) {
+        this.file = file;
+    }
+
+    /**
+     * The block from which `address` must still be fetched, for a fetch from `beg`; `beg` itself
+     * unless `beg` is within the address's marked range, in which case the end of that range.
+     */
+    /* package */
+    synchronized long getUnmarkedBeg(String address, long beg) {
+        Range range = ranges.get(address);
+        return (null != range && range.beg <= beg && beg < range.end) ? range.end : beg;
+    }
+
+    /**
+     * Mark `[beg, end)` as fetched for `addresses`.
+     */
+    /* package */
+    synchronized void mark(Collection<String> addresses, long beg, long end) {
+        if (beg >= end) return;
+
+        for (String address : addresses) {
+            Range range = ranges.get(address);
+            if (null == range) {
+                ranges.put(address, new Range(beg, end));
+            } else if (beg <= range.end && range.beg <= end) {
+                range.beg = Math.min(range.beg, beg);
+                range.end = Math.max(range.end, end);
+            } else if (beg > range.end) {
+                // Disjoint and later; keep it, being the more likely to be fetched from again
+                range.beg = beg;
+                range.end = end;
+            } else {
+                continue;
+            }
+            dirty = true;
+        }
+    }
+
+    /* package */
+    synchronized void clear() {
+        ranges.clear();
+        dirty = false;
+        if (file.exists() && !file.delete())
+            Log.log(Level.WARNING, "Failed to delete " + file.getAbsolutePath());
+    }
+
+    /* package */
+    synchronized void save() {
+        if (!dirty) return;
+
+        File parent = file.getParentFile();
+        if (null != parent && !parent.exists() && !parent.mkdirs()) {
+            Log.log(Level.WARNING, "Failed to create " + parent.getAbsolutePath());
+            return;
+        }
+
+        File temp = new File(file.getPath() + ".tmp");
+        try (BufferedWriter writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8))) {
+            for (Map.Entry<String, Range> entry : ranges.entrySet()) {
+                writer.write(entry.getKey() + " " + entry.getValue().beg + " " + entry.getValue().end);
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            Log.log(Level.WARNING, "Failed to save " + file.getAbsolutePath(), e);
+            return;
+        }
+
+        if (!temp.renameTo(file)) {
+            Log.log(Level.WARNING, "Failed to replace " + file.getAbsolutePath());
+            return;
+        }
+        dirty = false;
+    }
+}
@@ -25,8 +25,10 @@ import com.blockset.walletkit.nativex.WKNetworkEvent;
 import com.blockset.walletkit.nativex.WKStatus;
 import com.blockset.walletkit.nativex.WKSystem;
 import com.blockset.walletkit.nativex.WKSystemEvent;
+import com.blockset.walletkit.nativex.WKSystemEventType;
 import com.blockset.walletkit.nativex.WKTransfer;
-import com.blockset.walletkit.nativex.WKTransferEvent;
+import com.blockset.walletkit.nativex.WKTransferEventType;
+import com.blockset.walletkit.nativex.WKTransferState;
 import com.blockset.walletkit.nativex.WKTransferStateType;
 import com.blockset.walletkit.nativex.WKWallet;
 import com.blockset.walletkit.nativex.WKWalletEvent;
@@ -36,6 +38,7 @@ import com.blockset.walletkit.nativex.support.WKConstants;
 import com.blockset.walletkit.nativex.utility.Cookie;
 import com.blockset.walletkit.AddressScheme;
 import com.blockset.walletkit.NetworkType;
+import com.blockset.walletkit.SubscriptionTransport;
 import com.blockset.walletkit.SystemState;
 import com.blockset.walletkit.TransferState;
 import com.blockset.walletkit.WalletManagerMode;
@@ -100,12 +103,16 @@ import com.blockset.walletkit.events.walletmanager.WalletManagerWalletChangedEve
 import com.blockset.walletkit.events.walletmanager.WalletManagerWalletDeletedEvent;
 import com.blockset.walletkit.brd.systemclient.BlocksetAmount;
 import com.blockset.walletkit.brd.systemclient.BlocksetCurrency;
+import com.blockset.walletkit.brd.systemclient.BlocksetSystemClient;
 import com.blockset.walletkit.brd.systemclient.BlocksetTransfer;
+import com.blockset.walletkit.brd.systemclient.CachingSystemClient;
 import com.blockset.walletkit.utility.CompletionHandler;
+import com.blockset.walletkit.utility.ExecutionLaneMetrics;
+import com.blockset.walletkit.utility.PagedCompletionHandler;
 import com.google.common.base.Optional;
-import com.google.common.collect.Collections2;
 import com.google.common.primitives.UnsignedInteger;
 import com.google.common.primitives.UnsignedLong;
+import com.sun.jna.Pointer;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -127,7 +134,6 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import static com.blockset.walletkit.nativex.WKTransferEventType.CHANGED;
 import static com.google.common.base.Preconditions.checkState;
 
 /* package */
@@ -149,12 +155,19 @@ final class System implements com.blockset.walletkit.System {
     /// If true, save removed system in the above array. Set to `false` for debugging 'release'.
     private static final boolean SYSTEMS_INACTIVE_RETAIN = true;
 
-    // Create a dedicated executor to pump CWM events as quickly as possible
-    private static final Executor EXECUTOR_LISTENER = Executors.newSingleThreadExecutor();
+    /// The file, in the system's storage path, caching the Blockset blockchain and currency models.
+    private static final String MODEL_CACHE_FILE_NAME = "blockset-models.cache";
 
-    // Create a dedicated executor to pump CWM callbacks. This is a separate executor
-    // than the one used to handle events as they *really* need to be pumped as fast as possible.
-    private static final Executor EXECUTOR_CLIENT = Executors.newSingleThreadExecutor();
+    // A bounded pool shared by every system's lanes.  Each system pumps CWM events and CWM
+    // callbacks through one serial lane per wallet manager (plus one for system-wide work) so
+    // that ordering is preserved per manager while independent managers, and independent
+    // systems, progress in parallel.
+    private static final Executor EXECUTOR_LANES = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()));
+
+    // A lane for events that arrive for a system that is no longer active; these still need to
+    // run so that their core references are given back.
+    private static final Executor EXECUTOR_ORPHANED = new SerialLanes<Pointer>("orphaned", EXECUTOR_LANES).create();
 
     //
     // Keep a static reference to the callbacks so that they are never GC'ed
@@ -163,8 +176,10 @@ final class System implements com.blockset.walletkit.System {
     private static final WKListener.SystemEventCallback CWM_LISTENER_SYSTEM_CALLBACK = System::systemEventCallback;
     private static final WKListener.NetworkEventCallback CWM_LISTENER_NETWORK_CALLBACK = System::networkEventCallback;
     private static final WKListener.WalletManagerEventCallback CWM_LISTENER_WALLET_MANAGER_CALLBACK = System::walletManagerEventCallback;
+    private static final WKListener.WalletManagerSyncProgressCallback CWM_LISTENER_WALLET_MANAGER_SYNC_PROGRESS_CALLBACK = System::walletManagerSyncProgressCallback;
+    private static final WKListener.WalletManagerBlockHeightCallback CWM_LISTENER_WALLET_MANAGER_BLOCK_HEIGHT_CALLBACK = System::walletManagerBlockHeightCallback;
     private static final WKListener.WalletEventCallback CWM_LISTENER_WALLET_CALLBACK = System::walletEventCallback;
-    private static final WKListener.TransferEventCallback CWM_LISTENER_TRANSFER_CALLBACK = System::transferEventCallback;
+    private static final WKListener.TransferFlatCallback CWM_LISTENER_TRANSFER_CALLBACK = System::transferEventCallback;
 
     private static final boolean DEFAULT_IS_NETWORK_REACHABLE = true;
 
@@ -187,13 +202,21 @@ final class System implements com.blockset.walletkit.System {
         storagePath = storagePath + (storagePath.endsWith(File.separator) ? "" : File.separator) + cryptoAccount.getFilesystemIdentifier();
         checkState(ensurePath(storagePath));
 
+        // Serve the blockchain and currency models from a cache, revalidated in the background on
+        // the System's executor
+        if (query instanceof BlocksetSystemClient)
+            query = new CachingSystemClient((BlocksetSystemClient) query, new File(storagePath, MODEL_CACHE_FILE_NAME), executor);
+
         Cookie context = new Cookie(SYSTEM_IDS.incrementAndGet());
 
-        WKListener cwmListener = WKListener.create(
+        // The flat listener avoids reflectively decoding event structs for the frequent events
+        WKListener cwmListener = WKListener.createFlat(
                 context,
                 CWM_LISTENER_SYSTEM_CALLBACK,
                 CWM_LISTENER_NETWORK_CALLBACK,
                 CWM_LISTENER_WALLET_MANAGER_CALLBACK,
+                CWM_LISTENER_WALLET_MANAGER_SYNC_PROGRESS_CALLBACK,
+                CWM_LISTENER_WALLET_MANAGER_BLOCK_HEIGHT_CALLBACK,
                 CWM_LISTENER_WALLET_CALLBACK,
                 CWM_LISTENER_TRANSFER_CALLBACK);
 
@@ -325,6 +348,33 @@ final class System implements com.blockset.walletkit.System {
         }
     }
 
+    private static Executor listenerLane(Cookie context, @Nullable WKWalletManager coreWalletManager) {
+        System system = SYSTEMS_ACTIVE.get(context);
+        return (null == system
+                ? EXECUTOR_ORPHANED
+                : system.listenerLanes.get(system.laneKey(coreWalletManager)));
+    }
+
+    private static Executor clientLane(Cookie context, WKWalletManager coreWalletManager) {
+        System system = SYSTEMS_ACTIVE.get(context);
+        return (null == system
+                ? EXECUTOR_ORPHANED
+                : system.clientLanes.get(system.laneKey(coreWalletManager)));
+    }
+
+    private static void removeLanes(Cookie context, WKWalletManager coreWalletManager) {
+        System system = SYSTEMS_ACTIVE.get(context);
+        if (null != system) {
+            Pointer key = system.laneKey(coreWalletManager);
+            system.listenerLanes.remove(key);
+            system.clientLanes.remove(key);
+        }
+    }
+
+    private Pointer laneKey(@Nullable WKWalletManager coreWalletManager) {
+        return (null == coreWalletManager ? core : coreWalletManager).getPointer();
+    }
+
     private static Optional<System> getSystem(Cookie context) {
         return Optional.fromNullable(SYSTEMS_ACTIVE.get(context));
     }
@@ -345,6 +395,7 @@ final class System implements com.blockset.walletkit.System {
     private final ExecutorService executor;
     private final SystemListener listener;
     private final SystemCallbackCoordinator callbackCoordinator;
+    private final EventCoalescer eventCoalescer;
     private final Account account;
     private final boolean isMainnet;
     private final String storagePath;
@@ -353,6 +404,23 @@ final class System implements com.blockset.walletkit.System {
     private final WKListener cwmListener;
     private final WKClient cwmClient;
 
+    // Lanes to pump CWM events.  These are separate from the lanes used for CWM callbacks as
+    // the events *really* need to be pumped as fast as possible.
+    private final SerialLanes<Pointer> listenerLanes = new SerialLanes<>("listener", EXECUTOR_LANES);
+
+    // Lanes to pump CWM callbacks.
+    private final SerialLanes<Pointer> clientLanes = new SerialLanes<>("client", EXECUTOR_LANES);
+
+    // The currency models already announced to the core; `updateCurrencies()` announces only
+    // those added or changed since.
+    private final CurrencyModelTracker currencyModelTracker = new CurrencyModelTracker();
+
+    // The block ranges already fetched, per address, by network uids; see `WindowedSync`.
+    private final Map<String, SyncMarks> syncMarks = new HashMap<>();
+
+    // The Blockset subscription, if any, announcing new transfers in place of polling for them.
+    private final SubscriptionManager subscriptionManager;
+
     private System(ScheduledExecutorService executor,
                    SystemListener listener,
                    Account account,
@@ -365,6 +433,7 @@ final class System implements com.blockset.walletkit.System {
         this.executor = executor;
         this.listener = listener;
         this.callbackCoordinator = new SystemCallbackCoordinator(executor);
+        this.eventCoalescer = new EventCoalescer(executor);
         this.account = account;
         this.isMainnet = isMainnet;
         this.storagePath = storagePath;
@@ -372,6 +441,21 @@ final class System implements com.blockset.walletkit.System {
         this.context = context;
         this.cwmListener = cwmListener;
         this.cwmClient = cwmClient;
+        this.subscriptionManager = new SubscriptionManager(query, executor, account.getUids());
+
+        // Apply revalidated models that differ from the cached ones already applied
+        if (query instanceof CachingSystemClient)
+            ((CachingSystemClient) query).setListener(new CachingSystemClient.Listener() {
+                @Override
+                public void handleBlockchainsChanged(boolean isMainnet) {
+                    updateNetworkFees(null);
+                }
+
+                @Override
+                public void handleCurrenciesChanged(@Nullable String blockchainId, @Nullable Boolean isMainnet) {
+                    updateCurrencies(null);
+                }
+            });
 
         this.core = WKSystem.create(
                 this.cwmClient,
@@ -439,6 +523,7 @@ final class System implements com.blockset.walletkit.System {
         // Racy - but if there is no wallet manager for `network`... then
         if (!found) {
             WalletManager.wipe(Network.from(network), storagePath);
+            clearSyncMarks(Network.from(network));
         }
     }
 
@@ -465,7 +550,51 @@ final class System implements com.blockset.walletkit.System {
 
     @Override
     public void subscribe(String subscriptionToken) {
-        // TODO(fix): Implement this!
+        if (!subscriptionManager.updateToken(subscriptionToken))
+            Log.log(Level.WARNING, "Subscribe: no transport; use subscribe(token, transport)");
+    }
+
+    @Override
+    public void subscribe(String subscriptionToken, SubscriptionTransport transport) {
+        Log.log(Level.FINE, "Subscribe");
+        subscriptionManager.subscribe(subscriptionToken, transport);
+    }
+
+    @Override
+    public void unsubscribe() {
+        Log.log(Level.FINE, "Unsubscribe");
+        subscriptionManager.unsubscribe();
+    }
+
+    private SyncMarks getSyncMarks(String networkUids) {
+        synchronized (syncMarks) {
+            SyncMarks marks = syncMarks.get(networkUids);
+            if (null == marks) {
+                marks = SyncMarks.load(SyncMarks.getFile(storagePath, networkUids));
+                syncMarks.put(networkUids, marks);
+            }
+            return marks;
+        }
+    }
+
+    /* package */
+    void clearSyncMarks(Network network) {
+        getSyncMarks(network.getUids()).clear();
+    }
+
+    // Blocks from the first not yet final are never marked; they may be reorganized.
+    private long getSyncMarkLimit(Network network) {
+        long height = network.getHeight().longValue();
+        long confirmations = network.getConfirmationsUntilFinal().longValue();
+        return Math.max(0, height - confirmations + 1);
+    }
+
+    private void addSubscriptionAddresses(WalletManager walletManager, List<String> addresses) {
+        subscriptionManager.addAddresses(walletManager.getSubscriptionTarget(), addresses);
+    }
+
+    private void removeSubscriptionTarget(WalletManager walletManager) {
+        subscriptionManager.removeTarget(walletManager.getSubscriptionTarget().getId());
     }
 
     @Override
@@ -530,9 +659,13 @@ final class System implements com.blockset.walletkit.System {
         query.getCurrencies(null, isMainnet, new CompletionHandler<List<SystemClient.Currency>, QueryError>() {
             @Override
             public void handleData(List<SystemClient.Currency> currencyModels) {
+                List<SystemClient.Currency> changedModels = currencyModelTracker.update(currencyModels);
+                Log.log(Level.FINE, String.format("Currencies: %d of %d added or changed",
+                        changedModels.size(), currencyModels.size()));
+
                 List<WKClientCurrencyBundle> bundles = new ArrayList<>();
 
-                for (SystemClient.Currency currencyModel : currencyModels) {
+                for (SystemClient.Currency currencyModel : changedModels) {
                     List<WKClientCurrencyDenominationBundle> denominationBundles = new ArrayList<>();
                     for (CurrencyDenomination currencyDenomination : currencyModel.getDenominations())
                         denominationBundles.add(
@@ -553,8 +686,10 @@ final class System implements com.blockset.walletkit.System {
                             denominationBundles));
                 }
 
-                getCoreBRCryptoSystem().announceCurrencies(bundles);
-                for (WKClientCurrencyBundle bundle : bundles) bundle.release();
+                if (!bundles.isEmpty()) {
+                    getCoreBRCryptoSystem().announceCurrencies(bundles);
+                    for (WKClientCurrencyBundle bundle : bundles) bundle.release();
+                }
 
                 if (null != handler) {
                     handler.handleData((List<T>) getNetworks());
@@ -574,6 +709,16 @@ final class System implements com.blockset.walletkit.System {
         core.setIsReachable(isNetworkReachable);
     }
 
+    @Override
+    public void enableEventCoalescing(long window, TimeUnit unit) {
+        eventCoalescer.enable(window, unit);
+    }
+
+    @Override
+    public void disableEventCoalescing() {
+        eventCoalescer.disable();
+    }
+
     @Override
     public Account getAccount() {
         return account;
@@ -620,7 +765,7 @@ final class System implements com.blockset.walletkit.System {
     }
 
     private Network createNetwork (WKNetwork coreNetwork, boolean needTake) {
-        return Network.create(needTake ? coreNetwork.take() : coreNetwork);
+        return (needTake ? Network.takeAndCreate(coreNetwork) : Network.create(coreNetwork));
     }
 
     // WalletManager management
@@ -653,6 +798,25 @@ final class System implements com.blockset.walletkit.System {
 
     // Miscellaneous
 
+    @Override
+    public List<ExecutionLaneMetrics> getExecutionLaneMetrics() {
+        Map<Pointer, String> names = new HashMap<>();
+        names.put(core.getPointer(), "system");
+        for (WalletManager manager: getWalletManagers()) {
+            names.put(manager.getCoreBRCryptoWalletManager().getPointer(), manager.getNetwork().getUids());
+        }
+
+        SerialLanes.Namer<Pointer> namer = (key) -> {
+            String name = names.get(key);
+            return (null == name ? key.toString() : name);
+        };
+
+        List<ExecutionLaneMetrics> metrics = new ArrayList<>();
+        metrics.addAll(listenerLanes.getMetrics(namer));
+        metrics.addAll(clientLanes.getMetrics(namer));
+        return metrics;
+    }
+
     /* package */
     SystemClient getSystemClient() {
         return query;
@@ -673,16 +837,29 @@ final class System implements com.blockset.walletkit.System {
         executor.submit(() -> listener.handleNetworkEvent(this, network, event));
     }
 
+    // Manager, wallet and transfer events are grouped by manager for coalescing; only the
+    // progress, block height and balance events are coalesced, everything else is lossless.
+
     private void announceWalletManagerEvent(WalletManager walletManager, WalletManagerEvent event) {
-        executor.submit(() -> listener.handleManagerEvent(this, walletManager, event));
+        Runnable delivery = () -> listener.handleManagerEvent(this, walletManager, event);
+        if (event instanceof WalletManagerSyncProgressEvent || event instanceof WalletManagerBlockUpdatedEvent) {
+            eventCoalescer.coalesce(walletManager, event.getClass(), delivery);
+        } else {
+            eventCoalescer.announce(walletManager, delivery);
+        }
     }
 
     private void announceWalletEvent(WalletManager walletManager, Wallet wallet, WalletEvent event) {
-        executor.submit(() -> listener.handleWalletEvent(this, walletManager, wallet, event));
+        Runnable delivery = () -> listener.handleWalletEvent(this, walletManager, wallet, event);
+        if (event instanceof WalletBalanceUpdatedEvent) {
+            eventCoalescer.coalesce(walletManager, wallet, delivery);
+        } else {
+            eventCoalescer.announce(walletManager, delivery);
+        }
     }
 
     private void announceTransferEvent(WalletManager walletManager, Wallet wallet, Transfer transfer, TranferEvent event) {
-        executor.submit(() -> listener.handleTransferEvent(this, walletManager, wallet, transfer, event));
+        eventCoalescer.announce(walletManager, () -> listener.handleTransferEvent(this, walletManager, wallet, transfer, event));
     }
 
     //
@@ -692,7 +869,12 @@ final class System implements com.blockset.walletkit.System {
     private static void systemEventCallback(Cookie context,
                                             WKSystem coreSystem,
                                             WKSystemEvent event) {
-        EXECUTOR_LISTENER.execute(() -> {
+        // A manager's 'added' event is ordered with that manager's own events
+        WKWalletManager coreWalletManager = (WKSystemEventType.MANAGER_ADDED == event.type()
+                ? event.u.walletManager
+                : null);
+
+        listenerLane(context, coreWalletManager).execute(() -> {
             try {
                 Log.log(Level.FINE, "SystemEventCallback");
 
@@ -831,7 +1013,7 @@ final class System implements com.blockset.walletkit.System {
     private static void networkEventCallback(Cookie context,
                                              WKNetwork coreNetwork,
                                              WKNetworkEvent event) {
-        EXECUTOR_LISTENER.execute(() -> {
+        listenerLane(context, null).execute(() -> {
             try {
                 Log.log(Level.FINE, "NetworkEventCallback");
 
@@ -854,7 +1036,7 @@ final class System implements com.blockset.walletkit.System {
     private static void walletManagerEventCallback(Cookie context,
                                                    WKWalletManager coreWalletManager,
                                                    WKWalletManagerEvent event) {
-        EXECUTOR_LISTENER.execute(() -> {
+        listenerLane(context, coreWalletManager).execute(() -> {
             try {
                 Log.log(Level.FINE, "WalletManagerEventCallback");
 
@@ -869,6 +1051,9 @@ final class System implements com.blockset.walletkit.System {
                     }
                     case DELETED: {
                         handleWalletManagerDeleted(context, coreWalletManager);
+                        // A deleted manager produces no further events; its lanes are drained
+                        // up to this task, so drop them as the last step.
+                        removeLanes(context, coreWalletManager);
                         break;
                     }
                     case WALLET_ADDED: {
@@ -888,7 +1073,8 @@ final class System implements com.blockset.walletkit.System {
                         break;
                     }
                     case SYNC_CONTINUES: {
-                        handleWalletManagerSyncProgress(context, coreWalletManager, event);
+                        handleWalletManagerSyncProgress(context, coreWalletManager,
+                                event.u.syncContinues.timestamp, event.u.syncContinues.percentComplete);
                         break;
                     }
                     case SYNC_STOPPED: {
@@ -900,7 +1086,7 @@ final class System implements com.blockset.walletkit.System {
                         break;
                     }
                     case BLOCK_HEIGHT_UPDATED: {
-                        handleWalletManagerBlockHeightUpdated(context, coreWalletManager, event);
+                        handleWalletManagerBlockHeightUpdated(context, coreWalletManager, event.u.blockHeight);
                         break;
                     }
                 }
@@ -910,6 +1096,33 @@ final class System implements com.blockset.walletkit.System {
         });
     }
 
+    private static void walletManagerSyncProgressCallback(Cookie context,
+                                                          WKWalletManager coreWalletManager,
+                                                          long timestamp,
+                                                          float percentComplete) {
+        listenerLane(context, coreWalletManager).execute(() -> {
+            try {
+                Log.log(Level.FINE, "WalletManagerSyncProgressCallback");
+                handleWalletManagerSyncProgress(context, coreWalletManager, timestamp, percentComplete);
+            } finally {
+                coreWalletManager.give();
+            }
+        });
+    }
+
+    private static void walletManagerBlockHeightCallback(Cookie context,
+                                                         WKWalletManager coreWalletManager,
+                                                         long blockHeight) {
+        listenerLane(context, coreWalletManager).execute(() -> {
+            try {
+                Log.log(Level.FINE, "WalletManagerBlockHeightCallback");
+                handleWalletManagerBlockHeightUpdated(context, coreWalletManager, blockHeight);
+            } finally {
+                coreWalletManager.give();
+            }
+        });
+    }
+
     private static void handleWalletManagerCreated(Cookie context, WKWalletManager coreWalletManager) {
         Log.log(Level.FINE, "WalletManagerCreated");
 
@@ -959,6 +1172,7 @@ final class System implements com.blockset.walletkit.System {
             Optional<WalletManager> optWalletManager = system.getWalletManager(coreWalletManager);
             if (optWalletManager.isPresent()) {
                 WalletManager walletManager = optWalletManager.get();
+                system.removeSubscriptionTarget(walletManager);
                 system.announceWalletManagerEvent(walletManager, new WalletManagerDeletedEvent());
 
             } else {
@@ -1096,9 +1310,8 @@ final class System implements com.blockset.walletkit.System {
         }
     }
 
-    private static void handleWalletManagerSyncProgress(Cookie context, WKWalletManager coreWalletManager, WKWalletManagerEvent event) {
-        float percent = event.u.syncContinues.percentComplete;
-        Date timestamp = 0 == event.u.syncContinues.timestamp ? null : new Date(TimeUnit.SECONDS.toMillis(event.u.syncContinues.timestamp));
+    private static void handleWalletManagerSyncProgress(Cookie context, WKWalletManager coreWalletManager, long seconds, float percent) {
+        Date timestamp = 0 == seconds ? null : new Date(TimeUnit.SECONDS.toMillis(seconds));
 
         Log.log(Level.FINE, String.format("WalletManagerSyncProgress (%s)", percent));
 
@@ -1164,8 +1377,8 @@ final class System implements com.blockset.walletkit.System {
         }
     }
 
-    private static void handleWalletManagerBlockHeightUpdated(Cookie context, WKWalletManager coreWalletManager, WKWalletManagerEvent event) {
-        UnsignedLong blockHeight = UnsignedLong.fromLongBits(event.u.blockHeight);
+    private static void handleWalletManagerBlockHeightUpdated(Cookie context, WKWalletManager coreWalletManager, long height) {
+        UnsignedLong blockHeight = UnsignedLong.fromLongBits(height);
 
         Log.log(Level.FINE, String.format("WalletManagerBlockHeightUpdated (%s)", blockHeight));
 
@@ -1195,7 +1408,7 @@ final class System implements com.blockset.walletkit.System {
                                             WKWalletManager coreWalletManager,
                                             WKWallet coreWallet,
                                             WKWalletEvent coreEvent) {
-        EXECUTOR_LISTENER.execute(() -> {
+        listenerLane(context, coreWalletManager).execute(() -> {
             try {
                 Log.log(Level.FINE, "WalletEventCallback");
 
@@ -1606,18 +1819,20 @@ final class System implements com.blockset.walletkit.System {
                                               WKWalletManager coreWalletManager,
                                               WKWallet coreWallet,
                                               WKTransfer coreTransfer,
-                                              WKTransferEvent event) {
-        EXECUTOR_LISTENER.execute(() -> {
+                                              WKTransferEventType type,
+                                              Optional<WKTransferState> oldState,
+                                              Optional<WKTransferState> newState) {
+        listenerLane(context, coreWalletManager).execute(() -> {
             try {
                 Log.log(Level.FINE, "TransferEventCallback");
 
-                switch (event.type()) {
+                switch (type) {
                     case CREATED: {
                         handleTransferCreated(context, coreWalletManager, coreWallet, coreTransfer);
                         break;
                     }
                     case CHANGED: {
-                        handleTransferChanged(context, coreWalletManager, coreWallet, coreTransfer, event);
+                        handleTransferChanged(context, coreWalletManager, coreWallet, coreTransfer, oldState.get(), newState.get());
                         break;
                     }
                     case DELETED: {
@@ -1626,10 +1841,8 @@ final class System implements com.blockset.walletkit.System {
                     }
                 }
             } finally {
-                if (CHANGED == event.type()) {
-                    event.u.state.oldState.give();
-                    event.u.state.newState.give();
-                }
+                if (oldState.isPresent()) oldState.get().give();
+                if (newState.isPresent()) newState.get().give();
                 coreTransfer.give();
                 coreWallet.give();
                 coreWalletManager.give();
@@ -1669,9 +1882,9 @@ final class System implements com.blockset.walletkit.System {
     }
 
     private static void handleTransferChanged(Cookie context, WKWalletManager coreWalletManager, WKWallet coreWallet, WKTransfer coreTransfer,
-                                              WKTransferEvent event) {
-        TransferState oldState = Utilities.transferStateFromCrypto(event.u.state.oldState);
-        TransferState newState = Utilities.transferStateFromCrypto(event.u.state.newState);
+                                              WKTransferState coreOldState, WKTransferState coreNewState) {
+        TransferState oldState = Utilities.transferStateFromCrypto(coreOldState);
+        TransferState newState = Utilities.transferStateFromCrypto(coreNewState);
 
         Log.log(Level.FINE, String.format("TransferChanged (%s -> %s)", oldState, newState));
 
@@ -1750,7 +1963,7 @@ final class System implements com.blockset.walletkit.System {
     // BTC client
 
     private static void getBlockNumber(Cookie context, WKWalletManager coreWalletManager, WKClientCallbackState callbackState) {
-        EXECUTOR_CLIENT.execute(() -> {
+        clientLane(context, coreWalletManager).execute(() -> {
             try {
                 Log.log(Level.FINE, "BRCryptoCWMGetBlockNumberCallback");
 
@@ -1859,7 +2072,7 @@ final class System implements com.blockset.walletkit.System {
 
      private static void getTransactions(Cookie context, WKWalletManager coreWalletManager, WKClientCallbackState callbackState,
                                          List<String> addresses, long begBlockNumber, long endBlockNumber) {
-        EXECUTOR_CLIENT.execute(() -> {
+        clientLane(context, coreWalletManager).execute(() -> {
             try {
                 UnsignedLong begBlockNumberUnsigned = UnsignedLong.fromLongBits(begBlockNumber);
                 UnsignedLong endBlockNumberUnsigned = UnsignedLong.fromLongBits(endBlockNumber);
@@ -1875,41 +2088,62 @@ final class System implements com.blockset.walletkit.System {
                         WalletManager walletManager = optWalletManager.get();
 
                         final List<String> canonicalAddresses = canonicalAddresses(addresses, walletManager.getNetwork().getType());
+                        system.addSubscriptionAddresses(walletManager, canonicalAddresses);
 
-                        system.query.getTransactions(walletManager.getNetwork().getUids(),
+                        final String networkUids = walletManager.getNetwork().getUids();
+                        final WKWalletManager coreManager = walletManager.getCoreBRCryptoWalletManager();
+
+                        new WindowedSync<Transaction, WKClientTransactionBundle>(
+                                system.getSyncMarks(networkUids),
                                 canonicalAddresses,
-                                begBlockNumberUnsigned.equals(WKConstants.BLOCK_HEIGHT_UNBOUND) ? null : begBlockNumberUnsigned,
-                                endBlockNumberUnsigned.equals(WKConstants.BLOCK_HEIGHT_UNBOUND) ? null : endBlockNumberUnsigned,
-                                true,
-                                false,
-                                false,
-                                null,
-                                new CompletionHandler<List<Transaction>, QueryError>() {
-                                    @Override
-                                    public void handleData(List<Transaction> transactions) {
-                                        boolean success = false;
-                                        Log.log(Level.FINE, "BRCryptoCWMGetTransactionsCallback received transactions");
-
-                                        List<WKClientTransactionBundle> bundles = new ArrayList<>();
-                                        for (Transaction transaction : transactions) {
-                                            Optional<WKClientTransactionBundle> bundle = makeTransactionBundle(transaction);
-                                            if (bundle.isPresent()) {
-                                                bundles.add(bundle.get());
-                                            }
-                                        }
-                                        walletManager.getCoreBRCryptoWalletManager().announceTransactions(callbackState, true, bundles);
-
-                                        success = true;
-                                        Log.log(Level.FINE, "BRCryptoCWMGetTransactionsCallback: complete");
-                                    }
+                                begBlockNumber,
+                                endBlockNumber,
+                                walletManager.getNetwork().getHeight().longValue(),
+                                system.getSyncMarkLimit(walletManager.getNetwork())) {
 
-                                    @Override
-                                    public void handleError(QueryError error) {
-                                        Log.log(Level.SEVERE, "BRCryptoCWMGetTransactionsCallback received an error, completing with failure: ", error);
-                                        walletManager.getCoreBRCryptoWalletManager().announceTransactions(callbackState, false, new ArrayList<>());
+                            @Override
+                            protected void fetch(Window window, PagedCompletionHandler<List<Transaction>, QueryError> handler) {
+                                system.query.getTransactions(networkUids,
+                                        window.addresses,
+                                        WindowedSync.UNBOUND == window.beg ? null : UnsignedLong.fromLongBits(window.beg),
+                                        WindowedSync.UNBOUND == window.end ? null : UnsignedLong.fromLongBits(window.end),
+                                        true,
+                                        false,
+                                        false,
+                                        null,
+                                        handler);
+                            }
 
+                            @Override
+                            protected void addBundles(List<Transaction> transactions, List<WKClientTransactionBundle> bundles) {
+                                // Bundles are made as each page arrives so that the page's
+                                // `Transaction` models need not be held until all pages are in.
+                                Log.log(Level.FINE, "BRCryptoCWMGetTransactionsCallback received transactions");
+
+                                for (Transaction transaction : transactions) {
+                                    Optional<WKClientTransactionBundle> bundle = makeTransactionBundle(transaction);
+                                    if (bundle.isPresent()) {
+                                        bundles.add(bundle.get());
                                     }
-                                });
+                                }
+                            }
+
+                            @Override
+                            protected boolean announcePartial(List<WKClientTransactionBundle> bundles) {
+                                return coreManager.announceTransactionsPartial(callbackState, bundles);
+                            }
+
+                            @Override
+                            protected void announce(boolean success, List<WKClientTransactionBundle> bundles) {
+                                coreManager.announceTransactions(callbackState, success, bundles);
+                                Log.log(Level.FINE, "BRCryptoCWMGetTransactionsCallback: complete");
+                            }
+
+                            @Override
+                            protected void release(WKClientTransactionBundle bundle) {
+                                bundle.release();
+                            }
+                        }.start();
 
                     } else {
                         throw new IllegalStateException("BRCryptoCWMGetTransactionsCallback: missing manager");
@@ -1927,7 +2161,7 @@ final class System implements com.blockset.walletkit.System {
         });
     }
 
-    protected static List<WKClientTransferBundle> makeTransferBundles (Transaction transaction, List<String> addresses) {
+    protected static List<WKClientTransferBundle> makeTransferBundles (Transaction transaction, Set<String> addresses) {
         List<WKClientTransferBundle> result = new ArrayList<>();
 
         UnsignedLong blockHeight    = transaction.getBlockHeight().or(WKConstants.BLOCK_HEIGHT_UNBOUND);
@@ -1969,7 +2203,7 @@ final class System implements com.blockset.walletkit.System {
 
     private static void getTransfers(Cookie context, WKWalletManager coreWalletManager, WKClientCallbackState callbackState,
                                      List<String> addresses, long begBlockNumber, long endBlockNumber) {
-        EXECUTOR_CLIENT.execute(() -> {
+        clientLane(context, coreWalletManager).execute(() -> {
             try {
                 UnsignedLong begBlockNumberUnsigned = UnsignedLong.fromLongBits(begBlockNumber);
                 UnsignedLong endBlockNumberUnsigned = UnsignedLong.fromLongBits(endBlockNumber);
@@ -1985,42 +2219,61 @@ final class System implements com.blockset.walletkit.System {
                         WalletManager walletManager = optWalletManager.get();
 
                         final List<String> canonicalAddresses = canonicalAddresses(addresses, walletManager.getNetwork().getType());
+                        system.addSubscriptionAddresses(walletManager, canonicalAddresses);
+                        final Set<String> canonicalAddressIndex = new HashSet<>(canonicalAddresses);
+
+                        final String networkUids = walletManager.getNetwork().getUids();
+                        final WKWalletManager coreManager = walletManager.getCoreBRCryptoWalletManager();
 
-                        system.query.getTransactions(
-                                walletManager.getNetwork().getUids(),
+                        new WindowedSync<Transaction, WKClientTransferBundle>(
+                                system.getSyncMarks(networkUids),
                                 canonicalAddresses,
-                                begBlockNumberUnsigned.equals(WKConstants.BLOCK_HEIGHT_UNBOUND) ? null : begBlockNumberUnsigned,
-                                endBlockNumberUnsigned.equals(WKConstants.BLOCK_HEIGHT_UNBOUND) ? null : endBlockNumberUnsigned,
-                                false,
-                                false,
-                                true,
-                                null,
-                                new CompletionHandler<List<Transaction>, QueryError>() {
-                                    @Override
-                                    public void handleData(List<Transaction> transactions) {
-                                        boolean success = false;
-                                        Log.log(Level.FINE, "BRCryptoCWMGetTransfersCallback received transfers");
-
-                                        List<WKClientTransferBundle> bundles = new ArrayList<>();
-
-                                        try {
-                                            for (Transaction transaction : transactions) {
-                                                bundles.addAll(makeTransferBundles(transaction, canonicalAddresses));
-                                             }
-
-                                            success = true;
-                                            Log.log(Level.FINE, "BRCryptoCWMGetTransfersCallback : complete");
-                                        } finally {
-                                            walletManager.getCoreBRCryptoWalletManager().announceTransfers(callbackState, true, bundles);
-                                        }
-                                    }
+                                begBlockNumber,
+                                endBlockNumber,
+                                walletManager.getNetwork().getHeight().longValue(),
+                                system.getSyncMarkLimit(walletManager.getNetwork())) {
 
-                                    @Override
-                                    public void handleError(QueryError error) {
-                                        Log.log(Level.SEVERE, "BRCryptoCWMGetTransfersCallback  received an error, completing with failure: ", error);
-                                        walletManager.getCoreBRCryptoWalletManager().announceTransfers(callbackState, false, new ArrayList<>());
-                                    }
-                                });
+                            @Override
+                            protected void fetch(Window window, PagedCompletionHandler<List<Transaction>, QueryError> handler) {
+                                system.query.getTransactions(
+                                        networkUids,
+                                        window.addresses,
+                                        WindowedSync.UNBOUND == window.beg ? null : UnsignedLong.fromLongBits(window.beg),
+                                        WindowedSync.UNBOUND == window.end ? null : UnsignedLong.fromLongBits(window.end),
+                                        false,
+                                        false,
+                                        true,
+                                        null,
+                                        handler);
+                            }
+
+                            @Override
+                            protected void addBundles(List<Transaction> transactions, List<WKClientTransferBundle> bundles) {
+                                // Bundles are made as each page arrives so that the page's
+                                // `Transaction` models need not be held until all pages are in.
+                                Log.log(Level.FINE, "BRCryptoCWMGetTransfersCallback received transfers");
+
+                                for (Transaction transaction : transactions) {
+                                    bundles.addAll(makeTransferBundles(transaction, canonicalAddressIndex));
+                                }
+                            }
+
+                            @Override
+                            protected boolean announcePartial(List<WKClientTransferBundle> bundles) {
+                                return coreManager.announceTransfersPartial(callbackState, bundles);
+                            }
+
+                            @Override
+                            protected void announce(boolean success, List<WKClientTransferBundle> bundles) {
+                                coreManager.announceTransfers(callbackState, success, bundles);
+                                Log.log(Level.FINE, "BRCryptoCWMGetTransfersCallback : complete");
+                            }
+
+                            @Override
+                            protected void release(WKClientTransferBundle bundle) {
+                                bundle.release();
+                            }
+                        }.start();
                     } else {
                         throw new IllegalStateException("BRCryptoCWMGetTransfersCallback : missing manager");
                     }
@@ -2040,7 +2293,7 @@ final class System implements com.blockset.walletkit.System {
     private static void submitTransaction(Cookie context, WKWalletManager coreWalletManager, WKClientCallbackState callbackState,
                                           String identifier,
                                           byte[] transaction) {
-        EXECUTOR_CLIENT.execute(() -> {
+        clientLane(context, coreWalletManager).execute(() -> {
             try {
                 Log.log(Level.FINE, "BRCryptoCWMSubmitTransactionCallback");
 
@@ -2085,7 +2338,7 @@ final class System implements com.blockset.walletkit.System {
 
     private static void estimateTransactionFee(Cookie context, WKWalletManager coreWalletManager, WKClientCallbackState callbackState,
                                                byte[] transaction) {
-        EXECUTOR_CLIENT.execute(() -> {
+        clientLane(context, coreWalletManager).execute(() -> {
             try {
                 Log.log(Level.FINE, "BRCryptoCWMEstimateTransactionFeeCallback");
 
@@ -2126,7 +2379,8 @@ final class System implements com.blockset.walletkit.System {
         });
     }
 
-    private static class ObjectPair<T1, T2> {
+    /* package */
+    static class ObjectPair<T1, T2> {
         final T1 o1;
         final T2 o2;
 
@@ -2136,67 +2390,74 @@ final class System implements com.blockset.walletkit.System {
         }
     }
 
-    private static List<ObjectPair<SystemClient.Transfer, String>> mergeTransfers(Transaction transaction, List<String> addresses) {
-        List<SystemClient.Transfer> transfers;
-        List<SystemClient.Transfer> transfersWithFee;
-        List<SystemClient.Transfer> transfersWithoutFee;
-        List<ObjectPair<SystemClient.Transfer, String>> transfersMerged;
-        SystemClient.Transfer transferWithFee;
-
-        // Only consider transfers w/ `address`
-        transfers = new ArrayList<>(Collections2.filter(transaction.getTransfers(),
-                t -> addresses.contains(t.getSource().orNull()) ||
-                        addresses.contains(t.getTarget().orNull())));
-
-        // Note for later: all transfers have a unique id
+    /* package */
+    static List<ObjectPair<SystemClient.Transfer, String>> mergeTransfers(Transaction transaction, Set<String> addresses) {
+        SystemClient.Transfer transferWithFee = null;
+        List<SystemClient.Transfer> transfersWithoutFee = new ArrayList<>();
+
+        // Only consider transfers w/ `address`; separate out the "__fee__" entry as we go
+        for (SystemClient.Transfer transfer : transaction.getTransfers()) {
+            String target = transfer.getTarget().orNull();
+            if (!addresses.contains(transfer.getSource().orNull()) && !addresses.contains(target)) {
+                continue;
+            }
 
-        transfersWithFee = new ArrayList<>(Collections2.filter(transfers, t -> "__fee__".equals(t.getTarget().orNull())));
-        transfersWithoutFee = new ArrayList<>(Collections2.filter(transfers, t -> !"__fee__".equals(t.getTarget().orNull())));
+            // Note for later: all transfers have a unique id
 
-        // Get the transferWithFee if we have one
-        checkState(transfersWithFee.size() <= 1);
-        transferWithFee = transfersWithFee.isEmpty() ? null : transfersWithFee.get(0);
+            if ("__fee__".equals(target)) {
+                checkState(null == transferWithFee);
+                transferWithFee = transfer;
+            } else {
+                transfersWithoutFee.add(transfer);
+            }
+        }
 
-        transfersMerged = new ArrayList<>(transfers.size());
+        List<ObjectPair<SystemClient.Transfer, String>> transfersMerged = new ArrayList<>(transfersWithoutFee.size() + 1);
 
         // There is no "__fee__" entry
         if (transferWithFee == null) {
             // Announce transfers with no fee
-            for (SystemClient.Transfer transfer: transfers) {
+            for (SystemClient.Transfer transfer: transfersWithoutFee) {
                 transfersMerged.add(new ObjectPair<>(transfer, null));
             }
 
-        // There is a single "__fee__" entry, due to `checkState(transfersWithFee.size() <= 1)` above
+        // There is a single "__fee__" entry, due to `checkState(null == transferWithFee)` above
         } else {
             // We may or may not have a non-fee transfer matching `transferWithFee`.  We
             // may or may not have more than one non-fee transfers matching `transferWithFee`
 
             // Find the first of the non-fee transfers matching `transferWithFee` that also matches
-            // the amount's currency.
+            // the amount's currency; failing that, the first one w/o matching the amount's currency.
             SystemClient.Transfer transferMatchingFee = null;
+            SystemClient.Transfer transferMatchingFeeAnyCurrency = null;
             for (SystemClient.Transfer transfer: transfersWithoutFee) {
                 if (transferWithFee.getTransactionId().equals(transfer.getTransactionId()) &&
-                    transferWithFee.getSource().equals(transfer.getSource()) &&
-                    transferWithFee.getAmount().getCurrency().equals(transfer.getAmount().getCurrency())) {
-                    transferMatchingFee = transfer;
-                    break;
-                }
-            }
-
-            // If there is still no `transferWithFee`, find the first w/o matching the amount's currency
-            if (null == transferMatchingFee)
-                for (SystemClient.Transfer transfer : transfersWithoutFee) {
-                    if (transferWithFee.getTransactionId().equals(transfer.getTransactionId()) &&
-                            transferWithFee.getSource().equals(transfer.getSource())) {
+                    transferWithFee.getSource().equals(transfer.getSource())) {
+                    if (transferWithFee.getAmount().getCurrency().equals(transfer.getAmount().getCurrency())) {
                         transferMatchingFee = transfer;
                         break;
                     }
+                    if (null == transferMatchingFeeAnyCurrency) {
+                        transferMatchingFeeAnyCurrency = transfer;
+                    }
                 }
+            }
+            if (null == transferMatchingFee) {
+                transferMatchingFee = transferMatchingFeeAnyCurrency;
+            }
+
+            // Hold the Id for the transfer that we'll add a fee to.
+            String transferForFeeId = transferMatchingFee != null ? transferMatchingFee.getId() : transferWithFee.getId();
+            String fee = transferWithFee.getAmount().getAmount();
+
+            // Announce transfers adding the fee to the `transferforFeeId`
+            for (SystemClient.Transfer transfer: transfersWithoutFee) {
+                transfersMerged.add(new ObjectPair<>(transfer, transfer.getId().equals(transferForFeeId) ? fee : null));
+            }
 
             // We must have a transferMatchingFee; if we don't add one
-            transfers = new ArrayList<>(transfersWithoutFee);
             if (null == transferMatchingFee) {
-                transfers.add(
+                transfersMerged.add(new ObjectPair<>(
                         BlocksetTransfer.create(
                                 transferWithFee.getId(),
                                 transferWithFee.getBlockchainId(),
@@ -2206,18 +2467,8 @@ final class System implements com.blockset.walletkit.System {
                                 transferWithFee.getSource().orNull(),
                                 "unknown",
                                 transferWithFee.getTransactionId().or("0"),
-                                transferWithFee.getAcknowledgements().orNull())
-                );
-            }
-
-            // Hold the Id for the transfer that we'll add a fee to.
-            String transferForFeeId = transferMatchingFee != null ? transferMatchingFee.getId() : transferWithFee.getId();
-
-            // Announce transfers adding the fee to the `transferforFeeId`
-            for (SystemClient.Transfer transfer: transfers) {
-                String fee = transfer.getId().equals(transferForFeeId) ? transferWithFee.getAmount().getAmount() : null;
-
-                transfersMerged.add(new ObjectPair<>(transfer, fee));
+                                transferWithFee.getAcknowledgements().orNull()),
+                        fee));
             }
         }
 
@@ -2234,7 +2485,7 @@ final class System implements com.blockset.walletkit.System {
                                   com.blockset.walletkit.Network network,
                                   boolean create,
                                   CompletionHandler<byte[], AccountInitializationError> handler) {
-        EXECUTOR_CLIENT.execute(() -> {
+        clientLanes.get(core.getPointer()).execute(() -> {
             if (accountIsInitialized(account, network)) {
                 accountInitializeReportError(new AccountInitializationAlreadyInitializedError(), handler);
                 return;
@@ -7,13 +7,10 @@
  */
 package com.blockset.walletkit.brd;
 
-import com.blockset.walletkit.nativex.cleaner.ReferenceCleaner;
 import com.blockset.walletkit.nativex.WKTransfer;
 import com.blockset.walletkit.TransferDirection;
 import com.blockset.walletkit.TransferState;
 import com.google.common.base.Optional;
-import com.google.common.base.Supplier;
-import com.google.common.base.Suppliers;
 import com.google.common.primitives.UnsignedLong;
 
 import java.util.HashSet;
@@ -23,20 +20,21 @@ import java.util.Set;
 import static com.google.common.base.Preconditions.checkState;
 
 /* package */
-final class Transfer implements com.blockset.walletkit.Transfer {
+final class Transfer extends LazyFields implements com.blockset.walletkit.Transfer {
 
     /* package */
     static Transfer takeAndCreate(WKTransfer core, Wallet wallet) {
-        return Transfer.create(core.take(), wallet);
+        return CACHE.get(core, true, c -> new Transfer(c, wallet));
     }
 
     /* package */
     static Transfer create(WKTransfer core, Wallet wallet) {
-        Transfer transfer = new Transfer(core, wallet);
-        ReferenceCleaner.register(transfer, core::give);
-        return transfer;
+        return CACHE.get(core, false, c -> new Transfer(c, wallet));
     }
 
+    private static final WrapperCache<WKTransfer, Transfer> CACHE =
+            new WrapperCache<>(WKTransfer::take, WKTransfer::give);
+
     /* package */
     static Transfer from(com.blockset.walletkit.Transfer transfer) {
         if (transfer == null) {
@@ -50,42 +48,55 @@ final class Transfer implements com.blockset.walletkit.Transfer {
         throw new IllegalArgumentException("Unsupported transfer instance");
     }
 
+    private static final int UNIT                = 1;
+    private static final int UNIT_FOR_FEE        = 1 << 1;
+    private static final int ESTIMATED_FEE_BASIS = 1 << 2;
+    private static final int SOURCE              = 1 << 3;
+    private static final int TARGET              = 1 << 4;
+    private static final int AMOUNT              = 1 << 5;
+    private static final int DIRECTION           = 1 << 6;
+    private static final int ATTRIBUTES          = 1 << 7;
+
     private final WKTransfer core;
     private final Wallet wallet;
 
-    private final Supplier<Unit> unitSupplier;
-    private final Supplier<Unit> unitForFeeSupplier;
-    private final Supplier<Optional<TransferFeeBasis>> estimatedFeeBasisSupplier;
-    private final Supplier<Optional<Address>> sourceSupplier;
-    private final Supplier<Optional<Address>> targetSupplier;
-    private final Supplier<Amount> amountSupplier;
-    private final Supplier<TransferDirection> directionSupplier;
-    private final Supplier<Set<TransferAttribute>> attributesSupplier;
+    private Unit unit;
+    private Unit unitForFee;
+    private Optional<TransferFeeBasis> estimatedFeeBasis;
+    private Optional<Address> source;
+    private Optional<Address> target;
+    private Amount amount;
+    private TransferDirection direction;
+    private Set<TransferAttribute> attributes;
 
     private Transfer(WKTransfer core, Wallet wallet) {
         this.core = core;
         this.wallet = wallet;
+    }
 
-        this.unitSupplier = Suppliers.memoize(() -> Unit.create(core.getUnitForAmount()));
-        this.unitForFeeSupplier = Suppliers.memoize(() -> Unit.create(core.getUnitForFee()));
-        this.estimatedFeeBasisSupplier = Suppliers.memoize(() -> core.getEstimatedFeeBasis().transform(TransferFeeBasis::create));
-
-        this.sourceSupplier = Suppliers.memoize(() -> core.getSourceAddress().transform(Address::create));
-        this.targetSupplier = Suppliers.memoize(() -> core.getTargetAddress().transform(Address::create));
-        this.amountSupplier = Suppliers.memoize(() -> Amount.create(core.getAmount()));
-        this.directionSupplier = Suppliers.memoize(() -> Utilities.transferDirectionFromCrypto(core.getDirection()));
-
-        attributesSupplier = Suppliers.memoize(() -> {
-            Set<TransferAttribute> attributes = new HashSet<>();
-            UnsignedLong count = core.getAttributeCount();
-            for (UnsignedLong i = UnsignedLong.ZERO; i.compareTo(count) < 0; i = i.plus(UnsignedLong.ONE)) {
-                Optional<TransferAttribute> attribute = core.getAttributeAt(i)
-                        .transform(TransferAttribute::create); // Uses the 'take' from '...AttributeAt'
-                if (attribute.isPresent())
-                    attributes.add(attribute.get().copy());
+    @Override
+    protected void resolveField(int field) {
+        switch (field) {
+            case UNIT:                unit = Unit.create(core.getUnitForAmount()); break;
+            case UNIT_FOR_FEE:        unitForFee = Unit.create(core.getUnitForFee()); break;
+            case ESTIMATED_FEE_BASIS: estimatedFeeBasis = core.getEstimatedFeeBasis().transform(TransferFeeBasis::create); break;
+            case SOURCE:              source = core.getSourceAddress().transform(Address::create); break;
+            case TARGET:              target = core.getTargetAddress().transform(Address::create); break;
+            case AMOUNT:              amount = Amount.create(core.getAmount()); break;
+            case DIRECTION:           direction = Utilities.transferDirectionFromCrypto(core.getDirection()); break;
+            case ATTRIBUTES: {
+                attributes = new HashSet<>();
+                UnsignedLong count = core.getAttributeCount();
+                for (UnsignedLong i = UnsignedLong.ZERO; i.compareTo(count) < 0; i = i.plus(UnsignedLong.ONE)) {
+                    Optional<TransferAttribute> attribute = core.getAttributeAt(i)
+                            .transform(TransferAttribute::create); // Uses the 'take' from '...AttributeAt'
+                    if (attribute.isPresent())
+                        attributes.add(attribute.get().copy());
+                }
+                break;
             }
-            return attributes;
-        });
+            default: throw new IllegalArgumentException("Unknown field");
+        }
     }
 
     @Override
@@ -95,17 +106,20 @@ final class Transfer implements com.blockset.walletkit.Transfer {
 
     @Override
     public Optional<Address> getSource() {
-        return sourceSupplier.get();
+        resolve(SOURCE);
+        return source;
     }
 
     @Override
     public Optional<Address> getTarget() {
-        return targetSupplier.get();
+        resolve(TARGET);
+        return target;
     }
 
     @Override
     public Amount getAmount() {
-        return amountSupplier.get();
+        resolve(AMOUNT);
+        return amount;
     }
 
     @Override
@@ -122,7 +136,8 @@ final class Transfer implements com.blockset.walletkit.Transfer {
 
     @Override
     public Optional<TransferFeeBasis> getEstimatedFeeBasis() {
-        return estimatedFeeBasisSupplier.get();
+        resolve(ESTIMATED_FEE_BASIS);
+        return estimatedFeeBasis;
     }
 
     @Override
@@ -132,7 +147,8 @@ final class Transfer implements com.blockset.walletkit.Transfer {
 
     @Override
     public TransferDirection getDirection() {
-        return directionSupplier.get();
+        resolve(DIRECTION);
+        return direction;
     }
 
     @Override
@@ -147,17 +163,20 @@ final class Transfer implements com.blockset.walletkit.Transfer {
 
     @Override
     public Set<TransferAttribute> getAttributes() {
-        return attributesSupplier.get();
+        resolve(ATTRIBUTES);
+        return attributes;
     }
 
     @Override
     public com.blockset.walletkit.Unit getUnit() {
-        return unitSupplier.get();
+        resolve(UNIT);
+        return unit;
     }
 
     @Override
     public com.blockset.walletkit.Unit getUnitForFee() {
-        return unitForFeeSupplier.get();
+        resolve(UNIT_FOR_FEE);
+        return unitForFee;
     }
 
     @Override
@@ -24,6 +24,14 @@ final class TransferHash implements com.blockset.walletkit.TransferHash {
         return hash;
     }
 
+    /* package */
+    static TransferHash from(com.blockset.walletkit.TransferHash hash) {
+        if (hash instanceof TransferHash) {
+            return (TransferHash) hash;
+        }
+        throw new IllegalArgumentException("Unsupported hash instance");
+    }
+
     private final WKHash core;
 
     private final int value;
@@ -59,4 +67,9 @@ final class TransferHash implements com.blockset.walletkit.TransferHash {
     public String toString() {
         return toStringSupplier.get();
     }
+
+    /* package */
+    WKHash getCoreBRCryptoHash() {
+        return core;
+    }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd;
+
+import com.blockset.walletkit.TransferDirection;
+import com.blockset.walletkit.TransferHash;
+import com.blockset.walletkit.TransferState;
+import com.blockset.walletkit.nativex.WKTransferSnapshot;
+import com.blockset.walletkit.nativex.WKTransferStateType;
+import com.google.common.base.Optional;
+import com.google.common.primitives.UnsignedLong;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/* package */
+final class TransferSnapshot implements com.blockset.walletkit.TransferSnapshot {
+
+    /* package */
+    static TransferSnapshot create(WKTransferSnapshot core, Wallet wallet) {
+        return new TransferSnapshot(core, wallet);
+    }
+
+    private final WKTransferSnapshot core;
+    private final Wallet wallet;
+
+    private final Unit unit;
+    private final Unit unitForFee;
+
+    // Built on the first lookup by hash; maps a hash to the first index with that hash
+    private volatile Map<String, Integer> hashIndex;
+
+    private TransferSnapshot(WKTransferSnapshot core, Wallet wallet) {
+        this.core = core;
+        this.wallet = wallet;
+        this.unit = wallet.getUnit();
+        this.unitForFee = wallet.getUnitForFee();
+    }
+
+    @Override
+    public Wallet getWallet() {
+        return wallet;
+    }
+
+    @Override
+    public int getOffset() {
+        return core.getOffset();
+    }
+
+    @Override
+    public int size() {
+        return core.getCount();
+    }
+
+    @Override
+    public int getTotalCount() {
+        return core.getTotalCount();
+    }
+
+    @Override
+    public Amount getAmount(int index) {
+        return amountFrom(core.getAmount(index), false, unit);
+    }
+
+    @Override
+    public Amount getAmountDirected(int index) {
+        BigInteger value = core.getAmount(index);
+
+        // As per `wkTransferGetAmountDirected()`
+        if (WKTransferStateType.INCLUDED == core.getStateType(index) && !core.isSuccess(index)) {
+            value = BigInteger.ZERO;
+        }
+
+        switch (getDirection(index)) {
+            case RECOVERED: return amountFrom(BigInteger.ZERO, false, unit);
+            case SENT:      return amountFrom(value, true, unit);
+            case RECEIVED:  return amountFrom(value, false, unit);
+            default: throw new IllegalStateException("Unsupported direction");
+        }
+    }
+
+    @Override
+    public Optional<Amount> getFee(int index) {
+        return core.getFee(index).transform(v -> amountFrom(v, false, unitForFee));
+    }
+
+    @Override
+    public TransferDirection getDirection(int index) {
+        return Utilities.transferDirectionFromCrypto(core.getDirection(index));
+    }
+
+    @Override
+    public TransferState.Type getStateType(int index) {
+        return Utilities.transferStateTypeFromCrypto(core.getStateType(index));
+    }
+
+    @Override
+    public Optional<UnsignedLong> getBlockNumber(int index) {
+        return isIncluded(index) ? Optional.of(core.getBlockNumber(index)) : Optional.absent();
+    }
+
+    @Override
+    public Optional<UnsignedLong> getTimestamp(int index) {
+        return isIncluded(index) ? Optional.of(core.getTimestamp(index)) : Optional.absent();
+    }
+
+    @Override
+    public Optional<String> getHash(int index) {
+        return core.getHash(index);
+    }
+
+    @Override
+    public int indexOfHash(TransferHash hash) {
+        Map<String, Integer> hashIndex = this.hashIndex;
+        if (null == hashIndex) {
+            hashIndex = new HashMap<>();
+            for (int index = core.getCount() - 1; index >= 0; index--) {
+                Optional<String> value = core.getHash(index);
+                if (value.isPresent()) hashIndex.put(value.get(), index);
+            }
+            this.hashIndex = hashIndex;
+        }
+
+        Integer index = hashIndex.get(hash.toString());
+        return null == index ? -1 : index;
+    }
+
+    private boolean isIncluded(int index) {
+        return WKTransferStateType.INCLUDED == core.getStateType(index);
+    }
+
+    private static Amount amountFrom(BigInteger value, boolean isNegative, Unit unit) {
+        // The value is in base units; express it in `unit`, as the wallet's transfers do
+        Optional<Amount> amount = Amount.create(value.toString(), isNegative, unit.getBase());
+        if (amount.isPresent()) amount = amount.get().convert(unit);
+        checkState(amount.isPresent());
+        return amount.get();
+    }
+}
@@ -7,16 +7,17 @@
  */
 package com.blockset.walletkit.brd;
 
-import com.blockset.walletkit.nativex.cleaner.ReferenceCleaner;
 import com.blockset.walletkit.nativex.WKUnit;
-import com.google.common.base.Supplier;
-import com.google.common.base.Suppliers;
 import com.google.common.primitives.UnsignedInteger;
 
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
 import java.util.Objects;
 
 /* package */
-final class Unit implements com.blockset.walletkit.Unit {
+final class Unit extends LazyFields implements com.blockset.walletkit.Unit {
 
     /* package */
     static Unit create(Currency currency, String code, String name, String symbol) {
@@ -32,11 +33,12 @@ final class Unit implements com.blockset.walletkit.Unit {
 
     /* package */
     static Unit create(WKUnit core) {
-        Unit unit = new Unit(core);
-        ReferenceCleaner.register(unit, core::give);
-        return unit;
+        return CACHE.get(core, false, Unit::new);
     }
 
+    private static final WrapperCache<WKUnit, Unit> CACHE =
+            new WrapperCache<>(WKUnit::take, WKUnit::give);
+
     /* package */
     static Unit from(com.blockset.walletkit.Unit unit) {
         if (unit == null) {
@@ -50,39 +52,57 @@ final class Unit implements com.blockset.walletkit.Unit {
         throw new IllegalArgumentException("Unsupported unit instance");
     }
 
+    private static final int CURRENCY  = 1;
+    private static final int NAME      = 1 << 1;
+    private static final int SYMBOL    = 1 << 2;
+    private static final int UIDS      = 1 << 3;
+    private static final int DECIMALS  = 1 << 4;
+    private static final int FORMATTER = 1 << 5;
+
     private final WKUnit core;
 
-    private final Supplier<Currency> currencySupplier;
-    private final Supplier<String> nameSupplier;
-    private final Supplier<String> symbolSupplier;
-    private final Supplier<String> uidsSupplier;
-    private final Supplier<UnsignedInteger> decimalsSupplier;
+    // don't cache base unit to avoid recursion; cost of get is cheap
+
+    private Currency currency;
+    private String name;
+    private String symbol;
+    private String uids;
+    private UnsignedInteger decimals;
+    private NumberFormat formatter;
 
     private Unit(WKUnit core) {
         this.core = core;
+    }
 
-        // don't cache base unit to avoid recursion; cost of get is cheap
-
-        this.currencySupplier = Suppliers.memoize(() -> Currency.create(core.getCurrency()));
-        this.nameSupplier = Suppliers.memoize(core::getName);
-        this.symbolSupplier = Suppliers.memoize(core::getSymbol);
-        this.uidsSupplier = Suppliers.memoize(core::getUids);
-        this.decimalsSupplier = Suppliers.memoize(core::getDecimals);
+    @Override
+    protected void resolveField(int field) {
+        switch (field) {
+            case CURRENCY:  currency = Currency.create(core.getCurrency()); break;
+            case NAME:      name = core.getName(); break;
+            case SYMBOL:    symbol = core.getSymbol(); break;
+            case UIDS:      uids = core.getUids(); break;
+            case DECIMALS:  decimals = core.getDecimals(); break;
+            case FORMATTER: formatter = createFormatter(); break;
+            default: throw new IllegalArgumentException("Unknown field");
+        }
     }
 
     @Override
     public Currency getCurrency() {
-        return currencySupplier.get();
+        resolve(CURRENCY);
+        return currency;
     }
 
     @Override
     public String getName() {
-        return nameSupplier.get();
+        resolve(NAME);
+        return name;
     }
 
     @Override
     public String getSymbol() {
-        return symbolSupplier.get();
+        resolve(SYMBOL);
+        return symbol;
     }
 
     @Override
@@ -92,7 +112,8 @@ final class Unit implements com.blockset.walletkit.Unit {
 
     @Override
     public UnsignedInteger getDecimals() {
-        return decimalsSupplier.get();
+        resolve(DECIMALS);
+        return decimals;
     }
 
     @Override
@@ -121,7 +142,41 @@ final class Unit implements com.blockset.walletkit.Unit {
 
     @Override
     public int hashCode() {
-        return Objects.hash(uidsSupplier.get());
+        return Objects.hash(getUids());
+    }
+
+    /**
+     * Get the default formatter for amounts in this unit.  The formatter is shared, so callers
+     * must synchronize on it while formatting.
+     */
+    /* package */
+    NumberFormat getFormatter() {
+        resolve(FORMATTER);
+        return formatter;
+    }
+
+    private NumberFormat createFormatter() {
+        DecimalFormat formatter = (DecimalFormat) DecimalFormat.getCurrencyInstance().clone();
+        DecimalFormatSymbols formatterSymbols = (DecimalFormatSymbols) formatter.getDecimalFormatSymbols().clone();
+
+        String symbol = getSymbol();
+        formatterSymbols.setInternationalCurrencySymbol(symbol);
+        formatterSymbols.setCurrencySymbol(symbol);
+
+        int decimals = getDecimals().intValue();
+        formatter.setParseBigDecimal(0 != decimals);
+        formatter.setRoundingMode(RoundingMode.HALF_EVEN);
+        formatter.setDecimalFormatSymbols(formatterSymbols);
+        formatter.setMaximumIntegerDigits(Integer.MAX_VALUE);
+        formatter.setMaximumFractionDigits(decimals);
+
+        return formatter;
+    }
+
+    /* package */
+    String getUids() {
+        resolve(UIDS);
+        return uids;
     }
 
     /* package */
@@ -18,6 +18,7 @@ import com.blockset.walletkit.nativex.WKTransferDirection;
 import com.blockset.walletkit.nativex.WKSyncDepth;
 import com.blockset.walletkit.nativex.WKSyncMode;
 import com.blockset.walletkit.nativex.WKTransferState;
+import com.blockset.walletkit.nativex.WKTransferStateType;
 import com.blockset.walletkit.nativex.WKTransferSubmitError;
 import com.blockset.walletkit.nativex.WKWalletManagerState;
 import com.blockset.walletkit.nativex.WKWalletState;
@@ -146,6 +147,19 @@ final class Utilities {
         }
     }
 
+    /* package */
+    static TransferState.Type transferStateTypeFromCrypto(WKTransferStateType type) {
+        switch (type) {
+            case CREATED: return TransferState.Type.CREATED;
+            case SIGNED: return TransferState.Type.SIGNED;
+            case SUBMITTED: return TransferState.Type.SUBMITTED;
+            case INCLUDED: return TransferState.Type.INCLUDED;
+            case ERRORED: return TransferState.Type.FAILED;
+            case DELETED: return TransferState.Type.DELETED;
+            default: throw new IllegalArgumentException("Unsupported state");
+        }
+    }
+
     /* package */
     static TransferState transferStateFromCrypto(WKTransferState state) {
         switch (state.type()) {
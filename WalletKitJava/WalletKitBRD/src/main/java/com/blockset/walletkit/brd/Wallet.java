@@ -7,7 +7,6 @@
  */
 package com.blockset.walletkit.brd;
 
-import com.blockset.walletkit.nativex.cleaner.ReferenceCleaner;
 import com.blockset.walletkit.nativex.WKAddress;
 import com.blockset.walletkit.nativex.WKAmount;
 import com.blockset.walletkit.nativex.WKFeeBasis;
@@ -26,8 +25,6 @@ import com.blockset.walletkit.errors.LimitEstimationInsufficientFundsError;
 import com.blockset.walletkit.errors.LimitEstimationServiceFailureError;
 import com.blockset.walletkit.utility.CompletionHandler;
 import com.google.common.base.Optional;
-import com.google.common.base.Supplier;
-import com.google.common.base.Suppliers;
 import com.google.common.primitives.UnsignedLong;
 
 import java.util.ArrayList;
@@ -41,20 +38,21 @@ import javax.annotation.Nullable;
 import static com.google.common.base.Preconditions.checkState;
 
 /* package */
-final class Wallet implements com.blockset.walletkit.Wallet {
+final class Wallet extends LazyFields implements com.blockset.walletkit.Wallet {
 
     /* package */
     static Wallet takeAndCreate(WKWallet core, WalletManager walletManager, SystemCallbackCoordinator callbackCoordinator) {
-        return Wallet.create(core.take(), walletManager, callbackCoordinator);
+        return CACHE.get(core, true, c -> new Wallet(c, walletManager, callbackCoordinator));
     }
 
     /* package */
     static Wallet create(WKWallet core, WalletManager walletManager, SystemCallbackCoordinator callbackCoordinator) {
-        Wallet wallet = new Wallet(core, walletManager, callbackCoordinator);
-        ReferenceCleaner.register(wallet, core::give);
-        return wallet;
+        return CACHE.get(core, false, c -> new Wallet(c, walletManager, callbackCoordinator));
     }
 
+    private static final WrapperCache<WKWallet, Wallet> CACHE =
+            new WrapperCache<>(WKWallet::take, WKWallet::give);
+
     /* package */
     static Wallet from(com.blockset.walletkit.Wallet wallet) {
         if (wallet == null) {
@@ -68,22 +66,32 @@ final class Wallet implements com.blockset.walletkit.Wallet {
         throw new IllegalArgumentException("Unsupported wallet instance");
     }
 
+    private static final int UNIT                  = 1;
+    private static final int UNIT_FOR_FEE          = 1 << 1;
+    private static final int DEFAULT_UNIT_CURRENCY = 1 << 2;
+
     private final WKWallet core;
     private final WalletManager walletManager;
     private final SystemCallbackCoordinator callbackCoordinator;
 
-    private final Supplier<Unit> unitSupplier;
-    private final Supplier<Unit> unitForFeeSupplier;
-    private final Supplier<Currency> defaultUnitCurrencySupplier;
+    private Unit unit;
+    private Unit unitForFee;
+    private Currency defaultUnitCurrency;
 
     private Wallet(WKWallet core, WalletManager walletManager, SystemCallbackCoordinator callbackCoordinator) {
         this.core = core;
         this.walletManager = walletManager;
         this.callbackCoordinator = callbackCoordinator;
+    }
 
-        this.unitSupplier = Suppliers.memoize(() -> Unit.create(core.getUnit()));
-        this.unitForFeeSupplier = Suppliers.memoize(() -> Unit.create(core.getUnitForFee()));
-        this.defaultUnitCurrencySupplier = Suppliers.memoize(() -> Currency.create(core.getCurrency()));
+    @Override
+    protected void resolveField(int field) {
+        switch (field) {
+            case UNIT:                  unit = Unit.create(core.getUnit()); break;
+            case UNIT_FOR_FEE:          unitForFee = Unit.create(core.getUnitForFee()); break;
+            case DEFAULT_UNIT_CURRENCY: defaultUnitCurrency = Currency.create(core.getCurrency()); break;
+            default: throw new IllegalArgumentException("Unknown field");
+        }
     }
 
     @Override
@@ -348,15 +356,13 @@ final class Wallet implements com.blockset.walletkit.Wallet {
 
     @Override
     public Optional<Transfer> getTransferByHash(com.blockset.walletkit.TransferHash hash) {
-        List<Transfer> transfers = getTransfers();
+        return core.getTransferByHash(TransferHash.from(hash).getCoreBRCryptoHash())
+                .transform(t -> Transfer.create(t, this));
+    }
 
-        for (Transfer transfer : transfers) {
-            Optional<TransferHash> optional = transfer.getHash();
-            if (optional.isPresent() && optional.get().equals(hash)) {
-                return Optional.of(transfer);
-            }
-        }
-        return Optional.absent();
+    @Override
+    public TransferSnapshot getTransferSnapshot(int offset, int limit) {
+        return TransferSnapshot.create(core.getTransferSnapshot(offset, limit), this);
     }
 
     @Override
@@ -398,12 +404,14 @@ final class Wallet implements com.blockset.walletkit.Wallet {
 
     @Override
     public Unit getUnit() {
-        return unitSupplier.get();
+        resolve(UNIT);
+        return unit;
     }
 
     @Override
     public Unit getUnitForFee() {
-        return unitForFeeSupplier.get();
+        resolve(UNIT_FOR_FEE);
+        return unitForFee;
     }
 
     @Override
@@ -445,7 +453,8 @@ final class Wallet implements com.blockset.walletkit.Wallet {
 
     @Override
     public Currency getCurrency() {
-        return defaultUnitCurrencySupplier.get();
+        resolve(DEFAULT_UNIT_CURRENCY);
+        return defaultUnitCurrency;
     }
 
     @Override
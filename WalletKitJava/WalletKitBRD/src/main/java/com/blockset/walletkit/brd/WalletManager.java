@@ -9,7 +9,6 @@ package com.blockset.walletkit.brd;
 
 import android.support.annotation.Nullable;
 
-import com.blockset.walletkit.nativex.cleaner.ReferenceCleaner;
 import com.blockset.walletkit.nativex.WKClient;
 import com.blockset.walletkit.nativex.WKListener;
 import com.blockset.walletkit.nativex.WKWallet;
@@ -24,6 +23,7 @@ import com.blockset.walletkit.utility.CompletionHandler;
 import com.google.common.base.Optional;
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
+import com.google.common.primitives.UnsignedInteger;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -65,14 +65,12 @@ final class WalletManager implements com.blockset.walletkit.WalletManager {
 
     /* package */
     static WalletManager create (WKWalletManager core, boolean needTake, System system, SystemCallbackCoordinator callbackCoordinator) {
-        WalletManager manager = new WalletManager(
-                (needTake ? core.take() : core),
-                system,
-                callbackCoordinator);
-        ReferenceCleaner.register(manager, core::give);
-        return manager;
+        return CACHE.get(core, needTake, c -> new WalletManager(c, system, callbackCoordinator));
     }
 
+    private static final WrapperCache<WKWalletManager, WalletManager> CACHE =
+            new WrapperCache<>(WKWalletManager::take, WKWalletManager::give);
+
     private WKWalletManager core;
     private final System system;
     private final SystemCallbackCoordinator callbackCoordinator;
@@ -85,6 +83,35 @@ final class WalletManager implements com.blockset.walletkit.WalletManager {
     private final Supplier<Unit> networkBaseUnitSupplier;
     private final Supplier<Unit> networkDefaultUnitSupplier;
 
+    private final SubscriptionManager.Target subscriptionTarget = new SubscriptionManager.Target() {
+        @Override
+        public String getId() {
+            return getNetwork().getUids();
+        }
+
+        @Override
+        public List<String> getCurrencyIds() {
+            List<String> currencyIds = new ArrayList<>();
+            for (Wallet wallet : getWallets()) currencyIds.add(wallet.getCurrency().getUids());
+            return currencyIds;
+        }
+
+        @Override
+        public UnsignedInteger getConfirmationsUntilFinal() {
+            return getNetwork().getConfirmationsUntilFinal();
+        }
+
+        @Override
+        public void syncPeriodic() {
+            core.syncPeriodic();
+        }
+
+        @Override
+        public void setSyncPeriodicFactor(int factor) {
+            core.setSyncPeriodicFactor(factor);
+        }
+    };
+
     private WalletManager(WKWalletManager core, System system, SystemCallbackCoordinator callbackCoordinator) {
         this.core = core;
         this.system = system;
@@ -133,6 +160,8 @@ final class WalletManager implements com.blockset.walletkit.WalletManager {
 
     @Override
     public void sync() {
+        // A rescan; refetch what was fetched before
+        system.clearSyncMarks(getNetwork());
         core.sync();
     }
 
@@ -143,6 +172,7 @@ final class WalletManager implements com.blockset.walletkit.WalletManager {
 
     @Override
     public void syncToDepth(WalletManagerSyncDepth depth) {
+        system.clearSyncMarks(getNetwork());
         core.syncToDepth(Utilities.syncDepthToCrypto(depth));
     }
 
@@ -321,4 +351,9 @@ final class WalletManager implements com.blockset.walletkit.WalletManager {
     WKWalletManager getCoreBRCryptoWalletManager() {
         return core;
     }
+
+    /* package */
+    SubscriptionManager.Target getSubscriptionTarget() {
+        return subscriptionTarget;
+    }
 }
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd;
+
+import com.blockset.walletkit.errors.QueryError;
+import com.blockset.walletkit.nativex.support.WKConstants;
+import com.blockset.walletkit.utility.PagedCompletionHandler;
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Serves a core request for the transactions (or transfers) of a set of addresses in a block
+ * range as a sequence of bounded block windows, skipping the addresses and blocks already marked
+ * as fetched in the network's `SyncMarks`.
+ *
+ * Windows are fetched in order.  Each window's bundles are announced to the core as partial
+ * results of the request and, once the core has accepted them, the window's blocks marked; the
+ * request is completed after the last window.  A request that fails, or that a restart interrupts,
+ * is thus resumed from the last window accepted when the core asks again.  A window the core does
+ * not accept, the request having been superseded by another sync, is not marked and ends the
+ * request.  Blocks within `confirmationsUntilFinal` of the head are never marked, as they may yet
+ * be reorganized.
+ *
+ * The core requests up to an unbounded end, so as to include pending transfers.  Such a request is
+ * windowed up to the network's height; the blocks from there, and those pending, are then fetched
+ * as a final, unmarked window.  A request with an unbounded start is fetched as a single window,
+ * unmarked.
+ *
+ * A request of a single window is announced whole, as without windowing, and is not marked; there
+ * is nothing to resume within it.
+ *
+ * @param <T> the model fetched
+ * @param <B> the bundle announced
+ */
+/* package */
+abstract class WindowedSync<T, B> {
+
+    private static final Logger Log = Logger.getLogger(WindowedSync.class.getName());
+
+    /* package */ static final long UNBOUND = WKConstants.BLOCK_HEIGHT_UNBOUND.longValue();
+
+    /* package */ static final int  MAX_WINDOWS = 16;
+    /* package */ static final long MIN_WINDOW_BLOCKS = 1000;
+
+    /* package */
+    static final class Window {
+        final long beg;
+        final long end;
+        final List<String> addresses;
+
+        Window(long beg, long end, List<String> addresses) {
+            this.beg = beg;
+            this.end = end;
+            this.addresses = addresses;
+        }
+
+        boolean isBounded() {
+            return UNBOUND != beg && UNBOUND != end;
+        }
+    }
+
+    /**
+     * Plan the windows for `addresses` in `[beg, end)`, with `end` bounded at `height` if unbounded.
+     * At most `MAX_WINDOWS` bounded windows, each of at least `MIN_WINDOW_BLOCKS` blocks but the
+     * last; a window includes every address not already marked through the window's start.  For an
+     * unbounded `end`, a final window `[height, UNBOUND)` of every address follows.
+     */
+    /* package */
+    static List<Window> plan(SyncMarks marks, List<String> addresses, long beg, long end, long height) {
+        if (UNBOUND == beg)
+            return Collections.singletonList(new Window(beg, end, ImmutableList.copyOf(addresses)));
+
+        long boundedEnd = (UNBOUND == end ? Math.max(beg, height) : end);
+
+        long[] unmarkedBegs = new long[addresses.size()];
+        long minBeg = boundedEnd;
+        for (int i = 0; i < unmarkedBegs.length; i++) {
+            unmarkedBegs[i] = marks.getUnmarkedBeg(addresses.get(i), beg);
+            minBeg = Math.min(minBeg, unmarkedBegs[i]);
+        }
+
+        List<Window> windows = new ArrayList<>();
+
+        long span = boundedEnd - minBeg;
+        long windowBlocks = Math.max(MIN_WINDOW_BLOCKS, (span + MAX_WINDOWS - 1) / MAX_WINDOWS);
+
+        for (long windowBeg = minBeg; windowBeg < boundedEnd; windowBeg += windowBlocks) {
+            long windowEnd = Math.min(boundedEnd, windowBeg + windowBlocks);
+
+            List<String> windowAddresses = new ArrayList<>();
+            for (int i = 0; i < unmarkedBegs.length; i++) {
+                if (unmarkedBegs[i] < windowEnd) windowAddresses.add(addresses.get(i));
+            }
+            windows.add(new Window(windowBeg, windowEnd, windowAddresses));
+        }
+
+        if (UNBOUND == end)
+            windows.add(new Window(boundedEnd, UNBOUND, ImmutableList.copyOf(addresses)));
+        return windows;
+    }
+
+    private final SyncMarks marks;
+    private final List<Window> windows;
+    private final long markLimit;
+    private int index;
+
+    /**
+     * @param height    the network's height, at which an unbounded request is bounded
+     * @param markLimit the block from which blocks are not to be marked; the first not final
+     */
+    /* package */
+    WindowedSync(SyncMarks marks, List<String> addresses, long beg, long end, long height, long markLimit) {
+        this.marks = marks;
+        this.windows = plan(marks, addresses, beg, end, height);
+        this.markLimit = markLimit;
+    }
+
+    /* package */
+    int getWindowCount() {
+        return windows.size();
+    }
+
+    /* package */
+    void start() {
+        if (windows.isEmpty()) {
+            Log.log(Level.FINE, "WindowedSync: all addresses marked");
+            announce(true, new ArrayList<>());
+            return;
+        }
+        fetchWindow();
+    }
+
+    private void fetchWindow() {
+        final Window window = windows.get(index);
+        final boolean isLast = (index == windows.size() - 1);
+
+        fetch(window, new PagedCompletionHandler<List<T>, QueryError>() {
+            final List<B> bundles = new ArrayList<>();
+
+            @Override
+            public void handleData(List<T> models) {
+                addBundles(models, bundles);
+            }
+
+            @Override
+            public void handleComplete() {
+                if (1 == windows.size()) {
+                    announce(true, bundles);
+                    return;
+                }
+
+                if (!announcePartial(bundles)) {
+                    Log.log(Level.FINE, String.format("WindowedSync: window %d of %d superseded", index + 1, windows.size()));
+                    announce(false, new ArrayList<>());
+                    return;
+                }
+
+                if (window.isBounded()) {
+                    marks.mark(window.addresses, window.beg, Math.min(window.end, markLimit));
+                    marks.save();
+                }
+
+                if (isLast) {
+                    announce(true, new ArrayList<>());
+                } else {
+                    index += 1;
+                    fetchWindow();
+                }
+            }
+
+            @Override
+            public void handleError(QueryError error) {
+                Log.log(Level.SEVERE, String.format("WindowedSync: window %d of %d failed", index + 1, windows.size()), error);
+                for (B bundle : bundles) release(bundle);
+                announce(false, new ArrayList<>());
+            }
+        });
+    }
+
+    /**
+     * Fetch the models of `window`, `UNBOUND` for an unbounded block, delivering them to `handler`.
+     */
+    protected abstract void fetch(Window window, PagedCompletionHandler<List<T>, QueryError> handler);
+
+    /**
+     * Make and add to `bundles` the bundles of `models`.
+     */
+    protected abstract void addBundles(List<T> models, List<B> bundles);
+
+    /**
+     * Announce `bundles`, ahead of `announce()`; called for every window of a request of more than
+     * one window.  The bundles are owned by the core thereafter, accepted or not.
+     *
+     * @return true if the core accepted the bundles; false if the request was superseded
+     */
+    protected abstract boolean announcePartial(List<B> bundles);
+
+    /**
+     * Complete the request, with the bundles of a request of a single window; called once.
+     */
+    protected abstract void announce(boolean success, List<B> bundles);
+
+    protected abstract void release(B bundle);
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd;
+
+import com.blockset.walletkit.nativex.cleaner.ReferenceCleaner;
+import com.blockset.walletkit.nativex.WKWordList;
+
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/* package */
+final class WordList implements com.blockset.walletkit.WordList {
+
+    /* package */
+    static WordList create(List<String> words) {
+        checkNotNull(words);
+        WKWordList core = WKWordList.create(words);
+        WordList wordList = new WordList(core);
+        // Only a backstop; `close()` is the deterministic path
+        ReferenceCleaner.register(wordList, core::give);
+        return wordList;
+    }
+
+    /* package */
+    static WordList from(com.blockset.walletkit.WordList wordList) {
+        if (wordList == null) {
+            return null;
+        }
+
+        if (wordList instanceof WordList) {
+            return (WordList) wordList;
+        }
+
+        throw new IllegalArgumentException("Unsupported word list instance");
+    }
+
+    private final WKWordList core;
+
+    private WordList(WKWordList core) {
+        this.core = core;
+    }
+
+    @Override
+    public List<String> getWords() {
+        return core.getWords();
+    }
+
+    @Override
+    public void close() {
+        core.give();
+    }
+
+    /* package */
+    WKWordList getCoreBRCryptoWordList() {
+        return core;
+    }
+}
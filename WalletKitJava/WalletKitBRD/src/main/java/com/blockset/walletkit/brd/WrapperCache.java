@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd;
+
+import com.blockset.walletkit.nativex.cleaner.ReferenceCleaner;
+import com.sun.jna.Pointer;
+import com.sun.jna.PointerType;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A weak-valued, canonicalizing map from a core (native) object to its Java wrapper.
+ *
+ * While a wrapper is reachable, every lookup for the same native pointer returns that same
+ * wrapper instance.  The cache holds exactly one core reference per live wrapper; that
+ * reference is given back (via the {@link ReferenceCleaner}) once the wrapper is collected.
+ */
+/* package */
+final class WrapperCache<C extends PointerType, W> {
+
+    /* package */
+    interface Factory<C, W> {
+        W create(C core);
+    }
+
+    /* package */
+    interface Take<C> {
+        C take(C core);
+    }
+
+    /* package */
+    interface Give<C> {
+        void give(C core);
+    }
+
+    private final Take<C> take;
+    private final Give<C> give;
+
+    private final Map<Pointer, WeakReference<W>> wrappers = new HashMap<>();
+
+    /* package */
+    WrapperCache(Take<C> take, Give<C> give) {
+        this.take = take;
+        this.give = give;
+    }
+
+    /**
+     * Get the wrapper for `core`, creating it with `factory` if no live wrapper exists.
+     *
+     * If `needTake` is false, the caller is handing over a core reference that it already
+     * owns; that reference is consumed either by the new wrapper or, on a cache hit, by
+     * giving it back immediately.  If `needTake` is true, the caller retains its reference
+     * and a new one is taken only when a wrapper is actually created.
+     */
+    /* package */
+    W get(C core, boolean needTake, Factory<C, W> factory) {
+        Pointer key = core.getPointer();
+
+        synchronized (wrappers) {
+            WeakReference<W> ref = wrappers.get(key);
+            W wrapper = (null == ref ? null : ref.get());
+
+            if (null != wrapper) {
+                if (!needTake) give.give(core);
+                return wrapper;
+            }
+
+            C owned = needTake ? take.take(core) : core;
+            wrapper = factory.create(owned);
+
+            WeakReference<W> newRef = new WeakReference<>(wrapper);
+            wrappers.put(key, newRef);
+
+            ReferenceCleaner.register(wrapper, () -> {
+                synchronized (wrappers) {
+                    // A replacement wrapper may have been cached after this one was cleared
+                    if (wrappers.get(key) == newRef) wrappers.remove(key);
+                }
+                give.give(owned);
+            });
+
+            return wrapper;
+        }
+    }
+
+    /* package */
+    int size() {
+        synchronized (wrappers) {
+            return wrappers.size();
+        }
+    }
+}
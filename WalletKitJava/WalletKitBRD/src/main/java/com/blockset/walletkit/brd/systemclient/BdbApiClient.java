@@ -16,6 +16,7 @@ import com.blockset.walletkit.utility.CompletionHandler;
 import com.google.common.collect.Multimap;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -40,6 +41,8 @@ public class BdbApiClient {
 
     private static final MediaType MEDIA_TYPE_JSON = MediaType.parse("application/json; charset=utf-8");
 
+    private static final int HTTP_NOT_MODIFIED = 304;
+
     private final OkHttpClient client;
     private final String baseUrl;
     private final DataTask dataTask;
@@ -166,6 +169,36 @@ public class BdbApiClient {
                 handler);
     }
 
+    /**
+     * Send a conditional GET for one page of `resource`, at the full `url`.  If `validators` are
+     * provided and the server reports the page as not modified, the handler is given an
+     * unmodified `Conditional` (carrying the validators) rather than data.
+     */
+    /* package */
+    <T> void sendConditionalGetForArrayWithPaging(String resource,
+                                                  String url,
+                                                  Class<? extends T> clazz,
+                                                  @Nullable Validators validators,
+                                                  CompletionHandler<Conditional<PagedData<T>>, QueryError> handler) {
+        HttpUrl httpUrl = HttpUrl.parse(url);
+        if (null == httpUrl) {
+            handler.handleError(new QueryUrlError("Invalid URL " + url));
+            return;
+        }
+        Log.log(Level.FINE, String.format("Request: %s: Method: GET: Validators: %s", httpUrl, validators));
+
+        Request.Builder requestBuilder = new Request.Builder();
+        requestBuilder.url(httpUrl);
+        requestBuilder.header("Accept", capabilities.getVersionDescription());
+        if (null != validators) validators.addTo(requestBuilder);
+        requestBuilder.method("GET", null);
+
+        sendConditionalRequest(requestBuilder.build(),
+                validators,
+                new EmbeddedPagedArrayResponseHandler<>(resource, coder, clazz),
+                handler);
+    }
+
     /* package */
     <T> void sendGetWithId(String resource,
                            String id,
@@ -286,11 +319,35 @@ public class BdbApiClient {
             return;
         }
 
-        HttpUrl url = HttpUrl.parse(baseUrl);
-        if (null == url) {
+        HttpUrl httpUrl = urlFor(pathSegments, params);
+        if (null == httpUrl) {
             handler.handleError(new QueryUrlError("Invalid base URL " + baseUrl));
             return;
         }
+        Log.log(Level.FINE, String.format("Request: %s: Method: %s: Data: %s", httpUrl, httpMethod, json));
+
+        Request.Builder requestBuilder = new Request.Builder();
+        requestBuilder.url(httpUrl);
+        requestBuilder.header("Accept", capabilities.getVersionDescription());
+        requestBuilder.method(httpMethod, httpBody);
+
+        sendRequest(requestBuilder.build(), dataTask, parser, handler);
+    }
+
+    /**
+     * The full URL for `resource` with `params`, as used for the first page of a paged request.
+     */
+    /* package */
+    @Nullable
+    String urlFor(String resource, Multimap<String, String> params) {
+        HttpUrl httpUrl = urlFor(Collections.singletonList(resource), params);
+        return null == httpUrl ? null : httpUrl.toString();
+    }
+
+    @Nullable
+    private HttpUrl urlFor(List<String> pathSegments, Multimap<String, String> params) {
+        HttpUrl url = HttpUrl.parse(baseUrl);
+        if (null == url) return null;
 
         HttpUrl.Builder urlBuilder = url.newBuilder();
         for (String segment : pathSegments) {
@@ -303,15 +360,47 @@ public class BdbApiClient {
             urlBuilder.addQueryParameter(key, value);
         }
 
-        HttpUrl httpUrl = urlBuilder.build();
-        Log.log(Level.FINE, String.format("Request: %s: Method: %s: Data: %s", httpUrl, httpMethod, json));
+        return urlBuilder.build();
+    }
 
-        Request.Builder requestBuilder = new Request.Builder();
-        requestBuilder.url(httpUrl);
-        requestBuilder.header("Accept", capabilities.getVersionDescription());
-        requestBuilder.method(httpMethod, httpBody);
+    private <T> void sendConditionalRequest(Request request,
+                                            @Nullable Validators validators,
+                                            ResponseParser<? extends T> parser,
+                                            CompletionHandler<Conditional<T>, QueryError> handler) {
+        dataTask.execute(client, request, new Callback() {
+            @Override
+            public void onResponse(Call call, Response response) throws IOException {
+                if (HTTP_NOT_MODIFIED == response.code()) {
+                    ResponseBody responseBody = response.body();
+                    if (null != responseBody) responseBody.close();
+
+                    // A 304 need not repeat the validators; keep those sent if it doesn't
+                    Validators current = Validators.from(response);
+                    handler.handleData(new Conditional<>(null,
+                            current.isEmpty() && null != validators ? validators : current));
+                    return;
+                }
 
-        sendRequest(requestBuilder.build(), dataTask, parser, handler);
+                Validators current = Validators.from(response);
+                handleResponse(request, response, parser, new CompletionHandler<T, QueryError>() {
+                    @Override
+                    public void handleData(T data) {
+                        handler.handleData(new Conditional<>(data, current));
+                    }
+
+                    @Override
+                    public void handleError(QueryError error) {
+                        handler.handleError(error);
+                    }
+                });
+            }
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                Log.log(Level.SEVERE, "send request failed", e);
+                handler.handleError(new QuerySubmissionError(e.getMessage()));
+            }
+        });
     }
 
     private <T> void sendRequest(Request request,
@@ -321,48 +410,7 @@ public class BdbApiClient {
         dataTask.execute(client, request, new Callback() {
             @Override
             public void onResponse(Call call, Response response) throws IOException {
-                T data = null;
-                QueryError error = null;
-                RuntimeException exception = null;
-
-                try (ResponseBody responseBody = response.body()) {
-                    int responseCode = response.code();
-                    if (HttpStatusCodes.responseSuccess(request.method()).contains(responseCode)) {
-                        if (responseBody == null) {
-                            throw new QueryNoDataError();
-                        } else {
-                            data = parser.parseResponse(responseBody.string());
-                        }
-                    } else {
-                        Map<String, Object> json = null;
-                        boolean jsonError = false;
-
-                        // Parse any responseData as JSON
-                        if (responseBody != null) {
-                            try {
-                                json = coder.deserializeJson(Map.class, responseBody.string());
-                            } catch (ObjectCoderException e) {
-                                jsonError = true;
-                            }
-                        }
-                        throw new QueryResponseError(responseCode, json, jsonError);
-                    }
-                } catch (QueryError e) {
-                    error = e;
-                } catch (RuntimeException e) {
-                    exception = e;
-                }
-
-                // if anything goes wrong, make sure we report as an error
-                if (exception != null) {
-                    Log.log(Level.SEVERE, "response failed with runtime exception", exception);
-                    handler.handleError(new QuerySubmissionError(exception.getMessage()));
-                } else if (error != null) {
-                    Log.log(Level.SEVERE, "response failed with error", error);
-                    handler.handleError(error);
-                } else {
-                    handler.handleData(data);
-                }
+                handleResponse(request, response, parser, handler);
             }
 
             @Override
@@ -373,15 +421,66 @@ public class BdbApiClient {
         });
     }
 
+    private <T> void handleResponse(Request request,
+                                    Response response,
+                                    ResponseParser<? extends T> parser,
+                                    CompletionHandler<T, QueryError> handler) {
+        T data = null;
+        QueryError error = null;
+        RuntimeException exception = null;
+
+        try (ResponseBody responseBody = response.body()) {
+            int responseCode = response.code();
+            if (HttpStatusCodes.responseSuccess(request.method()).contains(responseCode)) {
+                if (responseBody == null) {
+                    throw new QueryNoDataError();
+                } else {
+                    data = parser.parseResponse(responseBody.byteStream());
+                }
+            } else {
+                Map<String, Object> json = null;
+                boolean jsonError = false;
+
+                // Parse any responseData as JSON
+                if (responseBody != null) {
+                    try {
+                        json = coder.deserializeJson(Map.class, responseBody.string());
+                    } catch (ObjectCoderException e) {
+                        jsonError = true;
+                    }
+                }
+                throw new QueryResponseError(responseCode, json, jsonError);
+            }
+        } catch (QueryError e) {
+            error = e;
+        } catch (IOException e) {
+            // The body is now read while parsing; a failed read is a failed request
+            error = new QuerySubmissionError(e.getMessage());
+        } catch (RuntimeException e) {
+            exception = e;
+        }
+
+        // if anything goes wrong, make sure we report as an error
+        if (exception != null) {
+            Log.log(Level.SEVERE, "response failed with runtime exception", exception);
+            handler.handleError(new QuerySubmissionError(exception.getMessage()));
+        } else if (error != null) {
+            Log.log(Level.SEVERE, "response failed with error", error);
+            handler.handleError(error);
+        } else {
+            handler.handleData(data);
+        }
+    }
+
     private interface ResponseParser<T> {
         @Nullable
-        T parseResponse(String responseData) throws QueryError;
+        T parseResponse(InputStream responseData) throws QueryError, IOException;
     }
 
     private static class EmptyResponseParser implements ResponseParser<Void> {
 
         @Override
-        public Void parseResponse(String responseData) {
+        public Void parseResponse(InputStream responseData) {
             return null;
         }
     }
@@ -398,7 +497,7 @@ public class BdbApiClient {
         }
 
         @Override
-        public T parseResponse(String responseData) throws QueryError {
+        public T parseResponse(InputStream responseData) throws QueryError, IOException {
             try {
                 T resp = coder.deserializeJson(clazz, responseData);
                 if (resp == null) {
@@ -427,17 +526,10 @@ public class BdbApiClient {
         }
 
         @Override
-        public List<T> parseResponse(String responseData) throws QueryError {
+        public List<T> parseResponse(InputStream responseData) throws QueryError, IOException {
             try {
-                BdbEmbeddedResponse resp = coder.deserializeJson(BdbEmbeddedResponse.class, responseData);
-                List<T> data = (resp == null || !resp.containsEmbedded(path)) ?
-                        Collections.emptyList() :
-                        coder.deserializeObjectList(clazz, resp.getEmbedded(path).get());
-                if (data == null) {
-                    throw new QueryModelError("Transform error");
-                }
-
-                return data;
+                PagedData<T> resp = coder.deserializeEmbeddedJson(clazz, path, responseData);
+                return resp.getData();
             } catch (ObjectCoderException e) {
                 throw new QueryJsonParseError(e.getMessage());
             }
@@ -459,25 +551,92 @@ public class BdbApiClient {
         }
 
         @Override
-        public PagedData<T> parseResponse(String responseData) throws QueryError {
+        public PagedData<T> parseResponse(InputStream responseData) throws QueryError, IOException {
             try {
-                BdbEmbeddedResponse resp = coder.deserializeJson(BdbEmbeddedResponse.class, responseData);
-                List<T> data = (resp == null || !resp.containsEmbedded(path)) ?
-                        Collections.emptyList() :
-                        coder.deserializeObjectList(clazz, resp.getEmbedded(path).get());
-                if (data == null) {
-                    throw new QueryModelError("Transform error");
-                }
-
-                String prevUrl = resp == null ? null : resp.getPreviousUrl().orNull();
-                String nextUrl = resp == null ? null : resp.getNextUrl().orNull();
-                return new PagedData<>(data, prevUrl, nextUrl);
+                return coder.deserializeEmbeddedJson(clazz, path, responseData);
             } catch (ObjectCoderException e) {
                 throw new QueryJsonParseError(e.getMessage());
             }
         }
     }
 
+    // Conditional Requests
+
+    /** The cache validators of a response; the "ETag" and "Last-Modified" headers, if any */
+    /* package */
+    static final class Validators {
+
+        /* package */
+        static Validators from(Response response) {
+            return new Validators(response.header("ETag"), response.header("Last-Modified"));
+        }
+
+        private final @Nullable String entityTag;
+        private final @Nullable String lastModified;
+
+        /* package */
+        Validators(@Nullable String entityTag, @Nullable String lastModified) {
+            this.entityTag = entityTag;
+            this.lastModified = lastModified;
+        }
+
+        /* package */
+        @Nullable
+        String getEntityTag() {
+            return entityTag;
+        }
+
+        /* package */
+        @Nullable
+        String getLastModified() {
+            return lastModified;
+        }
+
+        /* package */
+        boolean isEmpty() {
+            return null == entityTag && null == lastModified;
+        }
+
+        private void addTo(Request.Builder requestBuilder) {
+            if (null != entityTag) requestBuilder.header("If-None-Match", entityTag);
+            if (null != lastModified) requestBuilder.header("If-Modified-Since", lastModified);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ETag: %s, Last-Modified: %s", entityTag, lastModified);
+        }
+    }
+
+    /** The result of a conditional request; no data if the resource was not modified */
+    /* package */
+    static final class Conditional<T> {
+        private final @Nullable T data;
+        private final Validators validators;
+
+        /* package */
+        Conditional(@Nullable T data, Validators validators) {
+            this.data = data;
+            this.validators = validators;
+        }
+
+        /* package */
+        boolean isModified() {
+            return null != data;
+        }
+
+        /* package */
+        @Nullable
+        T getData() {
+            return data;
+        }
+
+        /* package */
+        Validators getValidators() {
+            return validators;
+        }
+    }
+
     // JSON methods
 
     // Capabilities
@@ -13,6 +13,7 @@ import com.blockset.walletkit.SystemClient;
 import com.blockset.walletkit.errors.QueryNoDataError;
 import com.blockset.walletkit.errors.QueryError;
 import com.blockset.walletkit.utility.CompletionHandler;
+import com.blockset.walletkit.utility.PagedCompletionHandler;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.base.Optional;
@@ -28,21 +29,30 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import okhttp3.Request;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 public class BlocksetSystemClient implements SystemClient {
 
     private static final int ADDRESS_COUNT = 50;
     private static final int DEFAULT_MAX_PAGE_SIZE = 20;
+    private static final int DEFAULT_MAX_CONCURRENT_CHUNKS = 4;
+    private static final int DEFAULT_API_THREADS = 4;
+    private static final int DEFAULT_API_QUEUE_CAPACITY = 256;
     private static final String DEFAULT_BDB_BASE_URL = "https://api.blockset.com";
     private static final DataTask DEFAULT_DATA_TASK = (cli, request, callback) -> cli.newCall(request).enqueue(callback);
     private static final List<String> resourcePathAccounts =
@@ -54,6 +64,8 @@ public class BlocksetSystemClient implements SystemClient {
     private final BdbApiClient bdbClient;
     private final ExecutorService apiExecutor;
     private final ScheduledExecutorService scheduledApiExecutor;
+    private final int maxConcurrentChunks;
+    private final SingleFlight singleFlight;
 
     public BlocksetSystemClient(OkHttpClient client) {
         this(client, null, null);
@@ -66,6 +78,27 @@ public class BlocksetSystemClient implements SystemClient {
     public BlocksetSystemClient(OkHttpClient client,
                         @Nullable String bdbBaseURL,
                         @Nullable DataTask bdbDataTask) {
+        this(client, bdbBaseURL, bdbDataTask, null);
+    }
+
+    /**
+     * @param maxConcurrentChunks Optional limit on the number of address chunks requested at
+     *                            once by `getTransfers()` and `getTransactions()`
+     */
+    public BlocksetSystemClient(OkHttpClient client,
+                        @Nullable String bdbBaseURL,
+                        @Nullable DataTask bdbDataTask,
+                        @Nullable Integer maxConcurrentChunks) {
+        this(client, bdbBaseURL, bdbDataTask, maxConcurrentChunks,
+                createApiExecutor(DEFAULT_API_THREADS, DEFAULT_API_QUEUE_CAPACITY), 0);
+    }
+
+    private BlocksetSystemClient(OkHttpClient client,
+                                 @Nullable String bdbBaseURL,
+                                 @Nullable DataTask bdbDataTask,
+                                 @Nullable Integer maxConcurrentChunks,
+                                 ExecutorService apiExecutor,
+                                 long resultTtlMillis) {
         bdbBaseURL = bdbBaseURL == null ? DEFAULT_BDB_BASE_URL : bdbBaseURL;
 
         bdbDataTask = bdbDataTask == null ? DEFAULT_DATA_TASK : bdbDataTask;
@@ -73,10 +106,12 @@ public class BlocksetSystemClient implements SystemClient {
         ObjectCoder coder = ObjectCoder.createObjectCoderWithFailOnUnknownProperties();
         bdbClient = new BdbApiClient(client, bdbBaseURL, bdbDataTask, coder);
 
-        apiExecutor = Executors.newCachedThreadPool();
+        this.apiExecutor = apiExecutor;
+        this.singleFlight = new SingleFlight(resultTtlMillis, TimeUnit.MILLISECONDS);
         scheduledApiExecutor = Executors.newSingleThreadScheduledExecutor();
 
         this.ridGenerator = new AtomicInteger(0);
+        this.maxConcurrentChunks = maxConcurrentChunks == null ? DEFAULT_MAX_CONCURRENT_CHUNKS : maxConcurrentChunks;
 
         this.client = client;
     }
@@ -98,6 +133,148 @@ public class BlocksetSystemClient implements SystemClient {
         return new BlocksetSystemClient (client, bdbBaseURL, brdDataTask);
     }
 
+    /**
+     * Create the executor for paging continuations: at most `threads` threads and `queueCapacity`
+     * waiting tasks.  Once full, a task runs on the submitting thread; that is, paging slows to
+     * the rate at which continuations are serviced rather than spawning more threads.
+     */
+    /* package */
+    static ExecutorService createApiExecutor(int threads, int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Builds a `BlocksetSystemClient` along with an `OkHttpClient` tuned for it.
+     *
+     * The client's `Dispatcher` limits the requests in flight, overall and per host; requests
+     * beyond the limits are queued by the dispatcher rather than each holding a thread.  Idle
+     * connections are pooled and HTTP/2 is preferred, so that concurrent requests to Blockset
+     * are multiplexed over few connections.  OkHttp requests and decodes gzip responses
+     * transparently.  Paging continuations run on a bounded executor; see `createApiExecutor()`.
+     *
+     * A base `OkHttpClient`, if provided, is derived from; its interceptors, timeouts, etc. are
+     * kept while its dispatcher and connection pool are replaced.
+     */
+    public static final class Builder {
+        private @Nullable OkHttpClient baseClient;
+        private @Nullable String bdbBaseURL;
+        private @Nullable DataTask bdbDataTask;
+        private @Nullable Integer maxConcurrentChunks;
+        private int maxRequests = 64;
+        private int maxRequestsPerHost = 16;
+        private int maxIdleConnections = 8;
+        private long keepAliveMillis = TimeUnit.MINUTES.toMillis(5);
+        private int apiThreads = DEFAULT_API_THREADS;
+        private int apiQueueCapacity = DEFAULT_API_QUEUE_CAPACITY;
+        private long resultTtlMillis = 0;
+
+        public Builder baseClient(OkHttpClient baseClient) {
+            this.baseClient = baseClient;
+            return this;
+        }
+
+        public Builder bdbBaseURL(String bdbBaseURL) {
+            this.bdbBaseURL = bdbBaseURL;
+            return this;
+        }
+
+        public Builder bdbDataTask(DataTask bdbDataTask) {
+            this.bdbDataTask = bdbDataTask;
+            return this;
+        }
+
+        public Builder maxConcurrentChunks(int maxConcurrentChunks) {
+            checkArgument(maxConcurrentChunks > 0);
+            this.maxConcurrentChunks = maxConcurrentChunks;
+            return this;
+        }
+
+        /** Limit the requests in flight, overall and to any one host */
+        public Builder maxRequests(int maxRequests, int maxRequestsPerHost) {
+            checkArgument(maxRequests > 0 && maxRequestsPerHost > 0);
+            this.maxRequests = maxRequests;
+            this.maxRequestsPerHost = maxRequestsPerHost;
+            return this;
+        }
+
+        /** Size the connection pool */
+        public Builder connectionPool(int maxIdleConnections, long keepAlive, TimeUnit unit) {
+            checkArgument(maxIdleConnections >= 0 && keepAlive > 0);
+            this.maxIdleConnections = maxIdleConnections;
+            this.keepAliveMillis = unit.toMillis(keepAlive);
+            return this;
+        }
+
+        /** Bound the threads, and waiting tasks, for paging continuations */
+        public Builder apiExecutor(int threads, int queueCapacity) {
+            checkArgument(threads > 0 && queueCapacity > 0);
+            this.apiThreads = threads;
+            this.apiQueueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Retain the results of de-duplicated requests (see `getDeduplicatedRequestCount()`) for
+         * `ttl`, handling identical requests from them; zero, the default, to not retain.
+         */
+        public Builder resultTtl(long ttl, TimeUnit unit) {
+            checkArgument(ttl >= 0);
+            this.resultTtlMillis = unit.toMillis(ttl);
+            return this;
+        }
+
+        public BlocksetSystemClient build() {
+            Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequests(maxRequests);
+            dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+
+            OkHttpClient client = (null == baseClient ? new OkHttpClient.Builder() : baseClient.newBuilder())
+                    .dispatcher(dispatcher)
+                    .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveMillis, TimeUnit.MILLISECONDS))
+                    .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                    .retryOnConnectionFailure(true)
+                    .build();
+
+            return new BlocksetSystemClient(client, bdbBaseURL, bdbDataTask, maxConcurrentChunks,
+                    createApiExecutor(apiThreads, apiQueueCapacity), resultTtlMillis);
+        }
+    }
+
+    /** The number of requests currently executing */
+    public int getRunningRequestCount() {
+        return client.dispatcher().runningCallsCount();
+    }
+
+    /** The number of requests waiting on the dispatcher's limits */
+    public int getQueuedRequestCount() {
+        return client.dispatcher().queuedCallsCount();
+    }
+
+    /**
+     * The number of requests that were not sent because an identical request was in flight.
+     *
+     * Identical `getBlockchains()`, `getBlockchain()`, `getCurrencies()`, `getCurrency()`,
+     * `getTransaction()` and `estimateTransactionFee()` requests, as identified by their URL and
+     * parameters, share a single request while it is in flight.
+     */
+    public long getDeduplicatedRequestCount() {
+        return singleFlight.getJoinedCount();
+    }
+
+    /** The number of requests handled from retained results; see `Builder.resultTtl()` */
+    public long getRetainedResultCount() {
+        return singleFlight.getRetainedCount();
+    }
+
+    private static String requestKey(String method, String path, Multimap<String, String> params) {
+        return method + " " + path + "?" + params;
+    }
+
     /**
      * Cancel all client requests that are currently enqueued or executing
      */
@@ -110,23 +287,28 @@ public class BlocksetSystemClient implements SystemClient {
     }
 
     // Blockchain
-    @Override
-    public void getBlockchains(boolean isMainnet,
-                               CompletionHandler<List<Blockchain>, QueryError> handler) {
+    private static Multimap<String, String> blockchainsParams(boolean isMainnet) {
         ImmutableListMultimap.Builder<String, String> paramsBuilder = ImmutableListMultimap.builder();
         paramsBuilder.put("testnet", Boolean.valueOf(!isMainnet).toString());
         paramsBuilder.put("verified", "true");
         paramsBuilder.put("include_experimental", "true");
-        ImmutableMultimap<String, String> params = paramsBuilder.build();
+        return paramsBuilder.build();
+    }
 
-        bdbClient.sendGetForArray("blockchains", params, BlocksetBlockchain.class, handler);
+    @Override
+    public void getBlockchains(boolean isMainnet,
+                               CompletionHandler<List<Blockchain>, QueryError> handler) {
+        Multimap<String, String> params = blockchainsParams(isMainnet);
+        singleFlight.execute(requestKey("GET", "blockchains", params), handler,
+                h -> bdbClient.sendGetForArray("blockchains", params, BlocksetBlockchain.class, h));
     }
 
     @Override
     public void getBlockchain(String blockchainId,
                               CompletionHandler<Blockchain, QueryError> handler) {
         Multimap<String, String> params = ImmutableListMultimap.of("verified", "true");
-        bdbClient.sendGetWithId("blockchains", blockchainId, params, BlocksetBlockchain.class, handler);
+        singleFlight.execute(requestKey("GET", "blockchains/" + blockchainId, params), handler,
+                h -> bdbClient.sendGetWithId("blockchains", blockchainId, params, BlocksetBlockchain.class, h));
     }
 
     // Currency
@@ -163,27 +345,117 @@ public class BlocksetSystemClient implements SystemClient {
         };
     }
 
-    @Override
-    public void getCurrencies(@Nullable String blockchainId,
-                              @Nullable Boolean isMainnet,
-                              CompletionHandler<List<Currency>, QueryError> handler) {
-
+    private static Multimap<String, String> currenciesParams(@Nullable String blockchainId,
+                                                            @Nullable Boolean isMainnet) {
         ImmutableListMultimap.Builder<String, String> paramsBuilder = ImmutableListMultimap.builder();
         if (blockchainId != null)
             paramsBuilder.put("blockchain_id", blockchainId);
         if (isMainnet != null)
             paramsBuilder.put("testnet", (isMainnet ? "false" : "true"));
         paramsBuilder.put("verified", "true");
-        ImmutableMultimap<String, String> params = paramsBuilder.build();
+        return paramsBuilder.build();
+    }
 
-        CompletionHandler<PagedData<Currency>, QueryError> pagedHandler = createPagedResultsHandler(handler);
-        bdbClient.sendGetForArrayWithPaging("currencies", params, BlocksetCurrency.class, pagedHandler);
+    @Override
+    public void getCurrencies(@Nullable String blockchainId,
+                              @Nullable Boolean isMainnet,
+                              CompletionHandler<List<Currency>, QueryError> handler) {
+        Multimap<String, String> params = currenciesParams(blockchainId, isMainnet);
+        singleFlight.execute(requestKey("GET", "currencies", params), handler,
+                h -> bdbClient.sendGetForArrayWithPaging("currencies", params,
+                        BlocksetCurrency.class, createPagedResultsHandler(h)));
     }
 
     @Override
     public void getCurrency(String currencyId,
                             CompletionHandler<Currency, QueryError> handler) {
-        bdbClient.sendGetWithId("currencies", currencyId, ImmutableMultimap.of(), BlocksetCurrency.class, handler);
+        singleFlight.execute(requestKey("GET", "currencies/" + currencyId, ImmutableMultimap.of()), handler,
+                h -> bdbClient.sendGetWithId("currencies", currencyId, ImmutableMultimap.of(), BlocksetCurrency.class, h));
+    }
+
+    // Revalidation
+
+    /**
+     * Revalidate `cached`, the pages from a prior `getBlockchains()`, with conditional requests.
+     * The handler is given the current pages; a page the server reports as unmodified is the
+     * identical cached page.
+     */
+    /* package */
+    void revalidateBlockchains(boolean isMainnet,
+                               List<CachedPage<Blockchain>> cached,
+                               CompletionHandler<List<CachedPage<Blockchain>>, QueryError> handler) {
+        revalidatePages("blockchains", blockchainsParams(isMainnet), BlocksetBlockchain.class, cached, handler);
+    }
+
+    /**
+     * Revalidate `cached`, the pages from a prior `getCurrencies()`, as for `revalidateBlockchains()`.
+     */
+    /* package */
+    void revalidateCurrencies(@Nullable String blockchainId,
+                              @Nullable Boolean isMainnet,
+                              List<CachedPage<Currency>> cached,
+                              CompletionHandler<List<CachedPage<Currency>>, QueryError> handler) {
+        revalidatePages("currencies", currenciesParams(blockchainId, isMainnet), BlocksetCurrency.class, cached, handler);
+    }
+
+    private <T> void revalidatePages(String resource,
+                                     Multimap<String, String> params,
+                                     Class<? extends T> clazz,
+                                     List<CachedPage<T>> cached,
+                                     CompletionHandler<List<CachedPage<T>>, QueryError> handler) {
+        String url = bdbClient.urlFor(resource, params);
+        if (null == url) {
+            handler.handleError(new QueryUrlError("Invalid URL for " + resource));
+            return;
+        }
+        revalidatePage(resource, url, clazz, cached, new ArrayList<>(), handler);
+    }
+
+    private <T> void revalidatePage(String resource,
+                                    String url,
+                                    Class<? extends T> clazz,
+                                    List<CachedPage<T>> cached,
+                                    List<CachedPage<T>> pages,
+                                    CompletionHandler<List<CachedPage<T>>, QueryError> handler) {
+        // Pages are matched by position; a cached page is only revalidated at its own URL.
+        int index = pages.size();
+        CachedPage<T> cachedPage = (index < cached.size() && url.equals(cached.get(index).getUrl())
+                ? cached.get(index)
+                : null);
+
+        bdbClient.sendConditionalGetForArrayWithPaging(resource, url, clazz,
+                (null == cachedPage ? null : cachedPage.getValidators()),
+                new CompletionHandler<BdbApiClient.Conditional<PagedData<T>>, QueryError>() {
+                    @Override
+                    public void handleData(BdbApiClient.Conditional<PagedData<T>> result) {
+                        CachedPage<T> page;
+                        PagedData<T> data = result.getData();
+                        if (null != data) {
+                            page = new CachedPage<>(url, result.getValidators(), data.getNextUrl().orNull(), data.getData());
+                        } else if (null != cachedPage) {
+                            page = cachedPage;
+                        } else {
+                            // Not modified, although nothing was cached to compare against
+                            handler.handleError(new QueryNoDataError());
+                            return;
+                        }
+
+                        pages.add(page);
+
+                        Optional<String> nextUrl = page.getNextUrl();
+                        if (nextUrl.isPresent()) {
+                            apiExecutor.submit(() -> revalidatePage(resource, nextUrl.get(), clazz, cached, pages, handler));
+
+                        } else {
+                            handler.handleData(pages);
+                        }
+                    }
+
+                    @Override
+                    public void handleError(QueryError error) {
+                        handler.handleError(error);
+                    }
+                });
     }
 
     // Subscription
@@ -246,14 +518,8 @@ public class BlocksetSystemClient implements SystemClient {
             GetChunkedCoordinator<String, Transfer> coordinator,
             List<String> chunkedAddresses) {
 
-        List<Transfer> allResults = new ArrayList<>();
         return new CompletionHandler<PagedData<Transfer>, QueryError>() {
 
-            private void getTransfer(String id,
-                                    CompletionHandler<Transfer, QueryError> handler) {
-                bdbClient.sendGetWithId("transfers", id, ImmutableMultimap.of(), BlocksetTransfer.class, handler);
-            }
-
             private void getNextTransfers(String nextUrl,
                                           CompletionHandler<PagedData<Transfer>, QueryError> handler) {
                 bdbClient.sendGetForArrayWithPaging("transfers", nextUrl, BlocksetTransfer.class, handler);
@@ -267,13 +533,13 @@ public class BlocksetSystemClient implements SystemClient {
             @Override
             public void handleData(PagedData<Transfer> results) {
                 Optional<String> nextUrl = results.getNextUrl();
-                allResults.addAll(results.getData());
+                coordinator.handleChunkData(chunkedAddresses, results.getData());
 
                 if (nextUrl.isPresent()) {
                     submitGetNextTransfers(nextUrl.get(), this);
 
                 } else {
-                    coordinator.handleChunkData(chunkedAddresses, allResults);
+                    coordinator.handleChunkComplete(chunkedAddresses);
                 }
             }
 
@@ -292,29 +558,39 @@ public class BlocksetSystemClient implements SystemClient {
                              @Nullable UnsignedLong endBlockNumber,
                              @Nullable Integer maxPageSize,
                              CompletionHandler<List<Transfer>, QueryError> handler) {
+        getTransfers(blockchainId, addresses, beginBlockNumber, endBlockNumber, maxPageSize,
+                     GetChunkedCoordinator.accumulating(handler));
+    }
+
+    /* Throws 'IllegalArgumentException' if `addresses` is empty. */
+    @Override
+    public void getTransfers(String blockchainId,
+                             List<String> addresses,
+                             @Nullable UnsignedLong beginBlockNumber,
+                             @Nullable UnsignedLong endBlockNumber,
+                             @Nullable Integer maxPageSize,
+                             PagedCompletionHandler<List<Transfer>, QueryError> handler) {
         if (addresses.isEmpty())
             throw new IllegalArgumentException("Empty `addresses`");
 
         List<List<String>> chunkedAddressesList = Lists.partition(addresses, ADDRESS_COUNT);
-        GetChunkedCoordinator<String, Transfer> coordinator = new GetChunkedCoordinator<>(chunkedAddressesList, handler);
+        GetChunkedCoordinator<String, Transfer> coordinator = new GetChunkedCoordinator<>(chunkedAddressesList, maxConcurrentChunks, handler);
 
-        if (null == maxPageSize) maxPageSize = DEFAULT_MAX_PAGE_SIZE;
-
-        for (int i = 0; i < chunkedAddressesList.size(); i++) {
-            List<String> chunkedAddresses = chunkedAddressesList.get(i);
+        final Integer pageSize = (null == maxPageSize ? DEFAULT_MAX_PAGE_SIZE : maxPageSize);
 
+        coordinator.start(chunkedAddresses -> {
             ImmutableListMultimap.Builder<String, String> paramsBuilder = ImmutableListMultimap.builder();
             paramsBuilder.put("blockchain_id", blockchainId);
             if (beginBlockNumber != null) paramsBuilder.put("start_height", beginBlockNumber.toString());
             if (endBlockNumber   != null) paramsBuilder.put("end_height",   endBlockNumber.toString());
             paramsBuilder.put("merge_currencies", "true");
-            paramsBuilder.put("max_page_size", maxPageSize.toString());
+            paramsBuilder.put("max_page_size", pageSize.toString());
             for (String address : chunkedAddresses) paramsBuilder.put("address", address);
             ImmutableMultimap<String, String> params = paramsBuilder.build();
 
             CompletionHandler<PagedData<Transfer>, QueryError> pagedHandler = createPagedTransferResultsHandler(coordinator, chunkedAddresses);
             bdbClient.sendGetForArrayWithPaging("transfers", params, BlocksetTransfer.class, pagedHandler);
-        }
+        });
     }
 
     @Override
@@ -331,7 +607,6 @@ public class BlocksetSystemClient implements SystemClient {
 
     private CompletionHandler<PagedData<Transaction>, QueryError> createPagedTransactionResultsHandler(GetChunkedCoordinator<String, Transaction> coordinator,
                                                                                                        List<String> chunkedAddresses) {
-        List<Transaction> allResults = new ArrayList<>();
         return new CompletionHandler<PagedData<Transaction>, QueryError>() {
 
             private void getNextTransactions(String nextUrl,
@@ -370,14 +645,18 @@ public class BlocksetSystemClient implements SystemClient {
             @Override
             public void handleData(PagedData<Transaction> results) {
                 Optional<String> nextUrl = results.getNextUrl();
-                allResults.addAll(results.getData());
+
+                if (!transactionsAreAllValid(results.getData())) {
+                    coordinator.handleError(new QueryJsonParseError());
+                    return;
+                }
+
+                coordinator.handleChunkData(chunkedAddresses, results.getData());
 
                 if (nextUrl.isPresent()) {
                     submitGetNextTransactions(nextUrl.get(), this);
-                } else if (!transactionsAreAllValid(allResults)) {
-                    coordinator.handleError(new QueryJsonParseError());
                 } else {
-                    coordinator.handleChunkData(chunkedAddresses, allResults);
+                    coordinator.handleChunkComplete(chunkedAddresses);
                 }
             }
 
@@ -399,17 +678,31 @@ public class BlocksetSystemClient implements SystemClient {
                                 boolean includeTransfers,
                                 @Nullable Integer maxPageSize,
                                 CompletionHandler<List<Transaction>, QueryError> handler) {
+        getTransactions(blockchainId, addresses, beginBlockNumber, endBlockNumber,
+                        includeRaw, includeProof, includeTransfers, maxPageSize,
+                        GetChunkedCoordinator.accumulating(handler));
+    }
+
+    /* Throws 'IllegalArgumentException' if `addresses` is empty. */
+    @Override
+    public void getTransactions(String blockchainId,
+                                List<String> addresses,
+                                @Nullable UnsignedLong beginBlockNumber,
+                                @Nullable UnsignedLong endBlockNumber,
+                                boolean includeRaw,
+                                boolean includeProof,
+                                boolean includeTransfers,
+                                @Nullable Integer maxPageSize,
+                                PagedCompletionHandler<List<Transaction>, QueryError> handler) {
         if (addresses.isEmpty())
             throw new IllegalArgumentException("Empty `addresses`");
 
         List<List<String>> chunkedAddressesList = Lists.partition(addresses, ADDRESS_COUNT);
-        GetChunkedCoordinator<String, Transaction> coordinator = new GetChunkedCoordinator<>(chunkedAddressesList, handler);
-
-        if (null == maxPageSize) maxPageSize = (includeTransfers ? 1 : 3) * DEFAULT_MAX_PAGE_SIZE;
+        GetChunkedCoordinator<String, Transaction> coordinator = new GetChunkedCoordinator<>(chunkedAddressesList, maxConcurrentChunks, handler);
 
-        for (int i = 0; i < chunkedAddressesList.size(); i++) {
-            List<String> chunkedAddresses = chunkedAddressesList.get(i);
+        final Integer pageSize = (null == maxPageSize ? (includeTransfers ? 1 : 3) * DEFAULT_MAX_PAGE_SIZE : maxPageSize);
 
+        coordinator.start(chunkedAddresses -> {
             ImmutableListMultimap.Builder<String, String> paramsBuilder = ImmutableListMultimap.builder();
             paramsBuilder.put("blockchain_id", blockchainId);
             paramsBuilder.put("include_proof", String.valueOf(includeProof));
@@ -419,13 +712,13 @@ public class BlocksetSystemClient implements SystemClient {
             paramsBuilder.put("merge_currencies", "true");
             if (beginBlockNumber != null) paramsBuilder.put("start_height", beginBlockNumber.toString());
             if (endBlockNumber != null) paramsBuilder.put("end_height", endBlockNumber.toString());
-            paramsBuilder.put("max_page_size", maxPageSize.toString());
+            paramsBuilder.put("max_page_size", pageSize.toString());
             for (String address : chunkedAddresses) paramsBuilder.put("address", address);
             ImmutableMultimap<String, String> params = paramsBuilder.build();
 
             CompletionHandler<PagedData<Transaction>, QueryError> pagedHandler = createPagedTransactionResultsHandler(coordinator, chunkedAddresses);
             bdbClient.sendGetForArrayWithPaging("transactions", params, com.blockset.walletkit.brd.systemclient.BlocksetTransaction.class, pagedHandler);
-        }
+        });
     }
 
     @Override
@@ -441,7 +734,8 @@ public class BlocksetSystemClient implements SystemClient {
                 "include_calls", "false",
                 "merge_currencies", "true");
 
-        bdbClient.sendGetWithId("transactions", transactionId, params, com.blockset.walletkit.brd.systemclient.BlocksetTransaction.class, handler);
+        singleFlight.execute(requestKey("GET", "transactions/" + transactionId, params), handler,
+                h -> bdbClient.sendGetWithId("transactions", transactionId, params, com.blockset.walletkit.brd.systemclient.BlocksetTransaction.class, h));
     }
 
     @Override
@@ -471,7 +765,9 @@ public class BlocksetSystemClient implements SystemClient {
                 "submit_context", String.format("WalletKit:%s:Data:%s (FeeEstimate)", blockchainId, sdata.substring(0, 20)),
                 "data", data);
 
-        bdbClient.sendPost("transactions", params, json, BlocksetTransactionFee.class, handler);
+        // Fee estimates have no side effects; identical ones may share a request
+        singleFlight.execute(requestKey("POST", "transactions/" + blockchainId + "/" + sdata, params), handler,
+                h -> bdbClient.sendPost("transactions", params, json, BlocksetTransactionFee.class, h));
     }
 
     // Blocks
@@ -15,10 +15,16 @@ import com.blockset.walletkit.SystemClient.Transaction;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.google.common.base.Optional;
 import com.google.common.io.BaseEncoding;
 import com.google.common.primitives.UnsignedLong;
 
+import java.io.IOException;
+import java.nio.CharBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
@@ -47,7 +53,7 @@ public class BlocksetTransaction implements Transaction {
                                              @JsonProperty("block_height") @Nullable UnsignedLong blockHeight,
                                              @JsonProperty("acknowledgements") @Nullable UnsignedLong acknowledgements,
                                              @JsonProperty("confirmations") @Nullable UnsignedLong confirmations,
-                                             @JsonProperty("raw") @Nullable String raw,
+                                             @JsonProperty("raw") @JsonDeserialize(using = RawDeserializer.class) @Nullable byte[] raw,
                                              @JsonProperty("proof") @Nullable String proof,
                                              @JsonProperty("meta") Map<String, String> metaData) {
         return new BlocksetTransaction(
@@ -89,7 +95,7 @@ public class BlocksetTransaction implements Transaction {
     private final @Nullable UnsignedLong blockHeight;
     private final @Nullable UnsignedLong acknowledgements;
     private final @Nullable UnsignedLong confirmations;
-    private final @Nullable String raw;
+    private final @Nullable byte[] raw;
     private final @Nullable String proof;
     private final Map<String, String> metaData;
 
@@ -108,7 +114,7 @@ public class BlocksetTransaction implements Transaction {
                                 @Nullable UnsignedLong blockHeight,
                                 @Nullable UnsignedLong acknowledgements,
                                 @Nullable UnsignedLong confirmations,
-                                @Nullable String raw,
+                                @Nullable byte[] raw,
                                 @Nullable String proof,
                                 Map<String, String> metaData) {
         this.id = id;
@@ -201,7 +207,7 @@ public class BlocksetTransaction implements Transaction {
     @Override
     @JsonIgnore
     public Optional<byte[]> getRaw() {
-        return getOptionalBase64Bytes(raw);
+        return Optional.fromNullable(raw);
     }
 
     @Override
@@ -245,7 +251,7 @@ public class BlocksetTransaction implements Transaction {
 
     @JsonProperty("raw")
     public Optional<String> getRawValue() {
-        return Optional.fromNullable(raw);
+        return null == raw ? Optional.absent() : Optional.of(BaseEncoding.base64().encode(raw));
     }
 
     // internal details
@@ -256,14 +262,22 @@ public class BlocksetTransaction implements Transaction {
         public List<BlocksetTransfer> transfers;
     }
 
-    private Optional<byte[]> getOptionalBase64Bytes(String value) {
-        if (null == value) {
-            return Optional.absent();
-        }
-        try {
-            return Optional.fromNullable(BaseEncoding.base64().decode(value));
-        } catch (IllegalArgumentException e) {
-            return Optional.absent();
+    /**
+     * Decode `raw` from the parser's text buffer, so that the (potentially very large) base64
+     * String is never materialized.  The token is read whole before decoding, so invalid base64
+     * yields `null`, leaving the parser in place, rather than failing the entire response; the
+     * transaction is then skipped as missing its raw bytes.
+     */
+    /* package */
+    static class RawDeserializer extends JsonDeserializer<byte[]> {
+        @Override
+        public byte[] deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            CharBuffer text = CharBuffer.wrap(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            try {
+                return BaseEncoding.base64().decode(text);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
         }
     }
 
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd.systemclient;
+
+import android.support.annotation.Nullable;
+
+import com.google.common.base.Optional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a cached, paged Blockset response: the models along with the page's URL, its
+ * cache validators and the URL of the next page, if any.
+ */
+/* package */
+final class CachedPage<T> {
+
+    /** The models of all `pages`, in order */
+    /* package */
+    static <T> List<T> modelsOf(List<CachedPage<T>> pages) {
+        List<T> models = new ArrayList<>();
+        for (CachedPage<T> page : pages) models.addAll(page.getModels());
+        return models;
+    }
+
+    private final String url;
+    private final BdbApiClient.Validators validators;
+    private final @Nullable String nextUrl;
+    private final List<T> models;
+
+    /* package */
+    CachedPage(String url,
+               BdbApiClient.Validators validators,
+               @Nullable String nextUrl,
+               List<T> models) {
+        this.url = url;
+        this.validators = validators;
+        this.nextUrl = nextUrl;
+        this.models = Collections.unmodifiableList(new ArrayList<>(models));
+    }
+
+    /* package */
+    String getUrl() {
+        return url;
+    }
+
+    /* package */
+    BdbApiClient.Validators getValidators() {
+        return validators;
+    }
+
+    /* package */
+    Optional<String> getNextUrl() {
+        return Optional.fromNullable(nextUrl);
+    }
+
+    /* package */
+    List<T> getModels() {
+        return models;
+    }
+}
@@ -0,0 +1,507 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd.systemclient;
+
+import android.support.annotation.Nullable;
+
+import com.blockset.walletkit.SystemClient;
+import com.blockset.walletkit.errors.QueryError;
+import com.blockset.walletkit.utility.CompletionHandler;
+import com.blockset.walletkit.utility.PagedCompletionHandler;
+import com.google.common.primitives.UnsignedLong;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A `SystemClient` that caches the blockchain and currency models of a `BlocksetSystemClient`
+ * in a file.
+ *
+ * A cached `getBlockchains()` or `getCurrencies()` result is handled immediately, from memory or,
+ * on first use, from the file; the result is then revalidated in the background with conditional
+ * requests (using the "ETag" and "Last-Modified" validators of each page).  If the revalidated
+ * result differs, it replaces the cached one, is persisted and the `Listener` is told; the caller
+ * sees it on the next request.  Without a cached result, the request is made and its result
+ * cached.  A result is not revalidated more than once per revalidation interval.
+ *
+ * Results are compared by their models, not by page; a page served without validators is fetched
+ * in full on every revalidation and is only a change if its models are.  A result whose models are
+ * unchanged but whose validators are is kept, without telling the `Listener`.
+ *
+ * Requests and revalidations run on the caller's executor, which the caller shuts down.
+ *
+ * All other requests are passed through to the `BlocksetSystemClient`.
+ */
+public class CachingSystemClient implements SystemClient {
+
+    private static final Logger Log = Logger.getLogger(CachingSystemClient.class.getName());
+
+    private static final long DEFAULT_REVALIDATION_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    /**
+     * Told when a revalidated result replaces a cached one.
+     */
+    public interface Listener {
+        void handleBlockchainsChanged(boolean isMainnet);
+
+        void handleCurrenciesChanged(@Nullable String blockchainId, @Nullable Boolean isMainnet);
+    }
+
+    private interface Revalidator<T> {
+        void revalidate(List<CachedPage<T>> cached, CompletionHandler<List<CachedPage<T>>, QueryError> handler);
+    }
+
+    private interface ModelComparer<T> {
+        boolean isSame(List<T> a, List<T> b);
+    }
+
+    private final BlocksetSystemClient client;
+    private final File cacheFile;
+    private final long revalidationIntervalMillis;
+    private final Executor executor;
+
+    // Guarded by `this`
+    private boolean loaded;
+    private final Map<String, List<CachedPage<Blockchain>>> blockchains = new LinkedHashMap<>();
+    private final Map<String, List<CachedPage<Currency>>> currencies = new LinkedHashMap<>();
+    private final Map<String, Long> validatedAt = new HashMap<>();
+    private final Set<String> revalidating = new HashSet<>();
+
+    // Orders the writes of `cacheFile`
+    private final Object persistLock = new Object();
+
+    private volatile @Nullable Listener listener;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong revalidationCount = new AtomicLong();
+    private final AtomicLong notModifiedCount = new AtomicLong();
+
+    /**
+     * @param executor The executor on which requests are handled and revalidated; owned by the caller
+     */
+    public CachingSystemClient(BlocksetSystemClient client, File cacheFile, Executor executor) {
+        this(client, cacheFile, executor, DEFAULT_REVALIDATION_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param executor             The executor on which requests are handled and revalidated; owned
+     *                             by the caller
+     * @param revalidationInterval The minimum time between revalidations of a cached result
+     */
+    public CachingSystemClient(BlocksetSystemClient client,
+                               File cacheFile,
+                               Executor executor,
+                               long revalidationInterval,
+                               TimeUnit unit) {
+        this.client = client;
+        this.cacheFile = cacheFile;
+        this.executor = executor;
+        this.revalidationIntervalMillis = unit.toMillis(revalidationInterval);
+    }
+
+    public void setListener(@Nullable Listener listener) {
+        this.listener = listener;
+    }
+
+    // Metrics
+
+    /** The number of `getBlockchains()` and `getCurrencies()` requests handled from the cache */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /** The number of `getBlockchains()` and `getCurrencies()` requests not handled from the cache */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /** The number of background revalidations of cached results completed */
+    public long getRevalidationCount() {
+        return revalidationCount.get();
+    }
+
+    /** The number of background revalidations that found the cached result unchanged */
+    public long getNotModifiedCount() {
+        return notModifiedCount.get();
+    }
+
+    // Cached
+
+    @Override
+    public void getBlockchains(boolean isMainnet,
+                               CompletionHandler<List<Blockchain>, QueryError> handler) {
+        String key = String.format("blockchains:%s", isMainnet);
+        executor.execute(() -> get(key,
+                blockchains,
+                ModelCacheCoder::sameBlockchains,
+                (cached, revalidatedHandler) -> client.revalidateBlockchains(isMainnet, cached, revalidatedHandler),
+                () -> {
+                    Listener listener = this.listener;
+                    if (null != listener) listener.handleBlockchainsChanged(isMainnet);
+                },
+                handler));
+    }
+
+    @Override
+    public void getCurrencies(@Nullable String blockchainId,
+                              @Nullable Boolean isMainnet,
+                              CompletionHandler<List<Currency>, QueryError> handler) {
+        String key = String.format("currencies:%s:%s", blockchainId, isMainnet);
+        executor.execute(() -> get(key,
+                currencies,
+                ModelCacheCoder::sameCurrencies,
+                (cached, revalidatedHandler) -> client.revalidateCurrencies(blockchainId, isMainnet, cached, revalidatedHandler),
+                () -> {
+                    Listener listener = this.listener;
+                    if (null != listener) listener.handleCurrenciesChanged(blockchainId, isMainnet);
+                },
+                handler));
+    }
+
+    private <T> void get(String key,
+                         Map<String, List<CachedPage<T>>> entries,
+                         ModelComparer<T> comparer,
+                         Revalidator<T> revalidator,
+                         Runnable changed,
+                         CompletionHandler<List<T>, QueryError> handler) {
+        List<CachedPage<T>> cached;
+        boolean revalidate;
+        synchronized (this) {
+            load();
+            cached = entries.get(key);
+            revalidate = (null == cached || beginRevalidation(key));
+        }
+
+        if (null == cached) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+            handler.handleData(CachedPage.modelsOf(cached));
+        }
+
+        if (!revalidate) return;
+
+        List<CachedPage<T>> prior = (null == cached ? Collections.emptyList() : cached);
+        revalidator.revalidate(prior, new CompletionHandler<List<CachedPage<T>>, QueryError>() {
+            @Override
+            public void handleData(List<CachedPage<T>> pages) {
+                boolean modified = update(key, entries, comparer, prior, pages);
+
+                if (null == cached) {
+                    handler.handleData(CachedPage.modelsOf(pages));
+                    return;
+                }
+
+                revalidationCount.incrementAndGet();
+                if (modified) changed.run();
+                else notModifiedCount.incrementAndGet();
+            }
+
+            @Override
+            public void handleError(QueryError error) {
+                synchronized (CachingSystemClient.this) {
+                    revalidating.remove(key);
+                }
+                if (null == cached) handler.handleError(error);
+                else Log.log(Level.FINE, String.format("Revalidate %s: failed: %s", key, error));
+            }
+        });
+    }
+
+    private synchronized boolean beginRevalidation(String key) {
+        Long lastValidated = validatedAt.get(key);
+        if (revalidating.contains(key) ||
+                (null != lastValidated && java.lang.System.currentTimeMillis() - lastValidated < revalidationIntervalMillis))
+            return false;
+
+        revalidating.add(key);
+        return true;
+    }
+
+    private <T> boolean update(String key,
+                               Map<String, List<CachedPage<T>>> entries,
+                               ModelComparer<T> comparer,
+                               List<CachedPage<T>> prior,
+                               List<CachedPage<T>> pages) {
+        // A page the server reports as unmodified is the identical prior page
+        boolean identical = prior.size() == pages.size();
+        for (int index = 0; identical && index < pages.size(); index++)
+            identical = prior.get(index) == pages.get(index);
+
+        boolean modified = !identical && !comparer.isSame(CachedPage.modelsOf(prior), CachedPage.modelsOf(pages));
+        boolean replaced = modified || (!identical && !sameValidators(prior, pages));
+
+        synchronized (this) {
+            revalidating.remove(key);
+            validatedAt.put(key, java.lang.System.currentTimeMillis());
+            if (replaced) entries.put(key, pages);
+        }
+
+        Log.log(Level.FINE, String.format("Revalidate %s: %d pages: %s", key, pages.size(),
+                (modified ? "modified" : (replaced ? "revalidated" : "not modified"))));
+
+        if (replaced) persist();
+        return modified;
+    }
+
+    private static <T> boolean sameValidators(List<CachedPage<T>> prior, List<CachedPage<T>> pages) {
+        if (prior.size() != pages.size()) return false;
+
+        for (int index = 0; index < pages.size(); index++) {
+            CachedPage<T> a = prior.get(index);
+            CachedPage<T> b = pages.get(index);
+            if (!a.getUrl().equals(b.getUrl()) ||
+                    !a.getNextUrl().equals(b.getNextUrl()) ||
+                    !Objects.equals(a.getValidators().getEntityTag(), b.getValidators().getEntityTag()) ||
+                    !Objects.equals(a.getValidators().getLastModified(), b.getValidators().getLastModified()))
+                return false;
+        }
+        return true;
+    }
+
+    // Persistence
+
+    private void load() {
+        if (loaded) return;
+        loaded = true;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+            ModelCacheCoder.read(in, blockchains, currencies);
+            Log.log(Level.FINE, String.format("Load: %d blockchain and %d currency results",
+                    blockchains.size(), currencies.size()));
+
+        } catch (FileNotFoundException e) {
+            // Nothing cached yet
+
+        } catch (IOException e) {
+            Log.log(Level.WARNING, "Load: discarding unreadable cache", e);
+            blockchains.clear();
+            currencies.clear();
+            if (!cacheFile.delete()) Log.log(Level.WARNING, "Load: failed to delete cache");
+        }
+    }
+
+    private void persist() {
+        synchronized (persistLock) {
+            Map<String, List<CachedPage<Blockchain>>> blockchainsSnapshot;
+            Map<String, List<CachedPage<Currency>>> currenciesSnapshot;
+            synchronized (this) {
+                blockchainsSnapshot = new LinkedHashMap<>(blockchains);
+                currenciesSnapshot = new LinkedHashMap<>(currencies);
+            }
+
+            // Write aside and then rename, so that a failed write leaves the prior cache intact
+            File tempFile = new File(cacheFile.getPath() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                ModelCacheCoder.write(out, blockchainsSnapshot, currenciesSnapshot);
+
+            } catch (IOException e) {
+                Log.log(Level.WARNING, "Persist: failed to write cache", e);
+                tempFile.delete();
+                return;
+            }
+
+            if (!tempFile.renameTo(cacheFile) && !(cacheFile.delete() && tempFile.renameTo(cacheFile))) {
+                Log.log(Level.WARNING, "Persist: failed to replace cache");
+                tempFile.delete();
+            }
+        }
+    }
+
+    // Uncached
+
+    @Override
+    public void cancelAll() {
+        client.cancelAll();
+    }
+
+    @Override
+    public void getBlockchain(String blockchainId,
+                              CompletionHandler<Blockchain, QueryError> handler) {
+        client.getBlockchain(blockchainId, handler);
+    }
+
+    @Override
+    public void getCurrency(String currencyId,
+                            CompletionHandler<Currency, QueryError> handler) {
+        client.getCurrency(currencyId, handler);
+    }
+
+    @Override
+    public void getTransfers(String blockchainId,
+                             List<String> addresses,
+                             @Nullable UnsignedLong beginBlockNumber,
+                             @Nullable UnsignedLong endBlockNumber,
+                             @Nullable Integer maxPageSize,
+                             CompletionHandler<List<Transfer>, QueryError> handler) {
+        client.getTransfers(blockchainId, addresses, beginBlockNumber, endBlockNumber, maxPageSize, handler);
+    }
+
+    @Override
+    public void getTransfers(String blockchainId,
+                             List<String> addresses,
+                             @Nullable UnsignedLong beginBlockNumber,
+                             @Nullable UnsignedLong endBlockNumber,
+                             @Nullable Integer maxPageSize,
+                             PagedCompletionHandler<List<Transfer>, QueryError> handler) {
+        client.getTransfers(blockchainId, addresses, beginBlockNumber, endBlockNumber, maxPageSize, handler);
+    }
+
+    @Override
+    public void getTransfer(String transferId,
+                            CompletionHandler<Transfer, QueryError> handler) {
+        client.getTransfer(transferId, handler);
+    }
+
+    @Override
+    public void getTransactions(String blockchainId,
+                                List<String> addresses,
+                                @Nullable UnsignedLong beginBlockNumber,
+                                @Nullable UnsignedLong endBlockNumber,
+                                boolean includeRaw,
+                                boolean includeProof,
+                                boolean includeTransfers,
+                                @Nullable Integer maxPageSize,
+                                CompletionHandler<List<Transaction>, QueryError> handler) {
+        client.getTransactions(blockchainId, addresses, beginBlockNumber, endBlockNumber,
+                includeRaw, includeProof, includeTransfers, maxPageSize, handler);
+    }
+
+    @Override
+    public void getTransactions(String blockchainId,
+                                List<String> addresses,
+                                @Nullable UnsignedLong beginBlockNumber,
+                                @Nullable UnsignedLong endBlockNumber,
+                                boolean includeRaw,
+                                boolean includeProof,
+                                boolean includeTransfers,
+                                @Nullable Integer maxPageSize,
+                                PagedCompletionHandler<List<Transaction>, QueryError> handler) {
+        client.getTransactions(blockchainId, addresses, beginBlockNumber, endBlockNumber,
+                includeRaw, includeProof, includeTransfers, maxPageSize, handler);
+    }
+
+    @Override
+    public void getTransaction(String transactionId,
+                               boolean includeRaw,
+                               boolean includeProof,
+                               boolean includeTransfers,
+                               CompletionHandler<Transaction, QueryError> handler) {
+        client.getTransaction(transactionId, includeRaw, includeProof, includeTransfers, handler);
+    }
+
+    @Override
+    public void createTransaction(String blockchainId,
+                                  byte[] data,
+                                  String identifier,
+                                  CompletionHandler<TransactionIdentifier, QueryError> handler) {
+        client.createTransaction(blockchainId, data, identifier, handler);
+    }
+
+    @Override
+    public void estimateTransactionFee(String blockchainId,
+                                       byte[] data,
+                                       CompletionHandler<TransactionFee, QueryError> handler) {
+        client.estimateTransactionFee(blockchainId, data, handler);
+    }
+
+    @Override
+    public void getBlocks(String blockchainId,
+                          UnsignedLong beginBlockNumber,
+                          UnsignedLong endBlockNumber,
+                          boolean includeRaw,
+                          boolean includeTxRaw,
+                          boolean includeTx,
+                          boolean includeTxProof,
+                          @Nullable Integer maxPageSize,
+                          CompletionHandler<List<Block>, QueryError> handler) {
+        client.getBlocks(blockchainId, beginBlockNumber, endBlockNumber,
+                includeRaw, includeTxRaw, includeTx, includeTxProof, maxPageSize, handler);
+    }
+
+    @Override
+    public void getBlock(String blockId,
+                         boolean includeRaw,
+                         boolean includeTx,
+                         boolean includeTxRaw,
+                         boolean includeTxProof,
+                         CompletionHandler<Block, QueryError> handler) {
+        client.getBlock(blockId, includeRaw, includeTx, includeTxRaw, includeTxProof, handler);
+    }
+
+    @Override
+    public void getSubscriptions(CompletionHandler<List<Subscription>, QueryError> handler) {
+        client.getSubscriptions(handler);
+    }
+
+    @Override
+    public void getSubscription(String subscriptionId,
+                                CompletionHandler<Subscription, QueryError> handler) {
+        client.getSubscription(subscriptionId, handler);
+    }
+
+    @Override
+    public void getOrCreateSubscription(Subscription subscription,
+                                        CompletionHandler<Subscription, QueryError> handler) {
+        client.getOrCreateSubscription(subscription, handler);
+    }
+
+    @Override
+    public void createSubscription(String deviceId,
+                                   SubscriptionEndpoint endpoint,
+                                   List<SubscriptionCurrency> currencies,
+                                   CompletionHandler<Subscription, QueryError> handler) {
+        client.createSubscription(deviceId, endpoint, currencies, handler);
+    }
+
+    @Override
+    public void updateSubscription(Subscription subscription,
+                                   CompletionHandler<Subscription, QueryError> handler) {
+        client.updateSubscription(subscription, handler);
+    }
+
+    @Override
+    public void deleteSubscription(String subscriptionId,
+                                   CompletionHandler<Void, QueryError> handler) {
+        client.deleteSubscription(subscriptionId, handler);
+    }
+
+    @Override
+    public void getHederaAccount(String blockchainId,
+                                 String publicKey,
+                                 CompletionHandler<List<HederaAccount>, QueryError> handler) {
+        client.getHederaAccount(blockchainId, publicKey, handler);
+    }
+
+    @Override
+    public void createHederaAccount(String blockchainId,
+                                    String publicKey,
+                                    CompletionHandler<List<HederaAccount>, QueryError> handler) {
+        client.createHederaAccount(blockchainId, publicKey, handler);
+    }
+}
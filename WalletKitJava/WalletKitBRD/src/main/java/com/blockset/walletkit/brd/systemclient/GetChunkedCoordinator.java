@@ -7,48 +7,122 @@
  */
 package com.blockset.walletkit.brd.systemclient;
 
+import android.support.annotation.Nullable;
+
 import com.blockset.walletkit.errors.QueryError;
 import com.blockset.walletkit.utility.CompletionHandler;
+import com.blockset.walletkit.utility.PagedCompletionHandler;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Queue;
+import java.util.Set;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 
+/**
+ * Coordinates the requests for a list of chunks.  At most `maxConcurrentChunks` chunks are
+ * requested at once; each page of a chunk's results is forwarded to the handler as it arrives.
+ */
 /* package */
 class GetChunkedCoordinator<ChunkType, ResultType> {
 
-    private final List<List<ChunkType>> chunks;
-    private final List<ResultType> transactions;
-    private final CompletionHandler<List<ResultType>, QueryError> handler;
+    /* package */
+    interface ChunkRequester<ChunkType> {
+        void request(List<ChunkType> chunk);
+    }
+
+    /**
+     * Adapt `handler` to receive all the pages, accumulated, in a single `handleData` call.
+     */
+    /* package */
+    static <ResultType> PagedCompletionHandler<List<ResultType>, QueryError> accumulating(CompletionHandler<List<ResultType>, QueryError> handler) {
+        List<ResultType> allResults = new ArrayList<>();
+        return new PagedCompletionHandler<List<ResultType>, QueryError>() {
+            @Override
+            public void handleData(List<ResultType> data) {
+                allResults.addAll(data);
+            }
+
+            @Override
+            public void handleComplete() {
+                handler.handleData(allResults);
+            }
+
+            @Override
+            public void handleError(QueryError error) {
+                handler.handleError(error);
+            }
+        };
+    }
 
+    private final Queue<List<ChunkType>> chunksPending;
+    private final Set<List<ChunkType>> chunksActive;
+    private final int maxConcurrentChunks;
+    private final PagedCompletionHandler<List<ResultType>, QueryError> handler;
+
+    private @Nullable ChunkRequester<ChunkType> requester;
+    private boolean completed;
     private QueryError error;
 
     /* package */
     GetChunkedCoordinator(List<List<ChunkType>> chunks,
-                          CompletionHandler<List<ResultType>, QueryError> handler) {
+                          int maxConcurrentChunks,
+                          PagedCompletionHandler<List<ResultType>, QueryError> handler) {
+        checkArgument(maxConcurrentChunks > 0);
 
-        this.chunks = new ArrayList<>(chunks);
-        this.transactions = new ArrayList<>();
+        this.chunksPending = new ArrayDeque<>(chunks);
+        this.chunksActive = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.maxConcurrentChunks = maxConcurrentChunks;
         this.handler = handler;
     }
 
+    /* package */
+    void start(ChunkRequester<ChunkType> requester) {
+        synchronized (this) {
+            checkState(null == this.requester);
+            this.requester = requester;
+        }
+
+        for (int i = 0; i < maxConcurrentChunks; i++) {
+            if (!requestNextChunk()) break;
+        }
+    }
+
     /* package */
     void handleChunkData(List<ChunkType> chunk, List<ResultType> data) {
+        synchronized (this) {
+            checkState(!isInSuccessState());
+
+            // Delivered while holding the lock so that pages never reach `handler` concurrently
+            if (!isInErrorState() && chunksActive.contains(chunk)) {
+                handler.handleData(data);
+            }
+        }
+    }
+
+    /* package */
+    void handleChunkComplete(List<ChunkType> chunk) {
         boolean transitionToSuccess = false;
 
         synchronized (this) {
             checkState(!isInSuccessState());
 
             if (!isInErrorState()) {
-                chunks.remove(chunk);
-                transactions.addAll(data);
-                transitionToSuccess = isInSuccessState();
+                chunksActive.remove(chunk);
+                transitionToSuccess = chunksActive.isEmpty() && chunksPending.isEmpty();
+                completed = transitionToSuccess;
             }
         }
 
         if (transitionToSuccess) {
             handleSuccess();
+        } else {
+            requestNextChunk();
         }
     }
 
@@ -61,6 +135,7 @@ class GetChunkedCoordinator<ChunkType, ResultType> {
 
             if (!isInErrorState()) {
                 this.error = error;
+                this.chunksPending.clear();
                 transitionToError = isInErrorState();
             }
         }
@@ -70,16 +145,32 @@ class GetChunkedCoordinator<ChunkType, ResultType> {
         }
     }
 
+    private boolean requestNextChunk() {
+        List<ChunkType> chunk;
+        ChunkRequester<ChunkType> requester;
+
+        synchronized (this) {
+            if (isInErrorState() || chunksPending.isEmpty()) return false;
+
+            chunk = chunksPending.remove();
+            chunksActive.add(chunk);
+            requester = this.requester;
+        }
+
+        requester.request(chunk);
+        return true;
+    }
+
     private boolean isInErrorState() {
         return error != null;
     }
 
     private boolean isInSuccessState() {
-        return chunks.isEmpty();
+        return completed;
     }
 
     private void handleSuccess() {
-        handler.handleData(transactions);
+        handler.handleComplete();
     }
 
     private void handleFailure() {
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd.systemclient;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A lock-free histogram of request latencies in power-of-two millisecond buckets.
+ *
+ * Bucket 0 counts latencies under 1 ms and bucket `i` those in [2^(i-1), 2^i) ms; the last bucket
+ * also counts anything longer.  Percentiles are reported as the upper bound of their bucket, so
+ * they are within a factor of two, erring high.
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = 18;  // The last bucket starts at ~65s
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+
+    /* package */
+    LatencyHistogram() {
+    }
+
+    /* package */
+    void record(long millis) {
+        int bucket = (millis <= 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(millis)));
+        counts.incrementAndGet(bucket);
+        count.incrementAndGet();
+    }
+
+    /** The number of latencies recorded */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * The latency, in milliseconds, below which `percentile` of the recorded latencies fall.
+     *
+     * @param percentile A fraction in (0, 1]
+     * @return The latency; 0 if none are recorded
+     */
+    public long getPercentileMillis(double percentile) {
+        checkArgument(percentile > 0 && percentile <= 1);
+
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            snapshot[bucket] = counts.get(bucket);
+            total += snapshot[bucket];
+        }
+        if (0 == total) return 0;
+
+        long target = (long) Math.ceil(percentile * total);
+        long cumulative = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            cumulative += snapshot[bucket];
+            if (cumulative >= target) return 1L << bucket;
+        }
+        return 1L << (BUCKETS - 1);
+    }
+}
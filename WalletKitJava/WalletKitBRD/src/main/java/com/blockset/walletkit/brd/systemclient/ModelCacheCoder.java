@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd.systemclient;
+
+import android.support.annotation.Nullable;
+
+import com.blockset.walletkit.SystemClient.Blockchain;
+import com.blockset.walletkit.SystemClient.BlockchainFee;
+import com.blockset.walletkit.SystemClient.Currency;
+import com.blockset.walletkit.SystemClient.CurrencyDenomination;
+import com.google.common.primitives.UnsignedInteger;
+import com.google.common.primitives.UnsignedLong;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes the cached blockchain and currency pages in a compact, versioned binary format.
+ *
+ * The layout is a magic number and version followed by the blockchain entries and then the
+ * currency entries.  Each entry is a key and its pages; each page is its URL, validators, next
+ * URL and models.  Models are written field by field, without names; a format change requires
+ * a new version, on which an older cache is simply discarded.
+ */
+/* package */
+final class ModelCacheCoder {
+
+    private static final int MAGIC = 0x424d4343;  // "BMCC"
+    private static final int VERSION = 1;
+
+    /* package */
+    static void write(DataOutput out,
+                      Map<String, List<CachedPage<Blockchain>>> blockchains,
+                      Map<String, List<CachedPage<Currency>>> currencies) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+
+        out.writeInt(blockchains.size());
+        for (Map.Entry<String, List<CachedPage<Blockchain>>> entry : blockchains.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for (CachedPage<Blockchain> page : entry.getValue()) {
+                writePageHeader(out, page);
+                out.writeInt(page.getModels().size());
+                for (Blockchain blockchain : page.getModels()) writeBlockchain(out, blockchain);
+            }
+        }
+
+        out.writeInt(currencies.size());
+        for (Map.Entry<String, List<CachedPage<Currency>>> entry : currencies.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for (CachedPage<Currency> page : entry.getValue()) {
+                writePageHeader(out, page);
+                out.writeInt(page.getModels().size());
+                for (Currency currency : page.getModels()) writeCurrency(out, currency);
+            }
+        }
+    }
+
+    /**
+     * Read the entries written by `write()` into `blockchains` and `currencies`.
+     *
+     * @throws IOException if the input is truncated, corrupt or of another version
+     */
+    /* package */
+    static void read(DataInput in,
+                     Map<String, List<CachedPage<Blockchain>>> blockchains,
+                     Map<String, List<CachedPage<Currency>>> currencies) throws IOException {
+        if (MAGIC != in.readInt()) throw new IOException("Not a model cache");
+
+        int version = in.readInt();
+        if (VERSION != version) throw new IOException("Unsupported model cache version " + version);
+
+        int blockchainEntries = readCount(in);
+        for (int i = 0; i < blockchainEntries; i++) {
+            String key = in.readUTF();
+            int pageCount = readCount(in);
+            List<CachedPage<Blockchain>> pages = new ArrayList<>();
+            for (int p = 0; p < pageCount; p++) {
+                String url = in.readUTF();
+                BdbApiClient.Validators validators = new BdbApiClient.Validators(readNullableUTF(in), readNullableUTF(in));
+                String nextUrl = readNullableUTF(in);
+
+                int modelCount = readCount(in);
+                List<Blockchain> models = new ArrayList<>();
+                for (int m = 0; m < modelCount; m++) models.add(readBlockchain(in));
+                pages.add(new CachedPage<>(url, validators, nextUrl, models));
+            }
+            blockchains.put(key, pages);
+        }
+
+        int currencyEntries = readCount(in);
+        for (int i = 0; i < currencyEntries; i++) {
+            String key = in.readUTF();
+            int pageCount = readCount(in);
+            List<CachedPage<Currency>> pages = new ArrayList<>();
+            for (int p = 0; p < pageCount; p++) {
+                String url = in.readUTF();
+                BdbApiClient.Validators validators = new BdbApiClient.Validators(readNullableUTF(in), readNullableUTF(in));
+                String nextUrl = readNullableUTF(in);
+
+                int modelCount = readCount(in);
+                List<Currency> models = new ArrayList<>();
+                for (int m = 0; m < modelCount; m++) models.add(readCurrency(in));
+                pages.add(new CachedPage<>(url, validators, nextUrl, models));
+            }
+            currencies.put(key, pages);
+        }
+    }
+
+    /**
+     * Whether `a` and `b` are the same blockchains, field by field as cached.
+     */
+    /* package */
+    static boolean sameBlockchains(List<Blockchain> a, List<Blockchain> b) {
+        return sameModels(a, b, ModelCacheCoder::writeBlockchain);
+    }
+
+    /**
+     * Whether `a` and `b` are the same currencies, field by field as cached.
+     */
+    /* package */
+    static boolean sameCurrencies(List<Currency> a, List<Currency> b) {
+        return sameModels(a, b, ModelCacheCoder::writeCurrency);
+    }
+
+    private interface ModelWriter<T> {
+        void write(DataOutput out, T model) throws IOException;
+    }
+
+    private static <T> boolean sameModels(List<T> a, List<T> b, ModelWriter<T> writer) {
+        if (a.size() != b.size()) return false;
+
+        byte[] aBytes = encodeModels(a, writer);
+        byte[] bBytes = encodeModels(b, writer);
+        return null != aBytes && Arrays.equals(aBytes, bBytes);
+    }
+
+    @Nullable
+    private static <T> byte[] encodeModels(List<T> models, ModelWriter<T> writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (T model : models) writer.write(out, model);
+        } catch (IOException e) {
+            // Only for an unencodable model, which is then never the same
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writePageHeader(DataOutput out, CachedPage<?> page) throws IOException {
+        out.writeUTF(page.getUrl());
+        writeNullableUTF(out, page.getValidators().getEntityTag());
+        writeNullableUTF(out, page.getValidators().getLastModified());
+        writeNullableUTF(out, page.getNextUrl().orNull());
+    }
+
+    // Blockchain
+
+    private static void writeBlockchain(DataOutput out, Blockchain blockchain) throws IOException {
+        out.writeUTF(blockchain.getId());
+        out.writeUTF(blockchain.getName());
+        out.writeUTF(blockchain.getNetwork());
+        out.writeBoolean(blockchain.isMainnet());
+        out.writeUTF(blockchain.getCurrency());
+        out.writeLong(blockchain.getBlockHeight().or(Blockchain.BLOCK_HEIGHT_UNSPECIFIED).longValue());
+        out.writeInt(blockchain.getConfirmationsUntilFinal().intValue());
+        writeNullableUTF(out, blockchain.getVerifiedBlockHash().orNull());
+
+        List<BlockchainFee> fees = blockchain.getFeeEstimates();
+        out.writeInt(fees.size());
+        for (BlockchainFee fee : fees) {
+            out.writeUTF(fee.getAmount());
+            out.writeUTF(fee.getTier());
+            out.writeLong(fee.getConfirmationTimeInMilliseconds().longValue());
+        }
+    }
+
+    private static Blockchain readBlockchain(DataInput in) throws IOException {
+        String id = in.readUTF();
+        String name = in.readUTF();
+        String network = in.readUTF();
+        boolean isMainnet = in.readBoolean();
+        String currencyId = in.readUTF();
+        UnsignedLong blockHeight = UnsignedLong.fromLongBits(in.readLong());
+        UnsignedInteger confirmationsUntilFinal = UnsignedInteger.fromIntBits(in.readInt());
+        String verifiedBlockHash = readNullableUTF(in);
+
+        int feeCount = readCount(in);
+        List<BlocksetBlockchainFee> fees = new ArrayList<>();
+        for (int i = 0; i < feeCount; i++) {
+            String amount = in.readUTF();
+            String tier = in.readUTF();
+            fees.add(BlocksetBlockchainFee.create(amount, tier, UnsignedLong.fromLongBits(in.readLong())));
+        }
+
+        return BlocksetBlockchain.create(id, name, network, isMainnet, currencyId, blockHeight,
+                fees, confirmationsUntilFinal, verifiedBlockHash);
+    }
+
+    // Currency
+
+    private static void writeCurrency(DataOutput out, Currency currency) throws IOException {
+        out.writeUTF(currency.getId());
+        out.writeUTF(currency.getName());
+        out.writeUTF(currency.getCode());
+        out.writeUTF(currency.getType());
+        out.writeUTF(currency.getBlockchainId());
+        writeNullableUTF(out, currency.getAddress().orNull());
+        out.writeBoolean(currency.getVerified());
+
+        List<CurrencyDenomination> denominations = currency.getDenominations();
+        out.writeInt(denominations.size());
+        for (CurrencyDenomination denomination : denominations) {
+            out.writeUTF(denomination.getName());
+            out.writeUTF(denomination.getCode());
+            out.writeInt(denomination.getDecimals().intValue());
+            out.writeUTF(denomination.getSymbol());
+        }
+    }
+
+    private static Currency readCurrency(DataInput in) throws IOException {
+        String id = in.readUTF();
+        String name = in.readUTF();
+        String code = in.readUTF();
+        String type = in.readUTF();
+        String blockchainId = in.readUTF();
+        String address = readNullableUTF(in);
+        boolean verified = in.readBoolean();
+
+        int denominationCount = readCount(in);
+        List<BlocksetCurrencyDenomination> denominations = new ArrayList<>();
+        for (int i = 0; i < denominationCount; i++) {
+            String denominationName = in.readUTF();
+            String denominationCode = in.readUTF();
+            UnsignedInteger decimals = UnsignedInteger.fromIntBits(in.readInt());
+            denominations.add(BlocksetCurrencyDenomination.create(denominationName, denominationCode, decimals, in.readUTF()));
+        }
+
+        return BlocksetCurrency.create(id, name, code, type, blockchainId, address, verified, denominations);
+    }
+
+    // Primitives
+
+    private static void writeNullableUTF(DataOutput out, @Nullable String value) throws IOException {
+        out.writeBoolean(null != value);
+        if (null != value) out.writeUTF(value);
+    }
+
+    @Nullable
+    private static String readNullableUTF(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static int readCount(DataInput in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) throw new IOException("Invalid count " + count);
+        return count;
+    }
+
+    private ModelCacheCoder() {
+    }
+}
@@ -7,14 +7,19 @@
  */
 package com.blockset.walletkit.brd.systemclient;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.fasterxml.jackson.datatype.guava.GuavaModule;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public final class ObjectCoder {
@@ -61,6 +66,67 @@ public final class ObjectCoder {
         }
     }
 
+    public <X> X deserializeJson(Class<? extends X> clazz, InputStream json) throws ObjectCoderException, IOException {
+        try {
+            return mapper.readValue(json, clazz);
+        } catch (JsonProcessingException e) {
+            throw new ObjectCoderException(e);
+        }
+    }
+
+    /**
+     * Stream a Blockset `{ "_embedded": { <path>: [...] }, "_links": {...} }` response, binding
+     * the elements of `_embedded.<path>` directly into `clazz` and picking up the `_links` along
+     * the way.  No intermediate String or Map tree of the response is created.
+     *
+     * @return the data and links; the data is empty if `_embedded.<path>` does not exist
+     */
+    public <X> PagedData<X> deserializeEmbeddedJson(Class<? extends X> clazz, String path, InputStream json) throws ObjectCoderException, IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(json)) {
+            List<X> data = null;
+            BdbEmbeddedResponse.Links links = null;
+
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new ObjectCoderException(new IllegalStateException("Expected a JSON object"));
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+
+                if ("_embedded".equals(field) && token == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String embeddedField = parser.getCurrentName();
+                        JsonToken embeddedToken = parser.nextToken();
+
+                        if (path.equals(embeddedField) && embeddedToken == JsonToken.START_ARRAY) {
+                            data = new ArrayList<>();
+                            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                                data.add(mapper.readValue(parser, clazz));
+                            }
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+
+                } else if ("_links".equals(field) && token == JsonToken.START_OBJECT) {
+                    links = mapper.readValue(parser, BdbEmbeddedResponse.Links.class);
+
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            return new PagedData<>(
+                    data == null ? Collections.emptyList() : data,
+                    (links == null || links.prev == null) ? null : links.prev.href,
+                    (links == null || links.next == null) ? null : links.next.href);
+
+        } catch (JsonProcessingException e) {
+            throw new ObjectCoderException(e);
+        }
+    }
+
     public <X> List<X> deserializeObjectList(Class<? extends X> clazz, Object object) throws ObjectCoderException {
         TypeFactory typeFactory = mapper.getTypeFactory();
         JavaType type = typeFactory.constructCollectionLikeType(ArrayList.class, clazz);
@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd.systemclient;
+
+import android.support.annotation.Nullable;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableSet;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A `DataTask` that retries and, optionally, hedges GET requests.
+ *
+ * A GET that fails to connect, or is answered with 429 (Too Many Requests), 502, 503 or 504, is
+ * retried up to the maximum attempts.  The delay before a retry is the response's "Retry-After",
+ * if any, or else a random ("full jitter") delay up to an exponentially growing ceiling.  A
+ * "Retry-After" beyond the maximum is not waited for; the response is handled as is.  Once the
+ * attempts are exhausted the last response, or failure, is handled.
+ *
+ * With hedging, a GET still outstanding after its endpoint's latency percentile is sent again;
+ * the first response wins and the other call is cancelled.  Latencies are kept per endpoint,
+ * being the first segment of the URL path (e.g. "transactions").
+ *
+ * Other methods are sent once, as by the default `DataTask`.  A cancelled call is not retried.
+ */
+public class ResilientDataTask implements DataTask {
+
+    private static final Logger Log = Logger.getLogger(ResilientDataTask.class.getName());
+
+    private static final Set<Integer> RETRYABLE_CODES = ImmutableSet.of(429, 502, 503, 504);
+
+    // Shared by the tasks built without a scheduler; a daemon, so as never to keep the JVM alive
+    private static final ScheduledExecutorService DEFAULT_SCHEDULER = Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+                Thread thread = new Thread(runnable);
+                thread.setDaemon(true);
+                thread.setName(ResilientDataTask.class.getName());
+                return thread;
+            });
+
+    public static final class Builder {
+        private int maxAttempts = 3;
+        private long baseDelayMillis = 250;
+        private long maxDelayMillis = TimeUnit.SECONDS.toMillis(8);
+        private long maxRetryAfterMillis = TimeUnit.SECONDS.toMillis(60);
+        private double hedgePercentile = 0;
+        private long hedgeMinSamples = 20;
+        private @Nullable ScheduledExecutorService scheduler;
+
+        /** The maximum sends of a request, including the first */
+        public Builder maxAttempts(int maxAttempts) {
+            checkArgument(maxAttempts > 0);
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /** The backoff ceiling: `base` doubled per retry, up to `max` */
+        public Builder backoff(long base, long max, TimeUnit unit) {
+            checkArgument(base > 0 && max >= base);
+            this.baseDelayMillis = unit.toMillis(base);
+            this.maxDelayMillis = unit.toMillis(max);
+            return this;
+        }
+
+        /** The longest "Retry-After" to wait for */
+        public Builder maxRetryAfter(long maxRetryAfter, TimeUnit unit) {
+            checkArgument(maxRetryAfter >= 0);
+            this.maxRetryAfterMillis = unit.toMillis(maxRetryAfter);
+            return this;
+        }
+
+        /**
+         * Hedge a GET outstanding beyond `percentile` of its endpoint's latencies, once at
+         * least `minSamples` latencies are recorded.
+         */
+        public Builder hedging(double percentile, long minSamples) {
+            checkArgument(percentile > 0 && percentile < 1 && minSamples > 0);
+            this.hedgePercentile = percentile;
+            this.hedgeMinSamples = minSamples;
+            return this;
+        }
+
+        /**
+         * The scheduler for retries and hedges, such as the System's executor; by default, a single
+         * daemon thread shared by all tasks
+         */
+        public Builder scheduler(ScheduledExecutorService scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        public ResilientDataTask build() {
+            return new ResilientDataTask(this);
+        }
+    }
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final long maxRetryAfterMillis;
+    private final double hedgePercentile;
+    private final long hedgeMinSamples;
+    private final ScheduledExecutorService scheduler;
+
+    private final ConcurrentMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final AtomicLong retryCount = new AtomicLong();
+    private final AtomicLong hedgeCount = new AtomicLong();
+
+    private ResilientDataTask(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.baseDelayMillis = builder.baseDelayMillis;
+        this.maxDelayMillis = builder.maxDelayMillis;
+        this.maxRetryAfterMillis = builder.maxRetryAfterMillis;
+        this.hedgePercentile = builder.hedgePercentile;
+        this.hedgeMinSamples = builder.hedgeMinSamples;
+        this.scheduler = (null == builder.scheduler ? DEFAULT_SCHEDULER : builder.scheduler);
+    }
+
+    @Override
+    public void execute(OkHttpClient client, Request request, Callback callback) {
+        if (!"GET".equals(request.method())) {
+            client.newCall(request).enqueue(callback);
+            return;
+        }
+        new Exchange(client, request, callback).send(false);
+    }
+
+    /** The latencies of the GET responses from `endpoint`, if any */
+    public Optional<LatencyHistogram> getLatencyHistogram(String endpoint) {
+        return Optional.fromNullable(histograms.get(endpoint));
+    }
+
+    /** The number of retries sent */
+    public long getRetryCount() {
+        return retryCount.get();
+    }
+
+    /** The number of hedges sent */
+    public long getHedgeCount() {
+        return hedgeCount.get();
+    }
+
+    /* package */
+    LatencyHistogram histogramFor(String endpoint) {
+        LatencyHistogram histogram = histograms.get(endpoint);
+        if (null == histogram) {
+            histogram = new LatencyHistogram();
+            LatencyHistogram existing = histograms.putIfAbsent(endpoint, histogram);
+            if (null != existing) histogram = existing;
+        }
+        return histogram;
+    }
+
+    /**
+     * The delay, in milliseconds, before retrying after `attempt` sends, or -1 to not retry.
+     */
+    /* package */
+    long retryDelayMillis(int attempt, @Nullable Response response) {
+        if (null != response) {
+            String retryAfter = response.header("Retry-After");
+            if (null != retryAfter) {
+                long retryAfterMillis = parseRetryAfterMillis(retryAfter);
+                if (retryAfterMillis >= 0) return (retryAfterMillis <= maxRetryAfterMillis ? retryAfterMillis : -1);
+            }
+        }
+
+        long ceiling = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 30));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * Parse a "Retry-After" value, either delay-seconds or an HTTP-date; -1 if unparseable.
+     */
+    /* package */
+    static long parseRetryAfterMillis(String value) {
+        value = value.trim();
+        try {
+            long seconds = Long.parseLong(value);
+            return seconds < 0 ? -1 : TimeUnit.SECONDS.toMillis(seconds);
+        } catch (NumberFormatException e) {
+            // Not delay-seconds; try an HTTP-date
+        }
+
+        SimpleDateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+        try {
+            return Math.max(0, format.parse(value).getTime() - java.lang.System.currentTimeMillis());
+        } catch (ParseException e) {
+            return -1;
+        }
+    }
+
+    private static String endpointOf(Request request) {
+        List<String> segments = request.url().pathSegments();
+        return segments.isEmpty() ? "" : segments.get(0);
+    }
+
+    private static void closeQuietly(@Nullable Response response) {
+        if (null == response) return;
+        ResponseBody body = response.body();
+        if (null != body) body.close();
+    }
+
+    /**
+     * The sends of one request, until one is handled by the callback.
+     */
+    private final class Exchange {
+        private final OkHttpClient client;
+        private final Request request;
+        private final Callback callback;
+        private final LatencyHistogram histogram;
+
+        // Guarded by `this`
+        private int attempts;
+        private int inFlight;
+        private boolean hedged;
+        private boolean done;
+        private final List<Call> calls = new ArrayList<>();
+
+        private Exchange(OkHttpClient client, Request request, Callback callback) {
+            this.client = client;
+            this.request = request;
+            this.callback = callback;
+            this.histogram = histogramFor(endpointOf(request));
+        }
+
+        private void send(boolean isHedge) {
+            Call call;
+            synchronized (this) {
+                if (done) return;
+                if (isHedge) {
+                    if (hedged || 0 == inFlight) return;
+                    hedged = true;
+                } else {
+                    attempts += 1;
+                }
+                inFlight += 1;
+                call = client.newCall(request);
+                calls.add(call);
+            }
+
+            long start = java.lang.System.nanoTime();
+            call.enqueue(new Callback() {
+                @Override
+                public void onResponse(Call call, Response response) {
+                    histogram.record(TimeUnit.NANOSECONDS.toMillis(java.lang.System.nanoTime() - start));
+                    handle(call, response, null);
+                }
+
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    handle(call, null, e);
+                }
+            });
+
+            if (isHedge) {
+                hedgeCount.incrementAndGet();
+                Log.log(Level.FINE, String.format("Hedge: %s", request.url()));
+            } else if (hedgePercentile > 0 && histogram.getCount() >= hedgeMinSamples) {
+                scheduler.schedule(() -> send(true), histogram.getPercentileMillis(hedgePercentile), TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void handle(Call call, @Nullable Response response, @Nullable IOException failure) {
+            long delay;
+            List<Call> others;
+            synchronized (this) {
+                inFlight -= 1;
+                if (done) {
+                    closeQuietly(response);
+                    return;
+                }
+
+                boolean retryable = !call.isCanceled() &&
+                        (null == response || RETRYABLE_CODES.contains(response.code()));
+
+                // Another call, a hedge, is outstanding and may yet succeed
+                if (retryable && inFlight > 0) {
+                    closeQuietly(response);
+                    return;
+                }
+
+                delay = (retryable && attempts < maxAttempts ? retryDelayMillis(attempts, response) : -1);
+                done = (delay < 0);
+                others = (done ? new ArrayList<>(calls) : null);
+            }
+
+            if (null == others) {
+                Log.log(Level.FINE, String.format("Retry: %s: after %s: in %d ms", request.url(),
+                        (null == response ? failure : response.code()), delay));
+                closeQuietly(response);
+                retryCount.incrementAndGet();
+                scheduler.schedule(() -> send(false), delay, TimeUnit.MILLISECONDS);
+                return;
+            }
+
+            for (Call other : others) {
+                if (other != call) other.cancel();
+            }
+
+            if (null == response) {
+                callback.onFailure(call, failure);
+                return;
+            }
+
+            try {
+                callback.onResponse(call, response);
+            } catch (IOException e) {
+                Log.log(Level.SEVERE, "response handling failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd.systemclient;
+
+import com.blockset.walletkit.errors.QueryError;
+import com.blockset.walletkit.utility.CompletionHandler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collapses identical concurrent requests into one.
+ *
+ * A request is identified by a key, derived from its URL and parameters.  While a request is in
+ * flight, another with the same key waits on it rather than being sent; when it completes, every
+ * waiting handler is given the same data or error.  Optionally, successful data is retained for
+ * a time-to-live and handled immediately to later requests with the same key.  Errors are never
+ * retained.
+ *
+ * Handlers share the data; it must be treated as immutable.
+ */
+/* package */
+final class SingleFlight {
+
+    /* package */
+    interface Request<T> {
+        void send(CompletionHandler<T, QueryError> handler);
+    }
+
+    private static final class Retained {
+        final Object data;
+        final long expiresAt;
+
+        Retained(Object data, long expiresAt) {
+            this.data = data;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final long ttlNanos;
+
+    // Guarded by `this`
+    private final Map<String, List<CompletionHandler<Object, QueryError>>> inFlight = new HashMap<>();
+    private final Map<String, Retained> retained = new HashMap<>();
+
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong joinedCount = new AtomicLong();
+    private final AtomicLong retainedCount = new AtomicLong();
+
+    /**
+     * @param ttl How long to retain successful data; zero to not retain
+     */
+    /* package */
+    SingleFlight(long ttl, TimeUnit unit) {
+        this.ttlNanos = unit.toNanos(ttl);
+    }
+
+    /**
+     * Send `request`, identified by `key`, unless an identical one is in flight or retained.
+     */
+    /* package */
+    @SuppressWarnings("unchecked")
+    <T> void execute(String key, CompletionHandler<T, QueryError> handler, Request<T> request) {
+        Retained entry = null;
+        synchronized (this) {
+            if (ttlNanos > 0) {
+                entry = retained.get(key);
+                if (null != entry && entry.expiresAt - java.lang.System.nanoTime() <= 0) {
+                    retained.remove(key);
+                    entry = null;
+                }
+            }
+
+            if (null == entry) {
+                List<CompletionHandler<Object, QueryError>> waiters = inFlight.get(key);
+                if (null != waiters) {
+                    joinedCount.incrementAndGet();
+                    waiters.add((CompletionHandler<Object, QueryError>) handler);
+                    return;
+                }
+
+                waiters = new ArrayList<>();
+                waiters.add((CompletionHandler<Object, QueryError>) handler);
+                inFlight.put(key, waiters);
+            }
+        }
+
+        if (null != entry) {
+            retainedCount.incrementAndGet();
+            handler.handleData((T) entry.data);
+            return;
+        }
+
+        sentCount.incrementAndGet();
+        try {
+            send(key, request);
+        } catch (RuntimeException e) {
+            complete(key, null);
+            throw e;
+        }
+    }
+
+    private <T> void send(String key, Request<T> request) {
+        request.send(new CompletionHandler<T, QueryError>() {
+            @Override
+            public void handleData(T data) {
+                for (CompletionHandler<Object, QueryError> waiter : complete(key, data))
+                    waiter.handleData(data);
+            }
+
+            @Override
+            public void handleError(QueryError error) {
+                for (CompletionHandler<Object, QueryError> waiter : complete(key, null))
+                    waiter.handleError(error);
+            }
+        });
+    }
+
+    private synchronized List<CompletionHandler<Object, QueryError>> complete(String key, Object data) {
+        if (null != data && ttlNanos > 0) {
+            long now = java.lang.System.nanoTime();
+            retained.put(key, new Retained(data, now + ttlNanos));
+
+            // Drop anything expired, so that retained data does not accumulate
+            Iterator<Retained> iterator = retained.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().expiresAt - now <= 0) iterator.remove();
+            }
+        }
+        List<CompletionHandler<Object, QueryError>> waiters = inFlight.remove(key);
+        return (null == waiters ? Collections.emptyList() : waiters);
+    }
+
+    /** The number of requests sent */
+    /* package */
+    long getSentCount() {
+        return sentCount.get();
+    }
+
+    /** The number of requests that waited on an identical one in flight */
+    /* package */
+    long getJoinedCount() {
+        return joinedCount.get();
+    }
+
+    /** The number of requests handled from retained data */
+    /* package */
+    long getRetainedCount() {
+        return retainedCount.get();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compare two JMH JSON result files (`-rf json`) and exit non-zero if any benchmark present in
+ * both regressed by more than a threshold percentage.
+ *
+ * Usage: BenchmarkComparison <baseline.json> <results.json> [<threshold percent>]
+ */
+public final class BenchmarkComparison {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            java.lang.System.err.println("Usage: BenchmarkComparison <baseline.json> <results.json> [<threshold percent>]");
+            java.lang.System.exit(2);
+        }
+
+        File baselineFile = new File(args[0]);
+        File resultsFile  = new File(args[1]);
+        double threshold  = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        if (!baselineFile.exists()) {
+            java.lang.System.err.println("No baseline at " + baselineFile + "; run the 'jmh' and 'jmhBaseline' tasks to record one");
+            java.lang.System.exit(2);
+        }
+
+        Map<String, Score> baseline = load(baselineFile);
+        Map<String, Score> results  = load(resultsFile);
+
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : new TreeMap<>(results).entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            Score after  = entry.getValue();
+            if (null == before) {
+                java.lang.System.out.println(String.format("NEW        %s: %.3f %s", entry.getKey(), after.value, after.unit));
+                continue;
+            }
+
+            // A positive change is always a slowdown
+            double change = 100.0 * (after.value - before.value) / before.value * (after.higherIsBetter ? -1 : 1);
+            boolean regressed = change > threshold;
+            if (regressed) regressions += 1;
+
+            java.lang.System.out.println(String.format("%-10s %s: %.3f -> %.3f %s (%+.1f%%)",
+                    regressed ? "REGRESSED" : "OK",
+                    entry.getKey(), before.value, after.value, after.unit, change));
+        }
+
+        if (regressions > 0) {
+            java.lang.System.err.println(String.format("%d benchmark(s) regressed by more than %.1f%%", regressions, threshold));
+            java.lang.System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> load(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            JsonNode params = run.path("params");
+            for (Iterator<Map.Entry<String, JsonNode>> it = params.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> param = it.next();
+                key.append(key.indexOf("[") < 0 ? "[" : ",").append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            if (params.size() > 0) key.append(']');
+
+            JsonNode metric = run.path("primaryMetric");
+            String mode = run.path("mode").asText();
+            scores.put(key.toString(), new Score(
+                    metric.path("score").asDouble(),
+                    metric.path("scoreUnit").asText(),
+                    "thrpt".equals(mode)));
+        }
+        return scores;
+    }
+
+    private static final class Score {
+        final double value;
+        final String unit;
+        final boolean higherIsBetter;
+
+        Score(double value, String unit, boolean higherIsBetter) {
+            this.value = value;
+            this.unit = unit;
+            this.higherIsBetter = higherIsBetter;
+        }
+    }
+
+    private BenchmarkComparison() {}
+}
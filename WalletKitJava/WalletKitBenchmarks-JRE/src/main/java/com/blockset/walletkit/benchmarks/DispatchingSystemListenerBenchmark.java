@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.benchmarks;
+
+import com.blockset.walletkit.DispatchingSystemListener;
+import com.blockset.walletkit.Network;
+import com.blockset.walletkit.System;
+import com.blockset.walletkit.Transfer;
+import com.blockset.walletkit.Wallet;
+import com.blockset.walletkit.WalletManager;
+import com.blockset.walletkit.events.network.NetworkEvent;
+import com.blockset.walletkit.events.system.SystemEvent;
+import com.blockset.walletkit.events.system.SystemListener;
+import com.blockset.walletkit.events.transfer.TranferEvent;
+import com.blockset.walletkit.events.transfer.TransferChangedEvent;
+import com.blockset.walletkit.events.wallet.WalletEvent;
+import com.blockset.walletkit.events.walletmanager.WalletManagerEvent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fan-out of a single transfer event to `listenerCount` registered listeners.  Models, wallets
+ * and transfers are not touched by the listeners, so `null` stands in for them.
+ *
+ * The scoped variant registers one listener per wallet, across `listenerCount` wallets, and
+ * dispatches an event for one of them; plain objects stand in for the wallets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DispatchingSystemListenerBenchmark {
+
+    @Param({"1", "16", "256"})
+    public int listenerCount;
+
+    private DispatchingSystemListener dispatcher;
+    private DispatchingSystemListener scopedDispatcher;
+    private Wallet scopedWallet;
+    private TranferEvent event;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        dispatcher = new DispatchingSystemListener();
+        for (int i = 0; i < listenerCount; i++) {
+            dispatcher.addSystemListener(new ConsumingListener(blackhole));
+        }
+        event = new TransferChangedEvent(null, null);
+
+        scopedDispatcher = new DispatchingSystemListener();
+        for (int i = 0; i < listenerCount; i++) {
+            scopedWallet = stubWallet();
+            scopedDispatcher.addWalletListener(scopedWallet, new ConsumingListener(blackhole));
+        }
+    }
+
+    @Benchmark
+    public void dispatchTransferEvent() {
+        dispatcher.handleTransferEvent(null, null, null, null, event);
+    }
+
+    @Benchmark
+    public void dispatchScopedTransferEvent() {
+        scopedDispatcher.handleTransferEvent(null, null, scopedWallet, null, event);
+    }
+
+    private static Wallet stubWallet() {
+        return (Wallet) Proxy.newProxyInstance(Wallet.class.getClassLoader(), new Class<?>[]{Wallet.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":   return proxy == args[0];
+                case "hashCode": return java.lang.System.identityHashCode(proxy);
+                default:         throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    private static final class ConsumingListener implements SystemListener {
+
+        private final Blackhole blackhole;
+
+        ConsumingListener(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void handleSystemEvent(System system, SystemEvent event) {
+            blackhole.consume(event);
+        }
+
+        @Override
+        public void handleNetworkEvent(System system, Network network, NetworkEvent event) {
+            blackhole.consume(event);
+        }
+
+        @Override
+        public void handleManagerEvent(System system, WalletManager manager, WalletManagerEvent event) {
+            blackhole.consume(event);
+        }
+
+        @Override
+        public void handleWalletEvent(System system, WalletManager manager, Wallet wallet, WalletEvent event) {
+            blackhole.consume(event);
+        }
+
+        @Override
+        public void handleTransferEvent(System system, WalletManager manager, Wallet wallet, Transfer transfer, TranferEvent event) {
+            blackhole.consume(event);
+        }
+    }
+}
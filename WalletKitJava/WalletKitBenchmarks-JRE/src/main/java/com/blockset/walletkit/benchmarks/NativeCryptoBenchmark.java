@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.benchmarks;
+
+import com.blockset.walletkit.nativex.WKCoder;
+import com.blockset.walletkit.nativex.WKHasher;
+import com.blockset.walletkit.nativex.WKKey;
+import com.blockset.walletkit.nativex.WKSigner;
+import com.google.common.base.Optional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single Hasher/Coder/Signer calls through the direct-mapped native library; the cost is
+ * dominated by the JNA transition and array marshalling for small inputs.  The direct variants
+ * use off-heap buffers; the batch variants process `BATCH` inputs per native call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NativeCryptoBenchmark {
+
+    private static final int BATCH = 64;
+
+    @Param({"32", "1024"})
+    public int size;
+
+    private WKHasher sha256;
+    private WKCoder hex;
+    private WKCoder base58;
+    private WKSigner compact;
+    private WKKey key;
+
+    private byte[] data;
+    private byte[] digest;
+    private String hexData;
+
+    private ByteBuffer directData;
+    private ByteBuffer directHash;
+
+    private ByteBuffer batchData;
+    private int[] batchOffsets;
+    private ByteBuffer batchHashes;
+    private ByteBuffer batchDigests;
+    private ByteBuffer batchSignatures;
+    private int[] batchSignatureLengths;
+
+    @Setup
+    public void setup() {
+        sha256  = WKHasher.createSha256().get();
+        hex     = WKCoder.createHex().get();
+        base58  = WKCoder.createBase58().get();
+        compact = WKSigner.createCompact().get();
+
+        byte[] secret = new byte[32];
+        secret[31] = 1;
+        key = WKKey.cryptoKeyCreateFromSecret(secret).get();
+
+        data = new byte[size];
+        new Random(42).nextBytes(data);
+        digest  = sha256.hash(data).get();
+        hexData = hex.encode(data).get();
+
+        directData = ByteBuffer.allocateDirect(size);
+        directData.put(data).flip();
+        directHash = ByteBuffer.allocateDirect(sha256.length());
+
+        batchData    = ByteBuffer.allocateDirect(BATCH * size);
+        batchOffsets = new int[BATCH + 1];
+        batchDigests = ByteBuffer.allocateDirect(BATCH * 32);
+        for (int i = 0; i < BATCH; i++) {
+            batchData.put(data);
+            batchOffsets[i + 1] = batchData.position();
+            batchDigests.put(digest);
+        }
+        batchData.flip();
+        batchDigests.flip();
+
+        batchHashes           = ByteBuffer.allocateDirect(BATCH * sha256.length());
+        batchSignatures       = ByteBuffer.allocateDirect(BATCH * compact.signLengthMaximum());
+        batchSignatureLengths = new int[BATCH];
+    }
+
+    @TearDown
+    public void teardown() {
+        key.give();
+        compact.give();
+        base58.give();
+        hex.give();
+        sha256.give();
+    }
+
+    @Benchmark
+    public Optional<byte[]> hashSha256() {
+        return sha256.hash(data);
+    }
+
+    @Benchmark
+    public boolean hashSha256Direct() {
+        directData.rewind();
+        directHash.clear();
+        return sha256.hash(directData, directHash);
+    }
+
+    @Benchmark
+    public boolean hashSha256Batch() {
+        return sha256.hashBatch(batchData, batchOffsets, batchHashes);
+    }
+
+    @Benchmark
+    public Optional<String> encodeHex() {
+        return hex.encode(data);
+    }
+
+    @Benchmark
+    public Optional<byte[]> decodeHex() {
+        return hex.decode(hexData);
+    }
+
+    @Benchmark
+    public Optional<String> encodeBase58() {
+        return base58.encode(data);
+    }
+
+    @Benchmark
+    public Optional<byte[]> signCompact() {
+        return compact.sign(digest, key);
+    }
+
+    @Benchmark
+    public boolean signCompactBatch() {
+        return compact.signBatch(batchDigests, BATCH, key, batchSignatures, batchSignatureLengths);
+    }
+}
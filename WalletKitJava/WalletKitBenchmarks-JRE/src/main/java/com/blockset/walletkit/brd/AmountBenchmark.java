@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd;
+
+import com.google.common.base.Optional;
+import com.google.common.primitives.UnsignedInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Amount arithmetic, comparison, hashing and formatting; these are used heavily by balance
+ * aggregation and UI display.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AmountBenchmark {
+
+    private Unit satoshi;
+    private Unit bitcoin;
+    private Amount a1;
+    private Amount a2;
+
+    @Setup
+    public void setup() {
+        Currency btc = Currency.create("bitcoin-mainnet:__native__", "Bitcoin", "btc", "native", null);
+        satoshi = Unit.create(btc, "bitcoin-mainnet:__native__:sat", "Satoshi", "SAT");
+        bitcoin = Unit.create(btc, "bitcoin-mainnet:__native__:btc", "Bitcoin", "B", satoshi, UnsignedInteger.valueOf(8));
+
+        a1 = Amount.create(123456789, satoshi);
+        a2 = Amount.create(1.5, bitcoin);
+    }
+
+    @Benchmark
+    public Optional<Amount> add() {
+        return a1.add(a2);
+    }
+
+    @Benchmark
+    public int compare() {
+        return a1.compareTo(a2);
+    }
+
+    @Benchmark
+    public int hash() {
+        // A fresh amount each time, so that per-instance caching does not hide the cost
+        return Amount.create(123456789, satoshi).hashCode();
+    }
+
+    @Benchmark
+    public Optional<String> formatAsUnit() {
+        return a1.toStringAsUnit(bitcoin);
+    }
+}
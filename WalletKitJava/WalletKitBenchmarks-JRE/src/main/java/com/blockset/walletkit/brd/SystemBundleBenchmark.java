@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd;
+
+import com.blockset.walletkit.SystemClient;
+import com.blockset.walletkit.brd.systemclient.BlocksetPayloads;
+import com.blockset.walletkit.brd.systemclient.BlocksetTransaction;
+import com.blockset.walletkit.nativex.WKClientTransactionBundle;
+import com.blockset.walletkit.nativex.WKClientTransferBundle;
+import com.google.common.base.Optional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-transaction work of the `getTransactions` and `getTransfers` client callbacks.  Each
+ * benchmark processes a full page of transactions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SystemBundleBenchmark {
+
+    @Param({"100", "5000"})
+    public int addressCount;
+
+    private List<BlocksetTransaction> transactions;
+    private Set<String> addresses;
+
+    @Setup
+    public void setup() throws Exception {
+        transactions = BlocksetPayloads.transactions(BlocksetPayloads.transactionsJson(100, 4, addressCount));
+        addresses = new HashSet<>(BlocksetPayloads.addresses(addressCount));
+    }
+
+    @Benchmark
+    public void mergeTransfers(Blackhole blackhole) {
+        for (SystemClient.Transaction transaction : transactions) {
+            blackhole.consume(System.mergeTransfers(transaction, addresses));
+        }
+    }
+
+    @Benchmark
+    public void makeTransferBundles(Blackhole blackhole) {
+        for (SystemClient.Transaction transaction : transactions) {
+            for (WKClientTransferBundle bundle : System.makeTransferBundles(transaction, addresses)) {
+                blackhole.consume(bundle);
+                bundle.release();
+            }
+        }
+    }
+
+    @Benchmark
+    public void makeTransactionBundle(Blackhole blackhole) {
+        for (SystemClient.Transaction transaction : transactions) {
+            Optional<WKClientTransactionBundle> bundle = System.makeTransactionBundle(transaction);
+            if (bundle.isPresent()) {
+                blackhole.consume(bundle.get());
+                bundle.get().release();
+            }
+        }
+    }
+}
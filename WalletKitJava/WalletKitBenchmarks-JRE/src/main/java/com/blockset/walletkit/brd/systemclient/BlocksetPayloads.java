@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd.systemclient;
+
+import com.google.common.io.BaseEncoding;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic `/transactions` payloads shaped like Blockset responses.  Generation is seeded so
+ * that every run benchmarks identical input.
+ */
+public final class BlocksetPayloads {
+
+    public static final String BLOCKCHAIN_ID = "ethereum-mainnet";
+    public static final String CURRENCY_ID   = "ethereum-mainnet:__native__";
+    public static final String TOKEN_ID      = "ethereum-mainnet:0xdac17f958d2ee523a2206206994597c13d831ec7";
+
+    /**
+     * The wallet's own addresses; transfers alternate between these and foreign addresses.
+     */
+    public static List<String> addresses(int count) {
+        List<String> addresses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            addresses.add(address(i));
+        }
+        return addresses;
+    }
+
+    /**
+     * A page of `transactionCount` transactions each with `transfersPerTransaction` transfers, one
+     * of which is a `__fee__` transfer; about half of the remaining transfers involve one of the
+     * first `addressCount` addresses.
+     */
+    public static String transactionsJson(int transactionCount,
+                                          int transfersPerTransaction,
+                                          int addressCount) {
+        Random random = new Random(42);
+        byte[] raw = new byte[256];
+
+        StringBuilder json = new StringBuilder(transactionCount * transfersPerTransaction * 400);
+        json.append("{\"_embedded\":{\"transactions\":[");
+        for (int t = 0; t < transactionCount; t++) {
+            String transactionId = BLOCKCHAIN_ID + ":0x" + Long.toHexString(random.nextLong());
+            String owner = address(random.nextInt(addressCount));
+            random.nextBytes(raw);
+
+            if (t > 0) json.append(',');
+            json.append("{\"transaction_id\":\"").append(transactionId).append('"')
+                    .append(",\"identifier\":\"0x").append(Long.toHexString(random.nextLong())).append('"')
+                    .append(",\"hash\":\"0x").append(Long.toHexString(random.nextLong())).append('"')
+                    .append(",\"blockchain_id\":\"").append(BLOCKCHAIN_ID).append('"')
+                    .append(",\"size\":").append(raw.length)
+                    .append(",\"fee\":{\"currency_id\":\"").append(CURRENCY_ID).append("\",\"amount\":\"21000000000000\"}")
+                    .append(",\"status\":\"confirmed\"")
+                    .append(",\"first_seen\":\"2021-03-01T12:00:00.000Z\"")
+                    .append(",\"timestamp\":\"2021-03-01T12:00:10.000Z\"")
+                    .append(",\"index\":").append(t)
+                    .append(",\"block_hash\":\"0x").append(Long.toHexString(random.nextLong())).append('"')
+                    .append(",\"block_height\":").append(12000000 + t)
+                    .append(",\"acknowledgements\":6")
+                    .append(",\"confirmations\":6")
+                    .append(",\"raw\":\"").append(BaseEncoding.base64().encode(raw)).append('"')
+                    .append(",\"meta\":{\"gasLimit\":\"21000\",\"gasPrice\":\"1000000000\"}")
+                    .append(",\"_embedded\":{\"transfers\":[");
+
+            for (int i = 0; i < transfersPerTransaction; i++) {
+                boolean isFee = (i == transfersPerTransaction - 1);
+                String source = isFee || random.nextBoolean() ? owner : address(addressCount + random.nextInt(addressCount));
+                String target = isFee ? "__fee__" : address(random.nextInt(2 * addressCount));
+                String currency = (isFee || 0 == i) ? CURRENCY_ID : TOKEN_ID;
+
+                if (i > 0) json.append(',');
+                json.append("{\"transfer_id\":\"").append(transactionId).append(':').append(i).append('"')
+                        .append(",\"blockchain_id\":\"").append(BLOCKCHAIN_ID).append('"')
+                        .append(",\"index\":").append(i)
+                        .append(",\"amount\":{\"currency_id\":\"").append(currency)
+                        .append("\",\"amount\":\"").append(Math.abs(random.nextLong())).append("\"}")
+                        .append(",\"meta\":{}")
+                        .append(",\"from_address\":\"").append(source).append('"')
+                        .append(",\"to_address\":\"").append(target).append('"')
+                        .append(",\"transaction_id\":\"").append(transactionId).append('"')
+                        .append(",\"acknowledgements\":6}");
+            }
+            json.append("]}}");
+        }
+        json.append("]},\"_links\":{\"self\":{\"href\":\"https://api.blockset.com/transactions\"}}}");
+        return json.toString();
+    }
+
+    /**
+     * The transactions of `json` (as produced by `transactionsJson`), deserialized.
+     */
+    public static List<BlocksetTransaction> transactions(String json) throws Exception {
+        ObjectCoder coder = ObjectCoder.createObjectCoderWithFailOnUnknownProperties();
+        PagedData<BlocksetTransaction> page = coder.deserializeEmbeddedJson(
+                BlocksetTransaction.class,
+                "transactions",
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        return page.getData();
+    }
+
+    private static String address(int index) {
+        return String.format("0x%040x", index);
+    }
+
+    private BlocksetPayloads() {}
+}
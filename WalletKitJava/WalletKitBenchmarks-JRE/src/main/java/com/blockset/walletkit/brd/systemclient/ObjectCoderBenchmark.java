@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.brd.systemclient;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserialization of a `/transactions` page, as done by `BdbApiClient` for every response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ObjectCoderBenchmark {
+
+    @Param({"10", "100"})
+    public int transactionCount;
+
+    private ObjectCoder coder;
+    private byte[] payload;
+
+    @Setup
+    public void setup() {
+        coder = ObjectCoder.createObjectCoderWithFailOnUnknownProperties();
+        payload = BlocksetPayloads.transactionsJson(transactionCount, 4, 100).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<BlocksetTransaction> deserializeEmbedded() throws Exception {
+        return coder.deserializeEmbeddedJson(
+                BlocksetTransaction.class,
+                "transactions",
+                new ByteArrayInputStream(payload)).getData();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.nativex;
+
+import com.google.common.base.Optional;
+import com.google.common.primitives.UnsignedLong;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class WKTransferSnapshotIT {
+
+    @Test
+    public void testColumns() {
+        int count = 2;
+        long[] amounts      = new long[WKTransferSnapshot.VALUE_WORDS * count];
+        long[] fees         = new long[WKTransferSnapshot.VALUE_WORDS * count];
+        byte[] directions   = { (byte) WKTransferDirection.SENT.toCore(), (byte) WKTransferDirection.RECEIVED.toCore() };
+        byte[] states       = { (byte) WKTransferStateType.INCLUDED.toCore(), (byte) WKTransferStateType.SUBMITTED.toCore() };
+        byte[] flags        = { 0x03, 0x00 };
+        long[] blockNumbers = { 1234, 0 };
+        long[] timestamps   = { -1L, 0 };
+        byte[] hashes       = new byte[WKTransferSnapshot.HASH_SIZE * count];
+
+        // 2^64 + 5, least significant word first; and a 1 wei fee
+        amounts[0] = 5;
+        amounts[1] = 1;
+        amounts[4] = Long.MIN_VALUE;
+        fees[0] = 1;
+
+        byte[] hash = "0xabcdef".getBytes(StandardCharsets.US_ASCII);
+        java.lang.System.arraycopy(hash, 0, hashes, 0, hash.length);
+
+        WKTransferSnapshot snapshot = new WKTransferSnapshot(10, count, 12,
+                amounts, fees, directions, states, flags, blockNumbers, timestamps, hashes);
+
+        assertEquals(10, snapshot.getOffset());
+        assertEquals(2, snapshot.getCount());
+        assertEquals(12, snapshot.getTotalCount());
+
+        assertEquals(BigInteger.ONE.shiftLeft(64).add(BigInteger.valueOf(5)), snapshot.getAmount(0));
+        assertEquals(BigInteger.ONE.shiftLeft(63), snapshot.getAmount(1));
+        assertEquals(Optional.of(BigInteger.ONE), snapshot.getFee(0));
+        assertFalse(snapshot.getFee(1).isPresent());
+
+        assertEquals(WKTransferDirection.SENT, snapshot.getDirection(0));
+        assertEquals(WKTransferDirection.RECEIVED, snapshot.getDirection(1));
+        assertEquals(WKTransferStateType.INCLUDED, snapshot.getStateType(0));
+        assertEquals(WKTransferStateType.SUBMITTED, snapshot.getStateType(1));
+        assertTrue(snapshot.isSuccess(0));
+        assertFalse(snapshot.isSuccess(1));
+
+        assertEquals(UnsignedLong.valueOf(1234), snapshot.getBlockNumber(0));
+        assertEquals(UnsignedLong.MAX_VALUE, snapshot.getTimestamp(0));
+
+        assertEquals(Optional.of("0xabcdef"), snapshot.getHash(0));
+        assertFalse(snapshot.getHash(1).isPresent());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testIndexBounds() {
+        WKTransferSnapshot snapshot = new WKTransferSnapshot(0, 0, 0,
+                new long[0], new long[0], new byte[0], new byte[0], new byte[0], new long[0], new long[0], new byte[0]);
+        snapshot.getAmount(0);
+    }
+}
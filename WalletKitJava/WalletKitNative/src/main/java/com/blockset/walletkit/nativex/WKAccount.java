@@ -17,7 +17,6 @@ import com.sun.jna.Memory;
 import com.sun.jna.Native;
 import com.sun.jna.Pointer;
 import com.sun.jna.PointerType;
-import com.sun.jna.StringArray;
 
 import java.nio.ByteBuffer;
 import java.util.Arrays;
@@ -65,11 +64,25 @@ public class WKAccount extends PointerType {
     }
 
     public static byte[] generatePhrase(List<String> words) {
+        WKWordList wordList = WKWordList.create(words);
+        try {
+            return generatePhrase(wordList);
+        } finally {
+            wordList.give();
+        }
+    }
+
+    public static byte[] generatePhrase(WKWordList words) {
         checkArgument(WKBoolean.WK_TRUE == WKNativeLibraryDirect.wkAccountValidateWordsList(new SizeT(words.size())));
 
-        StringArray wordsArray = new StringArray(words.toArray(new String[0]), "UTF-8");
+        Pointer phrasePtr;
+        Pointer wordsArray = words.acquire();
+        try {
+            phrasePtr = WKNativeLibraryDirect.wkAccountGeneratePaperKey(wordsArray);
+        } finally {
+            words.release();
+        }
 
-        Pointer phrasePtr = WKNativeLibraryDirect.wkAccountGeneratePaperKey(wordsArray);
         try {
             return phrasePtr.getByteArray(0, (int) phrasePtr.indexOf(0, (byte) 0));
         } finally {
@@ -78,9 +91,16 @@ public class WKAccount extends PointerType {
     }
 
     public static boolean validatePhrase(byte[] phraseUtf8, List<String> words) {
-        checkArgument(WKBoolean.WK_TRUE == WKNativeLibraryDirect.wkAccountValidateWordsList(new SizeT(words.size())));
+        WKWordList wordList = WKWordList.create(words);
+        try {
+            return validatePhrase(phraseUtf8, wordList);
+        } finally {
+            wordList.give();
+        }
+    }
 
-        StringArray wordsArray = new StringArray(words.toArray(new String[0]), "UTF-8");
+    public static boolean validatePhrase(byte[] phraseUtf8, WKWordList words) {
+        checkArgument(WKBoolean.WK_TRUE == WKNativeLibraryDirect.wkAccountValidateWordsList(new SizeT(words.size())));
 
         // ensure string is null terminated
         phraseUtf8 = Arrays.copyOf(phraseUtf8, phraseUtf8.length + 1);
@@ -90,7 +110,12 @@ public class WKAccount extends PointerType {
                 phraseMemory.write(0, phraseUtf8, 0, phraseUtf8.length);
                 ByteBuffer phraseBuffer = phraseMemory.getByteBuffer(0, phraseUtf8.length);
 
-                return WKBoolean.WK_TRUE == WKNativeLibraryDirect.wkAccountValidatePaperKey(phraseBuffer, wordsArray);
+                Pointer wordsArray = words.acquire();
+                try {
+                    return WKBoolean.WK_TRUE == WKNativeLibraryDirect.wkAccountValidatePaperKey(phraseBuffer, wordsArray);
+                } finally {
+                    words.release();
+                }
             } finally {
                 phraseMemory.clear();
             }
@@ -130,6 +130,12 @@ public class WKAmount extends PointerType {
         return WKBoolean.WK_TRUE == WKNativeLibraryDirect.wkAmountHasCurrency(thisPtr, currency.getPointer());
     }
 
+    public int getHashValue() {
+        Pointer thisPtr = this.getPointer();
+
+        return WKNativeLibraryDirect.wkAmountGetHashValue(thisPtr);
+    }
+
     public String toStringWithBase(int base, String preface) {
         Pointer thisPtr = this.getPointer();
 
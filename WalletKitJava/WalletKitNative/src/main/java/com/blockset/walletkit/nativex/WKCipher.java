@@ -8,12 +8,16 @@
 package com.blockset.walletkit.nativex;
 
 import com.blockset.walletkit.nativex.library.WKNativeLibraryDirect;
+import com.blockset.walletkit.nativex.utility.DirectBuffers;
 import com.blockset.walletkit.nativex.utility.SizeT;
 import com.google.common.base.Optional;
 import com.google.common.primitives.Ints;
 import com.sun.jna.Pointer;
 import com.sun.jna.PointerType;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
 public class WKCipher extends PointerType {
 
     public static Optional<WKCipher> createAesEcb(byte[] key) {
@@ -75,6 +79,66 @@ public class WKCipher extends PointerType {
         return result == WKBoolean.WK_TRUE ? Optional.of(output) : Optional.absent();
     }
 
+    public int encryptLength(ByteBuffer input) {
+        Pointer thisPtr = this.getPointer();
+
+        return Ints.checkedCast(WKNativeLibraryDirect.wkCipherEncryptLength(
+                thisPtr, DirectBuffers.pointer(input), new SizeT(input.remaining())).longValue());
+    }
+
+    /**
+     * Encrypt the remaining bytes of `input` into `output`, without copying through the Java
+     * heap.  Both buffers must be direct.  On success `input` is consumed and `output`'s position
+     * advances by `encryptLength(input)`.
+     */
+    public boolean encrypt(ByteBuffer input, ByteBuffer output) {
+        Pointer thisPtr = this.getPointer();
+
+        int length = encryptLength(input);
+        if (0 == length) return false;
+        if (output.remaining() < length) throw new BufferOverflowException();
+
+        int result = WKNativeLibraryDirect.wkCipherEncrypt(
+                thisPtr,
+                DirectBuffers.pointer(output), new SizeT(length),
+                DirectBuffers.pointer(input), new SizeT(input.remaining()));
+        if (result != WKBoolean.WK_TRUE) return false;
+
+        input.position(input.limit());
+        output.position(output.position() + length);
+        return true;
+    }
+
+    public int decryptLength(ByteBuffer input) {
+        Pointer thisPtr = this.getPointer();
+
+        return Ints.checkedCast(WKNativeLibraryDirect.wkCipherDecryptLength(
+                thisPtr, DirectBuffers.pointer(input), new SizeT(input.remaining())).longValue());
+    }
+
+    /**
+     * Decrypt the remaining bytes of `input` into `output`, without copying through the Java
+     * heap.  Both buffers must be direct.  On success `input` is consumed and `output`'s position
+     * advances by `decryptLength(input)`.
+     */
+    public boolean decrypt(ByteBuffer input, ByteBuffer output) {
+        Pointer thisPtr = this.getPointer();
+
+        int length = decryptLength(input);
+        if (0 == length) return false;
+        if (output.remaining() < length) throw new BufferOverflowException();
+
+        int result = WKNativeLibraryDirect.wkCipherDecrypt(
+                thisPtr,
+                DirectBuffers.pointer(output), new SizeT(length),
+                DirectBuffers.pointer(input), new SizeT(input.remaining()));
+        if (result != WKBoolean.WK_TRUE) return false;
+
+        input.position(input.limit());
+        output.position(output.position() + length);
+        return true;
+    }
+
     public Optional<byte[]> migrateBRCoreKeyCiphertext(byte[] input) {
         Pointer thisPtr = this.getPointer();
 
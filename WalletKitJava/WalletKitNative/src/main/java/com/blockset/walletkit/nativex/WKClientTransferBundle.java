@@ -7,6 +7,7 @@
  */
 package com.blockset.walletkit.nativex;
 
+import com.blockset.walletkit.nativex.library.WKNativeLibraryDirect;
 import com.blockset.walletkit.nativex.library.WKNativeLibraryIndirect;
 import com.blockset.walletkit.nativex.utility.SizeT;
 import com.google.common.primitives.UnsignedLong;
@@ -62,6 +63,12 @@ public class WKClientTransferBundle extends PointerType {
         return new WKClientTransferBundle(pointer);
     }
 
+    public void release () {
+        WKNativeLibraryDirect.wkClientTransferBundleRelease(
+                this.getPointer()
+        );
+    }
+
     public WKClientTransferBundle() {
         super();
     }
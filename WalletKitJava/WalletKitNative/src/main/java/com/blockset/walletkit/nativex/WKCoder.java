@@ -8,15 +8,19 @@
 package com.blockset.walletkit.nativex;
 
 import com.blockset.walletkit.nativex.library.WKNativeLibraryDirect;
+import com.blockset.walletkit.nativex.utility.DirectBuffers;
 import com.blockset.walletkit.nativex.utility.SizeT;
 import com.google.common.base.Optional;
 import com.google.common.primitives.Ints;
 import com.sun.jna.Pointer;
 import com.sun.jna.PointerType;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 
 public class WKCoder extends PointerType {
@@ -83,6 +87,77 @@ public class WKCoder extends PointerType {
         return result == WKBoolean.WK_TRUE ? Optional.of(output) : Optional.absent();
     }
 
+    /**
+     * The number of bytes needed to encode the remaining bytes of `input`, including the NUL
+     * terminator.
+     */
+    public int encodeLength(ByteBuffer input) {
+        Pointer thisPtr = this.getPointer();
+
+        return Ints.checkedCast(WKNativeLibraryDirect.wkCoderEncodeLength(
+                thisPtr, DirectBuffers.pointer(input), new SizeT(input.remaining())).longValue());
+    }
+
+    /**
+     * Encode the remaining bytes of `input` into `output` as NUL terminated ASCII, without
+     * copying through the Java heap.  Both buffers must be direct.  On success `input` is
+     * consumed and `output`'s position advances past the encoded characters, leaving it at the
+     * NUL terminator.
+     */
+    public boolean encode(ByteBuffer input, ByteBuffer output) {
+        Pointer thisPtr = this.getPointer();
+
+        int length = encodeLength(input);
+        if (0 == length) return false;
+        if (output.remaining() < length) throw new BufferOverflowException();
+
+        int result = WKNativeLibraryDirect.wkCoderEncode(
+                thisPtr,
+                DirectBuffers.pointer(output), new SizeT(length),
+                DirectBuffers.pointer(input), new SizeT(input.remaining()));
+        if (result != WKBoolean.WK_TRUE) return false;
+
+        input.position(input.limit());
+        output.position(output.position() + length - 1);
+        return true;
+    }
+
+    /**
+     * The number of bytes produced by decoding `input`, whose remaining bytes are the encoded
+     * characters followed by a NUL terminator.
+     */
+    public int decodeLength(ByteBuffer input) {
+        checkArgument(input.hasRemaining() && 0 == input.get(input.limit() - 1), "input must be NUL terminated");
+        Pointer thisPtr = this.getPointer();
+
+        return Ints.checkedCast(WKNativeLibraryDirect.wkCoderDecodeLength(
+                thisPtr, DirectBuffers.pointer(input)).longValue());
+    }
+
+    /**
+     * Decode `input`, whose remaining bytes are the encoded characters followed by a NUL
+     * terminator, into `output` without copying through the Java heap.  Both buffers must be
+     * direct.  On success `input` is consumed and `output`'s position advances by
+     * `decodeLength(input)`.
+     */
+    public boolean decode(ByteBuffer input, ByteBuffer output) {
+        Pointer thisPtr = this.getPointer();
+
+        int length = decodeLength(input);
+        if (0 == length) return false;
+        if (output.remaining() < length) throw new BufferOverflowException();
+
+        int result = WKNativeLibraryDirect.wkCoderDecode(
+                thisPtr,
+                DirectBuffers.pointer(output), new SizeT(length),
+                DirectBuffers.pointer(input));
+        if (result != WKBoolean.WK_TRUE) return false;
+
+        input.position(input.limit());
+        output.position(output.position() + length);
+        return true;
+    }
+
     private static String utf8BytesToString(byte[] message) {
         int end = 0;
         int len = message.length;
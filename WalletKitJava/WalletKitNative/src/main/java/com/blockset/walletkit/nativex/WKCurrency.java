@@ -62,6 +62,12 @@ public class WKCurrency extends PointerType {
         return WKBoolean.WK_TRUE == WKNativeLibraryDirect.wkCurrencyIsIdentical(thisPtr, o.getPointer());
     }
 
+    public WKCurrency take() {
+        Pointer thisPtr = this.getPointer();
+
+        return new WKCurrency(WKNativeLibraryDirect.wkCurrencyTake(thisPtr));
+    }
+
     public void give() {
         Pointer thisPtr = this.getPointer();
 
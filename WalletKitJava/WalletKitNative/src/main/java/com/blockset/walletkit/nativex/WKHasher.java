@@ -8,12 +8,18 @@
 package com.blockset.walletkit.nativex;
 
 import com.blockset.walletkit.nativex.library.WKNativeLibraryDirect;
+import com.blockset.walletkit.nativex.utility.DirectBuffers;
 import com.blockset.walletkit.nativex.utility.SizeT;
 import com.google.common.base.Optional;
 import com.google.common.primitives.Ints;
 import com.sun.jna.Pointer;
 import com.sun.jna.PointerType;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
 public class WKHasher extends PointerType {
 
     // these must mirror BRCryptoHasherType's enum values
@@ -97,6 +103,59 @@ public class WKHasher extends PointerType {
         return result == WKBoolean.WK_TRUE ? Optional.of(hash) : Optional.absent();
     }
 
+    public int length() {
+        Pointer thisPtr = this.getPointer();
+
+        return Ints.checkedCast(WKNativeLibraryDirect.wkHasherLength(thisPtr).longValue());
+    }
+
+    /**
+     * Hash `offsets.length - 1` inputs packed into `src` with one native call.  Input `i` is the
+     * bytes from `offsets[i]` to `offsets[i+1]`, relative to the position of `src`; hash `i` is
+     * written at `i * length()`, relative to the position of `dst`.  Both buffers must be direct;
+     * their positions and limits are unchanged.  The offsets must start at or after zero and not
+     * decrease; the core reads the inputs unchecked.
+     */
+    public boolean hashBatch(ByteBuffer src, int[] offsets, ByteBuffer dst) {
+        checkArgument(src.isDirect() && dst.isDirect());
+        checkArgument(offsets.length > 0 && offsets[0] >= 0 && offsets[offsets.length - 1] <= src.remaining());
+        for (int i = 1; i < offsets.length; i++) checkArgument(offsets[i - 1] <= offsets[i]);
+        Pointer thisPtr = this.getPointer();
+
+        int count = offsets.length - 1;
+        checkArgument((long) count * length() <= dst.remaining());
+
+        int result = WKNativeLibraryDirect.wkHasherHashBatch(
+                thisPtr,
+                DirectBuffers.pointer(dst), new SizeT(dst.remaining()),
+                DirectBuffers.pointer(src), new SizeT(src.remaining()),
+                offsets, new SizeT(count));
+        return result == WKBoolean.WK_TRUE;
+    }
+
+    /**
+     * Hash the remaining bytes of `src` into `dst`, without copying through the Java heap.  Both
+     * buffers must be direct.  On success `src` is consumed and `dst`'s position advances by
+     * `length()`.
+     */
+    public boolean hash(ByteBuffer src, ByteBuffer dst) {
+        Pointer thisPtr = this.getPointer();
+
+        int length = length();
+        if (0 == length) return false;
+        if (dst.remaining() < length) throw new BufferOverflowException();
+
+        int result = WKNativeLibraryDirect.wkHasherHash(
+                thisPtr,
+                DirectBuffers.pointer(dst), new SizeT(dst.remaining()),
+                DirectBuffers.pointer(src), new SizeT(src.remaining()));
+        if (result != WKBoolean.WK_TRUE) return false;
+
+        src.position(src.limit());
+        dst.position(dst.position() + length);
+        return true;
+    }
+
     public void give() {
         Pointer thisPtr = this.getPointer();
 
@@ -15,7 +15,6 @@ import com.sun.jna.Memory;
 import com.sun.jna.Native;
 import com.sun.jna.Pointer;
 import com.sun.jna.PointerType;
-import com.sun.jna.StringArray;
 
 import java.nio.ByteBuffer;
 import java.util.Arrays;
@@ -51,8 +50,15 @@ public class WKKey extends PointerType {
     }
 
     public static Optional<WKKey> createFromPhrase(byte[] phraseUtf8, List<String> words) {
-        StringArray wordsArray = new StringArray(words.toArray(new String[0]), "UTF-8");
+        WKWordList wordList = WKWordList.create(words);
+        try {
+            return createFromPhrase(phraseUtf8, wordList);
+        } finally {
+            wordList.give();
+        }
+    }
 
+    public static Optional<WKKey> createFromPhrase(byte[] phraseUtf8, WKWordList words) {
         // ensure string is null terminated
         phraseUtf8 = Arrays.copyOf(phraseUtf8, phraseUtf8.length + 1);
         try {
@@ -61,12 +67,17 @@ public class WKKey extends PointerType {
                 phraseMemory.write(0, phraseUtf8, 0, phraseUtf8.length);
                 ByteBuffer phraseBuffer = phraseMemory.getByteBuffer(0, phraseUtf8.length);
 
-                return Optional.fromNullable(
-                        WKNativeLibraryDirect.wkKeyCreateFromPhraseWithWords(
-                                phraseBuffer,
-                                wordsArray
-                        )
-                ).transform(WKKey::new);
+                Pointer wordsArray = words.acquire();
+                try {
+                    return Optional.fromNullable(
+                            WKNativeLibraryDirect.wkKeyCreateFromPhraseWithWords(
+                                    phraseBuffer,
+                                    wordsArray
+                            )
+                    ).transform(WKKey::new);
+                } finally {
+                    words.release();
+                }
             } finally {
                 phraseMemory.clear();
             }
@@ -162,8 +173,15 @@ public class WKKey extends PointerType {
     }
 
     public static Optional<WKKey> createForBIP32ApiAuth(byte[] phraseUtf8, List<String> words) {
-        StringArray wordsArray = new StringArray(words.toArray(new String[0]), "UTF-8");
+        WKWordList wordList = WKWordList.create(words);
+        try {
+            return createForBIP32ApiAuth(phraseUtf8, wordList);
+        } finally {
+            wordList.give();
+        }
+    }
 
+    public static Optional<WKKey> createForBIP32ApiAuth(byte[] phraseUtf8, WKWordList words) {
         // ensure string is null terminated
         phraseUtf8 = Arrays.copyOf(phraseUtf8, phraseUtf8.length + 1);
         try {
@@ -172,12 +190,17 @@ public class WKKey extends PointerType {
                 phraseMemory.write(0, phraseUtf8, 0, phraseUtf8.length);
                 ByteBuffer phraseBuffer = phraseMemory.getByteBuffer(0, phraseUtf8.length);
 
-                return Optional.fromNullable(
-                        WKNativeLibraryDirect.wkKeyCreateForBIP32ApiAuth(
-                                phraseBuffer,
-                                wordsArray
-                        )
-                ).transform(WKKey::new);
+                Pointer wordsArray = words.acquire();
+                try {
+                    return Optional.fromNullable(
+                            WKNativeLibraryDirect.wkKeyCreateForBIP32ApiAuth(
+                                    phraseBuffer,
+                                    wordsArray
+                            )
+                    ).transform(WKKey::new);
+                } finally {
+                    words.release();
+                }
             } finally {
                 phraseMemory.clear();
             }
@@ -188,8 +211,15 @@ public class WKKey extends PointerType {
     }
 
     public static Optional<WKKey> createForBIP32BitID(byte[] phraseUtf8, int index, String uri, List<String> words) {
-        StringArray wordsArray = new StringArray(words.toArray(new String[0]), "UTF-8");
+        WKWordList wordList = WKWordList.create(words);
+        try {
+            return createForBIP32BitID(phraseUtf8, index, uri, wordList);
+        } finally {
+            wordList.give();
+        }
+    }
 
+    public static Optional<WKKey> createForBIP32BitID(byte[] phraseUtf8, int index, String uri, WKWordList words) {
         // ensure string is null terminated
         phraseUtf8 = Arrays.copyOf(phraseUtf8, phraseUtf8.length + 1);
         try {
@@ -198,14 +228,19 @@ public class WKKey extends PointerType {
                 phraseMemory.write(0, phraseUtf8, 0, phraseUtf8.length);
                 ByteBuffer phraseBuffer = phraseMemory.getByteBuffer(0, phraseUtf8.length);
 
-                return Optional.fromNullable(
-                        WKNativeLibraryDirect.wkKeyCreateForBIP32BitID(
-                                phraseBuffer,
-                                index,
-                                uri,
-                                wordsArray
-                        )
-                ).transform(WKKey::new);
+                Pointer wordsArray = words.acquire();
+                try {
+                    return Optional.fromNullable(
+                            WKNativeLibraryDirect.wkKeyCreateForBIP32BitID(
+                                    phraseBuffer,
+                                    index,
+                                    uri,
+                                    wordsArray
+                            )
+                    ).transform(WKKey::new);
+                } finally {
+                    words.release();
+                }
 
             } finally {
                 phraseMemory.clear();
@@ -9,6 +9,7 @@ package com.blockset.walletkit.nativex;
 
 import com.blockset.walletkit.nativex.library.WKNativeLibraryDirect;
 import com.blockset.walletkit.nativex.utility.Cookie;
+import com.google.common.base.Optional;
 import com.sun.jna.Callback;
 import com.sun.jna.Pointer;
 import com.sun.jna.PointerType;
@@ -51,6 +52,29 @@ public class WKListener extends PointerType {
                       WKTransferEvent.ByValue event);
     }
 
+    public interface BRCryptoListenerWalletManagerSyncProgress extends Callback {
+        void callback(Pointer context,
+                      Pointer manager,
+                      long timestamp,
+                      float percentComplete);
+    }
+
+    public interface BRCryptoListenerWalletManagerBlockHeight extends Callback {
+        void callback(Pointer context,
+                      Pointer manager,
+                      long blockHeight);
+    }
+
+    public interface BRCryptoListenerTransferFlat extends Callback {
+        void callback(Pointer context,
+                      Pointer manager,
+                      Pointer wallet,
+                      Pointer transfer,
+                      int type,
+                      Pointer oldState,
+                      Pointer newState);
+    }
+
     //
     // Client Interface
     //
@@ -139,6 +163,70 @@ public class WKListener extends PointerType {
         }
     }
 
+    public interface WalletManagerSyncProgressCallback extends BRCryptoListenerWalletManagerSyncProgress {
+        void handle(Cookie context,
+                    WKWalletManager manager,
+                    long timestamp,
+                    float percentComplete);
+
+        @Override
+        default void callback(Pointer context,
+                              Pointer manager,
+                              long timestamp,
+                              float percentComplete) {
+            handle(new Cookie(context),
+                    new WKWalletManager(manager),
+                    timestamp,
+                    percentComplete);
+        }
+    }
+
+    public interface WalletManagerBlockHeightCallback extends BRCryptoListenerWalletManagerBlockHeight {
+        void handle(Cookie context,
+                    WKWalletManager manager,
+                    long blockHeight);
+
+        @Override
+        default void callback(Pointer context,
+                              Pointer manager,
+                              long blockHeight) {
+            handle(new Cookie(context),
+                    new WKWalletManager(manager),
+                    blockHeight);
+        }
+    }
+
+    /**
+     * A TransferEvent, flattened.  The states are only present for `CHANGED` events, in which
+     * case ownership is given to the callback.
+     */
+    public interface TransferFlatCallback extends BRCryptoListenerTransferFlat {
+        void handle(Cookie context,
+                    WKWalletManager manager,
+                    WKWallet wallet,
+                    WKTransfer transfer,
+                    WKTransferEventType type,
+                    Optional<WKTransferState> oldState,
+                    Optional<WKTransferState> newState);
+
+        @Override
+        default void callback(Pointer context,
+                              Pointer manager,
+                              Pointer wallet,
+                              Pointer transfer,
+                              int type,
+                              Pointer oldState,
+                              Pointer newState) {
+            handle(new Cookie(context),
+                    new WKWalletManager(manager),
+                    new WKWallet(wallet),
+                    new WKTransfer(transfer),
+                    WKTransferEventType.fromCore(type),
+                    Optional.fromNullable(oldState).transform(WKTransferState::new),
+                    Optional.fromNullable(newState).transform(WKTransferState::new));
+        }
+    }
+
     //
     // Listener Pointer
     //
@@ -167,6 +255,31 @@ public class WKListener extends PointerType {
                         transferEventCallback));
     }
 
+    /**
+     * Create a listener where the high-frequency WalletManager events and all Transfer events are
+     * delivered with primitive arguments, avoiding the reflective decoding of `Structure`s and
+     * `Union`s passed by value.
+     */
+    public static WKListener createFlat(Cookie context,
+                                        SystemEventCallback systemEventCallback,
+                                        NetworkEventCallback networkEventCallback,
+                                        WalletManagerEventCallback walletManagerEventCallback,
+                                        WalletManagerSyncProgressCallback walletManagerSyncProgressCallback,
+                                        WalletManagerBlockHeightCallback walletManagerBlockHeightCallback,
+                                        WalletEventCallback walletEventCallback,
+                                        TransferFlatCallback transferFlatCallback) {
+        return new WKListener(
+                WKNativeLibraryDirect.wkListenerCreateFlat(
+                        context.getPointer(),
+                        systemEventCallback,
+                        networkEventCallback,
+                        walletManagerEventCallback,
+                        walletManagerSyncProgressCallback,
+                        walletManagerBlockHeightCallback,
+                        walletEventCallback,
+                        transferFlatCallback));
+    }
+
     public WKListener take() {
         Pointer thisPtr = this.getPointer();
 
@@ -8,12 +8,16 @@
 package com.blockset.walletkit.nativex;
 
 import com.blockset.walletkit.nativex.library.WKNativeLibraryDirect;
+import com.blockset.walletkit.nativex.utility.DirectBuffers;
 import com.blockset.walletkit.nativex.utility.SizeT;
 import com.google.common.base.Optional;
 import com.google.common.primitives.Ints;
 import com.sun.jna.Pointer;
 import com.sun.jna.PointerType;
 
+import java.nio.ByteBuffer;
+
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 
 public class WKSigner extends PointerType {
@@ -61,6 +65,35 @@ public class WKSigner extends PointerType {
         return result == WKBoolean.WK_TRUE ? Optional.of(signature) : Optional.absent();
     }
 
+    public int signLengthMaximum() {
+        Pointer thisPtr = this.getPointer();
+
+        return Ints.checkedCast(WKNativeLibraryDirect.wkSignerSignLengthMaximum(thisPtr).longValue());
+    }
+
+    /**
+     * Sign `count` 32 byte digests packed into `digests` with one native call.  Signature `i` is
+     * written at `i * signLengthMaximum()`, relative to the position of `dst`, and its length is
+     * stored in `lengths[i]`.  Both buffers must be direct; their positions and limits are
+     * unchanged.
+     */
+    public boolean signBatch(ByteBuffer digests, int count, WKKey key, ByteBuffer dst, int[] lengths) {
+        checkArgument(digests.isDirect() && dst.isDirect());
+        checkArgument(count >= 0 && lengths.length >= count);
+        checkArgument((long) count * 32 <= digests.remaining());
+        Pointer thisPtr = this.getPointer();
+        Pointer keyPtr = key.getPointer();
+
+        int stride = signLengthMaximum();
+        checkArgument((long) count * stride <= dst.remaining());
+
+        int result = WKNativeLibraryDirect.wkSignerSignBatch(
+                thisPtr, keyPtr,
+                DirectBuffers.pointer(dst), new SizeT(dst.remaining()), new SizeT(stride), lengths,
+                DirectBuffers.pointer(digests), new SizeT(count));
+        return result == WKBoolean.WK_TRUE;
+    }
+
     public Optional<WKKey> recover(byte[] digest, byte[] signature) {
         checkState(32 == digest.length);
         Pointer thisPtr = this.getPointer();
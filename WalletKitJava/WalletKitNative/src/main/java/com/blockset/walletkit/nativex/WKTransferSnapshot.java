@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.nativex;
+
+import com.google.common.base.Optional;
+import com.google.common.primitives.UnsignedLong;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+
+/**
+ * A snapshot of a range of a wallet's transfers, as filled by `wkWalletGetTransferSnapshot()`.
+ *
+ * The attributes are held in columns of primitives; nothing references the native transfers.
+ * Amounts and fees are unsigned and in base units.
+ */
+public final class WKTransferSnapshot {
+
+    /* package */ static final int VALUE_WORDS = 4;
+    /* package */ static final int HASH_SIZE   = 131;   // WK_WALLET_TRANSFER_SNAPSHOT_HASH_SIZE
+
+    private static final int FLAG_HAS_FEE = 0x01;
+    private static final int FLAG_SUCCESS = 0x02;
+
+    private final int offset;
+    private final int count;
+    private final int totalCount;
+
+    private final long[] amounts;
+    private final long[] fees;
+    private final byte[] directions;
+    private final byte[] states;
+    private final byte[] flags;
+    private final long[] blockNumbers;
+    private final long[] timestamps;
+    private final byte[] hashes;
+
+    /* package */
+    WKTransferSnapshot(int offset, int count, int totalCount,
+                       long[] amounts, long[] fees,
+                       byte[] directions, byte[] states, byte[] flags,
+                       long[] blockNumbers, long[] timestamps,
+                       byte[] hashes) {
+        this.offset = offset;
+        this.count = count;
+        this.totalCount = totalCount;
+        this.amounts = amounts;
+        this.fees = fees;
+        this.directions = directions;
+        this.states = states;
+        this.flags = flags;
+        this.blockNumbers = blockNumbers;
+        this.timestamps = timestamps;
+        this.hashes = hashes;
+    }
+
+    /**
+     * The index, within the wallet's transfers, of the first transfer in the snapshot.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * The number of transfers in the snapshot.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * The number of transfers in the wallet when the snapshot was taken.
+     */
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public BigInteger getAmount(int index) {
+        checkElementIndex(index, count);
+        return valueAt(amounts, index);
+    }
+
+    public Optional<BigInteger> getFee(int index) {
+        checkElementIndex(index, count);
+        return 0 != (flags[index] & FLAG_HAS_FEE) ? Optional.of(valueAt(fees, index)) : Optional.absent();
+    }
+
+    public WKTransferDirection getDirection(int index) {
+        checkElementIndex(index, count);
+        return WKTransferDirection.fromCore(directions[index]);
+    }
+
+    public WKTransferStateType getStateType(int index) {
+        checkElementIndex(index, count);
+        return WKTransferStateType.fromCore(states[index]);
+    }
+
+    /**
+     * Whether an included transfer succeeded; false if not included.
+     */
+    public boolean isSuccess(int index) {
+        checkElementIndex(index, count);
+        return 0 != (flags[index] & FLAG_SUCCESS);
+    }
+
+    /**
+     * The block number of an included transfer; zero if not included.
+     */
+    public UnsignedLong getBlockNumber(int index) {
+        checkElementIndex(index, count);
+        return UnsignedLong.fromLongBits(blockNumbers[index]);
+    }
+
+    /**
+     * The timestamp, in seconds, of an included transfer; zero if not included.
+     */
+    public UnsignedLong getTimestamp(int index) {
+        checkElementIndex(index, count);
+        return UnsignedLong.fromLongBits(timestamps[index]);
+    }
+
+    /**
+     * The transfer's hash, encoded as per `WKHash.toString()`.
+     */
+    public Optional<String> getHash(int index) {
+        checkElementIndex(index, count);
+        int start = index * HASH_SIZE;
+        int end = start;
+        while (end < start + HASH_SIZE && 0 != hashes[end]) end++;
+        return end == start
+                ? Optional.absent()
+                : Optional.of(new String(hashes, start, end - start, StandardCharsets.US_ASCII));
+    }
+
+    private static BigInteger valueAt(long[] words, int index) {
+        // Words are least significant first; assemble big-endian magnitude bytes
+        byte[] magnitude = new byte[8 * VALUE_WORDS];
+        for (int word = 0; word < VALUE_WORDS; word++) {
+            long value = words[VALUE_WORDS * index + word];
+            int base = 8 * (VALUE_WORDS - 1 - word);
+            for (int b = 7; b >= 0; b--) {
+                magnitude[base + b] = (byte) value;
+                value >>>= 8;
+            }
+        }
+        return new BigInteger(1, magnitude);
+    }
+}
@@ -102,6 +102,12 @@ public class WKUnit extends PointerType {
         return WKBoolean.WK_TRUE == WKNativeLibraryDirect.wkUnitIsIdentical(thisPtr, other.getPointer());
     }
 
+    public WKUnit take() {
+        Pointer thisPtr = this.getPointer();
+
+        return new WKUnit(WKNativeLibraryDirect.wkUnitTake(thisPtr));
+    }
+
     public void give() {
         Pointer thisPtr = this.getPointer();
 
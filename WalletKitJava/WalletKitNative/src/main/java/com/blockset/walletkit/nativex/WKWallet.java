@@ -24,6 +24,8 @@ import java.util.List;
 
 import javax.annotation.Nullable;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 public class WKWallet extends PointerType {
 
     public WKWallet() {
@@ -76,6 +78,47 @@ public class WKWallet extends PointerType {
         return transfers;
     }
 
+    public Optional<WKTransfer> getTransferByHash(WKHash hash) {
+        Pointer thisPtr = this.getPointer();
+
+        return Optional.fromNullable(
+                WKNativeLibraryDirect.wkWalletGetTransferByHash(thisPtr, hash.getPointer())
+        ).transform(WKTransfer::new);
+    }
+
+    /**
+     * Get a snapshot of at most `limit` of the wallet's transfers, starting at `offset`.
+     */
+    public WKTransferSnapshot getTransferSnapshot(int offset, int limit) {
+        Pointer thisPtr = this.getPointer();
+        checkArgument(offset >= 0 && limit >= 0);
+
+        // Size the columns to what is in the wallet now; should transfers be added before
+        // the columns are filled, the snapshot holds those that fit.
+        int total = UnsignedInts.checkedCast(WKNativeLibraryDirect.wkWalletGetTransferSnapshot(
+                thisPtr, new SizeT(0), new SizeT(0),
+                null, null, null, null, null, null, null, null).longValue());
+        int capacity = Math.min(limit, Math.max(0, total - offset));
+
+        long[] amounts      = new long[WKTransferSnapshot.VALUE_WORDS * capacity];
+        long[] fees         = new long[WKTransferSnapshot.VALUE_WORDS * capacity];
+        byte[] directions   = new byte[capacity];
+        byte[] states       = new byte[capacity];
+        byte[] flags        = new byte[capacity];
+        long[] blockNumbers = new long[capacity];
+        long[] timestamps   = new long[capacity];
+        byte[] hashes       = new byte[WKTransferSnapshot.HASH_SIZE * capacity];
+
+        if (0 != capacity) {
+            total = UnsignedInts.checkedCast(WKNativeLibraryDirect.wkWalletGetTransferSnapshot(
+                    thisPtr, new SizeT(offset), new SizeT(capacity),
+                    amounts, fees, directions, states, flags, blockNumbers, timestamps, hashes).longValue());
+        }
+
+        return new WKTransferSnapshot(offset, Math.min(capacity, Math.max(0, total - offset)), total,
+                amounts, fees, directions, states, flags, blockNumbers, timestamps, hashes);
+    }
+
 
     public boolean containsTransfer(WKTransfer transfer) {
         Pointer thisPtr = this.getPointer();
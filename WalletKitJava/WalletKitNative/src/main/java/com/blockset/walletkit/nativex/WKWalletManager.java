@@ -30,6 +30,8 @@ import java.util.Map;
 
 import javax.annotation.Nullable;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 public class WKWalletManager extends PointerType {
 
     public static void wipe(WKNetwork network, String path) {
@@ -196,6 +198,20 @@ public class WKWalletManager extends PointerType {
         WKNativeLibraryDirect.wkWalletManagerSyncToDepth(thisPtr, depth.toCore());
     }
 
+    public void syncPeriodic() {
+        Pointer thisPtr = this.getPointer();
+
+        WKNativeLibraryDirect.wkWalletManagerSyncPeriodic(thisPtr);
+    }
+
+    public void setSyncPeriodicFactor(int factor) {
+        checkArgument(factor > 0);
+
+        Pointer thisPtr = this.getPointer();
+
+        WKNativeLibraryDirect.wkWalletManagerSetSyncPeriodicFactor(thisPtr, factor);
+    }
+
     public boolean sign(WKWallet wallet, WKTransfer transfer, byte[] phraseUtf8) {
         Pointer thisPtr = this.getPointer();
 
@@ -358,6 +374,40 @@ public class WKWalletManager extends PointerType {
                 new SizeT(bundlesCount));
     }
 
+    /**
+     * Announce some of the bundles for `callbackState`, ahead of `announceTransactions()`; the
+     * callback state is kept.  The bundles are saved and applied before returning.
+     *
+     * @return false, the bundles discarded, if `callbackState` is not for the current sync
+     */
+    public boolean announceTransactionsPartial(WKClientCallbackState callbackState, List<WKClientTransactionBundle> bundles) {
+        int bundlesCount = bundles.size();
+        WKClientTransactionBundle[] bundlesArr = bundles.toArray(new WKClientTransactionBundle[bundlesCount]);
+
+        return WKBoolean.WK_TRUE == WKNativeLibraryIndirect.wkClientAnnounceTransactionsPartial(
+                this.getPointer(),
+                callbackState.getPointer(),
+                bundlesArr,
+                new SizeT(bundlesCount));
+    }
+
+    /**
+     * Announce some of the bundles for `callbackState`, ahead of `announceTransfers()`; the
+     * callback state is kept.  The bundles are saved and applied before returning.
+     *
+     * @return false, the bundles discarded, if `callbackState` is not for the current sync
+     */
+    public boolean announceTransfersPartial(WKClientCallbackState callbackState, List<WKClientTransferBundle> bundles) {
+        int bundlesCount = bundles.size();
+        WKClientTransferBundle[] bundlesArr = bundles.toArray(new WKClientTransferBundle[bundlesCount]);
+
+        return WKBoolean.WK_TRUE == WKNativeLibraryIndirect.wkClientAnnounceTransfersPartial(
+                this.getPointer(),
+                callbackState.getPointer(),
+                bundlesArr,
+                new SizeT(bundlesCount));
+    }
+
     public void announceSubmitTransfer(WKClientCallbackState callbackState, String identifier, String hash, boolean success) {
         WKNativeLibraryDirect.wkClientAnnounceSubmitTransfer (
                 this.getPointer(),
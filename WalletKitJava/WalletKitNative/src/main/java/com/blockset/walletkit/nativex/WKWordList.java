@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.nativex;
+
+import com.google.common.collect.ImmutableList;
+import com.sun.jna.Memory;
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * A BIP-39 word list resident in native memory, as the NULL-terminated `const char *words[]`
+ * expected by the phrase functions.
+ *
+ * The pointer table and the UTF-8 encoded words share a single allocation, made once at creation
+ * and freed when the last reference is released: the owner's reference by `give()`, and each
+ * use's reference, taken by `acquire()`, by `release()`.  Freeing is thus deterministic, yet
+ * never happens under a call in progress on another thread.
+ */
+public final class WKWordList {
+
+    private static final class NativeMemory extends Memory {
+        NativeMemory(long size) {
+            super(size);
+        }
+
+        void free() {
+            dispose();
+        }
+    }
+
+    public static WKWordList create(List<String> words) {
+        List<String> copy = ImmutableList.copyOf(words);
+
+        byte[][] encoded = new byte[copy.size()][];
+        long stringsSize = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = copy.get(i).getBytes(StandardCharsets.UTF_8);
+            stringsSize += encoded[i].length + 1;
+        }
+
+        long tableSize = (long) (encoded.length + 1) * Native.POINTER_SIZE;
+        NativeMemory memory = new NativeMemory(tableSize + stringsSize);
+
+        long offset = tableSize;
+        for (int i = 0; i < encoded.length; i++) {
+            memory.setPointer((long) i * Native.POINTER_SIZE, memory.share(offset));
+            memory.write(offset, encoded[i], 0, encoded[i].length);
+            memory.setByte(offset + encoded[i].length, (byte) 0);
+            offset += encoded[i].length + 1;
+        }
+        memory.setPointer((long) encoded.length * Native.POINTER_SIZE, null);
+
+        return new WKWordList(copy, memory);
+    }
+
+    private final List<String> words;
+    private final NativeMemory memory;
+    private final AtomicInteger references = new AtomicInteger(1);
+    private final AtomicBoolean given = new AtomicBoolean(false);
+
+    private WKWordList(List<String> words, NativeMemory memory) {
+        this.words = words;
+        this.memory = memory;
+    }
+
+    public List<String> getWords() {
+        return words;
+    }
+
+    public int size() {
+        return words.size();
+    }
+
+    public boolean isFreed() {
+        return references.get() <= 0;
+    }
+
+    /**
+     * Take a reference for a use; must be paired with `release()`.
+     *
+     * @return The native `const char *words[]`
+     *
+     * @throws IllegalStateException if already freed
+     */
+    public Pointer acquire() {
+        while (true) {
+            int count = references.get();
+            checkState(count > 0, "Word list freed");
+            if (references.compareAndSet(count, count + 1)) return memory;
+        }
+    }
+
+    public void release() {
+        int count = references.decrementAndGet();
+        checkState(count >= 0, "Word list over-released");
+        if (0 == count) memory.free();
+    }
+
+    /**
+     * Release the owner's reference, at most once; the memory is freed once no use is in progress.
+     */
+    public void give() {
+        if (given.compareAndSet(false, true)) release();
+    }
+}
@@ -19,7 +19,6 @@ import com.blockset.walletkit.nativex.utility.*;
 import com.sun.jna.Callback;
 import com.sun.jna.Native;
 import com.sun.jna.Pointer;
-import com.sun.jna.StringArray;
 import com.sun.jna.ptr.IntByReference;
 import com.sun.jna.ptr.LongByReference;
 import com.sun.jna.ptr.PointerByReference;
@@ -46,8 +45,8 @@ public final class WKNativeLibraryDirect {
     public static native Pointer wkAccountSerialize(Pointer account, SizeTByReference count);
     public static native int wkAccountValidateSerialization(Pointer account, byte[] serialization, SizeT count);
     public static native int wkAccountValidateWordsList(SizeT count);
-    public static native Pointer wkAccountGeneratePaperKey(StringArray words);
-    public static native int wkAccountValidatePaperKey(ByteBuffer phraseBuffer, StringArray wordsArray);
+    public static native Pointer wkAccountGeneratePaperKey(Pointer words);
+    public static native int wkAccountValidatePaperKey(ByteBuffer phraseBuffer, Pointer wordsArray);
     public static native void wkAccountGive(Pointer obj);
 
     // crypto/BRCryptoAddress.h
@@ -72,6 +71,7 @@ public final class WKNativeLibraryDirect {
     public static native Pointer wkAmountConvertToUnit(Pointer amount, Pointer unit);
     public static native double wkAmountGetDouble(Pointer amount, Pointer unit, IntByReference overflow);
     public static native Pointer wkAmountGetStringPrefaced (Pointer amount, int base, String preface);
+    public static native int wkAmountGetHashValue(Pointer amount);
     public static native void wkAmountGive(Pointer obj);
 
     // crypto/BRCryptoCurrency.h
@@ -81,6 +81,7 @@ public final class WKNativeLibraryDirect {
     public static native Pointer wkCurrencyGetType(Pointer currency);
     public static native Pointer wkCurrencyGetIssuer(Pointer currency);
     public static native int wkCurrencyIsIdentical(Pointer c1, Pointer c2);
+    public static native Pointer wkCurrencyTake(Pointer currency);
     public static native void wkCurrencyGive(Pointer obj);
 
     // crypto/BRCryptoFeeBasis.h
@@ -98,13 +99,13 @@ public final class WKNativeLibraryDirect {
 
     // crypto/BRCryptoKey.h
     public static native int wkKeyIsProtectedPrivate(ByteBuffer keyBuffer);
-    public static native Pointer wkKeyCreateFromPhraseWithWords(ByteBuffer phraseBuffer, StringArray wordsArray);
+    public static native Pointer wkKeyCreateFromPhraseWithWords(ByteBuffer phraseBuffer, Pointer wordsArray);
     public static native Pointer wkKeyCreateFromStringPrivate(ByteBuffer stringBuffer);
     public static native Pointer wkKeyCreateFromStringProtectedPrivate(ByteBuffer stringBuffer, ByteBuffer phraseBuffer);
     public static native Pointer wkKeyCreateFromStringPublic(ByteBuffer stringBuffer);
     public static native Pointer wkKeyCreateForPigeon(Pointer key, byte[] nonce, SizeT nonceCount);
-    public static native Pointer wkKeyCreateForBIP32ApiAuth(ByteBuffer phraseBuffer, StringArray wordsArray);
-    public static native Pointer wkKeyCreateForBIP32BitID(ByteBuffer phraseBuffer, int index, String uri, StringArray wordsArray);
+    public static native Pointer wkKeyCreateForBIP32ApiAuth(ByteBuffer phraseBuffer, Pointer wordsArray);
+    public static native Pointer wkKeyCreateForBIP32BitID(ByteBuffer phraseBuffer, int index, String uri, Pointer wordsArray);
     public static native Pointer wkKeyCreateFromSecret(WKSecret.ByValue secret);
     public static native void wkKeyProvidePublicKey(Pointer key, int useCompressed, int compressed);
     public static native int wkKeyHasSecret(Pointer key);
@@ -279,6 +280,7 @@ public final class WKNativeLibraryDirect {
     public static native byte wkUnitGetBaseDecimalOffset(Pointer unit);
     public static native int wkUnitIsCompatible(Pointer u1, Pointer u2);
     public static native int wkUnitIsIdentical(Pointer u1, Pointer u2);
+    public static native Pointer wkUnitTake(Pointer unit);
     public static native void wkUnitGive(Pointer obj);
 
     // crypto/event/BRCryptoWallet.h
@@ -299,6 +301,8 @@ public final class WKNativeLibraryDirect {
     public static native Pointer wkWalletGetBalanceMinimum(Pointer wallet);
     public static native Pointer wkWalletGetTransfers(Pointer wallet, SizeTByReference count);
     public static native int wkWalletHasTransfer(Pointer wallet, Pointer transfer);
+    public static native Pointer wkWalletGetTransferByHash(Pointer wallet, Pointer hash);
+    public static native SizeT wkWalletGetTransferSnapshot(Pointer wallet, SizeT offset, SizeT capacity, long[] amounts, long[] fees, byte[] directions, byte[] states, byte[] flags, long[] blockNumbers, long[] timestamps, byte[] hashes);
     public static native Pointer wkWalletGetAddress(Pointer wallet, int addressScheme);
     public static native int wkWalletHasAddress(Pointer wallet, Pointer address);
     public static native Pointer wkWalletGetUnit(Pointer wallet);
@@ -347,6 +351,8 @@ public final class WKNativeLibraryDirect {
     public static native void wkWalletManagerDisconnect(Pointer cwm);
     public static native void wkWalletManagerSync(Pointer cwm);
     public static native void wkWalletManagerSyncToDepth(Pointer cwm, int depth);
+    public static native void wkWalletManagerSyncPeriodic(Pointer cwm);
+    public static native void wkWalletManagerSetSyncPeriodicFactor(Pointer cwm, int factor);
     public static native void wkWalletManagerStop(Pointer cwm);
     public static native int wkWalletManagerSign(Pointer cwm, Pointer wid, Pointer tid, ByteBuffer paperKey);
     public static native void wkWalletManagerSubmit(Pointer cwm, Pointer wid, Pointer tid, ByteBuffer paperKey);
@@ -385,6 +391,7 @@ public final class WKNativeLibraryDirect {
     public static native void wkClientTransactionBundleRelease (Pointer bundle);
 
     // See 'Indirect': void wkClientTransferBundleCreate (int status, ...)
+    public static native void wkClientTransferBundleRelease (Pointer bundle);
 
     public static native Pointer wkClientCurrencyDenominationBundleCreate (String name, String code, String symbol, int decimals);
 
@@ -406,6 +413,10 @@ public final class WKNativeLibraryDirect {
     public static native int wkCipherEncrypt(Pointer cipher, byte[] dst, SizeT dstLen, byte[] src, SizeT srcLen);
     public static native SizeT wkCipherDecryptLength(Pointer cipher, byte[] src, SizeT srcLen);
     public static native int wkCipherDecrypt(Pointer cipher, byte[] dst, SizeT dstLen, byte[] src, SizeT srcLen);
+    public static native SizeT wkCipherEncryptLength(Pointer cipher, Pointer src, SizeT srcLen);
+    public static native int wkCipherEncrypt(Pointer cipher, Pointer dst, SizeT dstLen, Pointer src, SizeT srcLen);
+    public static native SizeT wkCipherDecryptLength(Pointer cipher, Pointer src, SizeT srcLen);
+    public static native int wkCipherDecrypt(Pointer cipher, Pointer dst, SizeT dstLen, Pointer src, SizeT srcLen);
     public static native int wkCipherMigrateBRCoreKeyCiphertext(Pointer cipher, byte[] dst, SizeT dstLen, byte[] src, SizeT srcLen);
     public static native void wkCipherGive(Pointer cipher);
 
@@ -415,23 +426,32 @@ public final class WKNativeLibraryDirect {
     public static native int wkCoderEncode(Pointer coder, byte[] dst, SizeT dstLen, byte[] src, SizeT srcLen);
     public static native SizeT wkCoderDecodeLength(Pointer coder, byte[] src);
     public static native int wkCoderDecode(Pointer coder, byte[] dst, SizeT dstLen, byte[] src);
+    public static native SizeT wkCoderEncodeLength(Pointer coder, Pointer src, SizeT srcLen);
+    public static native int wkCoderEncode(Pointer coder, Pointer dst, SizeT dstLen, Pointer src, SizeT srcLen);
+    public static native SizeT wkCoderDecodeLength(Pointer coder, Pointer src);
+    public static native int wkCoderDecode(Pointer coder, Pointer dst, SizeT dstLen, Pointer src);
     public static native void wkCoderGive(Pointer coder);
 
     // crypto/BRCryptoHasher.h
     public static native Pointer wkHasherCreate(int type);
     public static native SizeT wkHasherLength(Pointer hasher);
     public static native int wkHasherHash(Pointer hasher, byte[] dst, SizeT dstLen, byte[] src, SizeT srcLen);
+    public static native int wkHasherHash(Pointer hasher, Pointer dst, SizeT dstLen, Pointer src, SizeT srcLen);
+    public static native int wkHasherHashBatch(Pointer hasher, Pointer dst, SizeT dstLen, Pointer src, SizeT srcLen, int[] offsets, SizeT count);
     public static native void wkHasherGive(Pointer hasher);
 
     // crypto/BRCryptoSigner.h
     public static native Pointer wkSignerCreate(int type);
     public static native SizeT wkSignerSignLength(Pointer signer, Pointer key, byte[] digest, SizeT digestlen);
+    public static native SizeT wkSignerSignLengthMaximum(Pointer signer);
     public static native int wkSignerSign(Pointer signer, Pointer key, byte[] signature, SizeT signatureLen, byte[] digest, SizeT digestLen);
+    public static native int wkSignerSignBatch(Pointer signer, Pointer key, Pointer signatures, SizeT signaturesLen, SizeT signatureStride, int[] signatureLengths, Pointer digests, SizeT digestsCount);
     public static native Pointer wkSignerRecover(Pointer signer, byte[] digest, SizeT digestLen, byte[] signature, SizeT signatureLen);
     public static native void wkSignerGive(Pointer signer);
 
     // crypto/BRCryptoListener.h
     public static native Pointer wkListenerCreate (Pointer context, Callback systemCB, Callback networkCB, Callback managerCB, Callback walletCB, Callback transferCB);
+    public static native Pointer wkListenerCreateFlat (Pointer context, Callback systemCB, Callback networkCB, Callback managerCB, Callback managerSyncProgressCB, Callback managerBlockHeightCB, Callback walletCB, Callback transferCB);
     public static native Pointer wkListenerTake(Pointer listener);
     public static native void wkListenerGive(Pointer listener);
 
@@ -101,6 +101,18 @@ public final class WKNativeLibraryIndirect {
                 bundlesCount);
     }
 
+    public static int wkClientAnnounceTransactionsPartial(Pointer cwm, Pointer callbackState, WKClientTransactionBundle[] bundles, SizeT bundlesCount) {
+        return INSTANCE.wkClientAnnounceTransactionsPartial(cwm, callbackState,
+                (0 == bundlesCount.intValue() ? null : bundles),
+                bundlesCount);
+    }
+
+    public static int wkClientAnnounceTransfersPartial(Pointer cwm, Pointer callbackState, WKClientTransferBundle[] bundles, SizeT bundlesCount) {
+        return INSTANCE.wkClientAnnounceTransfersPartial(cwm, callbackState,
+                (0 == bundlesCount.intValue() ? null : bundles),
+                bundlesCount);
+    }
+
     public static Pointer wkClientCurrencyBundleCreate(String id,
                                                            String name,
                                                            String code,
@@ -194,6 +206,8 @@ public final class WKNativeLibraryIndirect {
 
         void wkClientAnnounceTransactions(Pointer cwm, Pointer callbackState, int success, WKClientTransactionBundle[] bundles, SizeT bundlesCount);
         void wkClientAnnounceTransfers(Pointer cwm, Pointer callbackState, int success, WKClientTransferBundle[] bundles, SizeT bundlesCount);
+        int wkClientAnnounceTransactionsPartial(Pointer cwm, Pointer callbackState, WKClientTransactionBundle[] bundles, SizeT bundlesCount);
+        int wkClientAnnounceTransfersPartial(Pointer cwm, Pointer callbackState, WKClientTransferBundle[] bundles, SizeT bundlesCount);
 
         Pointer wkClientCurrencyBundleCreate(String id,
                                                  String name,
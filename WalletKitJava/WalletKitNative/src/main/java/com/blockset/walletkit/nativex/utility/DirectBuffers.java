@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2021 Breadwinner AG.  All right reserved.
+ *
+ * See the LICENSE file at the project root for license information.
+ * See the CONTRIBUTORS file at the project root for a list of contributors.
+ */
+package com.blockset.walletkit.nativex.utility;
+
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+
+import java.nio.ByteBuffer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+public final class DirectBuffers {
+
+    /**
+     * The native address of `buffer`'s position.  The buffer must be direct and must remain
+     * reachable for as long as the returned pointer is in use.
+     */
+    public static Pointer pointer(ByteBuffer buffer) {
+        checkArgument(buffer.isDirect(), "buffer must be direct");
+        return Native.getDirectBufferPointer(buffer).share(buffer.position());
+    }
+
+    private DirectBuffers() {}
+}